@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.eclipse.mojarra.action;
+
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.spi.AfterBeanDiscovery;
+import jakarta.enterprise.inject.spi.AnnotatedMethod;
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.enterprise.inject.spi.ProcessManagedBean;
+
+/**
+ * The CDI extension that collects the action mappings.
+ *
+ * <p>
+ * Every managed bean method annotated with {@link ActionMapping} is turned
+ * into an {@link ActionMappingEntry} when the bean is discovered. Once bean
+ * discovery has finished the entries are frozen into an
+ * {@link ActionMappingIndex}.
+ */
+public class ActionExtension implements Extension {
+
+    /**
+     * Stores the entries collected during bean discovery.
+     */
+    private final List<ActionMappingEntry> entries = new ArrayList<>();
+
+    /**
+     * Stores the action mapping index.
+     */
+    private volatile ActionMappingIndex mappingIndex;
+
+    /**
+     * Collect the action mappings of a managed bean.
+     *
+     * @param event the process managed bean event.
+     */
+    void processManagedBean(@Observes ProcessManagedBean<?> event) {
+        for (AnnotatedMethod<?> method : event.getAnnotatedBeanClass().getMethods()) {
+            if (method.isAnnotationPresent(ActionMapping.class)) {
+                synchronized (entries) {
+                    entries.add(new ActionMappingEntry(
+                            event.getBean(),
+                            method.getJavaMember(),
+                            method.getAnnotation(ActionMapping.class).value()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Build the action mapping index.
+     *
+     * @param event the after bean discovery event.
+     */
+    void afterBeanDiscovery(@Observes AfterBeanDiscovery event) {
+        synchronized (entries) {
+            mappingIndex = new ActionMappingIndex(entries);
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the action mapping index.
+     *
+     * @return the action mapping index.
+     */
+    public ActionMappingIndex getMappingIndex() {
+        ActionMappingIndex result = mappingIndex;
+        if (result == null) {
+            synchronized (entries) {
+                result = new ActionMappingIndex(entries);
+            }
+        }
+        return result;
+    }
+}
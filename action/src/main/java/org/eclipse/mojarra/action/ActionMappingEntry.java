@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.eclipse.mojarra.action;
+
+import java.lang.reflect.Method;
+import java.util.regex.Pattern;
+import jakarta.enterprise.inject.spi.Bean;
+
+/**
+ * The ActionMappingEntry class.
+ *
+ * <p>
+ * An entry is the immutable, precompiled form of a method annotated with
+ * {@link ActionMapping}. Entries are collected once at deployment time by the
+ * {@link ActionExtension} and stored in the {@link ActionMappingIndex}.
+ */
+public class ActionMappingEntry {
+
+    /**
+     * Stores the action mapping (without the wildcard or regex: marker).
+     */
+    private final String actionMapping;
+
+    /**
+     * Stores the bean.
+     */
+    private final Bean<?> bean;
+
+    /**
+     * Stores the mapping type.
+     */
+    private final ActionMappingType mappingType;
+
+    /**
+     * Stores the method.
+     */
+    private final Method method;
+
+    /**
+     * Stores the compiled pattern (only for regular expression mappings).
+     */
+    private final Pattern pattern;
+
+    /**
+     * Stores the mapping as declared on the method.
+     */
+    private final String value;
+
+    /**
+     * Constructor.
+     *
+     * @param bean the bean.
+     * @param method the method.
+     * @param value the mapping as declared on the method.
+     */
+    public ActionMappingEntry(Bean<?> bean, Method method, String value) {
+        this.bean = bean;
+        this.method = method;
+        this.value = value;
+        if (value.endsWith("*")) {
+            mappingType = ActionMappingType.PREFIX;
+            actionMapping = value.substring(0, value.length() - 1);
+            pattern = null;
+        } else if (value.startsWith("*")) {
+            mappingType = ActionMappingType.EXTENSION;
+            actionMapping = value.substring(1);
+            pattern = null;
+        } else if (value.startsWith("regex:")) {
+            mappingType = ActionMappingType.REGEX;
+            actionMapping = value.substring("regex:".length());
+            pattern = Pattern.compile(actionMapping);
+        } else {
+            mappingType = ActionMappingType.EXACT;
+            actionMapping = value;
+            pattern = null;
+        }
+    }
+
+    /**
+     * Get the action mapping (without the wildcard or regex: marker).
+     *
+     * @return the action mapping.
+     */
+    public String getActionMapping() {
+        return actionMapping;
+    }
+
+    /**
+     * Get the bean.
+     *
+     * @return the bean.
+     */
+    public Bean<?> getBean() {
+        return bean;
+    }
+
+    /**
+     * Get the mapping type.
+     *
+     * @return the mapping type.
+     */
+    public ActionMappingType getMappingType() {
+        return mappingType;
+    }
+
+    /**
+     * Get the method.
+     *
+     * @return the method.
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Get the compiled pattern.
+     *
+     * @return the compiled pattern, or null if this is not a regular
+     * expression mapping.
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Get the mapping as declared on the method.
+     *
+     * @return the mapping.
+     */
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.eclipse.mojarra.action;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The ActionMappingIndex class.
+ *
+ * <p>
+ * An immutable index of all the action mappings of the application, built at
+ * deployment time. It consists of four tiers that are consulted in the order
+ * of {@link ActionMappingType}:
+ * </p>
+ * <ol>
+ *  <li>exact mappings, stored in a hash map,</li>
+ *  <li>prefix mappings (<code>/foo/*</code>), stored in a trie so the longest
+ *      matching prefix is found with a single walk over the path info,</li>
+ *  <li>extension mappings (<code>*.ext</code>), stored in a hash map keyed by
+ *      the suffix, longest suffix first,</li>
+ *  <li>regular expression mappings (<code>regex:...</code>), which are
+ *      compiled once and evaluated in order.</li>
+ * </ol>
+ */
+public class ActionMappingIndex {
+
+    /**
+     * Stores the exact mappings.
+     */
+    private final Map<String, ActionMappingEntry> exactMappings;
+
+    /**
+     * Stores the extension mappings.
+     */
+    private final Map<String, ActionMappingEntry> extensionMappings;
+
+    /**
+     * Stores the distinct lengths of the extension mappings (longest first).
+     */
+    private final int[] extensionLengths;
+
+    /**
+     * Stores the root of the prefix trie.
+     */
+    private final Node prefixRoot;
+
+    /**
+     * Stores the regular expression mappings.
+     */
+    private final List<ActionMappingEntry> regexMappings;
+
+    /**
+     * Constructor.
+     *
+     * @param entries the entries.
+     */
+    public ActionMappingIndex(List<ActionMappingEntry> entries) {
+        Map<String, ActionMappingEntry> exact = new HashMap<>();
+        Map<String, ActionMappingEntry> extension = new HashMap<>();
+        TreeSet<Integer> lengths = new TreeSet<>(Collections.reverseOrder());
+        List<ActionMappingEntry> regex = new ArrayList<>();
+        prefixRoot = new Node();
+        for (ActionMappingEntry entry : entries) {
+            exact.putIfAbsent(entry.getValue(), entry);
+            switch (entry.getMappingType()) {
+                case PREFIX:
+                    Node node = prefixRoot;
+                    String prefix = entry.getActionMapping();
+                    for (int i = 0; i < prefix.length(); i++) {
+                        node = node.children.computeIfAbsent(prefix.charAt(i), key -> new Node());
+                    }
+                    if (node.entry == null) {
+                        node.entry = entry;
+                    }
+                    break;
+                case EXTENSION:
+                    extension.putIfAbsent(entry.getActionMapping(), entry);
+                    lengths.add(entry.getActionMapping().length());
+                    break;
+                case REGEX:
+                    regex.add(entry);
+                    break;
+                default:
+                    break;
+            }
+        }
+        exactMappings = Collections.unmodifiableMap(exact);
+        extensionMappings = Collections.unmodifiableMap(extension);
+        extensionLengths = lengths.stream().mapToInt(Integer::intValue).toArray();
+        regexMappings = Collections.unmodifiableList(regex);
+    }
+
+    /**
+     * Create the match.
+     *
+     * @param entry the entry.
+     * @param actionMapping the matched action mapping.
+     * @param mappingType the mapping type.
+     * @param pathInfo the path info.
+     * @return the match.
+     */
+    private ActionMappingMatch createMatch(ActionMappingEntry entry, String actionMapping,
+            ActionMappingType mappingType, String pathInfo) {
+        ActionMappingMatch result = new ActionMappingMatch();
+        result.setBean(entry.getBean());
+        result.setMethod(entry.getMethod());
+        result.setActionMapping(actionMapping);
+        result.setMappingType(mappingType);
+        result.setPathInfo(pathInfo);
+        result.setEntry(entry);
+        return result;
+    }
+
+    /**
+     * Match the path info to an action mapping.
+     *
+     * @param pathInfo the path info.
+     * @return the action mapping match, or null if not found.
+     */
+    public ActionMappingMatch match(String pathInfo) {
+        ActionMappingEntry entry = exactMappings.get(pathInfo);
+        if (entry != null) {
+            return createMatch(entry, entry.getValue(), ActionMappingType.EXACT, pathInfo);
+        }
+
+        Node node = prefixRoot;
+        ActionMappingEntry longest = node.entry;
+        for (int i = 0; i < pathInfo.length(); i++) {
+            node = node.children.get(pathInfo.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.entry != null) {
+                longest = node.entry;
+            }
+        }
+        if (longest != null) {
+            return createMatch(longest, longest.getActionMapping(), ActionMappingType.PREFIX, pathInfo);
+        }
+
+        for (int length : extensionLengths) {
+            if (length <= pathInfo.length()) {
+                entry = extensionMappings.get(pathInfo.substring(pathInfo.length() - length));
+                if (entry != null) {
+                    return createMatch(entry, entry.getActionMapping(), ActionMappingType.EXTENSION, pathInfo);
+                }
+            }
+        }
+
+        for (ActionMappingEntry regex : regexMappings) {
+            if (regex.getPattern().matcher(pathInfo).matches()) {
+                return createMatch(regex, regex.getActionMapping(), ActionMappingType.REGEX, pathInfo);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A node in the prefix trie.
+     */
+    private static class Node {
+
+        /**
+         * Stores the child nodes.
+         */
+        private final Map<Character, Node> children = new HashMap<>(4);
+
+        /**
+         * Stores the entry whose prefix ends at this node.
+         */
+        private ActionMappingEntry entry;
+    }
+}
@@ -16,6 +16,8 @@
 package org.eclipse.mojarra.action;
 
 import java.lang.reflect.Method;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import jakarta.enterprise.inject.spi.Bean;
 
 /**
@@ -33,11 +35,21 @@ public class ActionMappingMatch {
      */
     private ActionMappingType mappingType;
 
+    /**
+     * Stores the path matcher.
+     */
+    private Matcher pathMatcher;
+
     /**
      * Stores the bean.
      */
     private Bean<?> bean;
 
+    /**
+     * Stores the entry.
+     */
+    private ActionMappingEntry entry;
+
     /**
      * Stores the method.
      */
@@ -66,6 +78,15 @@ public class ActionMappingMatch {
         return bean;
     }
 
+    /**
+     * Get the entry.
+     *
+     * @return the entry, or null if the match was not made through the index.
+     */
+    public ActionMappingEntry getEntry() {
+        return entry;
+    }
+
     /**
      * Get the length.
      *
@@ -93,6 +114,27 @@ public class ActionMappingMatch {
         return method;
     }
 
+    /**
+     * Get the matcher of the action mapping against the path info.
+     *
+     * <p>
+     * The matcher is created once per match, using the precompiled pattern
+     * of the entry when available.
+     *
+     * @return the matcher, or null if the action mapping does not match.
+     */
+    public Matcher getPathMatcher() {
+        if (pathMatcher == null) {
+            Pattern pattern = entry != null && entry.getPattern() != null
+                    ? entry.getPattern() : Pattern.compile(actionMapping);
+            Matcher matcher = pattern.matcher(pathInfo);
+            if (matcher.matches()) {
+                pathMatcher = matcher;
+            }
+        }
+        return pathMatcher;
+    }
+
     /**
      * Get the path info.
      * 
@@ -120,6 +162,15 @@ public class ActionMappingMatch {
         this.bean = bean;
     }
 
+    /**
+     * Set the entry.
+     *
+     * @param entry the entry.
+     */
+    public void setEntry(ActionMappingEntry entry) {
+        this.entry = entry;
+    }
+
     /**
      * Set the mapping type.
      *
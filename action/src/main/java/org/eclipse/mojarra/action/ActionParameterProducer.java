@@ -37,4 +37,22 @@ public interface ActionParameterProducer {
             ActionMappingMatch actionMappingMatch,
             Class<?> parameterType,
             Annotation[] parameterAnnotations);
+
+    /**
+     * Create a parameter extractor for the given type.
+     *
+     * <p>
+     * The default implementation delegates every extraction to
+     * {@link #produce(FacesContext, ActionMappingMatch, Class, Annotation[])}.
+     *
+     * @param parameterType the type.
+     * @param parameterAnnotations the parameter annotations.
+     * @return the parameter extractor.
+     */
+    public default ActionParameterExtractor createExtractor(
+            Class<?> parameterType,
+            Annotation[] parameterAnnotations) {
+        return (facesContext, actionMappingMatch) -> produce(
+                facesContext, actionMappingMatch, parameterType, parameterAnnotations);
+    }
 }
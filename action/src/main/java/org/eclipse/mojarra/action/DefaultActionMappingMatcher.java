@@ -15,113 +15,26 @@
  */
 package org.eclipse.mojarra.action;
 
-import java.util.Iterator;
-import java.util.Set;
-import java.util.regex.Pattern;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.enterprise.inject.Any;
-import jakarta.enterprise.inject.spi.AnnotatedMethod;
-import jakarta.enterprise.inject.spi.AnnotatedType;
-import jakarta.enterprise.inject.spi.Bean;
-import jakarta.enterprise.inject.spi.CDI;
 import jakarta.faces.context.FacesContext;
+import jakarta.inject.Inject;
 
 /**
  * The default ActionMappingMatcher.
+ *
+ * <p>
+ * Matching is done against the {@link ActionMappingIndex} built at deployment
+ * time by the {@link ActionExtension}, so the cost of matching does not depend
+ * on the number of beans in the application.
  */
 @ApplicationScoped
 public class DefaultActionMappingMatcher implements ActionMappingMatcher {
 
     /**
-     * Find the action mapping for the given bean.
-     *
-     * @param facesContext the Faces context.
-     * @param bean the bean.
-     * @return the action mapping match, or null if not found.
-     */
-    @SuppressWarnings("rawtypes")
-    private ActionMappingMatch determineActionMappingMatch(FacesContext facesContext, Bean<?> bean) {
-        ActionMappingMatch result = null;
-        Class<?> clazz = bean.getBeanClass();
-        AnnotatedType annotatedType = CDI.current().getBeanManager().createAnnotatedType(clazz);
-        @SuppressWarnings("unchecked")
-        Set<AnnotatedMethod> annotatedMethodSet = annotatedType.getMethods();
-        for (AnnotatedMethod method : annotatedMethodSet) {
-            if (method.isAnnotationPresent(ActionMapping.class)) {
-                ActionMapping requestMapping = method.getAnnotation(ActionMapping.class);
-                String mapping = requestMapping.value();
-                String pathInfo = facesContext.getExternalContext().getRequestPathInfo();
-                if (pathInfo != null) {
-                    if (pathInfo.equals(mapping)) {
-                        result = new ActionMappingMatch();
-                        result.setBean(bean);
-                        result.setMethod(method.getJavaMember());
-                        result.setActionMapping(mapping);
-                        result.setMappingType(ActionMappingType.EXACT);
-                        result.setPathInfo(pathInfo);
-                        break;
-                    } else if (mapping.endsWith("*")) {
-                        mapping = mapping.substring(0, mapping.length() - 1);
-                        if (pathInfo.startsWith(mapping)) {
-                            if (result == null) {
-                                result = new ActionMappingMatch();
-                                result.setBean(bean);
-                                result.setMethod(method.getJavaMember());
-                                result.setActionMapping(mapping);
-                                result.setMappingType(ActionMappingType.PREFIX);
-                                result.setPathInfo(pathInfo);
-                            } else if (mapping.length() > result.getLength()) {
-                                result.setBean(bean);
-                                result.setMethod(method.getJavaMember());
-                                result.setActionMapping(mapping);
-                                result.setMappingType(ActionMappingType.PREFIX);
-                                result.setPathInfo(pathInfo);
-                            }
-                        }
-                    } else if (mapping.startsWith("*")) {
-                        mapping = mapping.substring(1);
-                        if (pathInfo.endsWith(mapping)) {
-                            result = new ActionMappingMatch();
-                            result.setBean(bean);
-                            result.setMethod(method.getJavaMember());
-                            result.setActionMapping(mapping);
-                            result.setMappingType(ActionMappingType.EXTENSION);
-                            result.setPathInfo(pathInfo);
-                            break;
-                        }
-                    } else if (mapping.startsWith("regex:")) {
-                        mapping = mapping.substring("regex:".length());
-                        if (Pattern.matches(mapping, pathInfo)) {
-                            result = new ActionMappingMatch();
-                            result.setBean(bean);
-                            result.setMethod(method.getJavaMember());
-                            result.setActionMapping(mapping);
-                            result.setMappingType(ActionMappingType.REGEX);
-                            result.setPathInfo(pathInfo);
-                            break;
-                        }
-                    }
-                }
-            }
-            if (result != null
-                    && (result.getMappingType().equals(ActionMappingType.EXACT)
-                    || (result.getMappingType().equals(ActionMappingType.EXTENSION)))) {
-                break;
-            }
-        }
-        return result;
-    }
-
-    /**
-     * Get the beans.
-     *
-     * @return the beans.
+     * Stores the action extension.
      */
-    private Iterator<Bean<?>> getBeans() {
-        Set<Bean<?>> beans = CDI.current().getBeanManager().getBeans(
-                Object.class, Any.Literal.INSTANCE);
-        return beans.iterator();
-    }
+    @Inject
+    private ActionExtension actionExtension;
 
     /**
      * Match the request to an action mapping.
@@ -131,17 +44,10 @@ public class DefaultActionMappingMatcher implements ActionMappingMatcher {
      */
     @Override
     public ActionMappingMatch match(FacesContext facesContext) {
-        ActionMappingMatch match = null;
-        Iterator<Bean<?>> beans = getBeans();
-        while (beans.hasNext()) {
-            Bean<?> bean = beans.next();
-            ActionMappingMatch candidate = determineActionMappingMatch(facesContext, bean);
-            if (match == null) {
-                match = candidate;
-            } else if (candidate != null && candidate.getLength() > match.getLength()) {
-                match = candidate;
-            }
+        String pathInfo = facesContext.getExternalContext().getRequestPathInfo();
+        if (pathInfo == null) {
+            return null;
         }
-        return match;
+        return actionExtension.getMappingIndex().match(pathInfo);
     }
 }
@@ -15,10 +15,10 @@
  */
 package org.eclipse.mojarra.action;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.enterprise.inject.Any;
-import jakarta.enterprise.inject.Instance;
-import jakarta.enterprise.inject.spi.CDI;
 import jakarta.faces.FacesException;
 import jakarta.faces.component.UIViewRoot;
 import jakarta.faces.context.FacesContext;
@@ -26,10 +26,19 @@ import jakarta.inject.Inject;
 
 /**
  * The default ActionMethodExecutor.
+ *
+ * <p>
+ * The {@link ActionInvocationPlan} of a method is created on its first
+ * execution and reused afterwards.
  */
 @ApplicationScoped
 public class DefaultActionMethodExecutor implements ActionMethodExecutor {
 
+    /**
+     * Stores the invocation plans (by bean class and method).
+     */
+    private final Map<Class<?>, Map<Method, ActionInvocationPlan>> plans = new ConcurrentHashMap<>();
+
     /**
      * Stores the ActionParameterProducer.
      */
@@ -44,22 +53,14 @@ public class DefaultActionMethodExecutor implements ActionMethodExecutor {
      */
     @Override
     public void execute(FacesContext facesContext, ActionMappingMatch actionMappingMatch) {
-        Instance<?> instance = CDI.current().select(
-                actionMappingMatch.getBean().getBeanClass(), Any.Literal.INSTANCE);
+        Class<?> beanClass = actionMappingMatch.getBean().getBeanClass();
+        ActionInvocationPlan plan = plans
+                .computeIfAbsent(beanClass, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(actionMappingMatch.getMethod(),
+                        method -> new ActionInvocationPlan(beanClass, method, actionParameterProducer));
         String viewId;
         try {
-            Object[] parameters = new Object[actionMappingMatch.getMethod().getParameterCount()];
-            if (parameters.length > 0) {
-                for(int i=0; i<parameters.length; i++) {
-                    parameters[i] = actionParameterProducer.produce(
-                            facesContext,
-                            actionMappingMatch,
-                            actionMappingMatch.getMethod().getParameterTypes()[i],
-                            actionMappingMatch.getMethod().getParameterAnnotations()[i]);
-                }
-            }
-            viewId = (String) actionMappingMatch.getMethod().invoke(
-                    instance.get(), parameters);
+            viewId = (String) plan.execute(facesContext, actionMappingMatch);
         } catch (Throwable throwable) {
             throw new FacesException(throwable);
         }
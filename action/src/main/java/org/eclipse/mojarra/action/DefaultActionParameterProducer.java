@@ -17,15 +17,20 @@ package org.eclipse.mojarra.action;
 
 import java.lang.annotation.Annotation;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.spi.CDI;
 import jakarta.faces.FacesException;
 import jakarta.faces.context.FacesContext;
 
 /**
  * The default ActionParameterProducer.
+ *
+ * <p>
+ * The annotations of a parameter are inspected once, when the extractor is
+ * created. Path parameters are taken from the path matcher of the action
+ * mapping match, which uses the precompiled pattern of the entry.
  */
 @ApplicationScoped
 public class DefaultActionParameterProducer implements ActionParameterProducer {
@@ -42,29 +47,49 @@ public class DefaultActionParameterProducer implements ActionParameterProducer {
     @Override
     public Object produce(FacesContext facesContext, ActionMappingMatch actionMappingMatch, Class<?> parameterType,
             Annotation[] parameterAnnotations) {
-        
+        return createExtractor(parameterType, parameterAnnotations).extract(
+                facesContext, actionMappingMatch);
+    }
+
+    /**
+     * Create a parameter extractor for the given type.
+     *
+     * @param parameterType the parameter type.
+     * @param parameterAnnotations the parameter annotations.
+     * @return the parameter extractor.
+     */
+    @Override
+    public ActionParameterExtractor createExtractor(Class<?> parameterType, Annotation[] parameterAnnotations) {
+
         ActionHeaderParameter header = getActionHeaderParameterAnnotation(parameterAnnotations);
         if (header != null) {
-            return facesContext.getExternalContext().getRequestHeaderMap().get(header.value());
+            String name = header.value();
+            return (facesContext, actionMappingMatch)
+                    -> facesContext.getExternalContext().getRequestHeaderMap().get(name);
         }
         
         ActionPathParameter path = getActionPathParameterAnnotation(parameterAnnotations);
         if (path != null) {
-            Pattern pattern = Pattern.compile(actionMappingMatch.getActionMapping());
-            Matcher matcher = pattern.matcher(actionMappingMatch.getPathInfo());
-            if (matcher.matches()) {
-                return matcher.group(path.value());
-            } else {
-                throw new FacesException("Unable to match @ActionPathParameter: " + path.value());
-            }
+            String name = path.value();
+            return (facesContext, actionMappingMatch) -> {
+                Matcher matcher = actionMappingMatch.getPathMatcher();
+                if (matcher != null) {
+                    return matcher.group(name);
+                } else {
+                    throw new FacesException("Unable to match @ActionPathParameter: " + name);
+                }
+            };
         }
 
         ActionQueryParameter query = getActionQueryParameterAnnotation(parameterAnnotations);
         if (query != null) {
-            return facesContext.getExternalContext().getRequestParameterMap().get(query.value());
+            String name = query.value();
+            return (facesContext, actionMappingMatch)
+                    -> facesContext.getExternalContext().getRequestParameterMap().get(name);
         }
         
-        return CDI.current().select(parameterType, Any.Literal.INSTANCE).get();
+        Instance<?> instance = CDI.current().select(parameterType, Any.Literal.INSTANCE);
+        return (facesContext, actionMappingMatch) -> instance.get();
     }
     
     /**
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.benchmarks;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.el.ExpressionFactoryImpl;
+import com.sun.faces.RIConstants;
+import com.sun.faces.application.ApplicationAssociate;
+import com.sun.faces.el.DemuxCompositeELResolver;
+import com.sun.faces.el.ELContextImpl;
+import com.sun.faces.el.ELUtils;
+import com.sun.faces.el.FacesCompositeELResolver.ELResolverChainType;
+import com.sun.faces.mock.MockBeanManager;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * Measures lookups through the {@link DemuxCompositeELResolver} holding the resolver chain of Faces as built by
+ * {@link ELUtils#buildFacesResolver(com.sun.faces.el.FacesCompositeELResolver, ApplicationAssociate)}. The CDI
+ * resolver at the head of the chain only knows a single named bean, so the lookups of scoped attributes and misses
+ * traverse the whole chain as they do in an application.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ELResolverBenchmark {
+
+    private FacesEnvironment environment;
+
+    private DemuxCompositeELResolver resolver;
+
+    private ELContext elContext;
+
+    private Person person;
+
+    private Map<String, Object> map;
+
+    @Setup
+    public void setUp() {
+        environment = new FacesEnvironment(Collections.emptyMap());
+
+        FacesContext context = environment.getContext();
+        context.getAttributes().put(RIConstants.CDI_BEAN_MANAGER, new MockBeanManager() {
+            @Override
+            public ELResolver getELResolver() {
+                return new NamedBeanResolver("cdiBean", new Person());
+            }
+        });
+
+        ApplicationAssociate associate = ApplicationAssociate.getInstance(context.getExternalContext());
+        associate.setExpressionFactory(new ExpressionFactoryImpl());
+        resolver = new DemuxCompositeELResolver(ELResolverChainType.Faces);
+        ELUtils.buildFacesResolver(resolver, associate);
+
+        elContext = new ELContextImpl(resolver);
+        elContext.putContext(FacesContext.class, context);
+
+        person = new Person();
+        context.getExternalContext().getRequestMap().put("requestBean", person);
+
+        map = new HashMap<>();
+        map.put("key", "value");
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.release();
+    }
+
+    @Benchmark
+    public Object namedBean() {
+        return resolver.getValue(elContext, null, "cdiBean");
+    }
+
+    @Benchmark
+    public Object scopedAttribute() {
+        return resolver.getValue(elContext, null, "requestBean");
+    }
+
+    @Benchmark
+    public Object unresolvedRoot() {
+        return resolver.getValue(elContext, null, "unknown");
+    }
+
+    @Benchmark
+    public Object beanProperty() {
+        return resolver.getValue(elContext, person, "name");
+    }
+
+    @Benchmark
+    public Object mapEntry() {
+        return resolver.getValue(elContext, map, "key");
+    }
+
+    @Benchmark
+    public Class<?> beanPropertyType() {
+        return resolver.getType(elContext, person, "name");
+    }
+
+    /**
+     * The bean whose properties are looked up.
+     */
+    public static class Person {
+
+        private String name = "Duke";
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+    /**
+     * Stands in for the resolver of the CDI bean manager and resolves a single named bean.
+     */
+    private static final class NamedBeanResolver extends ELResolver {
+
+        private final String name;
+
+        private final Object bean;
+
+        NamedBeanResolver(String name, Object bean) {
+            this.name = name;
+            this.bean = bean;
+        }
+
+        @Override
+        public Object getValue(ELContext context, Object base, Object property) {
+            if (base == null && name.equals(property)) {
+                context.setPropertyResolved(true);
+                return bean;
+            }
+            return null;
+        }
+
+        @Override
+        public Class<?> getType(ELContext context, Object base, Object property) {
+            return null;
+        }
+
+        @Override
+        public void setValue(ELContext context, Object base, Object property, Object value) {
+        }
+
+        @Override
+        public boolean isReadOnly(ELContext context, Object base, Object property) {
+            return false;
+        }
+
+        @Override
+        public Class<?> getCommonPropertyType(ELContext context, Object base) {
+            return base == null ? Object.class : null;
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.faces.facelets.compiler.SAXCompiler;
+import com.sun.faces.facelets.tag.faces.core.CoreLibrary;
+import com.sun.faces.facelets.tag.faces.html.HtmlLibrary;
+import com.sun.faces.facelets.tag.jstl.core.JstlCoreLibrary;
+import com.sun.faces.facelets.tag.ui.UILibrary;
+
+import jakarta.faces.view.facelets.FaceletHandler;
+
+/**
+ * <p>
+ * Measures the compilation of a Facelet of about two hundred lines by the {@link SAXCompiler}, with and without the
+ * persistent cache of parsed Facelets.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FaceletCompilationBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean persistentCache;
+
+    private FacesEnvironment environment;
+
+    private SAXCompiler compiler;
+
+    private URL facelet;
+
+    private Path cacheDirectory;
+
+    @Setup
+    public void setUp() throws IOException {
+        environment = new FacesEnvironment(Collections.emptyMap());
+
+        compiler = new SAXCompiler();
+        CoreLibrary.NAMESPACES.forEach(namespace -> compiler.addTagLibrary(new CoreLibrary(namespace)));
+        HtmlLibrary.NAMESPACES.forEach(namespace -> compiler.addTagLibrary(new HtmlLibrary(namespace)));
+        UILibrary.NAMESPACES.forEach(namespace -> compiler.addTagLibrary(new UILibrary(namespace)));
+        JstlCoreLibrary.NAMESPACES.forEach(namespace -> compiler.addTagLibrary(new JstlCoreLibrary(namespace)));
+
+        if (persistentCache) {
+            cacheDirectory = Files.createTempDirectory("mojarra-facelets");
+            compiler.setCacheDirectory(cacheDirectory.toFile());
+        }
+
+        facelet = FaceletCompilationBenchmark.class.getResource("benchmark.xhtml");
+        compiler.compile(facelet, "/benchmark.xhtml");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        environment.release();
+
+        if (cacheDirectory != null) {
+            try (Stream<Path> paths = Files.walk(cacheDirectory)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    @Benchmark
+    public FaceletHandler compile() throws IOException {
+        return compiler.compile(facelet, "/benchmark.xhtml");
+    }
+
+    @Benchmark
+    public FaceletHandler metadataCompile() throws IOException {
+        return compiler.metadataCompile(facelet, "/benchmark.xhtml");
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.benchmarks;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Map;
+
+import com.sun.faces.RIConstants;
+import com.sun.faces.config.ConfigManager;
+import com.sun.faces.context.ExternalContextImpl;
+import com.sun.faces.context.FacesContextImpl;
+import com.sun.faces.lifecycle.LifecycleImpl;
+import com.sun.faces.mock.MockBeanManager;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockHttpSession;
+import com.sun.faces.mock.MockRenderKit;
+import com.sun.faces.mock.MockServletContext;
+import com.sun.faces.vendor.WebContainerInjectionProvider;
+
+import jakarta.faces.FactoryFinder;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.component.html.HtmlForm;
+import jakarta.faces.component.html.HtmlInputText;
+import jakarta.faces.component.html.HtmlOutputText;
+import jakarta.faces.component.html.HtmlPanelGroup;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.render.RenderKitFactory;
+
+/**
+ * <p>
+ * A lightweight stand-in for a servlet container shared by the benchmarks. It wires the real
+ * {@link ExternalContextImpl}, {@link FacesContextImpl} and application implementation on top of the servlet mocks
+ * of the <code>impl</code> tests, so the code under measurement runs the same paths as it does in a deployed
+ * application without paying for a container.
+ * </p>
+ */
+final class FacesEnvironment {
+
+    private final MockServletContext servletContext;
+
+    private final MockHttpSession session;
+
+    private MockHttpServletRequest request;
+
+    private FacesContext context;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Creates the environment and makes a <code>FacesContext</code> for a first request current.
+     *
+     * @param initParameters the context parameters of the application
+     */
+    FacesEnvironment(Map<String, String> initParameters) {
+        servletContext = new MockServletContext() {
+            @Override
+            public URL getResource(String path) {
+                return null;
+            }
+        };
+        initParameters.forEach(servletContext::addInitParameter);
+        session = new MockHttpSession();
+
+        releaseFactories();
+
+        // stands in for the FacesContext the container initializer creates at startup
+        FacesContext initContext = new MockFacesContext(new MockExternalContext(servletContext, new MockHttpServletRequest(session), new MockHttpServletResponse()));
+        initContext.getAttributes().put(ConfigManager.INJECTION_PROVIDER_KEY, new WebContainerInjectionProvider());
+
+        FactoryFinder.setFactory(FactoryFinder.APPLICATION_FACTORY, "com.sun.faces.application.ApplicationFactoryImpl");
+        FactoryFinder.setFactory(FactoryFinder.PARTIAL_VIEW_CONTEXT_FACTORY, "com.sun.faces.context.PartialViewContextFactoryImpl");
+        FactoryFinder.setFactory(FactoryFinder.RENDER_KIT_FACTORY, "com.sun.faces.mock.MockRenderKitFactory");
+        FactoryFinder.setFactory(FactoryFinder.VISIT_CONTEXT_FACTORY, "com.sun.faces.component.visit.VisitContextFactoryImpl");
+        FactoryFinder.setFactory(FactoryFinder.TAG_HANDLER_DELEGATE_FACTORY, "com.sun.faces.facelets.tag.faces.TagHandlerDelegateFactoryImpl");
+
+        RenderKitFactory renderKitFactory = (RenderKitFactory) FactoryFinder.getFactory(FactoryFinder.RENDER_KIT_FACTORY);
+        renderKitFactory.addRenderKit(RenderKitFactory.HTML_BASIC_RENDER_KIT, new MockRenderKit());
+
+        // the application is created at startup, before the first request
+        newRequest().getApplication();
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Replaces the current <code>FacesContext</code> by the one of a new request within the same session.
+     *
+     * @return the new <code>FacesContext</code>
+     */
+    FacesContext newRequest() {
+        if (context != null) {
+            context.release();
+        }
+
+        request = new MockHttpServletRequest(session);
+        context = new FacesContextImpl(new ExternalContextImpl(servletContext, request, new MockHttpServletResponse()), new LifecycleImpl());
+        context.getAttributes().put(RIConstants.CDI_BEAN_MANAGER, new MockBeanManager());
+
+        return context;
+    }
+
+    FacesContext getContext() {
+        return context;
+    }
+
+    MockHttpServletRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Releases the current <code>FacesContext</code> and the factories.
+     */
+    void release() {
+        if (context != null) {
+            context.release();
+            context = null;
+        }
+        releaseFactories();
+    }
+
+    /**
+     * <p>
+     * Creates a view of about the given number of components and makes it the view root of the current request. The
+     * components are grouped by ten in panel groups below a form, every group holding input and output text components,
+     * which is what a typical data entry page looks like.
+     * </p>
+     *
+     * @param components the number of components
+     * @param renderKitId the render kit of the view
+     * @return the view root
+     */
+    UIViewRoot createView(int components, String renderKitId) {
+        UIViewRoot viewRoot = new UIViewRoot();
+        viewRoot.setViewId("/benchmark.xhtml");
+        viewRoot.setRenderKitId(renderKitId);
+        context.setViewRoot(viewRoot);
+
+        HtmlForm form = new HtmlForm();
+        form.setId("form");
+        viewRoot.getChildren().add(form);
+
+        UIComponent group = null;
+        for (int i = 0; i < components; i++) {
+            if (i % 10 == 0) {
+                group = new HtmlPanelGroup();
+                group.setId("g" + i);
+                form.getChildren().add(group);
+            }
+
+            UIComponent child;
+            if (i % 2 == 0) {
+                HtmlInputText input = new HtmlInputText();
+                input.setValue("value " + i);
+                input.setStyleClass("input");
+                child = input;
+            } else {
+                HtmlOutputText output = new HtmlOutputText();
+                output.setValue("Label " + i);
+                child = output;
+            }
+            child.setId("c" + i);
+            group.getChildren().add(child);
+        }
+
+        return viewRoot;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static void releaseFactories() {
+        FactoryFinder.releaseFactories();
+        try {
+            Method reInitializeFactoryManager = FactoryFinder.class.getDeclaredMethod("reInitializeFactoryManager");
+            reInitializeFactoryManager.setAccessible(true);
+            reInitializeFactoryManager.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
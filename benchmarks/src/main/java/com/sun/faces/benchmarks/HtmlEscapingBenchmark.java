@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.faces.config.WebConfiguration.DisableUnicodeEscaping;
+import com.sun.faces.renderkit.html_basic.HtmlResponseWriter;
+import com.sun.faces.renderkit.html_basic.HtmlResponseWriter.EscapedText;
+import com.sun.faces.util.HtmlUtils;
+
+/**
+ * <p>
+ * Measures the escaping of text, attribute values and URLs by the {@link HtmlResponseWriter} and by
+ * {@link HtmlUtils} directly. The <code>content</code> parameter selects plain ASCII text, text with a lot of markup
+ * characters or text with a lot of non ASCII characters, the latter two forcing the slow paths of the escaping.
+ * </p>
+ *
+ * <p>
+ * The <code>renderPage</code> benchmarks write the template text of a 200 KB mostly static page, as a compiled Facelet
+ * renders it through its literal text instructions: once escaping every text on each render, as the instructions did
+ * before, and once writing the escaped text prepared by {@link EscapedText}, as they do now.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HtmlEscapingBenchmark {
+
+    private static final int TEXT_LENGTH = 4096;
+
+    private static final int PAGE_LENGTH = 200 * 1024;
+
+    private static final int PAGE_TEXT_LENGTH = 240;
+
+    @Param({ "plain", "markup", "unicode" })
+    public String content;
+
+    private String text;
+
+    private char[] textChars;
+
+    private String url;
+
+    private CountingWriter out;
+
+    private HtmlResponseWriter responseWriter;
+
+    private char[] buffer;
+
+    private char[] textBuffer;
+
+    private String[] pageTexts;
+
+    private EscapedText[] pageEscapedTexts;
+
+    @Setup
+    public void setUp() {
+        String sample;
+        switch (content) {
+        case "markup":
+            sample = "<b>Terms &amp; \"Conditions\"</b> apply to 'all' <i>orders</i> > 10 ";
+            break;
+        case "unicode":
+            sample = "Gr\u00fc\u00dfe aus M\u00fcnchen \u2013 \u00e0 bient\u00f4t \u2603 \u65e5\u672c ";
+            break;
+        default:
+            sample = "The quick brown fox jumps over the lazy dog 0123456789 ";
+            break;
+        }
+
+        StringBuilder builder = new StringBuilder(TEXT_LENGTH + sample.length());
+        while (builder.length() < TEXT_LENGTH) {
+            builder.append(sample);
+        }
+        text = builder.toString();
+        textChars = text.toCharArray();
+        url = "/app/faces/page.xhtml?q=" + sample.trim() + "&page=2#top";
+
+        out = new CountingWriter();
+        responseWriter = new HtmlResponseWriter(out, "text/html", "UTF-8", Boolean.FALSE, Boolean.FALSE, DisableUnicodeEscaping.False, false);
+        buffer = new char[1024];
+        textBuffer = new char[128];
+
+        // paragraphs of text alternating with the indentation between the tags of the template
+        String paragraph = text.substring(0, PAGE_TEXT_LENGTH);
+        String indentation = "\n            ";
+        List<String> texts = new ArrayList<>();
+        int pageLength = 0;
+        while (pageLength < PAGE_LENGTH) {
+            texts.add(paragraph);
+            texts.add(indentation);
+            pageLength += paragraph.length() + indentation.length();
+        }
+        pageTexts = texts.toArray(new String[0]);
+        pageEscapedTexts = new EscapedText[pageTexts.length];
+        for (int i = 0; i < pageTexts.length; i++) {
+            pageEscapedTexts[i] = new EscapedText(pageTexts[i]);
+        }
+    }
+
+    @Benchmark
+    public long writeText() throws IOException {
+        responseWriter.writeText(text, null);
+        return out.reset();
+    }
+
+    @Benchmark
+    public long writeTextChars() throws IOException {
+        responseWriter.writeText(textChars, 0, textChars.length);
+        return out.reset();
+    }
+
+    @Benchmark
+    public long writeAttribute() throws IOException {
+        responseWriter.startElement("span", null);
+        responseWriter.writeAttribute("title", text, null);
+        responseWriter.endElement("span");
+        return out.reset();
+    }
+
+    @Benchmark
+    public long writeURIAttribute() throws IOException {
+        responseWriter.startElement("a", null);
+        responseWriter.writeURIAttribute("href", url, null);
+        responseWriter.endElement("a");
+        return out.reset();
+    }
+
+    @Benchmark
+    public long htmlUtilsWriteText() throws IOException {
+        HtmlUtils.writeText(out, true, true, buffer, textChars, false);
+        return out.reset();
+    }
+
+    @Benchmark
+    public long htmlUtilsWriteAttribute() throws IOException {
+        HtmlUtils.writeAttribute(out, true, true, buffer, text, textBuffer, false, false);
+        return out.reset();
+    }
+
+    @Benchmark
+    public long renderPageEscapedPerRender() throws IOException {
+        for (String pageText : pageTexts) {
+            responseWriter.writeText(pageText, null);
+        }
+        return out.reset();
+    }
+
+    @Benchmark
+    public long renderPagePreEscaped() throws IOException {
+        for (EscapedText pageEscapedText : pageEscapedTexts) {
+            responseWriter.writeText(pageEscapedText);
+        }
+        return out.reset();
+    }
+
+    /**
+     * A writer which only counts the characters written to it, so that the benchmarks do not measure the growing of a
+     * buffer.
+     */
+    private static final class CountingWriter extends Writer {
+
+        private long count;
+
+        @Override
+        public void write(int c) {
+            count++;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        long reset() {
+            long result = count;
+            count = 0;
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.faces.application.view.FaceletPartialStateManagementStrategy;
+import com.sun.faces.mock.MockRenderKit;
+
+import jakarta.faces.FactoryFinder;
+import jakarta.faces.component.EditableValueHolder;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.render.RenderKitFactory;
+import jakarta.faces.render.ResponseStateManager;
+
+/**
+ * <p>
+ * Measures {@link FaceletPartialStateManagementStrategy#saveView(FacesContext)} and
+ * {@link FaceletPartialStateManagementStrategy#restoreView(FacesContext, String, String)} on generated views. The
+ * initial state of every component is marked as the view declaration language does after building the view, and every
+ * tenth input component is changed afterwards, so the saved state consists of the deltas of a typical postback.
+ * </p>
+ *
+ * <p>
+ * The state is handed from <code>saveView</code> to <code>restoreView</code> by a response state manager holding it
+ * in memory, so that only the state management strategy is measured and not the state helpers, see
+ * {@link StateHelperBenchmark} for these.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PartialStateSavingBenchmark {
+
+    private static final String RENDER_KIT_ID = "PARTIAL_STATE_SAVING_BENCHMARK";
+
+    @Param({ "1000", "10000" })
+    public int components;
+
+    private FacesEnvironment environment;
+
+    private FaceletPartialStateManagementStrategy strategy;
+
+    private InMemoryResponseStateManager responseStateManager;
+
+    @Setup
+    public void setUp() {
+        environment = new FacesEnvironment(Collections.emptyMap());
+        responseStateManager = new InMemoryResponseStateManager();
+        RenderKitFactory renderKitFactory = (RenderKitFactory) FactoryFinder.getFactory(FactoryFinder.RENDER_KIT_FACTORY);
+        renderKitFactory.addRenderKit(RENDER_KIT_ID, new MockRenderKit() {
+            @Override
+            public ResponseStateManager getResponseStateManager() {
+                return responseStateManager;
+            }
+        });
+
+        FacesContext context = environment.getContext();
+        UIViewRoot viewRoot = environment.createView(components, RENDER_KIT_ID);
+        markInitialState(viewRoot);
+        changeInputs(viewRoot, new int[1]);
+
+        strategy = new FaceletPartialStateManagementStrategy(context);
+        responseStateManager.state = strategy.saveView(context);
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.release();
+    }
+
+    @Benchmark
+    public Object saveView() {
+        return strategy.saveView(environment.getContext());
+    }
+
+    @Benchmark
+    public UIViewRoot restoreView() {
+        return strategy.restoreView(environment.getContext(), "/benchmark.xhtml", RENDER_KIT_ID);
+    }
+
+    private static void markInitialState(UIComponent component) {
+        component.markInitialState();
+        for (UIComponent child : component.getChildren()) {
+            markInitialState(child);
+        }
+    }
+
+    private static void changeInputs(UIComponent component, int[] inputs) {
+        if (component instanceof EditableValueHolder && inputs[0]++ % 10 == 0) {
+            ((EditableValueHolder) component).setValue("changed " + component.getId());
+        }
+        for (UIComponent child : component.getChildren()) {
+            changeInputs(child, inputs);
+        }
+    }
+
+    /**
+     * A response state manager which returns the state saved in the setup.
+     */
+    private static final class InMemoryResponseStateManager extends ResponseStateManager {
+
+        private Object state;
+
+        @Override
+        public Object getState(FacesContext context, String viewId) {
+            return state;
+        }
+
+    }
+
+}
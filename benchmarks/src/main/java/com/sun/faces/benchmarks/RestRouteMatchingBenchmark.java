@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.mojarra.rest.RestRoute;
+import org.eclipse.mojarra.rest.RestRouteIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the matching of request paths against the {@link RestRouteIndex} of the REST module. A third of the
+ * generated routes has a literal path, the others are regular expressions with one or two path parameters. The
+ * <code>linearScan</code> benchmark matches by evaluating every route in turn and serves as the baseline.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RestRouteMatchingBenchmark {
+
+    @Param({ "30", "300" })
+    public int routes;
+
+    private List<RestRoute> routeList;
+
+    private RestRouteIndex index;
+
+    private String literalPath;
+
+    private String parameterPath;
+
+    private String missingPath;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        Method method = Object.class.getMethod("toString");
+
+        routeList = new ArrayList<>(routes);
+        for (int i = 0; i < routes; i++) {
+            String resource = "/api/resource" + (i / 3);
+            String httpMethod = i % 2 == 0 ? "GET" : "POST";
+            switch (i % 3) {
+            case 0:
+                routeList.add(new RestRoute(null, method, resource, httpMethod));
+                break;
+            case 1:
+                routeList.add(new RestRoute(null, method, resource + "/([0-9]+)", httpMethod));
+                break;
+            default:
+                routeList.add(new RestRoute(null, method, resource + "/([^/]+)/items/([0-9]+)", httpMethod));
+                break;
+            }
+        }
+        index = new RestRouteIndex(routeList);
+
+        // the paths of routes in the middle of the list
+        int resource = routes / 6;
+        literalPath = "/api/resource" + resource;
+        parameterPath = "/api/resource" + resource + "/abc/items/42";
+        missingPath = "/api/unknown/42";
+    }
+
+    @Benchmark
+    public RestRoute literal() {
+        return index.match(literalPath, null);
+    }
+
+    @Benchmark
+    public RestRoute parameters() {
+        return index.match(parameterPath, null);
+    }
+
+    @Benchmark
+    public RestRoute missing() {
+        return index.match(missingPath, null);
+    }
+
+    @Benchmark
+    public RestRoute linearScan() {
+        for (RestRoute route : routeList) {
+            if (route.matches(parameterPath, null)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.benchmarks;
+
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.CompressViewState;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ClientStateCodec;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ClientStateCompressionLevel;
+import static com.sun.faces.renderkit.RenderKitUtils.PredefinedPostbackParameter.VIEW_STATE_PARAM;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.faces.application.view.FaceletPartialStateManagementStrategy;
+import com.sun.faces.renderkit.ClientSideStateHelper;
+import com.sun.faces.renderkit.ServerSideStateHelper;
+import com.sun.faces.renderkit.StateHelper;
+
+import jakarta.faces.application.StateManager;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.render.RenderKitFactory;
+
+/**
+ * <p>
+ * Measures writing and reading back the view state of a generated view with the {@link ClientSideStateHelper} and the
+ * {@link ServerSideStateHelper}, the latter with and without serializing the state in the session.
+ * </p>
+ *
+ * <p>
+ * The state is either not compressed or deflated with the given level, and written with Java serialization or with the
+ * compact codec of <code>com.sun.faces.clientStateCodec</code>. The server side state helper only honors turning off
+ * compression, it always uses the default level and Java serialization, so its other combinations measure the same
+ * thing. Use <code>-p helper=client</code> to compare the codecs and levels only:
+ * </p>
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar StateHelperBenchmark -p helper=client
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StateHelperBenchmark {
+
+    private static final String VIEW_STATE_VALUE = "com.sun.faces.ViewStateValue";
+
+    @Param({ "client", "server", "serverSerialized" })
+    public String helper;
+
+    @Param({ "1000", "10000", "100000" })
+    public int components;
+
+    @Param({ "none", "1", "6", "9" })
+    public String compression;
+
+    @Param({ "serialization", "compact" })
+    public String codec;
+
+    private FacesEnvironment environment;
+
+    private StateHelper stateHelper;
+
+    private Object state;
+
+    @Setup
+    public void setUp() throws IOException {
+        Map<String, String> initParameters = new HashMap<>();
+        if ("serverSerialized".equals(helper)) {
+            initParameters.put(StateManager.SERIALIZE_SERVER_STATE_PARAM_NAME, "true");
+        }
+        if ("none".equals(compression)) {
+            initParameters.put(CompressViewState.getQualifiedName(), "false");
+        } else {
+            initParameters.put(ClientStateCompressionLevel.getQualifiedName(), compression);
+        }
+        initParameters.put(ClientStateCodec.getQualifiedName(), codec);
+        environment = new FacesEnvironment(initParameters);
+
+        FacesContext context = environment.getContext();
+        environment.createView(components, RenderKitFactory.HTML_BASIC_RENDER_KIT);
+        state = new FaceletPartialStateManagementStrategy(context).saveView(context);
+        stateHelper = "client".equals(helper) ? new ClientSideStateHelper() : new ServerSideStateHelper();
+
+        StringBuilder stateCapture = new StringBuilder();
+        stateHelper.writeState(context, state, stateCapture);
+        environment.getRequest().addParameter(VIEW_STATE_PARAM.getName(context), stateCapture.toString());
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.release();
+    }
+
+    @Benchmark
+    public StringBuilder writeState() throws IOException {
+        FacesContext context = environment.getContext();
+
+        // the server side state helper writes the state only once per request
+        context.getAttributes().remove(VIEW_STATE_VALUE);
+
+        StringBuilder stateCapture = new StringBuilder();
+        stateHelper.writeState(context, state, stateCapture);
+        return stateCapture;
+    }
+
+    @Benchmark
+    public Object getState() throws IOException {
+        return stateHelper.getState(environment.getContext(), "/benchmark.xhtml");
+    }
+
+}
@@ -15,19 +15,15 @@
  */
 package org.eclipse.mojarra.cdi;
 
-import jakarta.enterprise.inject.literal.NamedLiteral;
 import jakarta.enterprise.inject.spi.AnnotatedType;
 import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanManager;
-import jakarta.enterprise.inject.spi.CDI;
 import jakarta.faces.lifecycle.Lifecycle;
 import jakarta.faces.lifecycle.LifecycleFactory;
 import jakarta.inject.Named;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Set;
-import javax.naming.InitialContext;
-import javax.naming.NamingException;
 
 /**
  * The CDI LifecycleFactory.
@@ -35,11 +31,20 @@ import javax.naming.NamingException;
  * <p>
  *  This factory makes it possible for your CDI implementation to determine
  *  which Lifecycle to use when a Lifecycle is requested.
+ * </p>
+ *
+ * <p>
+ *  Lifecycles are resolved once per id, see {@link CdiReferenceCache}.
  * 
  * @since 4.0
  */
 public class CdiLifecycleFactory extends LifecycleFactory {
 
+    /**
+     * Stores the lifecycle cache.
+     */
+    private final CdiReferenceCache<Lifecycle> lifecycles = new CdiReferenceCache<>(Lifecycle.class);
+
     /**
      * Constructor.
      *
@@ -54,56 +59,40 @@ public class CdiLifecycleFactory extends LifecycleFactory {
         // because we are using CDI to manage our lifecycles this is a no-op.
     }
 
+    /**
+     * Get the number of lifecycle cache hits.
+     *
+     * @return the number of cache hits.
+     */
+    public long getCacheHits() {
+        return lifecycles.getHits();
+    }
+
+    /**
+     * Get the number of lifecycle cache misses.
+     *
+     * @return the number of cache misses.
+     */
+    public long getCacheMisses() {
+        return lifecycles.getMisses();
+    }
+
     @Override
     public Lifecycle getLifecycle(String lifecycleId) {
-        Lifecycle result = null;
+        Lifecycle result;
         if (lifecycleId.equals(LifecycleFactory.DEFAULT_LIFECYCLE)) {
             result = getWrapped().getLifecycle(lifecycleId);
         } else {
-            BeanManager beanManager = getBeanManager();
-            AnnotatedType<Lifecycle> type = beanManager.createAnnotatedType(Lifecycle.class);
-            Set<Bean<?>> beans = beanManager.getBeans(type.getBaseType(), NamedLiteral.of(lifecycleId));
-            Iterator<Bean<?>> iterator = beans.iterator();
-            while (iterator.hasNext()) {
-                Bean<?> bean = iterator.next();
-                Named named = bean.getBeanClass().getAnnotation(Named.class);
-                if (named.value().equals(lifecycleId)) {
-                    result = (Lifecycle) CDI.current().select(named).get();
-                    break;
-                }
-            }
+            result = lifecycles.getReference(lifecycleId);
         }
         return result;
     }
 
-    /**
-     * Get the bean manager, either from 'java:comp/BeanManager' or
-     * 'java:comp/env/BeanManager'.
-     *
-     * @return the bean manager.
-     */
-    private BeanManager getBeanManager() {
-        BeanManager beanManager = null;
-        try {
-            InitialContext initialContext = new InitialContext();
-            beanManager = (BeanManager) initialContext.lookup("java:comp/BeanManager");
-        } catch (NamingException ne) {
-        }
-        if (beanManager == null) {
-            try {
-                InitialContext initialContext = new InitialContext();
-                beanManager = (BeanManager) initialContext.lookup("java:comp/env/BeanManager");
-            } catch (NamingException ne) {
-            }
-        }
-        return beanManager;
-    }
-
     @Override
     public Iterator<String> getLifecycleIds() {
         ArrayList<String> lifecycleIds = new ArrayList<>();
         getWrapped().getLifecycleIds().forEachRemaining(lifecycleIds::add);
-        BeanManager beanManager = getBeanManager();
+        BeanManager beanManager = lifecycles.getBeanManager();
         AnnotatedType<Lifecycle> type = beanManager.createAnnotatedType(Lifecycle.class);
         Set<Bean<?>> beans = beanManager.getBeans(type.getBaseType());
         Iterator<Bean<?>> iterator = beans.iterator();
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.eclipse.mojarra.cdi;
+
+import jakarta.enterprise.inject.literal.NamedLiteral;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.inject.Named;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+/**
+ * The CDI reference cache.
+ *
+ * <p>
+ *  This cache resolves a named bean of a given type once and remembers the
+ *  result. For a normal-scoped bean the contextual reference is a client proxy
+ *  that stays valid for the lifetime of the application, so the reference
+ *  itself is cached. For a pseudo-scoped bean (e.g. Dependent) only the bean
+ *  is cached and a new contextual reference is obtained on every lookup, so
+ *  the semantics of the scope are preserved.
+ * 
+ * @param <T> the type of the bean.
+ * @since 4.1
+ */
+public class CdiReferenceCache<T> {
+
+    /**
+     * Stores the cache entries.
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Stores the number of cache hits.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Stores the number of cache misses.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Stores the type of the bean.
+     */
+    private final Class<T> type;
+
+    /**
+     * Stores the bean manager.
+     */
+    private volatile BeanManager beanManager;
+
+    /**
+     * Constructor.
+     *
+     * @param type the type of the bean.
+     */
+    public CdiReferenceCache(Class<T> type) {
+        this.type = type;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param type the type of the bean.
+     * @param beanManager the bean manager.
+     */
+    public CdiReferenceCache(Class<T> type, BeanManager beanManager) {
+        this.type = type;
+        this.beanManager = beanManager;
+    }
+
+    /**
+     * Get the bean manager.
+     *
+     * <p>
+     *  The bean manager is looked up once, either from 'java:comp/BeanManager',
+     *  'java:comp/env/BeanManager' or through {@link CDI#current()}.
+     * </p>
+     *
+     * @return the bean manager.
+     */
+    public BeanManager getBeanManager() {
+        BeanManager result = beanManager;
+        if (result == null) {
+            try {
+                InitialContext initialContext = new InitialContext();
+                result = (BeanManager) initialContext.lookup("java:comp/BeanManager");
+            } catch (NamingException ne) {
+            }
+            if (result == null) {
+                try {
+                    InitialContext initialContext = new InitialContext();
+                    result = (BeanManager) initialContext.lookup("java:comp/env/BeanManager");
+                } catch (NamingException ne) {
+                }
+            }
+            if (result == null) {
+                result = CDI.current().getBeanManager();
+            }
+            beanManager = result;
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of cache hits.
+     *
+     * @return the number of cache hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of cache misses.
+     *
+     * @return the number of cache misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the reference for the bean with the given name.
+     *
+     * @param name the name.
+     * @return the reference, or null if there is no such bean.
+     */
+    public T getReference(String name) {
+        Entry entry = entries.get(name);
+        if (entry != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            entry = resolve(name);
+            if (entry == null) {
+                return null;
+            }
+            entries.putIfAbsent(name, entry);
+        }
+        return entry.reference != null ? entry.reference : createReference(entry.bean);
+    }
+
+    /**
+     * Clear the cache.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Create a contextual reference for the given bean.
+     *
+     * @param <B> the type of the bean.
+     * @param bean the bean.
+     * @return the contextual reference.
+     */
+    private <B> T createReference(Bean<B> bean) {
+        BeanManager manager = getBeanManager();
+        return type.cast(manager.getReference(bean, type, manager.createCreationalContext(bean)));
+    }
+
+    /**
+     * Resolve the bean with the given name.
+     *
+     * @param name the name.
+     * @return the cache entry, or null if there is no such bean.
+     */
+    private Entry resolve(String name) {
+        BeanManager manager = getBeanManager();
+        Set<Bean<?>> beans = manager.getBeans(type, NamedLiteral.of(name));
+        Iterator<Bean<?>> iterator = beans.iterator();
+        while (iterator.hasNext()) {
+            Bean<?> bean = iterator.next();
+            Named named = bean.getBeanClass().getAnnotation(Named.class);
+            if (named != null && named.value().equals(name)) {
+                T reference = manager.isNormalScope(bean.getScope()) ? createReference(bean) : null;
+                return new Entry(bean, reference);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A cache entry.
+     */
+    private class Entry {
+
+        /**
+         * Stores the bean.
+         */
+        private final Bean<?> bean;
+
+        /**
+         * Stores the contextual reference (only for normal-scoped beans).
+         */
+        private final T reference;
+
+        /**
+         * Constructor.
+         *
+         * @param bean the bean.
+         * @param reference the contextual reference, or null.
+         */
+        Entry(Bean<?> bean, T reference) {
+            this.bean = bean;
+            this.reference = reference;
+        }
+    }
+}
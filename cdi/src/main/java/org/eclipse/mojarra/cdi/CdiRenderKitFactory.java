@@ -15,11 +15,9 @@
  */
 package org.eclipse.mojarra.cdi;
 
-import jakarta.enterprise.inject.literal.NamedLiteral;
 import jakarta.enterprise.inject.spi.AnnotatedType;
 import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanManager;
-import jakarta.enterprise.inject.spi.CDI;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.render.RenderKit;
 import jakarta.faces.render.RenderKitFactory;
@@ -36,6 +34,10 @@ import javax.naming.NamingException;
  * <p>
  *  This factory makes it possible for your CDI implementation to determine
  *  which RenderKit to use when a RenderKit is requested.
+ * </p>
+ *
+ * <p>
+ *  RenderKits are resolved once per id, see {@link CdiReferenceCache}.
  * 
  * @since 4.0
  */
@@ -46,10 +48,16 @@ public class CdiRenderKitFactory extends RenderKitFactory {
      */
     public BeanManager beanManager;
 
+    /**
+     * Stores the render-kit cache.
+     */
+    private final CdiReferenceCache<RenderKit> renderKits;
+
     /**
      * Constructor.
      */
     public CdiRenderKitFactory() {
+        renderKits = new CdiReferenceCache<>(RenderKit.class);
     }
 
     /**
@@ -71,6 +79,9 @@ public class CdiRenderKitFactory extends RenderKitFactory {
             } catch (NamingException ne) {
             }
         }
+        renderKits = beanManager != null
+                ? new CdiReferenceCache<>(RenderKit.class, beanManager)
+                : new CdiReferenceCache<>(RenderKit.class);
     }
 
     @Override
@@ -78,23 +89,31 @@ public class CdiRenderKitFactory extends RenderKitFactory {
         // because we are using CDI to manage our render-kits this is a no-op.
     }
 
+    /**
+     * Get the number of render-kit cache hits.
+     *
+     * @return the number of cache hits.
+     */
+    public long getCacheHits() {
+        return renderKits.getHits();
+    }
+
+    /**
+     * Get the number of render-kit cache misses.
+     *
+     * @return the number of cache misses.
+     */
+    public long getCacheMisses() {
+        return renderKits.getMisses();
+    }
+
     @Override
     public RenderKit getRenderKit(FacesContext facesContext, String renderKitId) {
-        RenderKit result = null;
+        RenderKit result;
         if (renderKitId.equals(RenderKitFactory.HTML_BASIC_RENDER_KIT)) {
             result = getWrapped().getRenderKit(facesContext, renderKitId);
         } else {
-            AnnotatedType<RenderKit> type = beanManager.createAnnotatedType(RenderKit.class);
-            Set<Bean<?>> beans = beanManager.getBeans(type.getBaseType(), NamedLiteral.of(renderKitId));
-            Iterator<Bean<?>> iterator = beans.iterator();
-            while (iterator.hasNext()) {
-                Bean<?> bean = iterator.next();
-                Named named = bean.getBeanClass().getAnnotation(Named.class);
-                if (named.value().equals(renderKitId)) {
-                    result = (RenderKit) CDI.current().select(named).get();
-                    break;
-                }
-            }
+            result = renderKits.getReference(renderKitId);
         }
         return result;
     }
@@ -103,6 +122,7 @@ public class CdiRenderKitFactory extends RenderKitFactory {
     public Iterator<String> getRenderKitIds() {
         ArrayList<String> renderKitIds = new ArrayList<>();
         getWrapped().getRenderKitIds().forEachRemaining(renderKitIds::add);
+        BeanManager beanManager = renderKits.getBeanManager();
         AnnotatedType<RenderKit> type = beanManager.createAnnotatedType(RenderKit.class);
         Set<Bean<?>> beans = beanManager.getBeans(type.getBaseType());
         Iterator<Bean<?>> iterator = beans.iterator();
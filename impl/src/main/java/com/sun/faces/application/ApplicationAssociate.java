@@ -19,7 +19,9 @@ package com.sun.faces.application;
 import static com.sun.faces.RIConstants.FACES_CONFIG_VERSION;
 import static com.sun.faces.RIConstants.FACES_PREFIX;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.AutomaticExtensionlessMapping;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnablePersistentFaceletCache;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.FaceletsSkipComments;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.PrewarmPersistentFaceletCache;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.FaceletsDecorators;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.FaceletsDefaultRefreshPeriod;
 import static com.sun.faces.el.ELUtils.buildFacesResolver;
@@ -39,8 +41,11 @@ import static java.lang.Long.parseLong;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
 import static java.util.logging.Level.SEVERE;
+import static java.util.logging.Level.WARNING;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
@@ -78,6 +83,10 @@ import com.sun.faces.facelets.tag.ui.UILibrary;
 import com.sun.faces.facelets.util.DevTools;
 import com.sun.faces.facelets.util.FunctionLibrary;
 import com.sun.faces.spi.InjectionProvider;
+import com.sun.faces.spi.MetricsCollector;
+import com.sun.faces.spi.MetricsCollectorFactory;
+import com.sun.faces.spi.ViewStateStore;
+import com.sun.faces.spi.ViewStateStoreFactory;
 import com.sun.faces.util.FacesLogger;
 
 import jakarta.el.CompositeELResolver;
@@ -163,6 +172,10 @@ public class ApplicationAssociate {
     private ResourceManager resourceManager;
     private ApplicationStateInfo applicationStateInfo;
 
+    private MetricsCollector metricsCollector;
+
+    private volatile ViewStateStore viewStateStore;
+
     private PropertyEditorHelper propertyEditorHelper;
 
     private NamedEventManager namedEventManager;
@@ -260,6 +273,7 @@ public class ApplicationAssociate {
         resourceManager = new ResourceManager(applicationMap, resourceCache);
         namedEventManager = new NamedEventManager();
         applicationStateInfo = new ApplicationStateInfo();
+        metricsCollector = MetricsCollectorFactory.createInstance(externalContext);
 
         appImpl.subscribeToEvent(PostConstructApplicationEvent.class, Application.class, new PostConstructApplicationListener());
 
@@ -322,6 +336,10 @@ public class ApplicationAssociate {
                                    .forEach(view -> registration.addMapping(view)));
             }
 
+            if (webConfig.isOptionEnabled(PrewarmPersistentFaceletCache) && compiler instanceof SAXCompiler) {
+                prewarmFaceletCache(context.getExternalContext(), (SAXCompiler) compiler);
+            }
+
         }
 
     }
@@ -346,6 +364,36 @@ public class ApplicationAssociate {
         return applicationStateInfo;
     }
 
+    /**
+     * @return the collector of request metrics, or <code>null</code> if metrics are not collected
+     */
+    public MetricsCollector getMetricsCollector() {
+        return metricsCollector;
+    }
+
+    /**
+     * Return the store holding the view state of server-side state saving, created on first use so that it is only
+     * created when server-side state saving is used.
+     *
+     * @param numberOfLogicalViews the number of logical views as configured by the user
+     * @param numberOfViews the number of views per logical view as configured by the user
+     * @return the store holding the view state of this application
+     */
+    public ViewStateStore getViewStateStore(int numberOfLogicalViews, int numberOfViews) {
+        ViewStateStore store = viewStateStore;
+        if (store == null) {
+            synchronized (this) {
+                store = viewStateStore;
+                if (store == null) {
+                    store = ViewStateStoreFactory.createInstance(FacesContext.getCurrentInstance().getExternalContext(), numberOfLogicalViews, numberOfViews);
+                    viewStateStore = store;
+                }
+            }
+        }
+
+        return store;
+    }
+
     public ResourceManager getResourceManager() {
         return resourceManager;
     }
@@ -396,6 +444,10 @@ public class ApplicationAssociate {
             me.resourceBundles.clear();
         }
 
+        if (me != null) {
+            me.release();
+        }
+
         applicationMap.remove(ASSOCIATE_KEY);
     }
 
@@ -406,9 +458,23 @@ public class ApplicationAssociate {
             me.resourceBundles.clear();
         }
 
+        if (me != null) {
+            me.release();
+        }
+
         servletContext.removeAttribute(ASSOCIATE_KEY);
     }
 
+    private void release() {
+        if (metricsCollector != null) {
+            metricsCollector.release();
+        }
+
+        if (viewStateStore != null) {
+            viewStateStore.release();
+        }
+    }
+
     public void initializeELResolverChains() {
         // 1. initialize the chains with default values
         if (applicationImpl.getCompositeELResolver() == null) {
@@ -650,18 +716,70 @@ public class ApplicationAssociate {
     }
 
     protected Compiler createCompiler(Map<String, Object> appMap, WebConfiguration webConfig) {
-        Compiler newCompiler = new SAXCompiler();
+        SAXCompiler newCompiler = new SAXCompiler();
 
         loadDecorators(appMap, newCompiler);
 
         // Skip params?
         newCompiler.setTrimmingComments(webConfig.isOptionEnabled(FaceletsSkipComments));
 
+        if (webConfig.isOptionEnabled(EnablePersistentFaceletCache)) {
+            File tempDir = (File) appMap.get(ServletContext.TEMPDIR);
+            if (tempDir != null) {
+                try {
+                    newCompiler.setCacheDirectory(new File(tempDir, "mojarra-facelets"));
+                } catch (IOException e) {
+                    LOGGER.log(WARNING, "Unable to create the persistent Facelet cache, Facelets will be parsed on every compilation", e);
+                }
+            } else {
+                LOGGER.log(WARNING, "No {0} available, the persistent Facelet cache is disabled", ServletContext.TEMPDIR);
+            }
+        }
+
         addTagLibraries(newCompiler);
 
         return newCompiler;
     }
 
+    /**
+     * Parses all Facelets of the web application into the compiler's persistent cache, so that requests don't have to
+     * wait for the SAX parser.
+     */
+    private void prewarmFaceletCache(ExternalContext externalContext, SAXCompiler compiler) {
+        List<String> extensions = webConfig.getConfiguredExtensions();
+        List<URL> sources = new ArrayList<>();
+        collectFacelets(externalContext, "/", extensions, sources);
+
+        long start = System.nanoTime();
+        int parsed = compiler.prewarm(sources, webConfig);
+        if (LOGGER.isLoggable(INFO)) {
+            LOGGER.log(INFO, "Prewarmed the persistent Facelet cache in {0} ms, {1} of {2} Facelets were parsed",
+                    new Object[] { (System.nanoTime() - start) / 1_000_000, parsed, sources.size() });
+        }
+    }
+
+    private static void collectFacelets(ExternalContext externalContext, String path, List<String> extensions, List<URL> sources) {
+        Set<String> paths = externalContext.getResourcePaths(path);
+        if (paths == null) {
+            return;
+        }
+
+        for (String child : paths) {
+            if (child.endsWith("/")) {
+                collectFacelets(externalContext, child, extensions, sources);
+            } else if (extensions.stream().anyMatch(child::endsWith)) {
+                try {
+                    URL url = externalContext.getResource(child);
+                    if (url != null) {
+                        sources.add(url);
+                    }
+                } catch (IOException e) {
+                    LOGGER.log(FINE, "Unable to prewarm " + child, e);
+                }
+            }
+        }
+    }
+
     protected void loadDecorators(Map<String, Object> appMap, Compiler newCompiler) {
         String decoratorsParamValue = webConfig.getOptionValue(FaceletsDecorators);
 
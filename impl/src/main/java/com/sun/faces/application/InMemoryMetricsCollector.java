@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.ObjectName;
+
+import com.sun.faces.spi.MetricsCollector;
+import com.sun.faces.util.JmxUtils;
+
+import jakarta.faces.event.PhaseId;
+
+/**
+ * <p>
+ * The default {@link MetricsCollector}, enabled by the
+ * {@link com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter#EnableMetrics} context parameter. It keeps
+ * a log-linear histogram per metric, both for the application as a whole and per view, and exposes them through JMX.
+ * </p>
+ *
+ * <p>
+ * Recording is lock free and does not allocate once a view has been seen. At most {@value #MAX_VIEWS} views are tracked
+ * individually, the metrics of further views are accumulated under {@value #OTHER_VIEWS}, so that an application
+ * with unbounded view ids cannot exhaust the heap.
+ * </p>
+ */
+public class InMemoryMetricsCollector implements MetricsCollector, MetricsCollectorMXBean {
+
+    static final int MAX_VIEWS = 250;
+    static final String ALL_VIEWS = "*";
+    static final String OTHER_VIEWS = "(other)";
+
+    private static final String[] METRICS = { PhaseId.RESTORE_VIEW.getName(), PhaseId.APPLY_REQUEST_VALUES.getName(),
+            PhaseId.PROCESS_VALIDATIONS.getName(), PhaseId.UPDATE_MODEL_VALUES.getName(), PhaseId.INVOKE_APPLICATION.getName(),
+            PhaseId.RENDER_RESPONSE.getName(), "FULL_REQUEST", "PARTIAL_REQUEST", "STATE_SAVE", "STATE_RESTORE", "VIEW_BUILD" };
+
+    private static final int FULL_REQUEST = 6;
+    private static final int PARTIAL_REQUEST = 7;
+    private static final int STATE_SAVE = 8;
+    private static final int STATE_RESTORE = 9;
+    private static final int VIEW_BUILD = 10;
+
+    private volatile ViewMetrics totals = new ViewMetrics();
+    private final Map<String, ViewMetrics> views = new ConcurrentHashMap<>();
+    private ObjectName name;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Creates a collector without registering it with JMX.
+     */
+    public InMemoryMetricsCollector() {
+    }
+
+    /**
+     * Creates a collector and registers it with the platform MBean server.
+     *
+     * @param application the context path of the application, used in the JMX object name
+     */
+    public InMemoryMetricsCollector(String application) {
+        name = JmxUtils.registerMBean(this, "Metrics", application, this, "the request metrics");
+    }
+
+    // ------------------------------------------------- Methods from MetricsCollector
+
+    @Override
+    public void phaseCompleted(String viewId, PhaseId phaseId, long nanos) {
+        int ordinal = phaseId.getOrdinal();
+        if (ordinal > 0) {
+            record(viewId, ordinal - 1, nanos, -1);
+        }
+    }
+
+    @Override
+    public void requestCompleted(String viewId, boolean partial, long nanos) {
+        record(viewId, partial ? PARTIAL_REQUEST : FULL_REQUEST, nanos, -1);
+    }
+
+    @Override
+    public void stateSaved(String viewId, long bytes, long nanos) {
+        record(viewId, STATE_SAVE, nanos, bytes);
+    }
+
+    @Override
+    public void stateRestored(String viewId, long bytes, long nanos) {
+        record(viewId, STATE_RESTORE, nanos, bytes);
+    }
+
+    @Override
+    public void viewBuilt(String viewId, long nanos) {
+        record(viewId, VIEW_BUILD, nanos, -1);
+    }
+
+    @Override
+    public void release() {
+        JmxUtils.unregisterMBean(name);
+        name = null;
+    }
+
+    // ------------------------------------------ Methods from MetricsCollectorMXBean
+
+    @Override
+    public List<MetricsSnapshot> getTotals() {
+        return totals.snapshot(ALL_VIEWS, new ArrayList<>());
+    }
+
+    @Override
+    public List<MetricsSnapshot> getViews() {
+        List<MetricsSnapshot> snapshots = new ArrayList<>();
+        views.forEach((viewId, metrics) -> metrics.snapshot(viewId, snapshots));
+        return snapshots;
+    }
+
+    @Override
+    public List<MetricsSnapshot> getViewMetrics(String viewId) {
+        ViewMetrics metrics = viewId != null ? views.get(viewId) : null;
+        return metrics != null ? metrics.snapshot(viewId, new ArrayList<>()) : Collections.emptyList();
+    }
+
+    @Override
+    public void reset() {
+        totals = new ViewMetrics();
+        views.clear();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void record(String viewId, int metric, long nanos, long bytes) {
+        totals.record(metric, nanos, bytes);
+        getMetrics(viewId).record(metric, nanos, bytes);
+    }
+
+    private ViewMetrics getMetrics(String viewId) {
+        String key = viewId != null ? viewId : OTHER_VIEWS;
+        ViewMetrics metrics = views.get(key);
+        if (metrics == null) {
+            if (views.size() >= MAX_VIEWS) {
+                key = OTHER_VIEWS;
+            }
+            metrics = views.computeIfAbsent(key, k -> new ViewMetrics());
+        }
+
+        return metrics;
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * The histograms of a single view, created on first use as most views only ever see some of the metrics.
+     */
+    private static final class ViewMetrics {
+
+        private final AtomicReferenceArray<Histogram> histograms = new AtomicReferenceArray<>(METRICS.length);
+
+        void record(int metric, long nanos, long bytes) {
+            Histogram histogram = histograms.get(metric);
+            if (histogram == null) {
+                histograms.compareAndSet(metric, null, new Histogram());
+                histogram = histograms.get(metric);
+            }
+            histogram.record(nanos, bytes);
+        }
+
+        List<MetricsSnapshot> snapshot(String viewId, List<MetricsSnapshot> snapshots) {
+            for (int i = 0; i < METRICS.length; i++) {
+                Histogram histogram = histograms.get(i);
+                if (histogram != null) {
+                    snapshots.add(histogram.snapshot(viewId, METRICS[i]));
+                }
+            }
+            return snapshots;
+        }
+
+    }
+
+    /**
+     * <p>
+     * A histogram with buckets growing exponentially, each power of two being split in {@value #SUB_BUCKETS} linear
+     * sub buckets. Durations are recorded with a resolution of about a microsecond and up to about half an hour, longer
+     * durations end up in the last bucket but are still reflected by the maximum and the total.
+     * </p>
+     */
+    static final class Histogram {
+
+        private static final int SUB_BUCKETS = 4;
+        private static final int UNIT_SHIFT = 10;
+        private static final int MAX_EXPONENT = 30;
+
+        static final int BUCKETS = MAX_EXPONENT * SUB_BUCKETS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder totalBytes = new LongAdder();
+        private final AtomicLong maxBytes = new AtomicLong();
+
+        void record(long nanos, long bytes) {
+            if (nanos < 0) {
+                nanos = 0;
+            }
+            buckets.incrementAndGet(bucketOf(nanos));
+            count.increment();
+            totalNanos.add(nanos);
+            if (nanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(nanos, Math::max);
+            }
+            if (bytes > 0) {
+                totalBytes.add(bytes);
+                if (bytes > maxBytes.get()) {
+                    maxBytes.accumulateAndGet(bytes, Math::max);
+                }
+            }
+        }
+
+        MetricsSnapshot snapshot(String viewId, String metric) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+            long max = maxNanos.get();
+
+            return new MetricsSnapshot(viewId, metric, count.sum(), totalNanos.sum(), max, percentile(counts, total, 0.50, max),
+                    percentile(counts, total, 0.90, max), percentile(counts, total, 0.99, max), totalBytes.sum(), maxBytes.get());
+        }
+
+        static int bucketOf(long nanos) {
+            long units = nanos >>> UNIT_SHIFT;
+            if (units < SUB_BUCKETS) {
+                return (int) units;
+            }
+
+            int exponent = 63 - Long.numberOfLeadingZeros(units);
+            if (exponent > MAX_EXPONENT) {
+                return BUCKETS - 1;
+            }
+
+            return (exponent - 1) * SUB_BUCKETS + (int) ((units >>> (exponent - 2)) & (SUB_BUCKETS - 1));
+        }
+
+        static long upperBoundOf(int bucket) {
+            int next = bucket + 1;
+            long lowerUnits = next < SUB_BUCKETS ? next : (long) (SUB_BUCKETS + next % SUB_BUCKETS) << (next / SUB_BUCKETS - 1);
+            return (lowerUnits << UNIT_SHIFT) - 1;
+        }
+
+        private static long percentile(long[] counts, long total, double percentile, long max) {
+            if (total == 0) {
+                return 0;
+            }
+
+            long rank = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), max);
+                }
+            }
+
+            return max;
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application;
+
+import java.util.List;
+
+/**
+ * <p>
+ * JMX view of the request metrics of an application, registered as <code>com.sun.faces:type=Metrics</code>.
+ *
+ * @see InMemoryMetricsCollector
+ */
+public interface MetricsCollectorMXBean {
+
+    /**
+     * @return The metrics of the whole application, one entry per phase, request type, state saving and view building.
+     */
+    List<MetricsSnapshot> getTotals();
+
+    /**
+     * @return The metrics of every view seen so far, one entry per view and metric.
+     */
+    List<MetricsSnapshot> getViews();
+
+    /**
+     * @param viewId The id of the view.
+     * @return The metrics of the given view, empty if the view has not been seen.
+     */
+    List<MetricsSnapshot> getViewMetrics(String viewId);
+
+    /**
+     * Discard all metrics collected so far.
+     */
+    void reset();
+
+}
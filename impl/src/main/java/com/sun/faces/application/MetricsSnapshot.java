@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * <p>
+ * An immutable snapshot of a single metric, as exposed by {@link MetricsCollectorMXBean}. Percentiles are the upper
+ * bound of the histogram bucket they fall in, which is at most 25% above the actual value.
+ * </p>
+ */
+public class MetricsSnapshot {
+
+    private final String viewId;
+    private final String metric;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long totalBytes;
+    private final long maxBytes;
+
+    // ------------------------------------------------------------ Constructors
+
+    @ConstructorProperties({ "viewId", "metric", "count", "totalNanos", "maxNanos", "p50Nanos", "p90Nanos", "p99Nanos", "totalBytes", "maxBytes" })
+    public MetricsSnapshot(String viewId, String metric, long count, long totalNanos, long maxNanos, long p50Nanos, long p90Nanos, long p99Nanos,
+            long totalBytes, long maxBytes) {
+        this.viewId = viewId;
+        this.metric = metric;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.totalBytes = totalBytes;
+        this.maxBytes = maxBytes;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the id of the view, or <code>*</code> for application wide totals
+     */
+    public String getViewId() {
+        return viewId;
+    }
+
+    /**
+     * @return the name of the metric, a <code>PhaseId</code> name or one of <code>FULL_REQUEST</code>,
+     * <code>PARTIAL_REQUEST</code>, <code>STATE_SAVE</code>, <code>STATE_RESTORE</code> and <code>VIEW_BUILD</code>
+     */
+    public String getMetric() {
+        return metric;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    /**
+     * @return the sum of the state sizes, only maintained for <code>STATE_SAVE</code> and <code>STATE_RESTORE</code>
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return viewId + " " + metric + " [count=" + count + ", total=" + totalNanos + "ns, max=" + maxNanos + "ns, p50=" + p50Nanos + "ns, p90="
+                + p90Nanos + "ns, p99=" + p99Nanos + "ns]";
+    }
+
+}
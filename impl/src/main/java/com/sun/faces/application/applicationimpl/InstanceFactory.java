@@ -54,6 +54,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -63,6 +64,7 @@ import com.sun.faces.application.ViewMemberInstanceFactoryMetadataMap;
 import com.sun.faces.cdi.CdiUtils;
 import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.Instantiator;
 import com.sun.faces.util.MessageUtils;
 import com.sun.faces.util.ReflectionUtils;
 import com.sun.faces.util.Util;
@@ -92,6 +94,7 @@ public class InstanceFactory {
     private static final String COMPONENT_EXPRESSION = "componentExpression";
     private static final String COMPONENT_TYPE = "componentType";
     private static final String COMPONENT_CLASS = "componentClass";
+    private static final String DECLARED_DEFAULT_VALUES_KEY = InstanceFactory.class.getName() + ".DECLARED_DEFAULT_VALUES";
 
     private static final Map<String, Class<?>[]> STANDARD_CONV_ID_TO_TYPE_MAP = new HashMap<>(8, 1.0f);
     private static final Map<Class<?>, String> STANDARD_TYPE_TO_CONV_ID_MAP = new HashMap<>(16, 1.0f);
@@ -126,6 +129,20 @@ public class InstanceFactory {
     private static final class ComponentResourceClassNotFound {
     }
 
+    /**
+     * The literal default values declared by a composite component, for a particular component class.
+     */
+    private static final class DeclaredDefaultValues {
+
+        private final Class<?> componentClass;
+        private final Map<String, Object> literalValues;
+
+        DeclaredDefaultValues(Class<?> componentClass, Map<String, Object> literalValues) {
+            this.componentClass = componentClass;
+            this.literalValues = literalValues;
+        }
+    }
+
     //
     // These four maps store store "identifier" | "class name"
     // mappings.
@@ -254,7 +271,8 @@ public class InstanceFactory {
                     if (!associate.isDevModeEnabled()) {
                         componentMap.put(className, clazz);
                     }
-                    result = (UIComponent) clazz.getDeclaredConstructor().newInstance();
+                    Supplier<?> supplier = Instantiator.getSupplier(clazz);
+                    result = (UIComponent) (supplier != null ? newInstance(supplier) : clazz.getDeclaredConstructor().newInstance());
                 }
             } catch (ClassNotFoundException ex) {
                 if (!associate.isDevModeEnabled()) {
@@ -647,6 +665,18 @@ public class InstanceFactory {
 
     }
 
+    /**
+     * Invokes the supplier of a component class, wrapping whatever its constructor throws in a {@link FacesException}
+     * just like a failing {@link Constructor#newInstance(Object...)} would.
+     */
+    private static Object newInstance(Supplier<?> supplier) {
+        try {
+            return supplier.get();
+        } catch (Throwable t) {
+            throw new FacesException(t);
+        }
+    }
+
     /**
      * Leveraged by
      * {@link Application#createComponent(jakarta.el.ValueExpression, jakarta.faces.context.FacesContext, String)} and
@@ -777,7 +807,8 @@ public class InstanceFactory {
         }
 
         try {
-            result = clazz.getDeclaredConstructor().newInstance();
+            Supplier<?> supplier = Instantiator.getSupplier(clazz);
+            result = supplier != null ? supplier.get() : clazz.getDeclaredConstructor().newInstance();
         } catch (Throwable t) {
             Throwable previousT;
             do {
@@ -797,13 +828,35 @@ public class InstanceFactory {
     /*
      * This method makes it so that any cc:attribute elements that have a "default" attribute value have those values pushed
      * into the composite component attribute map so that programmatic access (as opposed to EL access) will find the
-     * attribute values.
+     * attribute values. The values are computed once per composite component and component class, and kept with the
+     * composite component metadata.
      *
      */
-    @SuppressWarnings("unchecked")
     private void pushDeclaredDefaultValuesToAttributesMap(FacesContext context, BeanInfo componentMetadata, Map<String, Object> attrs, UIComponent component,
             ExpressionFactory expressionFactory) {
 
+        BeanDescriptor beanDescriptor = componentMetadata.getBeanDescriptor();
+        DeclaredDefaultValues declaredDefaultValues = (DeclaredDefaultValues) beanDescriptor.getValue(DECLARED_DEFAULT_VALUES_KEY);
+
+        if (declaredDefaultValues == null || declaredDefaultValues.componentClass != component.getClass()) {
+            declaredDefaultValues = new DeclaredDefaultValues(component.getClass(),
+                    getDeclaredDefaultValues(context, componentMetadata, component, expressionFactory));
+            beanDescriptor.setValue(DECLARED_DEFAULT_VALUES_KEY, declaredDefaultValues);
+        }
+
+        for (Map.Entry<String, Object> literalValue : declaredDefaultValues.literalValues.entrySet()) {
+            attrs.put(literalValue.getKey(), literalValue.getValue());
+        }
+    }
+
+    /**
+     * @return the literal default values, converted to the type of the corresponding component property if necessary
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getDeclaredDefaultValues(FacesContext context, BeanInfo componentMetadata, UIComponent component,
+            ExpressionFactory expressionFactory) {
+
+        Map<String, Object> literalValues = new LinkedHashMap<>();
         Collection<String> attributesWithDeclaredDefaultValues = null;
         PropertyDescriptor[] propertyDescriptors = null;
 
@@ -849,12 +902,13 @@ public class InstanceFactory {
                             throw new FacesException(e);
                         }
 
-                        defaultValue = convertValueToTypeIfNecessary(key, defaultValue, propertyDescriptors, expressionFactory);
-                        attrs.put(key, defaultValue);
+                        literalValues.put(key, convertValueToTypeIfNecessary(key, defaultValue, propertyDescriptors, expressionFactory));
                     }
                 }
             }
         }
+
+        return literalValues;
     }
 
     /**
@@ -0,0 +1,477 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application.resource;
+
+import static jakarta.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
+import static java.util.Locale.US;
+import static java.util.logging.Level.FINE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.Util;
+
+import jakarta.faces.FacesException;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * Serves static resources from memory, with strong validators.
+ * </p>
+ *
+ * <p>
+ * The first request for a static resource (one that is not evaluated for EL expressions) reads its content once,
+ * computing a SHA-256 content hash used as a strong <code>ETag</code>, and prepares its gzip variant, either from a
+ * precompressed <code>.gz</code> file shipped next to the resource or, when the resource is compressable, by compressing
+ * it. Following requests are answered from the cache: <code>If-None-Match</code> and <code>If-Modified-Since</code> are
+ * answered with a <code>304</code>, and the content is written from memory in a single write.
+ * </p>
+ *
+ * <p>
+ * The cache is bounded by the total size of the cached content, and the least recently requested resources are evicted
+ * when it is full. Resources larger than an eighth of the cache are not kept in memory and are still served with strong
+ * validators, from the file system when possible: through the Tomcat <code>sendfile</code> request attributes when the
+ * container supports them, or with <code>FileChannel.transferTo</code> otherwise. Cached entries are revalidated
+ * against the last modification time of the resource once per check period, as configured by
+ * <code>com.sun.faces.resourceUpdateCheckPeriod</code>: <code>-1</code> never checks, <code>0</code> checks on every
+ * request.
+ * </p>
+ */
+public class ResourceContentCache {
+
+    private static final Logger LOGGER = FacesLogger.RESOURCE.getLogger();
+
+    private static final String RFC1123_DATE_PATTERN = "EEE, dd MMM yyyy HH:mm:ss zzz";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String GZIP = "gzip";
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong size = new AtomicLong();
+    private final long maxSize;
+    private final long maxEntrySize;
+    private final long checkPeriod;
+    private final String cacheControl;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param maxSize the maximum number of bytes of content kept in memory.
+     * @param checkPeriod the number of minutes between checks for modifications of a resource, <code>-1</code> to never
+     * check and <code>0</code> to check on every request.
+     * @param cacheControl the value of the <code>Cache-Control</code> header of the responses.
+     */
+    public ResourceContentCache(long maxSize, long checkPeriod, String cacheControl) {
+        this.maxSize = maxSize;
+        maxEntrySize = Math.max(1, maxSize / 8);
+        this.checkPeriod = checkPeriod != -1 ? checkPeriod * 60L * 1000L : -1;
+        this.cacheControl = cacheControl;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Answer the request for the resource from the cache.
+     *
+     * @param context the {@link FacesContext} for the current request.
+     * @param resource the requested resource.
+     * @return <code>true</code> if the response was written, <code>false</code> if the resource cannot be served from
+     * the cache and has to be handled by the caller.
+     * @throws IOException if the resource cannot be read or the response cannot be written.
+     */
+    public boolean handle(FacesContext context, ResourceImpl resource) throws IOException {
+        ClientResourceInfo info = resource.getClientResourceInfo();
+        if (info == null || info.supportsEL()) {
+            return false;
+        }
+
+        URL url = resource.getURL();
+        if (url == null) {
+            return false;
+        }
+
+        Entry entry = getEntry(url, info.isCompressable());
+        ExternalContext extContext = context.getExternalContext();
+        boolean gzip = entry.gzipContent != null && acceptsGzip(extContext);
+        String etag = gzip ? entry.gzipETag : entry.etag;
+
+        extContext.setResponseHeader("Cache-Control", cacheControl);
+        extContext.setResponseHeader("Last-Modified", entry.lastModifiedHeader);
+        extContext.setResponseHeader("ETag", etag);
+        if (entry.gzipContent != null) {
+            extContext.setResponseHeader("Vary", ACCEPT_ENCODING);
+        }
+
+        if (isNotModified(extContext, etag, entry.lastModified)) {
+            extContext.setResponseStatus(SC_NOT_MODIFIED);
+            return true;
+        }
+
+        String contentType = resource.getContentType();
+        if (contentType != null) {
+            extContext.setResponseContentType(contentType);
+        }
+
+        if (gzip) {
+            extContext.setResponseHeader("Content-Encoding", GZIP);
+            write(extContext, entry.gzipContent);
+        } else if (entry.content != null) {
+            write(extContext, entry.content);
+        } else {
+            writeUncached(extContext, url, entry.length);
+        }
+
+        return true;
+    }
+
+    /**
+     * Empty the cache.
+     */
+    public void clear() {
+        entries.clear();
+        size.set(0);
+    }
+
+    /**
+     * @return the number of bytes of content kept in memory.
+     */
+    public long getSize() {
+        return size.get();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private Entry getEntry(URL url, boolean compressable) throws IOException {
+        String key = url.toExternalForm();
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.needsCheck(checkPeriod)) {
+            entry.accessTime = System.nanoTime();
+            return entry;
+        }
+
+        long lastModified = Util.getLastModified(url);
+        if (entry != null && entry.lastModified == lastModified) {
+            entry.scheduleCheck(checkPeriod);
+            entry.accessTime = System.nanoTime();
+            return entry;
+        }
+
+        entry = load(url, compressable, lastModified);
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            size.addAndGet(-previous.getSize());
+        }
+        if (size.addAndGet(entry.getSize()) > maxSize) {
+            evict(entry);
+        }
+
+        return entry;
+    }
+
+    private Entry load(URL url, boolean compressable, long lastModified) throws IOException {
+        MessageDigest digest = createDigest();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        long length = 0;
+        boolean keepContent = true;
+        byte[] buffer = new byte[8192];
+        try (InputStream in = url.openStream()) {
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+                length += read;
+                if (keepContent) {
+                    if (length > maxEntrySize) {
+                        keepContent = false;
+                        content = null;
+                    } else {
+                        content.write(buffer, 0, read);
+                    }
+                }
+            }
+        }
+
+        byte[] bytes = content != null ? content.toByteArray() : null;
+        byte[] gzipContent = bytes != null ? loadGzipVariant(url, bytes, compressable) : null;
+        Entry entry = new Entry(bytes, gzipContent, length, lastModified != 0 ? lastModified : System.currentTimeMillis(), toETag(digest.digest()));
+        entry.scheduleCheck(checkPeriod);
+
+        if (LOGGER.isLoggable(FINE)) {
+            LOGGER.log(FINE, "Cached resource content of {0}: {1} bytes, ETag {2}, gzip variant: {3}",
+                    new Object[] { url, length, entry.etag, entry.gzipContent != null });
+        }
+
+        return entry;
+    }
+
+    /**
+     * Remove the least recently requested entries holding content until the cache fits into its maximum size again.
+     */
+    private void evict(Entry retained) {
+        List<EvictionCandidate> candidates = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+            Entry entry = candidate.getValue();
+            if (entry != retained && entry.getSize() > 0) {
+                candidates.add(new EvictionCandidate(candidate.getKey(), entry));
+            }
+        }
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.accessTime));
+
+        for (EvictionCandidate candidate : candidates) {
+            if (size.get() <= maxSize) {
+                break;
+            }
+            if (entries.remove(candidate.key, candidate.entry)) {
+                size.addAndGet(-candidate.entry.getSize());
+                if (LOGGER.isLoggable(FINE)) {
+                    LOGGER.log(FINE, "Evicted resource content of {0}", candidate.key);
+                }
+            }
+        }
+    }
+
+    private static byte[] loadGzipVariant(URL url, byte[] content, boolean compressable) throws IOException {
+        try (InputStream in = new URL(url.toExternalForm() + GZIP_EXTENSION).openStream()) {
+            ByteArrayOutputStream precompressed = new ByteArrayOutputStream(content.length / 2 + 1);
+            in.transferTo(precompressed);
+            return precompressed.toByteArray();
+        } catch (FileNotFoundException fnfe) {
+            // no precompressed variant was shipped
+        } catch (IOException ioe) {
+            if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Unable to read the precompressed variant of " + url, ioe);
+            }
+        }
+
+        if (!compressable) {
+            return null;
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 2 + 1);
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(content);
+        }
+
+        return compressed.size() < content.length ? compressed.toByteArray() : null;
+    }
+
+    private static void write(ExternalContext extContext, byte[] content) throws IOException {
+        extContext.setResponseContentLength(content.length);
+        extContext.getResponseOutputStream().write(content);
+    }
+
+    private static void writeUncached(ExternalContext extContext, URL url, long length) throws IOException {
+        File file = toFile(url);
+        if (file != null && length <= Integer.MAX_VALUE) {
+            extContext.setResponseContentLength((int) length);
+            Map<String, Object> requestMap = extContext.getRequestMap();
+            if (Boolean.TRUE.equals(requestMap.get(SENDFILE_SUPPORT))) {
+                // the container writes the file itself, without copying it through the heap
+                requestMap.put(SENDFILE_FILENAME, file.getAbsolutePath());
+                requestMap.put(SENDFILE_START, 0L);
+                requestMap.put(SENDFILE_END, length);
+                return;
+            }
+
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                WritableByteChannel out = Channels.newChannel(extContext.getResponseOutputStream());
+                for (long position = 0; position < length;) {
+                    position += channel.transferTo(position, length - position, out);
+                }
+            }
+            return;
+        }
+
+        if (length <= Integer.MAX_VALUE) {
+            extContext.setResponseContentLength((int) length);
+        }
+        try (InputStream in = url.openStream()) {
+            in.transferTo(extContext.getResponseOutputStream());
+        }
+    }
+
+    private static File toFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+
+        try {
+            File file = new File(url.toURI());
+            return file.isFile() ? file : null;
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isNotModified(ExternalContext extContext, String etag, long lastModified) {
+        Map<String, String> requestHeaders = extContext.getRequestHeaderMap();
+        String ifNoneMatch = requestHeaders.get(IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-None-Match takes precedence over If-Modified-Since
+            for (String candidate : ifNoneMatch.split(",")) {
+                candidate = candidate.trim();
+                if ("*".equals(candidate) || etag.equals(candidate) || candidate.startsWith("W/") && etag.equals(candidate.substring(2))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        String ifModifiedSince = requestHeaders.get(IF_MODIFIED_SINCE);
+        if (ifModifiedSince != null) {
+            try {
+                // the header does not carry milliseconds
+                return lastModified / 1000 * 1000 <= createDateFormat().parse(ifModifiedSince).getTime();
+            } catch (java.text.ParseException pe) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean acceptsGzip(ExternalContext extContext) {
+        String acceptEncoding = extContext.getRequestHeaderMap().get(ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        boolean accepted = false;
+        for (String coding : acceptEncoding.split(",")) {
+            int parameters = coding.indexOf(';');
+            String name = (parameters == -1 ? coding : coding.substring(0, parameters)).trim();
+            if (GZIP.equalsIgnoreCase(name) || "*".equals(name)) {
+                boolean rejected = parameters != -1 && coding.substring(parameters + 1).replace(" ", "").matches("q=0(\\.0*)?");
+                if (GZIP.equalsIgnoreCase(name)) {
+                    // an explicit gzip coding wins over the wildcard
+                    return !rejected;
+                }
+                accepted = !rejected;
+            }
+        }
+
+        return accepted;
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new FacesException(nsae);
+        }
+    }
+
+    private static String toETag(byte[] hash) {
+        return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + '"';
+    }
+
+    private static SimpleDateFormat createDateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat(RFC1123_DATE_PATTERN, US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format;
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    private static final class Entry {
+
+        private final byte[] content;
+        private final byte[] gzipContent;
+        private final long length;
+        private final long lastModified;
+        private final String lastModifiedHeader;
+        private final String etag;
+        private final String gzipETag;
+        private volatile long checkTime;
+        private volatile long accessTime = System.nanoTime();
+
+        // -------------------------------------------------------- Constructors
+
+        private Entry(byte[] content, byte[] gzipContent, long length, long lastModified, String etag) {
+            this.content = content;
+            this.gzipContent = gzipContent;
+            this.length = length;
+            this.lastModified = lastModified;
+            lastModifiedHeader = createDateFormat().format(new Date(lastModified));
+            this.etag = etag;
+            // each representation has its own strong validator
+            gzipETag = etag.substring(0, etag.length() - 1) + "-gz\"";
+        }
+
+        private long getSize() {
+            return (content != null ? content.length : 0) + (gzipContent != null ? gzipContent.length : 0);
+        }
+
+        private boolean needsCheck(long checkPeriod) {
+            return checkPeriod != -1 && checkTime <= System.currentTimeMillis();
+        }
+
+        private void scheduleCheck(long checkPeriod) {
+            checkTime = checkPeriod != -1 ? System.currentTimeMillis() + checkPeriod : 0;
+        }
+
+    } // END Entry
+
+    private static final class EvictionCandidate {
+
+        private final String key;
+        private final Entry entry;
+        // snapshot, the access time of the entry changes while sorting
+        private final long accessTime;
+
+        // -------------------------------------------------------- Constructors
+
+        private EvictionCandidate(String key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+            accessTime = entry.accessTime;
+        }
+
+    } // END EvictionCandidate
+
+}
@@ -18,7 +18,9 @@ package com.sun.faces.application.resource;
 
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.DefaultResourceMaxAge;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ResourceBufferSize;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ResourceContentCacheSize;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ResourceExcludes;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ResourceUpdateCheckPeriod;
 import static com.sun.faces.util.RequestStateManager.RESOURCE_REQUEST;
 import static com.sun.faces.util.Util.getFacesMapping;
 import static com.sun.faces.util.Util.notNegative;
@@ -71,6 +73,8 @@ public class ResourceHandlerImpl extends ResourceHandler {
     private long creationTime;
     private long maxAge;
     private WebConfiguration webconfig;
+    private volatile ResourceContentCache contentCache;
+    private volatile boolean contentCacheInitialized;
 
     // ------------------------------------------------------------ Constructors
 
@@ -276,6 +280,27 @@ public class ResourceHandlerImpl extends ResourceHandler {
         }
 
         if (resource != null) {
+            ResourceContentCache cache = getContentCache(context);
+            if (cache != null && resource instanceof ResourceImpl) {
+                try {
+                    if (resource.getClass() != ResourceImpl.class) {
+                        // keep the headers added by subclasses, the cache
+                        // replaces the validators computed by ResourceImpl
+                        handleHeaders(context, resource);
+                    }
+                    if (cache.handle(context, (ResourceImpl) resource)) {
+                        return;
+                    }
+                } catch (IOException ioe) {
+                    if (isConnectionAbort(ioe)) { // to be removed, when the exception is standardised in servlet.
+                        send404(context, resourceName, libraryName, false);
+                    } else {
+                        send404(context, resourceName, libraryName, ioe, true);
+                    }
+                    return;
+                }
+            }
+
             if (resource.userAgentNeedsUpdate(context)) {
                 ReadableByteChannel resourceChannel = null;
                 WritableByteChannel out = null;
@@ -556,6 +581,35 @@ public class ResourceHandlerImpl extends ResourceHandler {
         maxAge = Long.parseLong(webconfig.getOptionValue(DefaultResourceMaxAge));
     }
 
+    /**
+     * The content cache is created on the first resource request, as the project stage may not be known when this
+     * handler is created. It is not used in the <code>Development</code> stage, or when
+     * {@link com.sun.faces.config.WebConfiguration.WebContextInitParameter#ResourceContentCacheSize} is <code>0</code>.
+     */
+    private ResourceContentCache getContentCache(FacesContext ctx) {
+        if (!contentCacheInitialized) {
+            synchronized (this) {
+                if (!contentCacheInitialized) {
+                    long size;
+                    long checkPeriod;
+                    try {
+                        size = Long.parseLong(webconfig.getOptionValue(ResourceContentCacheSize));
+                        checkPeriod = Long.parseLong(webconfig.getOptionValue(ResourceUpdateCheckPeriod));
+                    } catch (NumberFormatException nfe) {
+                        size = Long.parseLong(ResourceContentCacheSize.getDefaultValue());
+                        checkPeriod = Long.parseLong(ResourceUpdateCheckPeriod.getDefaultValue());
+                    }
+                    if (size > 0 && !ctx.isProjectStage(Development)) {
+                        contentCache = new ResourceContentCache(size, checkPeriod, "max-age=" + maxAge / 1000);
+                    }
+                    contentCacheInitialized = true;
+                }
+            }
+        }
+
+        return contentCache;
+    }
+
     private void handleHeaders(FacesContext ctx, Resource resource) {
         ExternalContext extContext = ctx.getExternalContext();
         for (Map.Entry<String, String> cur : resource.getResponseHeaders().entrySet()) {
@@ -378,6 +378,16 @@ public class ResourceImpl extends Resource implements Externalizable {
 
     }
 
+    // ------------------------------------------------- Package Private Methods
+
+    /**
+     * @return the {@link ClientResourceInfo} of this resource, or <code>null</code> if it is not a client resource
+     */
+    ClientResourceInfo getClientResourceInfo() {
+        initResourceInfo();
+        return resourceInfo instanceof ClientResourceInfo ? (ClientResourceInfo) resourceInfo : null;
+    }
+
     // --------------------------------------------------------- Private Methods
 
     /*
@@ -19,6 +19,7 @@ package com.sun.faces.application.view;
 import static com.sun.faces.RIConstants.DYNAMIC_COMPONENT;
 import static com.sun.faces.RIConstants.FACELETS_ENCODING_KEY;
 import static com.sun.faces.RIConstants.FLOW_DEFINITION_ID_SUFFIX;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableDirectResponseEncoding;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.FaceletsBufferSize;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.FaceletsViewMappings;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.StateSavingMethod;
@@ -88,8 +89,10 @@ import com.sun.faces.facelets.impl.XMLFrontMatterSaver;
 import com.sun.faces.facelets.tag.composite.CompositeComponentBeanInfo;
 import com.sun.faces.facelets.tag.faces.CompositeComponentTagHandler;
 import com.sun.faces.facelets.tag.ui.UIDebug;
+import com.sun.faces.io.Utf8OutputStreamWriter;
 import com.sun.faces.renderkit.RenderKitUtils;
 import com.sun.faces.renderkit.html_basic.DoctypeRenderer;
+import com.sun.faces.spi.MetricsCollector;
 import com.sun.faces.util.Cache;
 import com.sun.faces.util.ComponentStruct;
 import com.sun.faces.util.FacesLogger;
@@ -165,10 +168,14 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
     public static final String RESOURCE_LIBRARY_CONTRACT_DATA_STRUCTURE_KEY = FaceletViewHandlingStrategy.class.getName()
             + ".RESOURCE_LIBRARY_CONTRACT_DATA_STRUCTURE";
 
+    private static final String DIRECT_RESPONSE_WRITER_KEY = FaceletViewHandlingStrategy.class.getName() + ".DIRECT_RESPONSE_WRITER";
+
     private MethodRetargetHandlerManager retargetHandlerManager = new MethodRetargetHandlerManager();
 
     private int responseBufferSize;
 
+    private boolean directResponseEncoding;
+
     private Cache<Resource, BeanInfo> metadataCache;
     private Map<String, List<String>> contractMappings;
 
@@ -315,6 +322,9 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
 
         LOGGER.log(FINE, () -> "Building View: " + view.getViewId());
 
+        MetricsCollector metricsCollector = associate != null ? associate.getMetricsCollector() : null;
+        long start = metricsCollector != null ? System.nanoTime() : 0;
+
         if (faceletFactory == null) {
             faceletFactory = ApplicationAssociate.getInstance(ctx.getExternalContext()).getFaceletFactory();
         }
@@ -359,6 +369,10 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
         markInitialState(ctx, view);
 
         setViewPopulated(ctx, view);
+
+        if (metricsCollector != null) {
+            metricsCollector.viewBuilt(view.getViewId(), System.nanoTime() - start);
+        }
     }
 
     /**
@@ -404,7 +418,7 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
                 getSession(ctx);
             }
 
-            stateWriter = new WriteBehindStateWriter(extContext.getResponseOutputWriter(), ctx, responseBufferSize);
+            stateWriter = new WriteBehindStateWriter(getResponseOutputWriter(ctx), ctx, responseBufferSize);
 
             ResponseWriter writer = origWriter.cloneWithWriter(stateWriter);
             ctx.setResponseWriter(writer);
@@ -463,6 +477,10 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
             if (stateWriter != null) {
                 stateWriter.release();
             }
+            Utf8OutputStreamWriter directWriter = (Utf8OutputStreamWriter) ctx.getAttributes().remove(DIRECT_RESPONSE_WRITER_KEY);
+            if (directWriter != null) {
+                directWriter.release();
+            }
         }
     }
 
@@ -816,6 +834,8 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
             responseBufferSize = Integer.parseInt(FaceletsBufferSize.getDefaultValue());
         }
 
+        directResponseEncoding = webConfig.isOptionEnabled(EnableDirectResponseEncoding);
+
         LOGGER.fine("Initialization Successful");
 
         vdlFactory = (ViewDeclarationLanguageFactory) FactoryFinder.getFactory(VIEW_DECLARATION_LANGUAGE_FACTORY);
@@ -913,11 +933,44 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
         extContext.setResponseCharacterEncoding(encoding);
 
         // Now, clone with the real writer
-        writer = writer.cloneWithWriter(extContext.getResponseOutputWriter());
+        writer = writer.cloneWithWriter(getResponseOutputWriter(context));
 
         return writer;
     }
 
+    /**
+     * Returns the writer the view is rendered to. If {@link EnableDirectResponseEncoding} is enabled and the response is
+     * UTF-8 encoded, this is a {@link Utf8OutputStreamWriter} on top of the response output stream, shared by all callers
+     * during the current request. Otherwise, or when the response writer is already in use, this is
+     * {@link ExternalContext#getResponseOutputWriter()}.
+     *
+     * @param context the {@link FacesContext} for the current request
+     * @return the writer for the response body
+     * @throws IOException if the writer cannot be obtained
+     */
+    private Writer getResponseOutputWriter(FacesContext context) throws IOException {
+        ExternalContext extContext = context.getExternalContext();
+        if (!directResponseEncoding || context.getPartialViewContext().isPartialRequest()) {
+            return extContext.getResponseOutputWriter();
+        }
+
+        Map<Object, Object> attrs = context.getAttributes();
+        Writer writer = (Writer) attrs.get(DIRECT_RESPONSE_WRITER_KEY);
+        if (writer == null) {
+            if (!"UTF-8".equalsIgnoreCase(extContext.getResponseCharacterEncoding())) {
+                return extContext.getResponseOutputWriter();
+            }
+            try {
+                writer = new Utf8OutputStreamWriter(extContext.getResponseOutputStream());
+            } catch (IllegalStateException ise) {
+                // getWriter() has already been called on the response
+                return extContext.getResponseOutputWriter();
+            }
+            attrs.put(DIRECT_RESPONSE_WRITER_KEY, writer);
+        }
+        return writer;
+    }
+
     /**
      * Handles the case where rendering throws an Exception.
      *
@@ -16,6 +16,7 @@
 package com.sun.faces.config;
 
 import static com.sun.faces.RIConstants.FACES_PREFIX;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableConfigSnapshot;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableThreading;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.ValidateFacesConfigFiles;
 import static com.sun.faces.config.manager.Documents.getProgrammaticDocuments;
@@ -29,7 +30,10 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableList;
 import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.List;
@@ -53,6 +57,7 @@ import com.sun.faces.config.configprovider.MetaInfFacesConfigResourceProvider;
 import com.sun.faces.config.configprovider.WebAppFlowConfigResourceProvider;
 import com.sun.faces.config.configprovider.WebFaceletTaglibResourceProvider;
 import com.sun.faces.config.configprovider.WebFacesConfigResourceProvider;
+import com.sun.faces.config.manager.ConfigSnapshot;
 import com.sun.faces.config.manager.DbfFactory;
 import com.sun.faces.config.manager.FacesConfigInfo;
 import com.sun.faces.config.manager.documents.DocumentInfo;
@@ -235,8 +240,10 @@ public class ConfigManager {
                     executor = createExecutorService();
                 }
 
+                ConfigSnapshot snapshot = createConfigSnapshot(servletContext, webConfig);
+
                 // Obtain and merge the XML and Programmatic documents
-                DocumentInfo[] facesDocuments = mergeDocuments(getXMLDocuments(servletContext, getFacesConfigResourceProviders(), executor, validating),
+                DocumentInfo[] facesDocuments = mergeDocuments(getXMLDocuments(servletContext, getFacesConfigResourceProviders(), executor, validating, snapshot),
                         getProgrammaticDocuments(getConfigPopulators()));
 
                 FacesConfigInfo lastFacesConfigInfo = new FacesConfigInfo(facesDocuments[facesDocuments.length - 1]);
@@ -308,7 +315,7 @@ public class ConfigManager {
                 });
 
                 faceletTaglibConfigProcessor.process(servletContext, facesContext,
-                    getXMLDocuments(servletContext, getFaceletConfigResourceProviders(), executor, validating));
+                    getXMLDocuments(servletContext, getFaceletConfigResourceProviders(), executor, validating, snapshot));
 
             } catch (Exception e) {
                 // Clear out any configured factories
@@ -371,6 +378,29 @@ public class ConfigManager {
         return WebConfiguration.getInstance(ctx).isOptionEnabled(EnableThreading);
     }
 
+    /**
+     * @return the snapshot of the configuration documents, or <code>null</code> if snapshots are disabled or there's no
+     * place to store them
+     */
+    private ConfigSnapshot createConfigSnapshot(ServletContext servletContext, WebConfiguration webConfig) {
+        if (!webConfig.isOptionEnabled(EnableConfigSnapshot)) {
+            return null;
+        }
+
+        File tempDir = (File) servletContext.getAttribute(ServletContext.TEMPDIR);
+        if (tempDir == null) {
+            LOGGER.log(WARNING, "No {0} available, the configuration snapshot is disabled", ServletContext.TEMPDIR);
+            return null;
+        }
+
+        try {
+            return new ConfigSnapshot(new File(tempDir, "mojarra-config"));
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Unable to create the configuration snapshot directory, the configuration snapshot is disabled", e);
+            return null;
+        }
+    }
+
     private List<ConfigurationResourceProvider> getFacesConfigResourceProviders() {
         return getConfigurationResourceProviders(facesConfigProviders, FacesConfig);
     }
@@ -755,9 +755,16 @@ public class WebConfiguration {
         NumberOfFlashesBetweenFlashReapings("com.sun.faces.numberOfFlashesBetweenFlashReapings", "5000"),
         InjectionProviderClass("com.sun.faces.injectionProvider", ""),
         SerializationProviderClass("com.sun.faces.serializationProvider", ""),
+        ViewStateStoreClass("com.sun.faces.viewStateStore", ""),
+        ViewStateStoreMaxSize("com.sun.faces.viewStateStoreMaxSize", "67108864"), // 64 MB
+        ViewStateStoreSpillSize("com.sun.faces.viewStateStoreSpillSize", "0"),
+        MetricsCollectorClass("com.sun.faces.metricsCollector", ""),
         FaceletsBufferSize(ViewHandler.FACELETS_BUFFER_SIZE_PARAM_NAME, "1024"),
         ClientStateWriteBufferSize("com.sun.faces.clientStateWriteBufferSize", "8192"),
+        ClientStateCompressionLevel("com.sun.faces.clientStateCompressionLevel", "-1"),
+        ClientStateCodec("com.sun.faces.clientStateCodec", "serialization"),
         ResourceBufferSize("com.sun.faces.resourceBufferSize", "2048"),
+        ResourceContentCacheSize("com.sun.faces.resourceContentCacheSize", "16777216"), // 16 MB
         ExpressionFactory("com.sun.faces.expressionFactory", "com.sun.el.ExpressionFactoryImpl"),
         ClientStateTimeout("com.sun.faces.clientStateTimeout", ""),
         DefaultResourceMaxAge("com.sun.faces.defaultResourceMaxAge", "604800000"), // 7 days
@@ -765,6 +772,8 @@ public class WebConfiguration {
         CompressableMimeTypes("com.sun.faces.compressableMimeTypes", ""),
         DisableUnicodeEscaping("com.sun.faces.disableUnicodeEscaping", "auto"),
         FaceletsDefaultRefreshPeriod(ViewHandler.FACELETS_REFRESH_PERIOD_PARAM_NAME, "2"),
+        FaceletsRefreshMode("com.sun.faces.faceletsRefreshMode", "poll"),
+        FaceletCacheMaxSize("com.sun.faces.faceletCacheMaxSize", "0"),
         FaceletsViewMappings(ViewHandler.FACELETS_VIEW_MAPPINGS_PARAM_NAME, ""),
         FaceletsLibraries(ViewHandler.FACELETS_LIBRARIES_PARAM_NAME, ""),
         FaceletsDecorators(ViewHandler.FACELETS_DECORATORS_PARAM_NAME, ""),
@@ -776,6 +785,8 @@ public class WebConfiguration {
         ClientWindowMode(ClientWindow.CLIENT_WINDOW_MODE_PARAM_NAME, "none"),
         WebAppResourcesDirectory(ResourceHandler.WEBAPP_RESOURCES_DIRECTORY_PARAM_NAME, "/resources"),
         WebAppContractsDirectory(ResourceHandler.WEBAPP_CONTRACTS_DIRECTORY_PARAM_NAME, "/contracts"),
+        WebsocketPushQueueSize("com.sun.faces.websocketPushQueueSize", "64"),
+        WebsocketPushOverflowPolicy("com.sun.faces.websocketPushOverflowPolicy", "drop"),
         ;
 
         private String defaultValue;
@@ -844,6 +855,7 @@ public class WebConfiguration {
         AlwaysPerformValidationWhenRequiredTrue(UIInput.ALWAYS_PERFORM_VALIDATION_WHEN_REQUIRED_IS_TRUE, false),
         DisplayConfiguration("com.sun.faces.displayConfiguration", false),
         ValidateFacesConfigFiles("com.sun.faces.validateXml", false),
+        EnableConfigSnapshot("com.sun.faces.enableConfigSnapshot", false),
         VerifyFacesConfigObjects("com.sun.faces.verifyObjects", false),
         ForceLoadFacesConfigFiles("com.sun.faces.forceLoadConfiguration", false),
         DisableClientStateEncryption("com.sun.faces.disableClientStateEncryption", false),
@@ -861,12 +873,17 @@ public class WebConfiguration {
         EnableLazyBeanValidation("com.sun.faces.enableLazyBeanValidation", true),
         EnableLoadBundle11Compatibility("com.sun.faces.enabledLoadBundle11Compatibility", false),
         SerializeServerState(StateManager.SERIALIZE_SERVER_STATE_PARAM_NAME, false),
+        EnableDeltaViewState("com.sun.faces.enableDeltaViewState", false),
+        EnableMetrics("com.sun.faces.enableMetrics", false),
+        EnableDirectResponseEncoding("com.sun.faces.enableDirectResponseEncoding", false),
         EnableViewStateIdRendering("com.sun.faces.enableViewStateIdRendering", true),
         RegisterConverterPropertyEditors("com.sun.faces.registerConverterPropertyEditors", false),
         DisableDefaultBeanValidator(BeanValidator.DISABLE_DEFAULT_BEAN_VALIDATOR_PARAM_NAME, false),
         DateTimeConverterUsesSystemTimezone(Converter.DATETIMECONVERTER_DEFAULT_TIMEZONE_IS_SYSTEM_TIMEZONE_PARAM_NAME, false),
         EnableHttpMethodRestrictionPhaseListener("com.sun.faces.ENABLE_HTTP_METHOD_RESTRICTION_PHASE_LISTENER", false),
         FaceletsSkipComments(ViewHandler.FACELETS_SKIP_COMMENTS_PARAM_NAME, false),
+        EnablePersistentFaceletCache("com.sun.faces.enablePersistentFaceletCache", false),
+        PrewarmPersistentFaceletCache("com.sun.faces.prewarmPersistentFaceletCache", false),
         PartialStateSaving(StateManager.PARTIAL_STATE_SAVING_PARAM_NAME, true),
         GenerateUniqueServerStateIds("com.sun.faces.generateUniqueServerStateIds", true),
         InterpretEmptyStringSubmittedValuesAsNull(UIInput.EMPTY_STRING_AS_NULL_PARAM_NAME, false),
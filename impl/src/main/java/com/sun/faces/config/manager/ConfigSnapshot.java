@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.config.manager;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import com.sun.faces.config.manager.documents.DocumentInfo;
+import com.sun.faces.util.FacesLogger;
+
+/**
+ * <p>
+ * An on-disk snapshot of the parsed, and optionally validated, configuration documents of an application, so that a
+ * subsequent start with the same configuration resources recreates the DOMs without XML parsing and schema validation.
+ * </p>
+ *
+ * <p>
+ * Snapshots are keyed by a SHA-256 digest of the URIs and the content of all contributing documents, the validation
+ * setting and the Mojarra version, so a stale snapshot is never returned. The DOMs are stored in a compact binary form
+ * with a string table for the element and attribute names, which reads considerably faster than the XML.
+ * </p>
+ */
+public final class ConfigSnapshot {
+
+    private static final Logger LOGGER = FacesLogger.CONFIG.getLogger();
+
+    /**
+     * Changes whenever the binary format of a snapshot changes.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String SUFFIX = ".config";
+
+    private static final byte END = 0;
+    private static final byte ELEMENT = 1;
+    private static final byte TEXT = 2;
+    private static final byte CDATA = 3;
+    private static final byte COMMENT = 4;
+    private static final byte PROCESSING_INSTRUCTION = 5;
+
+    private final Path directory;
+    private final byte[] salt;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param directory the directory holding the snapshots, it is created if necessary.
+     * @throws IOException if the directory cannot be created
+     */
+    public ConfigSnapshot(File directory) throws IOException {
+        this.directory = Files.createDirectories(directory.toPath());
+        String version = ConfigSnapshot.class.getPackage().getImplementationVersion();
+        salt = (FORMAT_VERSION + ":" + version + ":").getBytes(UTF_8);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param documentURIs the URIs of all documents contributing to the configuration, in processing order
+     * @param validating whether or not the documents are validated
+     * @return the key of the snapshot for the given documents, or <code>null</code> if one of the documents cannot be read
+     */
+    public String getKey(Collection<URI> documentURIs, boolean validating) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        digest.update(salt);
+        digest.update((byte) (validating ? 1 : 0));
+
+        byte[] buffer = new byte[8192];
+        for (URI documentURI : documentURIs) {
+            digest.update(documentURI.toString().getBytes(UTF_8));
+            digest.update((byte) 0);
+            try {
+                URLConnection connection = documentURI.toURL().openConnection();
+                connection.setUseCaches(false);
+                long length = 0;
+                try (InputStream input = connection.getInputStream()) {
+                    for (int read; (read = input.read(buffer)) != -1; length += read) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+                digest.update(Long.toString(length).getBytes(UTF_8));
+            } catch (IOException | IllegalArgumentException e) {
+                if (LOGGER.isLoggable(FINE)) {
+                    LOGGER.log(FINE, "Unable to read " + documentURI + ", not using a configuration snapshot", e);
+                }
+                return null;
+            }
+        }
+
+        StringBuilder key = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            key.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param key the key as returned by {@link #getKey(Collection, boolean)}
+     * @return the documents of the snapshot, or <code>null</code> if there's no snapshot for the key or it cannot be read
+     */
+    public DocumentInfo[] load(String key) {
+        try {
+            byte[] bytes = Files.readAllBytes(directory.resolve(key + SUFFIX));
+            return new Reader(new DataInputStream(new ByteArrayInputStream(bytes))).readDocuments();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | ParserConfigurationException | RuntimeException e) {
+            if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Unable to read configuration snapshot " + key, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stores the documents under the given key. Failures are logged and otherwise ignored, the next start simply parses
+     * the documents again.
+     *
+     * @param key the key as returned by {@link #getKey(Collection, boolean)}
+     * @param documents the documents parsed from the URIs the key was computed for
+     */
+    public void store(String key, DocumentInfo[] documents) {
+        Path target = directory.resolve(key + SUFFIX);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                new Writer(output).writeDocuments(documents);
+            }
+            try {
+                Files.move(temp, target, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, REPLACE_EXISTING);
+            }
+            temp = null;
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, "Unable to store configuration snapshot in " + target, e);
+            }
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    LOGGER.log(FINE, "Unable to delete " + temp, e);
+                }
+            }
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class Writer {
+
+        private final DataOutputStream output;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(DataOutputStream output) {
+            this.output = output;
+        }
+
+        void writeDocuments(DocumentInfo[] documents) throws IOException {
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(documents.length);
+            for (DocumentInfo documentInfo : documents) {
+                URI sourceURI = documentInfo.getSourceURI();
+                writeString(sourceURI != null ? sourceURI.toString() : null);
+
+                Document document = documentInfo.getDocument();
+                writeString(document.getDocumentURI());
+                writeChildren(document);
+            }
+        }
+
+        private void writeChildren(Node parent) throws IOException {
+            for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+                switch (node.getNodeType()) {
+                case Node.ELEMENT_NODE:
+                    output.writeByte(ELEMENT);
+                    writeName(node);
+
+                    NamedNodeMap attributes = node.getAttributes();
+                    output.writeInt(attributes.getLength());
+                    for (int i = 0; i < attributes.getLength(); i++) {
+                        Node attribute = attributes.item(i);
+                        writeName(attribute);
+                        writeText(attribute.getNodeValue());
+                    }
+
+                    writeChildren(node);
+                    break;
+                case Node.TEXT_NODE:
+                    output.writeByte(TEXT);
+                    writeText(node.getNodeValue());
+                    break;
+                case Node.CDATA_SECTION_NODE:
+                    output.writeByte(CDATA);
+                    writeText(node.getNodeValue());
+                    break;
+                case Node.COMMENT_NODE:
+                    output.writeByte(COMMENT);
+                    writeText(node.getNodeValue());
+                    break;
+                case Node.PROCESSING_INSTRUCTION_NODE:
+                    output.writeByte(PROCESSING_INSTRUCTION);
+                    writeString(node.getNodeName());
+                    writeText(node.getNodeValue());
+                    break;
+                default:
+                    // Document types and entity references are resolved by the parser and not needed by the processors
+                }
+            }
+            output.writeByte(END);
+        }
+
+        /**
+         * Writes the name of an element or attribute. Nodes created with the DOM Level 1 methods, such as the
+         * {@link com.sun.faces.config.manager.tasks.ParseConfigResourceToDOMTask#WEB_INF_MARKER}, have no local name and
+         * are recreated as such.
+         */
+        private void writeName(Node node) throws IOException {
+            output.writeBoolean(node.getLocalName() != null);
+            writeString(node.getNamespaceURI());
+            writeString(node.getNodeName());
+        }
+
+        /**
+         * Writes a name or URI, each distinct value is only written once and referred to by its index afterwards.
+         */
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                output.writeInt(-1);
+                return;
+            }
+
+            Integer index = strings.get(value);
+            if (index != null) {
+                output.writeInt(index);
+            } else {
+                output.writeInt(strings.size());
+                strings.put(value, strings.size());
+                writeText(value);
+            }
+        }
+
+        private void writeText(String value) throws IOException {
+            byte[] bytes = value.getBytes(UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static final class Reader {
+
+        private final DataInputStream input;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(DataInputStream input) {
+            this.input = input;
+        }
+
+        DocumentInfo[] readDocuments() throws IOException, ParserConfigurationException {
+            if (input.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format");
+            }
+
+            DocumentBuilder builder = DbfFactory.getFactory().newDocumentBuilder();
+            DocumentInfo[] documents = new DocumentInfo[input.readInt()];
+            for (int i = 0; i < documents.length; i++) {
+                String sourceURI = readString();
+
+                Document document = builder.newDocument();
+                document.setDocumentURI(readString());
+                readChildren(document, document);
+
+                documents[i] = new DocumentInfo(document, sourceURI != null ? URI.create(sourceURI) : null);
+            }
+            return documents;
+        }
+
+        private void readChildren(Document document, Node parent) throws IOException {
+            for (byte type; (type = input.readByte()) != END;) {
+                switch (type) {
+                case ELEMENT:
+                    Element element = input.readBoolean() ? document.createElementNS(readString(), readString()) : createElement(document);
+                    for (int i = input.readInt(); i > 0; i--) {
+                        if (input.readBoolean()) {
+                            Attr attribute = document.createAttributeNS(readString(), readString());
+                            attribute.setValue(readText());
+                            element.setAttributeNodeNS(attribute);
+                        } else {
+                            readString();
+                            Attr attribute = document.createAttribute(readString());
+                            attribute.setValue(readText());
+                            element.setAttributeNode(attribute);
+                        }
+                    }
+                    parent.appendChild(element);
+                    readChildren(document, element);
+                    break;
+                case TEXT:
+                    parent.appendChild(document.createTextNode(readText()));
+                    break;
+                case CDATA:
+                    parent.appendChild(document.createCDATASection(readText()));
+                    break;
+                case COMMENT:
+                    parent.appendChild(document.createComment(readText()));
+                    break;
+                case PROCESSING_INSTRUCTION:
+                    parent.appendChild(document.createProcessingInstruction(readString(), readText()));
+                    break;
+                default:
+                    throw new IOException("Corrupt snapshot, unknown node type " + type);
+                }
+            }
+        }
+
+        private Element createElement(Document document) throws IOException {
+            readString();
+            return document.createElement(readString());
+        }
+
+        private String readString() throws IOException {
+            int index = input.readInt();
+            if (index == -1) {
+                return null;
+            }
+            if (index == strings.size()) {
+                strings.add(readText());
+            }
+            return strings.get(index);
+        }
+
+        private String readText() throws IOException {
+            byte[] bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+            return new String(bytes, UTF_8);
+        }
+    }
+
+}
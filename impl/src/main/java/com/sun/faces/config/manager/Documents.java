@@ -20,6 +20,7 @@ import static com.sun.faces.RIConstants.DOCUMENT_NAMESPACE;
 import static com.sun.faces.RIConstants.DOCUMENT_VERSION;
 import static com.sun.faces.util.Util.isEmpty;
 import static java.util.Arrays.asList;
+import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.INFO;
 
 import java.net.URI;
@@ -67,6 +68,25 @@ public class Documents {
      */
     public static DocumentInfo[] getXMLDocuments(ServletContext servletContext, List<ConfigurationResourceProvider> providers, ExecutorService executor,
             boolean validating) {
+        return getXMLDocuments(servletContext, providers, executor, validating, null);
+    }
+
+    /**
+     * <p>
+     * Obtains an array of <code>Document</code>s to be processed, from the given snapshot if it holds the documents
+     * currently provided.
+     * </p>
+     *
+     * @param servletContext the <code>ServletContext</code> for the application to be processed
+     * @param providers <code>List</code> of <code>ConfigurationResourceProvider</code> instances that provide the URL of
+     * the documents to parse.
+     * @param executor the <code>ExecutorService</code> used to dispatch parse request to
+     * @param validating flag indicating whether or not the documents should be validated
+     * @param snapshot the snapshot to load the documents from and to store parsed documents in, may be <code>null</code>
+     * @return an array of <code>DocumentInfo</code>s
+     */
+    public static DocumentInfo[] getXMLDocuments(ServletContext servletContext, List<ConfigurationResourceProvider> providers, ExecutorService executor,
+            boolean validating, ConfigSnapshot snapshot) {
 
         // Query all configuration providers to give us a URL to the configuration they are providing
 
@@ -83,23 +103,44 @@ public class Documents {
             }
         }
 
+        List<URI> uris = new ArrayList<>(providers.size() << 1);
+
+        for (FutureTask<Collection<URI>> uriTask : uriTasks) {
+            try {
+                uris.addAll(uriTask.get());
+            } catch (InterruptedException ignored) {
+            } catch (Exception e) {
+                throw new ConfigurationException(e);
+            }
+        }
+
+        // Skip parsing if the snapshot holds the documents those URLs point to
+
+        String snapshotKey = snapshot != null ? snapshot.getKey(uris, validating) : null;
+        if (snapshotKey != null) {
+            DocumentInfo[] snapshotDocs = snapshot.load(snapshotKey);
+            if (snapshotDocs != null) {
+                if (LOGGER.isLoggable(FINE)) {
+                    LOGGER.log(FINE, "Loaded {0} configuration documents from snapshot {1}", new Object[] { snapshotDocs.length, snapshotKey });
+                }
+                return snapshotDocs;
+            }
+        }
+
         // Load and XML parse all documents to which the URLs that we collected above point to
 
-        List<FutureTask<DocumentInfo>> docTasks = new ArrayList<>(providers.size() << 1);
+        List<FutureTask<DocumentInfo>> docTasks = new ArrayList<>(uris.size());
 
-        for (FutureTask<Collection<URI>> uriTask : uriTasks) {
+        for (URI uri : uris) {
             try {
-                for (URI uri : uriTask.get()) {
-                    FutureTask<DocumentInfo> docTask = new FutureTask<>(new ParseConfigResourceToDOMTask(servletContext, validating, uri));
-                    docTasks.add(docTask);
-
-                    if (executor != null) {
-                        executor.execute(docTask);
-                    } else {
-                        docTask.run();
-                    }
+                FutureTask<DocumentInfo> docTask = new FutureTask<>(new ParseConfigResourceToDOMTask(servletContext, validating, uri));
+                docTasks.add(docTask);
+
+                if (executor != null) {
+                    executor.execute(docTask);
+                } else {
+                    docTask.run();
                 }
-            } catch (InterruptedException ignored) {
             } catch (Exception e) {
                 throw new ConfigurationException(e);
             }
@@ -117,7 +158,13 @@ public class Documents {
             }
         }
 
-        return docs.toArray(new DocumentInfo[docs.size()]);
+        DocumentInfo[] result = docs.toArray(new DocumentInfo[docs.size()]);
+
+        if (snapshotKey != null && result.length == uris.size()) {
+            snapshot.store(snapshotKey, result);
+        }
+
+        return result;
     }
 
     public static List<DocumentInfo> getProgrammaticDocuments(List<ApplicationConfigurationPopulator> configPopulators) throws ParserConfigurationException {
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.config.manager.spi;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.WARNING;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.CodeSource;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import com.sun.faces.util.FacesLogger;
+
+/**
+ * <p>
+ * The precomputed index of the classes annotated with one of the Faces configuration annotations, as generated at build
+ * time by the {@link AnnotationIndexProcessor} into <code>META-INF/mojarra-annotations.idx</code> of each archive.
+ * </p>
+ *
+ * <p>
+ * The index is a UTF-8 text file with one <code>annotation-type class-name</code> pair per line, lines starting with
+ * <code>#</code> are comments. Classes of an archive with an index don't need to be inspected for annotations at
+ * startup, the index already lists them.
+ * </p>
+ */
+public final class AnnotationIndex {
+
+    private static final Logger LOGGER = FacesLogger.CONFIG.getLogger();
+
+    /**
+     * The location of the index within an archive.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/mojarra-annotations.idx";
+
+    private static final String JAR_PREFIX = "jar:";
+    private static final String JAR_SEPARATOR = "!/";
+
+    private final Set<String> indexedLocations = new HashSet<>();
+    private final Map<String, Set<String>> classNames = new TreeMap<>();
+
+    // ------------------------------------------------------------ Constructors
+
+    private AnnotationIndex() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param classLoader the class loader to obtain the indexes of all archives from
+     * @return the merged indexes of all archives visible to the class loader
+     * @throws IOException if the indexes cannot be looked up
+     */
+    public static AnnotationIndex load(ClassLoader classLoader) throws IOException {
+        return load(classLoader, archive -> true);
+    }
+
+    /**
+     * @param classLoader the class loader to obtain the indexes of the archives from
+     * @param archiveFilter tests the location of an archive, in the form of the {@link CodeSource} location of its
+     * classes, and returns <code>true</code> if its index is to be used
+     * @return the merged indexes of the archives visible to the class loader and accepted by the filter
+     * @throws IOException if the indexes cannot be looked up
+     */
+    public static AnnotationIndex load(ClassLoader classLoader, Predicate<String> archiveFilter) throws IOException {
+        AnnotationIndex index = new AnnotationIndex();
+
+        Enumeration<URL> urls = classLoader.getResources(INDEX_RESOURCE);
+        while (urls.hasMoreElements()) {
+            URL url = urls.nextElement();
+            String archive = getArchiveLocation(url.toExternalForm());
+            if (archive == null || !archiveFilter.test(archive)) {
+                continue;
+            }
+
+            try {
+                URLConnection connection = url.openConnection();
+                connection.setUseCaches(false);
+                try (InputStream input = connection.getInputStream()) {
+                    index.read(input);
+                }
+                index.addIndexedLocation(url.toExternalForm());
+            } catch (IOException e) {
+                // The archive is inspected as if it had no index
+                if (LOGGER.isLoggable(WARNING)) {
+                    LOGGER.log(WARNING, "Unable to read annotation index " + url, e);
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * @return <code>true</code> if no archive has an index
+     */
+    public boolean isEmpty() {
+        return indexedLocations.isEmpty();
+    }
+
+    /**
+     * @param clazz the class in question
+     * @return <code>true</code> if the archive the class was loaded from has an index, so that it doesn't need to be
+     * inspected
+     */
+    public boolean isIndexed(Class<?> clazz) {
+        if (indexedLocations.isEmpty()) {
+            return false;
+        }
+
+        CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+        return codeSource != null && codeSource.getLocation() != null && indexedLocations.contains(codeSource.getLocation().toExternalForm());
+    }
+
+    /**
+     * @return the names of the indexed classes, mapped by the name of their annotation type
+     */
+    public Map<String, Set<String>> getClassNames() {
+        return classNames;
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    /**
+     * @param classNames the names of the annotated classes, mapped by the name of their annotation type
+     * @param writer the writer to write the index to
+     * @throws IOException if the index cannot be written
+     */
+    static void write(Map<String, Set<String>> classNames, Writer writer) throws IOException {
+        writer.write("# Generated by " + AnnotationIndexProcessor.class.getName() + "\n");
+        for (Map.Entry<String, Set<String>> entry : new TreeMap<>(classNames).entrySet()) {
+            for (String className : new TreeSet<>(entry.getValue())) {
+                writer.write(entry.getKey());
+                writer.write(' ');
+                writer.write(className);
+                writer.write('\n');
+            }
+        }
+    }
+
+    void read(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, UTF_8));
+        for (String line; (line = reader.readLine()) != null;) {
+            line = line.trim();
+            int separator = line.indexOf(' ');
+            if (line.isEmpty() || line.charAt(0) == '#' || separator == -1) {
+                continue;
+            }
+
+            classNames.computeIfAbsent(line.substring(0, separator), e -> new TreeSet<>()).add(line.substring(separator + 1).trim());
+        }
+    }
+
+    /**
+     * Records the location of the archive containing the index at the given URL, in the forms a {@link CodeSource} of
+     * one of its classes may have: <code>file:/lib/a.jar</code> for <code>jar:file:/lib/a.jar!/META-INF/...</code> and
+     * <code>file:/classes/</code> for <code>file:/classes/META-INF/...</code>.
+     */
+    void addIndexedLocation(String indexURL) {
+        if (!indexURL.endsWith(INDEX_RESOURCE)) {
+            return;
+        }
+
+        String location = indexURL.substring(0, indexURL.length() - INDEX_RESOURCE.length());
+        indexedLocations.add(location);
+        indexedLocations.add(getArchiveLocation(indexURL));
+    }
+
+    /**
+     * @return the location of the archive containing the index at the given URL, as the location of the
+     * {@link CodeSource} of its classes, or <code>null</code> if the URL is not the one of an index
+     */
+    static String getArchiveLocation(String indexURL) {
+        if (!indexURL.endsWith(INDEX_RESOURCE)) {
+            return null;
+        }
+
+        String location = indexURL.substring(0, indexURL.length() - INDEX_RESOURCE.length());
+        if (location.startsWith(JAR_PREFIX) && location.endsWith(JAR_SEPARATOR)) {
+            return location.substring(JAR_PREFIX.length(), location.length() - JAR_SEPARATOR.length());
+        }
+
+        return location;
+    }
+
+}
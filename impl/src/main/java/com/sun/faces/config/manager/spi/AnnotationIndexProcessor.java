@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.config.manager.spi;
+
+import static com.sun.faces.config.manager.spi.AnnotationIndex.INDEX_RESOURCE;
+import static com.sun.faces.config.manager.spi.AnnotationScanner.FACES_ANNOTATION_TYPE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toSet;
+import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * <p>
+ * Generates the {@link AnnotationIndex} of the classes being compiled, so that the archive they are packaged in
+ * doesn't have to be inspected for the Faces configuration annotations at startup.
+ * </p>
+ *
+ * <p>
+ * The processor is not registered as a service, to not run as part of every compilation having Mojarra on the
+ * classpath. It's enabled by naming it, for instance with the <code>annotationProcessors</code> setting of the Maven
+ * compiler plugin or <code>javac -processor com.sun.faces.config.manager.spi.AnnotationIndexProcessor</code>. The index
+ * only covers the classes compiled together, so it must be generated by a full, not by an incremental, compilation of
+ * the archive.
+ * </p>
+ */
+public class AnnotationIndexProcessor extends AbstractProcessor {
+
+    private static final Set<String> SUPPORTED_ANNOTATION_TYPES = FACES_ANNOTATION_TYPE.stream().map(Class::getName).collect(toSet());
+
+    private final Map<String, Set<String>> classNames = new HashMap<>();
+
+    // ------------------------------------------------------ Methods from AbstractProcessor
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return SUPPORTED_ANNOTATION_TYPES;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            String annotationName = annotation.getQualifiedName().toString();
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement) {
+                    String className = processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+                    classNames.computeIfAbsent(annotationName, e -> new TreeSet<>()).add(className);
+                }
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+
+        // Don't claim the annotations, other processors may be interested in them as well
+        return false;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void writeIndex() {
+        try (Writer writer = new OutputStreamWriter(processingEnv.getFiler().createResource(CLASS_OUTPUT, "", INDEX_RESOURCE).openOutputStream(), UTF_8)) {
+            AnnotationIndex.write(classNames, writer);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(ERROR, "Unable to write " + INDEX_RESOURCE + ": " + e);
+        }
+    }
+
+}
@@ -21,18 +21,25 @@ import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.Anno
 import static com.sun.faces.config.manager.spi.AnnotationScanner.FACES_ANNOTATION_TYPE;
 import static com.sun.faces.util.Util.isEmpty;
 import static java.util.Arrays.stream;
+import static java.util.logging.Level.FINE;
 
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.net.URI;
+import java.security.CodeSource;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.logging.Logger;
 
 import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.spi.AnnotationProvider;
+import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.Util;
 
+import jakarta.faces.FacesException;
 import jakarta.servlet.ServletContext;
 
 /**
@@ -47,6 +54,11 @@ import jakarta.servlet.ServletContext;
  */
 public class FilterClassesFromFacesInitializerAnnotationProvider extends AnnotationProvider {
 
+    private static final Logger LOGGER = FacesLogger.CONFIG.getLogger();
+
+    private static final String WEB_INF_CLASSES = "/WEB-INF/classes/";
+    private static final String WEB_INF_LIB = "/WEB-INF/lib/";
+
     public FilterClassesFromFacesInitializerAnnotationProvider(ServletContext servletContext) {
         super(servletContext);
     }
@@ -69,7 +81,10 @@ public class FilterClassesFromFacesInitializerAnnotationProvider extends Annotat
     // ---------------------------------------------------------- Private Methods
 
     /**
-     * Go over the annotated set and converter it to a hash map.
+     * Go over the annotated set and converter it to a hash map. Classes from archives with an {@link AnnotationIndex} are
+     * taken from the index instead of being inspected. Only the indexes of archives which contributed classes to the
+     * annotated set, or which are in <code>WEB-INF/classes</code> or <code>WEB-INF/lib</code>, are used, so that archives
+     * left out by the container, such as shared libraries, are not configured through their index.
      *
      * @param annotatedMap
      * @param annotatedSet
@@ -77,7 +92,9 @@ public class FilterClassesFromFacesInitializerAnnotationProvider extends Annotat
     private Map<Class<? extends Annotation>, Set<Class<?>>> createAnnotatedMap(Set<Class<?>> annotatedSet) {
         HashMap<Class<? extends Annotation>, Set<Class<?>>> annotatedMap = new HashMap<>();
 
-        if (isEmpty(annotatedSet)) {
+        AnnotationIndex annotationIndex = loadAnnotationIndex(annotatedSet);
+
+        if (isEmpty(annotatedSet) && annotationIndex.isEmpty()) {
             return annotatedMap;
         }
 
@@ -86,11 +103,21 @@ public class FilterClassesFromFacesInitializerAnnotationProvider extends Annotat
 
         String[] annotationScanPackages = annotationScanPackagesSet ? webConfig.getOptionValue(AnnotationScanPackages).split("\\s+") : null;
 
+        addIndexedClasses(annotationIndex, annotatedMap, annotationScanPackages);
+
+        if (isEmpty(annotatedSet)) {
+            return annotatedMap;
+        }
+
         Iterator<Class<?>> iterator = annotatedSet.iterator();
         while (iterator.hasNext()) {
             try {
                 Class<?> clazz = iterator.next();
 
+                if (annotationIndex.isIndexed(clazz)) {
+                    continue;
+                }
+
                 stream(clazz.getAnnotations()).map(annotation -> annotation.annotationType())
                         .filter(annotationType -> FACES_ANNOTATION_TYPE.contains(annotationType)).forEach(annotationType -> {
 
@@ -113,6 +140,48 @@ public class FilterClassesFromFacesInitializerAnnotationProvider extends Annotat
         return annotatedMap;
     }
 
+    private AnnotationIndex loadAnnotationIndex(Set<Class<?>> annotatedSet) {
+        Set<String> scannedArchives = new HashSet<>();
+        if (!isEmpty(annotatedSet)) {
+            for (Class<?> clazz : annotatedSet) {
+                CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+                if (codeSource != null && codeSource.getLocation() != null) {
+                    scannedArchives.add(codeSource.getLocation().toExternalForm());
+                }
+            }
+        }
+
+        try {
+            return AnnotationIndex.load(Util.getCurrentLoader(this),
+                    archive -> scannedArchives.contains(archive) || archive.contains(WEB_INF_CLASSES) || archive.contains(WEB_INF_LIB));
+        } catch (IOException e) {
+            throw new FacesException("Unable to read " + AnnotationIndex.INDEX_RESOURCE, e);
+        }
+    }
+
+    private void addIndexedClasses(AnnotationIndex annotationIndex, Map<Class<? extends Annotation>, Set<Class<?>>> annotatedMap, String[] annotationScanPackages) {
+        for (Class<? extends Annotation> annotationType : FACES_ANNOTATION_TYPE) {
+            Set<String> classNames = annotationIndex.getClassNames().get(annotationType.getName());
+            if (classNames == null) {
+                continue;
+            }
+
+            for (String className : classNames) {
+                try {
+                    Class<?> clazz = Util.loadClass(className, this);
+
+                    if (annotationScanPackages == null || matchesAnnotationScanPackages(clazz, annotationScanPackages)) {
+                        annotatedMap.computeIfAbsent(annotationType, e -> new HashSet<>()).add(clazz);
+                    }
+                } catch (ClassNotFoundException | NoClassDefFoundError e) {
+                    if (LOGGER.isLoggable(FINE)) {
+                        LOGGER.log(FINE, "Unable to load indexed class " + className, e);
+                    }
+                }
+            }
+        }
+    }
+
     private boolean matchesAnnotationScanPackages(Class<?> clazz, String[] annotationScanPackages) {
         boolean result = false;
 
@@ -19,24 +19,36 @@ package com.sun.faces.facelets.compiler;
 import java.io.IOException;
 
 import com.sun.faces.config.FaceletsConfiguration;
+import com.sun.faces.renderkit.html_basic.HtmlResponseWriter;
+import com.sun.faces.renderkit.html_basic.HtmlResponseWriter.EscapedText;
 
 import jakarta.el.ELContext;
 import jakarta.el.ExpressionFactory;
 import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.ResponseWriter;
 
 final class LiteralTextInstruction implements Instruction {
     private final String text;
 
+    // template text is immutable, so its escaped form is computed once and reused on every render
+    private final EscapedText escapedText;
+
     public LiteralTextInstruction(String text) {
         this.text = text;
+        escapedText = new EscapedText(text);
     }
 
     @Override
     public void write(FacesContext context) throws IOException {
+        ResponseWriter writer = context.getResponseWriter();
         if (FaceletsConfiguration.getInstance(context).isEscapeInlineText(context)) {
-            context.getResponseWriter().writeText(text, null);
+            if (writer instanceof HtmlResponseWriter) {
+                ((HtmlResponseWriter) writer).writeText(escapedText);
+            } else {
+                writer.writeText(text, null);
+            }
         } else {
-            context.getResponseWriter().write(text);
+            writer.write(text);
         }
     }
 
@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.facelets.compiler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * The SAX events of a parsed Facelet, in a compact binary form, together with the locator position of every event.
+ * Replaying them into a handler has exactly the same effect as parsing the document again, without the cost of the
+ * parser.
+ *
+ * @see SAXEventCache
+ */
+final class RecordedSAXEvents {
+
+    private static final byte START_DOCUMENT = 1;
+    private static final byte END_DOCUMENT = 2;
+    private static final byte START_PREFIX_MAPPING = 3;
+    private static final byte END_PREFIX_MAPPING = 4;
+    private static final byte START_ELEMENT = 5;
+    private static final byte END_ELEMENT = 6;
+    private static final byte CHARACTERS = 7;
+    private static final byte IGNORABLE_WHITESPACE = 8;
+    private static final byte PROCESSING_INSTRUCTION = 9;
+    private static final byte SKIPPED_ENTITY = 10;
+    private static final byte START_DTD = 11;
+    private static final byte END_DTD = 12;
+    private static final byte START_ENTITY = 13;
+    private static final byte END_ENTITY = 14;
+    private static final byte START_CDATA = 15;
+    private static final byte END_CDATA = 16;
+    private static final byte COMMENT = 17;
+
+    private final byte[] bytes;
+
+    // ------------------------------------------------------------ Constructors
+
+    RecordedSAXEvents(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the events in their binary form, as accepted by the constructor.
+     */
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Replays the recorded events into the given handler, which receives a {@link Locator} reporting the recorded
+     * position of every event.
+     *
+     * @param handler the handler to replay the events into
+     * @throws SAXException if the handler throws it, or if the recorded events are corrupt
+     */
+    <H extends DefaultHandler & LexicalHandler> void replay(H handler) throws SAXException {
+        ReplayLocator locator = new ReplayLocator();
+        handler.setDocumentLocator(locator);
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int type;
+            while ((type = in.read()) != -1) {
+                locator.line = in.readInt();
+                locator.column = in.readInt();
+                switch (type) {
+                case START_DOCUMENT:
+                    handler.startDocument();
+                    break;
+                case END_DOCUMENT:
+                    handler.endDocument();
+                    break;
+                case START_PREFIX_MAPPING:
+                    handler.startPrefixMapping(readString(in), readString(in));
+                    break;
+                case END_PREFIX_MAPPING:
+                    handler.endPrefixMapping(readString(in));
+                    break;
+                case START_ELEMENT:
+                    String uri = readString(in);
+                    String localName = readString(in);
+                    String qName = readString(in);
+                    AttributesImpl attributes = new AttributesImpl();
+                    for (int i = in.readInt(); i > 0; i--) {
+                        attributes.addAttribute(readString(in), readString(in), readString(in), readString(in), readString(in));
+                    }
+                    handler.startElement(uri, localName, qName, attributes);
+                    break;
+                case END_ELEMENT:
+                    handler.endElement(readString(in), readString(in), readString(in));
+                    break;
+                case CHARACTERS:
+                    char[] text = readString(in).toCharArray();
+                    handler.characters(text, 0, text.length);
+                    break;
+                case IGNORABLE_WHITESPACE:
+                    char[] whitespace = readString(in).toCharArray();
+                    handler.ignorableWhitespace(whitespace, 0, whitespace.length);
+                    break;
+                case PROCESSING_INSTRUCTION:
+                    handler.processingInstruction(readString(in), readString(in));
+                    break;
+                case SKIPPED_ENTITY:
+                    handler.skippedEntity(readString(in));
+                    break;
+                case START_DTD:
+                    handler.startDTD(readString(in), readString(in), readString(in));
+                    break;
+                case END_DTD:
+                    handler.endDTD();
+                    break;
+                case START_ENTITY:
+                    handler.startEntity(readString(in));
+                    break;
+                case END_ENTITY:
+                    handler.endEntity(readString(in));
+                    break;
+                case START_CDATA:
+                    handler.startCDATA();
+                    break;
+                case END_CDATA:
+                    handler.endCDATA();
+                    break;
+                case COMMENT:
+                    char[] comment = readString(in).toCharArray();
+                    handler.comment(comment, 0, comment.length);
+                    break;
+                default:
+                    throw new SAXException("Corrupt recorded SAX event of type " + type);
+                }
+            }
+        } catch (IOException e) {
+            throw new SAXException("Corrupt recorded SAX events", e);
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] b = new byte[length];
+        in.readFully(b);
+        return new String(b, UTF_8);
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * Forwards all SAX events to a target handler while recording them. Entity resolution and error handling are
+     * delegated to the target handler as well, but are not recorded.
+     */
+    static final class Recorder<H extends DefaultHandler & LexicalHandler> extends DefaultHandler implements LexicalHandler {
+
+        private final H target;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private Locator locator;
+
+        Recorder(H target) {
+            this.target = target;
+        }
+
+        /**
+         * @return the events recorded so far.
+         */
+        RecordedSAXEvents getEvents() {
+            return new RecordedSAXEvents(bytes.toByteArray());
+        }
+
+        @Override
+        public void setDocumentLocator(Locator locator) {
+            this.locator = locator;
+            target.setDocumentLocator(locator);
+        }
+
+        @Override
+        public void startDocument() throws SAXException {
+            record(START_DOCUMENT);
+            target.startDocument();
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            record(END_DOCUMENT);
+            target.endDocument();
+        }
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) throws SAXException {
+            record(START_PREFIX_MAPPING, prefix, uri);
+            target.startPrefixMapping(prefix, uri);
+        }
+
+        @Override
+        public void endPrefixMapping(String prefix) throws SAXException {
+            record(END_PREFIX_MAPPING, prefix);
+            target.endPrefixMapping(prefix);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            record(START_ELEMENT, uri, localName, qName);
+            try {
+                int length = attributes.getLength();
+                out.writeInt(length);
+                for (int i = 0; i < length; i++) {
+                    writeString(attributes.getURI(i));
+                    writeString(attributes.getLocalName(i));
+                    writeString(attributes.getQName(i));
+                    writeString(attributes.getType(i));
+                    writeString(attributes.getValue(i));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            target.startElement(uri, localName, qName, attributes);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            record(END_ELEMENT, uri, localName, qName);
+            target.endElement(uri, localName, qName);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            record(CHARACTERS, new String(ch, start, length));
+            target.characters(ch, start, length);
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            record(IGNORABLE_WHITESPACE, new String(ch, start, length));
+            target.ignorableWhitespace(ch, start, length);
+        }
+
+        @Override
+        public void processingInstruction(String target, String data) throws SAXException {
+            record(PROCESSING_INSTRUCTION, target, data);
+            this.target.processingInstruction(target, data);
+        }
+
+        @Override
+        public void skippedEntity(String name) throws SAXException {
+            record(SKIPPED_ENTITY, name);
+            target.skippedEntity(name);
+        }
+
+        @Override
+        public void startDTD(String name, String publicId, String systemId) throws SAXException {
+            record(START_DTD, name, publicId, systemId);
+            target.startDTD(name, publicId, systemId);
+        }
+
+        @Override
+        public void endDTD() throws SAXException {
+            record(END_DTD);
+            target.endDTD();
+        }
+
+        @Override
+        public void startEntity(String name) throws SAXException {
+            record(START_ENTITY, name);
+            target.startEntity(name);
+        }
+
+        @Override
+        public void endEntity(String name) throws SAXException {
+            record(END_ENTITY, name);
+            target.endEntity(name);
+        }
+
+        @Override
+        public void startCDATA() throws SAXException {
+            record(START_CDATA);
+            target.startCDATA();
+        }
+
+        @Override
+        public void endCDATA() throws SAXException {
+            record(END_CDATA);
+            target.endCDATA();
+        }
+
+        @Override
+        public void comment(char[] ch, int start, int length) throws SAXException {
+            record(COMMENT, new String(ch, start, length));
+            target.comment(ch, start, length);
+        }
+
+        @Override
+        public InputSource resolveEntity(String publicId, String systemId) throws IOException, SAXException {
+            return target.resolveEntity(publicId, systemId);
+        }
+
+        @Override
+        public void warning(SAXParseException e) throws SAXException {
+            target.warning(e);
+        }
+
+        @Override
+        public void error(SAXParseException e) throws SAXException {
+            target.error(e);
+        }
+
+        @Override
+        public void fatalError(SAXParseException e) throws SAXException {
+            target.fatalError(e);
+        }
+
+        private void record(byte type, String... values) {
+            try {
+                out.write(type);
+                out.writeInt(locator != null ? locator.getLineNumber() : -1);
+                out.writeInt(locator != null ? locator.getColumnNumber() : -1);
+                for (String value : values) {
+                    writeString(value);
+                }
+            } catch (IOException e) {
+                // cannot happen, we're writing to memory
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] b = value.getBytes(UTF_8);
+                out.writeInt(b.length);
+                out.write(b);
+            }
+        }
+    }
+
+    /**
+     * Reports the position of the event being replayed.
+     */
+    private static final class ReplayLocator implements Locator {
+
+        private int line;
+        private int column;
+
+        @Override
+        public String getPublicId() {
+            return null;
+        }
+
+        @Override
+        public String getSystemId() {
+            return null;
+        }
+
+        @Override
+        public int getLineNumber() {
+            return line;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return column;
+        }
+    }
+
+}
@@ -19,9 +19,19 @@ package com.sun.faces.facelets.compiler;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.DisallowDoctypeDecl;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -171,13 +181,7 @@ public final class SAXCompiler extends Compiler {
 
         @Override
         public InputSource resolveEntity(String publicId, String systemId) throws SAXException {
-            String dtd = "com/sun/faces/xhtml/default.dtd";
-            /*
-             * if ("-//W3C//DTD XHTML 1.0 Transitional//EN".equals(publicId)) { dtd = "xhtml1-transitional.dtd"; } else if (systemId
-             * != null && systemId.startsWith("file:/")) { return new InputSource(systemId); }
-             */
-            URL url = this.getClass().getClassLoader().getResource(dtd);
-            return new InputSource(url.toString());
+            return resolveDefaultEntity();
         }
 
         @Override
@@ -257,13 +261,45 @@ public final class SAXCompiler extends Compiler {
                 }
             }
         }
+    }
+
+    /**
+     * Receives the SAX events of a Facelet parsed by {@link SAXCompiler#prewarm(Collection, WebConfiguration)}, which are
+     * only recorded.
+     */
+    private static class PrewarmHandler extends DefaultHandler implements LexicalHandler {
+
+        @Override
+        public InputSource resolveEntity(String publicId, String systemId) throws SAXException {
+            return resolveDefaultEntity();
+        }
+
+        @Override
+        public void startDTD(String name, String publicId, String systemId) throws SAXException {
+        }
+
+        @Override
+        public void endDTD() throws SAXException {
+        }
+
+        @Override
+        public void startEntity(String name) throws SAXException {
+        }
 
-        protected boolean isDisallowDoctypeDeclSet() {
-            return unit.getWebConfiguration().isSet(DisallowDoctypeDecl);
+        @Override
+        public void endEntity(String name) throws SAXException {
         }
 
-        protected boolean isDisallowDoctypeDecl() {
-            return unit.getWebConfiguration().isOptionEnabled(DisallowDoctypeDecl);
+        @Override
+        public void startCDATA() throws SAXException {
+        }
+
+        @Override
+        public void endCDATA() throws SAXException {
+        }
+
+        @Override
+        public void comment(char[] ch, int start, int length) throws SAXException {
         }
     }
 
@@ -370,10 +406,65 @@ public final class SAXCompiler extends Compiler {
 
     }
 
+    private SAXEventCache eventCache;
+
     public SAXCompiler() {
         super();
     }
 
+    /**
+     * Enables the on-disk cache of parsed Facelets. Once enabled, the SAX parser is only invoked for Facelets whose
+     * content has not been parsed before, all others are compiled from the recorded SAX events in the given directory.
+     *
+     * @param directory the cache directory, it is created if necessary
+     * @throws IOException if the directory cannot be created
+     */
+    public void setCacheDirectory(File directory) throws IOException {
+        eventCache = new SAXEventCache(directory);
+    }
+
+    /**
+     * Parses the given Facelets in parallel and stores their SAX events in the cache, unless they are cached already.
+     * This method does nothing if the cache has not been enabled with {@link #setCacheDirectory(File)}.
+     *
+     * @param sources the Facelets to parse
+     * @param config the web configuration of the application
+     * @return the number of Facelets which have been parsed
+     */
+    public int prewarm(Collection<URL> sources, WebConfiguration config) {
+        if (eventCache == null || sources.isEmpty()) {
+            return 0;
+        }
+
+        int threads = Math.min(sources.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>(sources.size());
+            for (URL src : sources) {
+                tasks.add(() -> prewarm(src, config));
+            }
+
+            int parsed = 0;
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                try {
+                    if (result.get()) {
+                        parsed++;
+                    }
+                } catch (ExecutionException e) {
+                    if (log.isLoggable(Level.FINE)) {
+                        log.log(Level.FINE, "Unable to prewarm Facelet", e.getCause());
+                    }
+                }
+            }
+            return parsed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Override
     public FaceletHandler doCompile(URL src, String alias) throws IOException {
 
@@ -394,11 +485,19 @@ public final class SAXCompiler extends Compiler {
     protected FaceletHandler doCompile(CompilationManager mngr, CompilationHandler handler, URL src, String alias) throws IOException {
 
         String encoding = getEncoding();
-        try (InputStream is = new BufferedInputStream(src.openStream(), 1024);) {
+        try {
+            if (eventCache != null) {
+                byte[] content = readContent(src);
+                writeXmlDecl(new ByteArrayInputStream(content), encoding, mngr);
+                parseCached(content, handler, mngr.getWebConfiguration());
+            } else {
+                try (InputStream is = new BufferedInputStream(src.openStream(), 1024);) {
 
-            writeXmlDecl(is, encoding, mngr);
-            SAXParser parser = createSAXParser(handler);
-            parser.parse(is, handler);
+                    writeXmlDecl(is, encoding, mngr);
+                    SAXParser parser = createSAXParser(handler, mngr.getWebConfiguration());
+                    parser.parse(is, handler);
+                }
+            }
         } catch (SAXException e) {
             throw new FaceletException("Error Parsing " + alias + ": " + e.getMessage(), e.getCause());
         } catch (ParserConfigurationException e) {
@@ -426,6 +525,16 @@ public final class SAXCompiler extends Compiler {
         return result;
     }
 
+    private static InputSource resolveDefaultEntity() {
+        String dtd = "com/sun/faces/xhtml/default.dtd";
+        /*
+         * if ("-//W3C//DTD XHTML 1.0 Transitional//EN".equals(publicId)) { dtd = "xhtml1-transitional.dtd"; } else if (systemId
+         * != null && systemId.startsWith("file:/")) { return new InputSource(systemId); }
+         */
+        URL url = SAXCompiler.class.getClassLoader().getResource(dtd);
+        return new InputSource(url.toString());
+    }
+
     protected static void writeXmlDecl(InputStream is, String encoding, CompilationManager mngr) throws IOException {
         is.mark(128);
         try {
@@ -451,14 +560,64 @@ public final class SAXCompiler extends Compiler {
         }
     }
 
-    private SAXParser createSAXParser(CompilationHandler handler) throws SAXException, ParserConfigurationException {
+    /**
+     * Feeds the SAX events of the document to the handler, replaying them from the cache if the
+     * document has been parsed before, or parsing and recording them otherwise.
+     */
+    private void parseCached(byte[] content, CompilationHandler handler, WebConfiguration config)
+            throws IOException, SAXException, ParserConfigurationException {
+        String key = eventCache.getKey(content, getParserSettings(config));
+        RecordedSAXEvents events = eventCache.get(key);
+        if (events != null) {
+            events.replay(handler);
+        } else {
+            RecordedSAXEvents.Recorder<CompilationHandler> recorder = new RecordedSAXEvents.Recorder<>(handler);
+            createSAXParser(recorder, config).parse(new ByteArrayInputStream(content), recorder);
+            eventCache.put(key, recorder.getEvents());
+        }
+    }
+
+    /**
+     * Parses and caches a single Facelet for {@link #prewarm(Collection, WebConfiguration)}, without compiling it.
+     *
+     * @return <code>true</code> if the Facelet was parsed, <code>false</code> if it was cached already
+     */
+    private boolean prewarm(URL src, WebConfiguration config) throws IOException, SAXException, ParserConfigurationException {
+        byte[] content = readContent(src);
+        String key = eventCache.getKey(content, getParserSettings(config));
+        if (eventCache.contains(key)) {
+            return false;
+        }
+
+        RecordedSAXEvents.Recorder<PrewarmHandler> recorder = new RecordedSAXEvents.Recorder<>(new PrewarmHandler());
+        createSAXParser(recorder, config).parse(new ByteArrayInputStream(content), recorder);
+        eventCache.put(key, recorder.getEvents());
+        return true;
+    }
+
+    private static byte[] readContent(URL src) throws IOException {
+        try (InputStream is = src.openStream()) {
+            return is.readAllBytes();
+        }
+    }
+
+    /**
+     * @return all settings of {@link #createSAXParser(DefaultHandler, WebConfiguration)} which influence the SAX events
+     * of a document.
+     */
+    private String getParserSettings(WebConfiguration config) {
+        return "validating=" + isValidating() + ",disallowDoctypeDecl=" + (config.isSet(DisallowDoctypeDecl) ? config.isOptionEnabled(DisallowDoctypeDecl) : "");
+    }
+
+    private <H extends DefaultHandler & LexicalHandler> SAXParser createSAXParser(H handler, WebConfiguration config)
+            throws SAXException, ParserConfigurationException {
         SAXParserFactory factory = Util.createSAXParserFactory();
         factory.setNamespaceAware(true);
         factory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
         factory.setFeature("http://xml.org/sax/features/validation", isValidating());
         factory.setValidating(isValidating());
-        if (handler.isDisallowDoctypeDeclSet()) {
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", handler.isDisallowDoctypeDecl());
+        if (config.isSet(DisallowDoctypeDecl)) {
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", config.isOptionEnabled(DisallowDoctypeDecl));
         }
         SAXParser parser = factory.newSAXParser();
         XMLReader reader = parser.getXMLReader();
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.facelets.compiler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.logging.Logger;
+
+import com.sun.faces.util.FacesLogger;
+
+/**
+ * <p>
+ * An on-disk cache of {@link RecordedSAXEvents}, so that a Facelet which has not changed since it was last parsed, by
+ * this or by an earlier run of the application, is compiled without invoking the SAX parser.
+ * </p>
+ *
+ * <p>
+ * Entries are keyed by a SHA-256 digest of the document content, the parser settings and the Mojarra version. The
+ * parser's output only depends on these, so an entry can be shared between all URLs with the same content, and stale
+ * entries are never returned. Entries are written to a temporary file first and then moved in place, concurrent
+ * writers of the same entry therefore don't corrupt it.
+ * </p>
+ */
+final class SAXEventCache {
+
+    private static final Logger LOGGER = FacesLogger.FACELETS_COMPILER.getLogger();
+
+    /**
+     * Changes whenever the format of {@link RecordedSAXEvents} changes.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String SUFFIX = ".sax";
+
+    private final Path directory;
+    private final byte[] salt;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param directory the directory holding the cache entries, it is created if necessary.
+     * @throws IOException if the directory cannot be created
+     */
+    SAXEventCache(File directory) throws IOException {
+        this.directory = Files.createDirectories(directory.toPath());
+        String version = SAXEventCache.class.getPackage().getImplementationVersion();
+        salt = (FORMAT_VERSION + ":" + version + ":").getBytes(UTF_8);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param content the content of the Facelet
+     * @param parserSettings a description of all settings which influence the result of parsing
+     * @return the key of the cache entry for the given content
+     */
+    String getKey(byte[] content, String parserSettings) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        digest.update(salt);
+        digest.update(parserSettings.getBytes(UTF_8));
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(content.length).array());
+        digest.update(content);
+
+        StringBuilder key = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            key.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param key the key as returned by {@link #getKey(byte[], String)}
+     * @return <code>true</code> if there's an entry for the key
+     */
+    boolean contains(String key) {
+        return Files.isRegularFile(directory.resolve(key + SUFFIX));
+    }
+
+    /**
+     * @param key the key as returned by {@link #getKey(byte[], String)}
+     * @return the cached events, or <code>null</code> if there's no entry for the key or it cannot be read
+     */
+    RecordedSAXEvents get(String key) {
+        try {
+            return new RecordedSAXEvents(Files.readAllBytes(directory.resolve(key + SUFFIX)));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Unable to read cached SAX events " + key, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stores the events under the given key. Failures are logged and otherwise ignored, the next compilation of the
+     * Facelet simply parses it again.
+     *
+     * @param key the key as returned by {@link #getKey(byte[], String)}
+     * @param events the events of the content the key was computed for
+     */
+    void put(String key, RecordedSAXEvents events) {
+        Path target = directory.resolve(key + SUFFIX);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, events.getBytes());
+            try {
+                Files.move(temp, target, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, REPLACE_EXISTING);
+            }
+            temp = null;
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, "Unable to cache SAX events in " + target, e);
+            }
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    LOGGER.log(FINE, "Unable to delete " + temp, e);
+                }
+            }
+        }
+    }
+
+}
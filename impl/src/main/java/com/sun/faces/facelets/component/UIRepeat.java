@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.sun.faces.facelets.tag.IterationStatus;
+import com.sun.faces.renderkit.RenderKitUtils;
 
 import jakarta.el.ValueExpression;
 import jakarta.faces.FacesException;
@@ -87,6 +88,10 @@ public class UIRepeat extends UINamingContainer {
     private Integer step;
     private Integer size;
 
+    // row window requested by the client, narrows begin/end/offset/size
+    private Integer windowFirst;
+    private Integer windowRows;
+
     public UIRepeat() {
         setRendererType("facelets.ui.Repeat");
     }
@@ -542,6 +547,13 @@ public class UIRepeat extends UINamingContainer {
                 if (null != size && size > 0) {
                     e = size - 1;
                 }
+                if (windowFirst != null) {
+                    // the window can only narrow the items exposed by the page
+                    i = Math.max(i, windowFirst);
+                    e = (int) Math.min(e, (long) i + windowRows - 1);
+                    begin = i;
+                    end = e;
+                }
 
                 setIndex(faces, i);
                 updateIterationStatus(faces, new IterationStatus(true, i + s > e || rowCount == 1, i, begin, end, step));
@@ -786,6 +798,7 @@ public class UIRepeat extends UINamingContainer {
         }
         process(faces, PhaseId.APPLY_REQUEST_VALUES);
         decode(faces);
+        RenderKitUtils.decodeRowWindow(faces, this);
     }
 
     @Override
@@ -1001,6 +1014,8 @@ public class UIRepeat extends UINamingContainer {
         value = state[7];
         originalBegin = (Integer) state[8];
         originalEnd = (Integer) state[9];
+        windowFirst = (Integer) state[10];
+        windowRows = (Integer) state[11];
     }
 
     @Override
@@ -1010,7 +1025,7 @@ public class UIRepeat extends UINamingContainer {
         if (faces == null) {
             throw new NullPointerException();
         }
-        Object[] state = new Object[10];
+        Object[] state = new Object[12];
         state[0] = super.saveState(faces);
         state[1] = childState;
         state[2] = begin;
@@ -1021,6 +1036,8 @@ public class UIRepeat extends UINamingContainer {
         state[7] = value;
         state[8] = originalBegin;
         state[9] = originalEnd;
+        state[10] = windowFirst;
+        state[11] = windowRows;
         return state;
     }
 
@@ -1033,6 +1050,11 @@ public class UIRepeat extends UINamingContainer {
         if (!keepSaved(faces)) {
             childState = null;
         }
+        int[] window = RenderKitUtils.getRequestedRowWindow(faces, this);
+        if (window != null) {
+            windowFirst = window[0];
+            windowRows = window[1];
+        }
         process(faces, PhaseId.RENDER_RESPONSE);
     }
 
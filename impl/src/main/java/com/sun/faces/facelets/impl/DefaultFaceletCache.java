@@ -21,11 +21,20 @@ import java.net.URL;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 
+import javax.management.ObjectName;
+
+import com.sun.faces.util.BoundedConcurrentCache;
 import com.sun.faces.util.ConcurrentCache;
 import com.sun.faces.util.ExpiringConcurrentCache;
+import com.sun.faces.util.JmxUtils;
 import com.sun.faces.util.Util;
 
 import jakarta.faces.FacesException;
+import jakarta.faces.application.Application;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.event.PreDestroyApplicationEvent;
+import jakarta.faces.event.SystemEvent;
+import jakarta.faces.event.SystemEventListener;
 import jakarta.faces.view.facelets.FaceletCache;
 
 /**
@@ -40,14 +49,34 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
      * refresh'
      */
     DefaultFaceletCache(final long refreshPeriod) {
+        this(refreshPeriod, false, 0);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param refreshPeriod cache refresh period (in milliseconds). 0 means 'always refresh', negative value means 'never
+     * refresh'
+     * @param watchChanges whether changes are detected by a {@link FaceletChangeWatcher} in the background, rather than
+     * by checking the last modified time of the source when the refresh period has passed
+     * @param maxSize the maximum number of Facelets and of metadata Facelets kept in the cache, or <code>0</code> for no
+     * limit
+     */
+    DefaultFaceletCache(final long refreshPeriod, boolean watchChanges, int maxSize) {
 
         // We will be delegating object storage to the ExpiringCocurrentCache
         // Create Factory objects here for the cache. The objects will be delegating to our
         // own instance factories
 
         final boolean checkExpiry = refreshPeriod > 0;
+        final FaceletChangeWatcher watcher = checkExpiry && watchChanges ? new FaceletChangeWatcher(refreshPeriod) : null;
+        ObjectName statisticsName = null;
 
         ConcurrentCache.Factory<URL, Record> faceletFactory = key -> {
+            if (watcher != null) {
+                long version = watcher.register(key);
+                return new Record(System.currentTimeMillis(), version, getMemberFactory().newInstance(key), refreshPeriod);
+            }
             // Make sure that the expensive timestamp retrieval is not done
             // if no expiry check is going to be performed
             long lastModified = checkExpiry ? Util.getLastModified(key) : 0;
@@ -55,6 +84,10 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
         };
 
         ConcurrentCache.Factory<URL, Record> metadataFaceletFactory = key -> {
+            if (watcher != null) {
+                long version = watcher.register(key);
+                return new Record(System.currentTimeMillis(), version, getMetadataMemberFactory().newInstance(key), refreshPeriod);
+            }
             // Make sure that the expensive timestamp retrieval is not done
             // if no expiry check is going to be performed
             long lastModified = checkExpiry ? Util.getLastModified(key) : 0;
@@ -66,9 +99,26 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
             _faceletCache = new NoCache(faceletFactory);
             _metadataFaceletCache = new NoCache(metadataFaceletFactory);
         } else {
-            ExpiringConcurrentCache.ExpiryChecker<URL, Record> checker = refreshPeriod > 0 ? new ExpiryChecker() : new NeverExpired();
-            _faceletCache = new ExpiringConcurrentCache<>(faceletFactory, checker);
-            _metadataFaceletCache = new ExpiringConcurrentCache<>(metadataFaceletFactory, checker);
+            ExpiringConcurrentCache.ExpiryChecker<URL, Record> checker;
+            if (watcher != null) {
+                checker = new WatchedExpiryChecker(watcher);
+            } else {
+                checker = refreshPeriod > 0 ? new ExpiryChecker() : new NeverExpired();
+            }
+            if (maxSize > 0) {
+                BoundedConcurrentCache<URL, Record> boundedFaceletCache = new BoundedConcurrentCache<>(faceletFactory, checker, maxSize);
+                BoundedConcurrentCache<URL, Record> boundedMetadataFaceletCache = new BoundedConcurrentCache<>(metadataFaceletFactory, checker, maxSize);
+                _faceletCache = boundedFaceletCache;
+                _metadataFaceletCache = boundedMetadataFaceletCache;
+                statisticsName = registerStatistics(new Statistics(boundedFaceletCache, boundedMetadataFaceletCache));
+            } else {
+                _faceletCache = new ExpiringConcurrentCache<>(faceletFactory, checker);
+                _metadataFaceletCache = new ExpiringConcurrentCache<>(metadataFaceletFactory, checker);
+            }
+        }
+
+        if (watcher != null || statisticsName != null) {
+            releaseOnDestroy(watcher, statisticsName);
         }
     }
 
@@ -113,6 +163,48 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
         return _metadataFaceletCache.containsKey(url);
     }
 
+    /**
+     * Registers the statistics with the platform MBean server.
+     *
+     * @return the object name of the statistics, or <code>null</code> if they were not registered
+     */
+    private ObjectName registerStatistics(Statistics statistics) {
+        FacesContext context = FacesContext.getCurrentInstance();
+        if (context == null) {
+            return null;
+        }
+
+        String application = context.getExternalContext().getApplicationContextPath();
+        return JmxUtils.registerMBean(statistics, "FaceletCache", application, this, "the Facelet cache statistics");
+    }
+
+    /**
+     * Closes the change watcher and unregisters the statistics when the application is destroyed, so that neither the
+     * watcher thread nor the MBean outlive it.
+     */
+    private static void releaseOnDestroy(FaceletChangeWatcher watcher, ObjectName statisticsName) {
+        FacesContext context = FacesContext.getCurrentInstance();
+        if (context == null) {
+            return;
+        }
+
+        context.getApplication().subscribeToEvent(PreDestroyApplicationEvent.class, Application.class, new SystemEventListener() {
+
+            @Override
+            public boolean isListenerForSource(Object source) {
+                return source instanceof Application;
+            }
+
+            @Override
+            public void processEvent(SystemEvent event) {
+                if (watcher != null) {
+                    watcher.close();
+                }
+                JmxUtils.unregisterMBean(statisticsName);
+            }
+        });
+    }
+
     private void _unwrapIOException(ExecutionException e) throws IOException {
         Throwable t = e.getCause();
         if (t instanceof IOException) {
@@ -131,8 +223,8 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
     private final ConcurrentCache<URL, Record> _metadataFaceletCache;
 
     /**
-     * This class holds the Facelet instance and its original URL's last modified time. It also produces the time when the
-     * next expiry check should be performed
+     * This class holds the Facelet instance and its original URL's last modified time, or its version when changes are
+     * watched. It also produces the time when the next expiry check should be performed
      */
     private static class Record {
         Record(long creationTime, long lastModified, DefaultFacelet facelet, long refreshInterval) {
@@ -185,6 +277,67 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
         }
     }
 
+    private static class WatchedExpiryChecker implements ExpiringConcurrentCache.ExpiryChecker<URL, Record> {
+
+        private final FaceletChangeWatcher watcher;
+
+        WatchedExpiryChecker(FaceletChangeWatcher watcher) {
+            this.watcher = watcher;
+        }
+
+        @Override
+        public boolean isExpired(URL url, Record record) {
+            // The watcher tracks changes in the background, this is a plain lookup
+            return watcher.isChanged(url, record.getLastModified());
+        }
+    }
+
+    private static class Statistics implements FaceletCacheStatisticsMXBean {
+
+        private final BoundedConcurrentCache<URL, Record> faceletCache;
+        private final BoundedConcurrentCache<URL, Record> metadataFaceletCache;
+
+        Statistics(BoundedConcurrentCache<URL, Record> faceletCache, BoundedConcurrentCache<URL, Record> metadataFaceletCache) {
+            this.faceletCache = faceletCache;
+            this.metadataFaceletCache = metadataFaceletCache;
+        }
+
+        @Override
+        public int getSize() {
+            return faceletCache.getSize() + metadataFaceletCache.getSize();
+        }
+
+        @Override
+        public int getMaxSize() {
+            return faceletCache.getMaxSize();
+        }
+
+        @Override
+        public long getHitCount() {
+            return faceletCache.getHitCount() + metadataFaceletCache.getHitCount();
+        }
+
+        @Override
+        public long getMissCount() {
+            return faceletCache.getMissCount() + metadataFaceletCache.getMissCount();
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return faceletCache.getEvictionCount() + metadataFaceletCache.getEvictionCount();
+        }
+
+        @Override
+        public long getCompileCount() {
+            return faceletCache.getCreationCount() + metadataFaceletCache.getCreationCount();
+        }
+
+        @Override
+        public long getCompileTimeMillis() {
+            return (faceletCache.getCreationTime() + metadataFaceletCache.getCreationTime()) / 1_000_000;
+        }
+    }
+
     private static class NeverExpired implements ExpiringConcurrentCache.ExpiryChecker<URL, Record> {
         @Override
         public boolean isExpired(URL key, Record value) {
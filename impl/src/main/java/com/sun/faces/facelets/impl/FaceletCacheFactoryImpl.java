@@ -35,7 +35,9 @@ public class FaceletCacheFactoryImpl extends FaceletCacheFactory {
         WebConfiguration webConfig = WebConfiguration.getInstance();
         String refreshPeriod = webConfig.getOptionValue(WebConfiguration.WebContextInitParameter.FaceletsDefaultRefreshPeriod);
         long period = Long.parseLong(refreshPeriod) * 1000;
-        FaceletCache<DefaultFacelet> result = new DefaultFaceletCache(period);
+        boolean watchChanges = "watch".equals(webConfig.getOptionValue(WebConfiguration.WebContextInitParameter.FaceletsRefreshMode));
+        int maxSize = Integer.parseInt(webConfig.getOptionValue(WebConfiguration.WebContextInitParameter.FaceletCacheMaxSize));
+        FaceletCache<DefaultFacelet> result = new DefaultFaceletCache(period, watchChanges, maxSize);
         return result;
 
     }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.facelets.impl;
+
+/**
+ * JMX view of a size-bounded Facelet cache, registered as <code>com.sun.faces:type=FaceletCache</code> when
+ * <code>com.sun.faces.faceletCacheMaxSize</code> is set. The counters cover both the Facelets and the view metadata
+ * Facelets.
+ */
+public interface FaceletCacheStatisticsMXBean {
+
+    /**
+     * @return the number of cached Facelets.
+     */
+    int getSize();
+
+    /**
+     * @return the maximum number of cached Facelets, of each kind.
+     */
+    int getMaxSize();
+
+    /**
+     * @return the number of requests which found their Facelet in the cache.
+     */
+    long getHitCount();
+
+    /**
+     * @return the number of requests which did not find their Facelet in the cache.
+     */
+    long getMissCount();
+
+    /**
+     * @return the number of Facelets evicted because the cache was full.
+     */
+    long getEvictionCount();
+
+    /**
+     * @return the number of Facelets compiled, including recompilations of changed Facelets.
+     */
+    long getCompileCount();
+
+    /**
+     * @return the total time spent compiling Facelets, in milliseconds.
+     */
+    long getCompileTimeMillis();
+
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.facelets.impl;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.Util;
+
+import jakarta.faces.FacesException;
+
+/**
+ * <p>
+ * Tracks changes to Facelet sources in a background thread, so that checking whether a cached Facelet is stale is a
+ * simple lookup which never performs any I/O on the request thread.
+ * </p>
+ *
+ * <p>
+ * Sources with a <code>file:</code> URL are watched with a {@link WatchService} on their directory, any other sources,
+ * such as Facelets in jars, are polled for their last modified time once per refresh period. Every change bumps the
+ * version of the affected URL, a cached Facelet is stale when the version it was created with is no longer the current
+ * one. Facelets including a changed template or composite component pick up the change by themselves, since the
+ * included Facelet is looked up in the cache on every build.
+ * </p>
+ *
+ * <p>
+ * The background thread terminates when the watcher is closed, which the Facelet cache owning it does when the
+ * application is destroyed. It only holds a weak reference to the watcher, so that it also terminates once the watcher
+ * has been garbage collected without having been closed.
+ * </p>
+ */
+final class FaceletChangeWatcher {
+
+    private static final Logger LOGGER = FacesLogger.FACELETS_FACTORY.getLogger();
+
+    private final WatchService watchService;
+    private final AtomicLong lastVersion = new AtomicLong();
+    private final Map<URL, Long> versions = new ConcurrentHashMap<>();
+    private final Map<Path, Set<URL>> urlsByFile = new ConcurrentHashMap<>();
+    private final Set<Path> watchedDirectories = ConcurrentHashMap.newKeySet();
+    private final Map<URL, Long> polledLastModified = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param refreshPeriod the interval in milliseconds in which sources that cannot be watched are polled
+     */
+    FaceletChangeWatcher(long refreshPeriod) {
+        WatchService service = null;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.log(WARNING, "Unable to create a WatchService, all Facelets will be polled for changes", e);
+        }
+        watchService = service;
+
+        Thread thread = new Thread(new Worker(this, watchService, refreshPeriod), "Facelet change watcher");
+        thread.setDaemon(true);
+        thread.setContextClassLoader(null);
+        thread.start();
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Starts tracking the source. This has to be called before the source is read, so that no change is missed.
+     *
+     * @param url the source of a Facelet
+     * @return the current version of the source, to be passed to {@link #isChanged(URL, long)}
+     */
+    long register(URL url) {
+        Path file = toPath(url);
+        if (file != null && watch(file.getParent())) {
+            urlsByFile.computeIfAbsent(file, f -> ConcurrentHashMap.newKeySet()).add(url);
+        } else if (!polledLastModified.containsKey(url)) {
+            polledLastModified.putIfAbsent(url, Util.getLastModified(url));
+        }
+
+        return getVersion(url);
+    }
+
+    /**
+     * @param url the source of a Facelet
+     * @param version the version returned by {@link #register(URL)} when the Facelet was created
+     * @return <code>true</code> if the source has changed since
+     */
+    boolean isChanged(URL url, long version) {
+        return getVersion(url) != version;
+    }
+
+    /**
+     * Stops tracking changes. The background thread terminates as soon as it notices, which is immediately when it is
+     * waiting for the {@link WatchService}, since closing it wakes up the thread with a
+     * {@link ClosedWatchServiceException}, and otherwise at the latest after one refresh period.
+     */
+    void close() {
+        closed = true;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOGGER.log(FINE, "Unable to close WatchService", e);
+            }
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private long getVersion(URL url) {
+        Long version = versions.get(url);
+        return version != null ? version : 0;
+    }
+
+    private void changed(URL url) {
+        if (LOGGER.isLoggable(FINE)) {
+            LOGGER.log(FINE, "Facelet {0} has changed", url);
+        }
+        versions.put(url, lastVersion.incrementAndGet());
+    }
+
+    private boolean watch(Path directory) {
+        if (watchService == null || directory == null) {
+            return false;
+        }
+        if (watchedDirectories.contains(directory)) {
+            return true;
+        }
+
+        synchronized (watchedDirectories) {
+            if (!watchedDirectories.contains(directory)) {
+                try {
+                    directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                    watchedDirectories.add(directory);
+                } catch (IOException | ClosedWatchServiceException | UnsupportedOperationException e) {
+                    if (LOGGER.isLoggable(FINE)) {
+                        LOGGER.log(FINE, "Unable to watch " + directory + ", Facelets in it will be polled for changes", e);
+                    }
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Handles the events of a watched directory. Called from the background thread only.
+     */
+    private void processEvents(WatchKey key) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                changedIn(directory);
+            } else {
+                Set<URL> urls = urlsByFile.get(directory.resolve((Path) event.context()));
+                if (urls != null) {
+                    urls.forEach(this::changed);
+                }
+            }
+        }
+
+        if (!key.reset()) {
+            // the directory is gone
+            watchedDirectories.remove(directory);
+            changedIn(directory);
+        }
+    }
+
+    private void changedIn(Path directory) {
+        urlsByFile.forEach((file, urls) -> {
+            if (directory.equals(file.getParent())) {
+                urls.forEach(this::changed);
+            }
+        });
+    }
+
+    /**
+     * Checks the sources that cannot be watched. Called from the background thread only.
+     */
+    private void pollUnwatched() {
+        polledLastModified.forEach((url, lastModified) -> {
+            long current;
+            try {
+                current = Util.getLastModified(url);
+            } catch (FacesException e) {
+                // the source is gone, let the next compilation report it
+                current = Long.MAX_VALUE;
+            }
+            if (current > lastModified) {
+                polledLastModified.put(url, current);
+                changed(url);
+            }
+        });
+    }
+
+    private static Path toPath(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI()).toAbsolutePath().normalize();
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return null;
+        }
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    private static final class Worker implements Runnable {
+
+        private final WeakReference<FaceletChangeWatcher> watcherRef;
+        private final WatchService watchService;
+        private final long refreshPeriod;
+
+        Worker(FaceletChangeWatcher watcher, WatchService watchService, long refreshPeriod) {
+            watcherRef = new WeakReference<>(watcher);
+            this.watchService = watchService;
+            this.refreshPeriod = refreshPeriod;
+        }
+
+        @Override
+        public void run() {
+            long nextPoll = System.currentTimeMillis() + refreshPeriod;
+            try {
+                while (true) {
+                    long timeout = Math.max(1, nextPoll - System.currentTimeMillis());
+                    WatchKey key;
+                    if (watchService != null) {
+                        key = watchService.poll(timeout, MILLISECONDS);
+                    } else {
+                        Thread.sleep(timeout);
+                        key = null;
+                    }
+
+                    FaceletChangeWatcher watcher = watcherRef.get();
+                    if (watcher == null || watcher.closed) {
+                        break;
+                    }
+                    while (key != null) {
+                        watcher.processEvents(key);
+                        key = watchService.poll();
+                    }
+                    if (System.currentTimeMillis() >= nextPoll) {
+                        watcher.pollUnwatched();
+                        nextPoll = System.currentTimeMillis() + refreshPeriod;
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // shutting down
+            } catch (RuntimeException e) {
+                LOGGER.log(WARNING, "Facelet change watcher failed, changes will no longer be detected", e);
+            } finally {
+                if (watchService != null) {
+                    try {
+                        watchService.close();
+                    } catch (IOException e) {
+                        LOGGER.log(FINE, "Unable to close WatchService", e);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * A {@link Writer} which encodes characters as UTF-8 straight into a pooled byte buffer and writes that buffer to an
+ * {@link OutputStream}, typically the servlet output stream. This avoids the transcoding pass of the container's own
+ * response writer. Runs of ASCII characters, which make up most of a rendered page, are copied into the buffer without
+ * any further checks.
+ * </p>
+ *
+ * <p>
+ * Once {@link #release()} has been called the buffer is handed back to the pool, any content written afterwards is
+ * written through to the stream on every call.
+ * </p>
+ *
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ */
+public final class Utf8OutputStreamWriter extends Writer {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_POOLED = 64;
+    private static final Queue<byte[]> BUFFERS = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger BUFFER_COUNT = new AtomicInteger();
+
+    private final OutputStream out;
+    private byte[] buf;
+    private int count;
+    private char highSurrogate;
+    private boolean writeThrough;
+    private boolean closed;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param out the stream the encoded characters are written to
+     */
+    public Utf8OutputStreamWriter(OutputStream out) {
+        this.out = Objects.requireNonNull(out, "out");
+    }
+
+    // ------------------------------------------------- Methods from Writer
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        if (c < 0x80 && highSurrogate == 0) {
+            if (count == buf.length) {
+                flushBuffer();
+            }
+            buf[count++] = (byte) c;
+        } else {
+            encode((char) c);
+        }
+        if (writeThrough) {
+            flushBuffer();
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+        ensureOpen();
+        int end = off + len;
+        while (off < end) {
+            char c = cbuf[off];
+            if (c < 0x80 && highSurrogate == 0) {
+                // copy the whole run of ASCII characters that fits into the buffer
+                if (count == buf.length) {
+                    flushBuffer();
+                }
+                int runEnd = Math.min(end, off + buf.length - count);
+                buf[count++] = (byte) c;
+                off++;
+                while (off < runEnd && (c = cbuf[off]) < 0x80) {
+                    buf[count++] = (byte) c;
+                    off++;
+                }
+            } else {
+                encode(c);
+                off++;
+            }
+        }
+        if (writeThrough) {
+            flushBuffer();
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, str.length());
+        ensureOpen();
+        int end = off + len;
+        while (off < end) {
+            char c = str.charAt(off);
+            if (c < 0x80 && highSurrogate == 0) {
+                // copy the whole run of ASCII characters that fits into the buffer
+                if (count == buf.length) {
+                    flushBuffer();
+                }
+                int runEnd = Math.min(end, off + buf.length - count);
+                buf[count++] = (byte) c;
+                off++;
+                while (off < runEnd && (c = str.charAt(off)) < 0x80) {
+                    buf[count++] = (byte) c;
+                    off++;
+                }
+            } else {
+                encode(c);
+                off++;
+            }
+        }
+        if (writeThrough) {
+            flushBuffer();
+        }
+    }
+
+    @Override
+    public void write(String str) throws IOException {
+        write(str, 0, str.length());
+    }
+
+    @Override
+    public Writer append(CharSequence csq) throws IOException {
+        String str = String.valueOf(csq);
+        write(str, 0, str.length());
+        return this;
+    }
+
+    /**
+     * Writes the buffered bytes to the stream and flushes it.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (!closed) {
+            flushBuffer();
+            out.flush();
+        }
+    }
+
+    /**
+     * Releases the buffer and closes the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            release();
+            closed = true;
+            out.close();
+        }
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Writes the buffered bytes to the stream, without flushing it, and hands the buffer back to the pool. The writer
+     * remains usable, but from now on writes through to the stream.
+     *
+     * @throws IOException if an error occurs writing to the stream
+     */
+    public void release() throws IOException {
+        if (closed || buf == null) {
+            writeThrough = true;
+            return;
+        }
+        if (highSurrogate != 0) {
+            // an unpaired high surrogate at the end of the content
+            highSurrogate = 0;
+            buf[count++] = '?';
+        }
+        try {
+            flushBuffer();
+        } finally {
+            if (!writeThrough && BUFFER_COUNT.incrementAndGet() <= MAX_POOLED) {
+                BUFFERS.offer(buf);
+            } else if (!writeThrough) {
+                BUFFER_COUNT.decrementAndGet();
+            }
+            buf = null;
+            count = 0;
+            writeThrough = true;
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (buf == null) {
+            if (writeThrough) {
+                // not pooled, release() has already been called
+                buf = new byte[BUFFER_SIZE];
+            } else {
+                buf = BUFFERS.poll();
+                if (buf == null) {
+                    buf = new byte[BUFFER_SIZE];
+                } else {
+                    BUFFER_COUNT.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buf, 0, count);
+            count = 0;
+        }
+    }
+
+    /**
+     * Encodes a character outside of the ASCII range, or any character following a high surrogate.
+     */
+    private void encode(char c) throws IOException {
+        if (count + 4 > buf.length) {
+            flushBuffer();
+        }
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                buf[count++] = (byte) (0xF0 | codePoint >> 18);
+                buf[count++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buf[count++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buf[count++] = (byte) (0x80 | codePoint & 0x3F);
+                return;
+            }
+            // unpaired high surrogate, replace it like the JDK encoder does
+            buf[count++] = '?';
+        }
+
+        if (c < 0x80) {
+            buf[count++] = (byte) c;
+        } else if (c < 0x800) {
+            buf[count++] = (byte) (0xC0 | c >> 6);
+            buf[count++] = (byte) (0x80 | c & 0x3F);
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buf[count++] = '?';
+        } else {
+            buf[count++] = (byte) (0xE0 | c >> 12);
+            buf[count++] = (byte) (0x80 | c >> 6 & 0x3F);
+            buf[count++] = (byte) (0x80 | c & 0x3F);
+        }
+    }
+
+}
@@ -21,7 +21,9 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.sun.faces.application.ApplicationAssociate;
 import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.spi.MetricsCollector;
 import com.sun.faces.util.FacesLogger;
 import com.sun.faces.util.MessageUtils;
 import com.sun.faces.util.Util;
@@ -53,6 +55,9 @@ public class LifecycleImpl extends Lifecycle {
     // Log instance for this class
     private static Logger LOGGER = FacesLogger.LIFECYCLE.getLogger();
 
+    // FacesContext attribute holding the System.nanoTime() at which execute() started
+    private static final String REQUEST_START_KEY = LifecycleImpl.class.getName() + ".REQUEST_START";
+
     // ------------------------------------------------------ Instance Variables
 
     // The Phase instance for the render() method
@@ -67,6 +72,7 @@ public class LifecycleImpl extends Lifecycle {
     // List for registered PhaseListeners
     private List<PhaseListener> listeners = new CopyOnWriteArrayList<>();
     private boolean isClientWindowEnabled = false;
+    private MetricsCollector metricsCollector;
     private WebConfiguration config;
 
     public LifecycleImpl() {
@@ -97,6 +103,15 @@ public class LifecycleImpl extends Lifecycle {
     private void postConstructApplicationInitialization() {
         String optionValue = config.getOptionValue(WebConfiguration.WebContextInitParameter.ClientWindowMode);
         isClientWindowEnabled = null != optionValue && !optionValue.equals(WebConfiguration.WebContextInitParameter.ClientWindowMode.getDefaultValue());
+
+        // Resolve the metrics collector once, so that the phases don't look it up on every request
+        ApplicationAssociate associate = ApplicationAssociate.getCurrentInstance();
+        metricsCollector = associate != null ? associate.getMetricsCollector() : null;
+        for (Phase phase : phases) {
+            if (phase != null) {
+                phase.setMetricsCollector(metricsCollector);
+            }
+        }
     }
 
     // ------------------------------------------------------- Lifecycle Methods
@@ -150,6 +165,10 @@ public class LifecycleImpl extends Lifecycle {
             LOGGER.fine("execute(" + context + ")");
         }
 
+        if (metricsCollector != null) {
+            context.getAttributes().put(REQUEST_START_KEY, System.nanoTime());
+        }
+
         for (int i = 1, len = phases.length - 1; i < len; i++) { // Skip ANY_PHASE placeholder
 
             if (context.getRenderResponse() || context.getResponseComplete()) {
@@ -174,10 +193,20 @@ public class LifecycleImpl extends Lifecycle {
             LOGGER.fine("render(" + context + ")");
         }
 
+        long start = metricsCollector != null ? System.nanoTime() : 0;
+
         if (!context.getResponseComplete()) {
             response.doPhase(context, this, listeners.listIterator());
         }
 
+        if (metricsCollector != null) {
+            Long executeStart = (Long) context.getAttributes().remove(REQUEST_START_KEY);
+            if (executeStart != null) {
+                start = executeStart;
+            }
+            metricsCollector.requestCompleted(Phase.getViewId(context), context.getPartialViewContext().isPartialRequest(), System.nanoTime() - start);
+        }
+
     }
 
     // Add a new PhaseListener to the set of registered listeners
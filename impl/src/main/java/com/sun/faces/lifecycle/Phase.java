@@ -20,10 +20,12 @@ import java.util.ListIterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.sun.faces.spi.MetricsCollector;
 import com.sun.faces.util.FacesLogger;
 import com.sun.faces.util.Timer;
 
 import jakarta.faces.FacesException;
+import jakarta.faces.component.UIViewRoot;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.context.Flash;
 import jakarta.faces.event.ExceptionQueuedEvent;
@@ -44,6 +46,8 @@ public abstract class Phase {
 
     private static final Logger LOGGER = FacesLogger.LIFECYCLE.getLogger();
 
+    private MetricsCollector metricsCollector;
+
     // ---------------------------------------------------------- Public Methods
 
     /**
@@ -65,6 +69,7 @@ public abstract class Phase {
         if (timer != null) {
             timer.startTiming();
         }
+        long start = metricsCollector != null ? System.nanoTime() : 0;
 
         try {
             handleBeforePhase(context, listeners, event);
@@ -84,6 +89,9 @@ public abstract class Phase {
                 timer.stopTiming();
                 timer.logResult("Execution time for phase (including any PhaseListeners) -> " + getId().toString());
             }
+            if (metricsCollector != null) {
+                metricsCollector.phaseCompleted(getViewId(context), getId(), System.nanoTime() - start);
+            }
 
             context.getExceptionHandler().handle();
         }
@@ -190,6 +198,25 @@ public abstract class Phase {
 
     }
 
+    // ------------------------------------------------ Package Private Methods
+
+    /**
+     * @param metricsCollector the collector of request metrics of the application, or <code>null</code> if metrics are
+     * not collected
+     */
+    void setMetricsCollector(MetricsCollector metricsCollector) {
+        this.metricsCollector = metricsCollector;
+    }
+
+    /**
+     * @param context the FacesContext for the current request
+     * @return the id of the current view, or <code>null</code> if there is no view yet
+     */
+    static String getViewId(FacesContext context) {
+        UIViewRoot viewRoot = context.getViewRoot();
+        return viewRoot != null ? viewRoot.getViewId() : null;
+    }
+
     // --------------------------------------------------------- Private Methods
 
     /**
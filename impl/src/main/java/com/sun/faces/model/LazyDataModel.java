@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.event.PhaseId;
+import jakarta.faces.model.DataModel;
+import jakarta.faces.model.DataModelEvent;
+import jakarta.faces.model.DataModelListener;
+
+/**
+ * <p>
+ * A {@link DataModel} that fetches its rows on demand, one page at a time, instead of wrapping a fully materialized
+ * collection. Subclasses supply the total number of rows via {@link #count()} and a contiguous range of rows via
+ * {@link #load(int, int)}; the model only ever holds the page that contains the current row index.
+ * </p>
+ *
+ * <p>
+ * The row count and the loaded page are cached for the duration of a request. The cache is discarded when the
+ * request moves into the Render Response phase, so that changes made by the application during Invoke Application are
+ * visible when the rows are rendered, and can be discarded explicitly with {@link #reset()}.
+ * </p>
+ *
+ * <p>
+ * Combined with the row window requests decoded by the table renderer and <code>ui:repeat</code>, only the rows of the
+ * requested window are loaded, decoded and rendered. Row window requests are only accepted by components with
+ * <code>rowWindow="true"</code>, see {@link com.sun.faces.renderkit.RenderKitUtils#decodeRowWindow}.
+ * </p>
+ *
+ * @param <E> the type of the rows
+ */
+public abstract class LazyDataModel<E> extends DataModel<E> {
+
+    /**
+     * The page size used when none is given to the constructor.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final int pageSize;
+
+    private int index = -1;
+
+    private int rowCount = -1;
+
+    private int pageFirst;
+
+    private List<E> page;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Creates a lazy data model loading {@link #DEFAULT_PAGE_SIZE} rows at a time.
+     */
+    protected LazyDataModel() {
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Creates a lazy data model loading the given number of rows at a time.
+     *
+     * @param pageSize the number of rows requested from {@link #load(int, int)}
+     * @throws IllegalArgumentException if <code>pageSize</code> is less than one
+     */
+    protected LazyDataModel(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize");
+        }
+        this.pageSize = pageSize;
+    }
+
+    // -------------------------------------------------------- Abstract Methods
+
+    /**
+     * Returns the total number of rows available from the underlying data source.
+     *
+     * @return the total number of rows
+     */
+    public abstract int count();
+
+    /**
+     * Returns the rows from <code>first</code> (zero-relative) up to at most <code>pageSize</code> rows. Fewer rows
+     * may be returned when the end of the data is reached.
+     *
+     * @param first the index of the first row to load
+     * @param pageSize the maximum number of rows to load
+     * @return the loaded rows, never <code>null</code>
+     */
+    public abstract List<E> load(int first, int pageSize);
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the number of rows requested from {@link #load(int, int)} at a time
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Discards the cached row count and the loaded page, so that they are fetched again on next access.
+     */
+    public void reset() {
+        rowCount = -1;
+        page = null;
+    }
+
+    @Override
+    public boolean isRowAvailable() {
+        if (index < 0) {
+            return false;
+        }
+        List<E> rows = getPage();
+        return rows != null && index < pageFirst + rows.size();
+    }
+
+    @Override
+    public int getRowCount() {
+        checkStale();
+        if (rowCount < 0) {
+            rowCount = Math.max(0, count());
+        }
+        return rowCount;
+    }
+
+    @Override
+    public E getRowData() {
+        if (index < 0) {
+            return null;
+        }
+        if (!isRowAvailable()) {
+            throw new IllegalArgumentException();
+        }
+        return page.get(index - pageFirst);
+    }
+
+    @Override
+    public int getRowIndex() {
+        return index;
+    }
+
+    @Override
+    public void setRowIndex(int rowIndex) {
+
+        if (rowIndex < -1) {
+            throw new IllegalArgumentException();
+        }
+        int old = index;
+        index = rowIndex;
+        DataModelListener[] listeners = getDataModelListeners();
+        if (old != index && listeners != null) {
+            Object rowData = null;
+            if (isRowAvailable()) {
+                rowData = getRowData();
+            }
+            DataModelEvent event = new DataModelEvent(this, index, rowData);
+            int n = listeners.length;
+            for (int i = 0; i < n; i++) {
+                if (null != listeners[i]) {
+                    listeners[i].rowSelected(event);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * @return the rows of the currently loaded page, or <code>null</code> if no page is loaded
+     */
+    @Override
+    public Object getWrappedData() {
+        return page;
+    }
+
+    /**
+     * <p>
+     * A lazy data model has no collection to wrap; passing <code>null</code> detaches the model by resetting the row
+     * index and discarding the cached rows.
+     * </p>
+     *
+     * @throws UnsupportedOperationException if <code>data</code> is not <code>null</code>
+     */
+    @Override
+    public void setWrappedData(Object data) {
+        if (data != null) {
+            throw new UnsupportedOperationException();
+        }
+        reset();
+        setRowIndex(-1);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private List<E> getPage() {
+        checkStale();
+        if (page == null || index < pageFirst || index >= pageFirst + page.size()) {
+            if (index >= getRowCount()) {
+                return null;
+            }
+            List<E> loaded = load(index, pageSize);
+            pageFirst = index;
+            page = loaded != null ? loaded : Collections.<E>emptyList();
+        }
+        return page;
+    }
+
+    /*
+     * Discards the cache when this model is first used in a request, and again once the request enters the Render
+     * Response phase. The marker lives in the FacesContext attributes, so it goes away with the request.
+     */
+    private void checkStale() {
+        FacesContext context = FacesContext.getCurrentInstance();
+        if (context == null) {
+            return;
+        }
+        Map<Object, Object> attributes = context.getAttributes();
+        PhaseId phaseId = context.getCurrentPhaseId();
+        Object loadedIn = attributes.get(this);
+        if (loadedIn == null || PhaseId.RENDER_RESPONSE.equals(phaseId) && !PhaseId.RENDER_RESPONSE.equals(loadedIn)) {
+            reset();
+            attributes.put(this, phaseId != null ? phaseId : PhaseId.ANY_PHASE);
+        }
+    }
+
+}
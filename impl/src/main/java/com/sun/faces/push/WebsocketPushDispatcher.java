@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.push;
+
+import static java.util.logging.Level.FINE;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import jakarta.faces.push.Push;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+
+/**
+ * <p>
+ * This web socket push dispatcher sends push messages to web socket sessions without holding up the pushing thread.
+ * <p>
+ * Each session has a bounded outbound queue and at most one message in flight, so a broadcast to many sessions only
+ * enqueues the same, already encoded, message for each of them. The actual sends are dispatched on a dedicated
+ * executor, which uses virtual threads where available. When the queue of a slow consumer is full, the
+ * {@link OverflowPolicy} decides which messages are dropped.
+ *
+ * @see WebsocketSessionManager
+ * @see Push
+ */
+final class WebsocketPushDispatcher implements WebsocketPushStatisticsMXBean {
+
+    // Constants ------------------------------------------------------------------------------------------------------
+
+    private static final Logger logger = Logger.getLogger(WebsocketPushDispatcher.class.getName());
+
+    private static final String ERROR_QUEUE_FULL = "Outbound queue of web socket session %s is full, push message has been dropped.";
+    private static final String ERROR_SUPERSEDED = "Push message to web socket session %s has been superseded by a newer one.";
+    private static final String ERROR_SESSION_CLOSED = "Web socket session %s is closed.";
+    private static final String ERROR_SHUTDOWN = "Web socket push dispatcher has been shut down.";
+
+    /**
+     * What to do when a message is sent to a session whose outbound queue is full.
+     */
+    enum OverflowPolicy {
+
+        /** Drop the new message. */
+        DROP,
+
+        /** Drop the queued messages, they are superseded by the new message. */
+        COALESCE;
+
+        static OverflowPolicy of(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    // Properties -----------------------------------------------------------------------------------------------------
+
+    private final int queueSize;
+    private final OverflowPolicy overflowPolicy;
+    private final ExecutorService executor;
+    private final ConcurrentMap<Session, Outbound> outbounds = new ConcurrentHashMap<>();
+
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    // Constructors ---------------------------------------------------------------------------------------------------
+
+    /**
+     * @param queueSize The maximum number of messages waiting to be sent to a session.
+     * @param overflowPolicy What to do when the queue of a session is full.
+     */
+    WebsocketPushDispatcher(int queueSize, OverflowPolicy overflowPolicy) {
+        this(queueSize, overflowPolicy, createExecutor());
+    }
+
+    WebsocketPushDispatcher(int queueSize, OverflowPolicy overflowPolicy, ExecutorService executor) {
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("queueSize must be positive");
+        }
+
+        this.queueSize = queueSize;
+        this.overflowPolicy = overflowPolicy;
+        this.executor = executor;
+    }
+
+    // Actions --------------------------------------------------------------------------------------------------------
+
+    /**
+     * Send given message to given session, after the messages which are already queued for it.
+     *
+     * @param session The web socket session.
+     * @param message The push message string.
+     * @return The result of the send operation, which returns <code>null</code> on {@link Future#get()} if the message was
+     * successfully delivered and otherwise throws {@link java.util.concurrent.ExecutionException}.
+     */
+    Future<Void> send(Session session, String message) {
+        return outbounds.computeIfAbsent(session, Outbound::new).enqueue(message);
+    }
+
+    /**
+     * Remove given session, its queued messages fail.
+     *
+     * @param session The closed web socket session.
+     */
+    void remove(Session session) {
+        Outbound outbound = outbounds.remove(session);
+
+        if (outbound != null) {
+            outbound.failAll(ERROR_SESSION_CLOSED);
+        }
+    }
+
+    /**
+     * Stop sending, all queued messages fail.
+     */
+    void shutdown() {
+        executor.shutdown();
+
+        for (Outbound outbound : outbounds.values()) {
+            outbound.failAll(ERROR_SHUTDOWN);
+        }
+
+        outbounds.clear();
+    }
+
+    // Statistics -----------------------------------------------------------------------------------------------------
+
+    @Override
+    public int getSessionCount() {
+        return outbounds.size();
+    }
+
+    @Override
+    public int getPendingCount() {
+        int pending = 0;
+
+        for (Outbound outbound : outbounds.values()) {
+            pending += outbound.size();
+        }
+
+        return pending;
+    }
+
+    @Override
+    public long getQueuedCount() {
+        return queued.sum();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    // Helpers --------------------------------------------------------------------------------------------------------
+
+    /**
+     * Use virtual threads where available (Java 21+), otherwise a daemon thread per processor.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.log(FINE, "Virtual threads are not available, using platform threads for web socket push.", e);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "faces-websocket-push-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), threadFactory);
+    }
+
+    /**
+     * The outbound queue of a session. Messages are sent one at a time, the next one once the web socket container
+     * reports the completion of the previous one, so that the container never sees concurrent sends on a session.
+     */
+    private final class Outbound implements SendHandler {
+
+        private final Session session;
+        private final Queue<Message> queue = new ArrayDeque<>();
+        private Message inFlight;
+        private boolean closed;
+
+        Outbound(Session session) {
+            this.session = session;
+        }
+
+        synchronized CompletableFuture<Void> enqueue(String text) {
+            Message message = new Message(text);
+
+            if (closed) {
+                fail(message, ERROR_SHUTDOWN);
+                return message.result;
+            }
+
+            if (queue.size() >= queueSize) {
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    drop(message, ERROR_QUEUE_FULL);
+                    return message.result;
+                }
+
+                for (Message superseded; (superseded = queue.poll()) != null;) {
+                    drop(superseded, ERROR_SUPERSEDED);
+                }
+            }
+
+            queue.add(message);
+            queued.increment();
+
+            if (inFlight == null) {
+                dispatchNext();
+            }
+
+            return message.result;
+        }
+
+        synchronized int size() {
+            return queue.size() + (inFlight != null ? 1 : 0);
+        }
+
+        synchronized void failAll(String reason) {
+            closed = true;
+
+            for (Message message; (message = queue.poll()) != null;) {
+                fail(message, reason);
+            }
+        }
+
+        @Override
+        public void onResult(SendResult result) {
+            Message message;
+
+            synchronized (this) {
+                message = inFlight;
+                inFlight = null;
+            }
+
+            if (message != null) {
+                if (result.isOK()) {
+                    delivered.increment();
+                    message.result.complete(null);
+                } else {
+                    failed.increment();
+                    message.result.completeExceptionally(result.getException());
+                }
+            }
+
+            synchronized (this) {
+                if (inFlight == null) {
+                    dispatchNext();
+                }
+            }
+        }
+
+        /**
+         * Must be called while holding the lock, with no message in flight.
+         */
+        private void dispatchNext() {
+            Message message = queue.poll();
+
+            if (message == null) {
+                return;
+            }
+
+            inFlight = message;
+
+            try {
+                executor.execute(() -> send(message));
+            } catch (RejectedExecutionException e) {
+                inFlight = null;
+                closed = true;
+                fail(message, ERROR_SHUTDOWN);
+                failAll(ERROR_SHUTDOWN);
+            }
+        }
+
+        private void send(Message message) {
+            if (!session.isOpen()) {
+                remove(session);
+                onResult(new SendResult(new IllegalStateException(String.format(ERROR_SESSION_CLOSED, session.getId()))));
+                return;
+            }
+
+            try {
+                session.getAsyncRemote().sendText(message.text, this);
+            } catch (RuntimeException e) {
+                onResult(new SendResult(e));
+            }
+        }
+
+        private void drop(Message message, String reason) {
+            dropped.increment();
+            message.result.completeExceptionally(new IllegalStateException(String.format(reason, session.getId())));
+        }
+
+        private void fail(Message message, String reason) {
+            failed.increment();
+            message.result.completeExceptionally(new IllegalStateException(String.format(reason, session.getId())));
+        }
+    }
+
+    /**
+     * A push message and the result of sending it.
+     */
+    private static final class Message {
+
+        private final String text;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        Message(String text) {
+            this.text = text;
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.push;
+
+/**
+ * <p>
+ * JMX view of the web socket push dispatcher of an application, registered as
+ * <code>com.sun.faces:type=WebsocketPush</code>.
+ *
+ * @see WebsocketPushDispatcher
+ */
+public interface WebsocketPushStatisticsMXBean {
+
+    /**
+     * @return The number of open web socket sessions which have been sent to.
+     */
+    int getSessionCount();
+
+    /**
+     * @return The number of messages currently waiting to be sent.
+     */
+    int getPendingCount();
+
+    /**
+     * @return The number of messages accepted for sending.
+     */
+    long getQueuedCount();
+
+    /**
+     * @return The number of messages dropped because the outbound queue of their session was full.
+     */
+    long getDroppedCount();
+
+    /**
+     * @return The number of messages delivered to the web socket container.
+     */
+    long getDeliveredCount();
+
+    /**
+     * @return The number of messages which could not be sent, for instance because their session was closed.
+     */
+    long getFailedCount();
+
+}
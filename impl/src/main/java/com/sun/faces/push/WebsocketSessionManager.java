@@ -17,6 +17,8 @@
 package com.sun.faces.push;
 
 import static com.sun.faces.cdi.CdiUtils.getBeanReference;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.WebsocketPushOverflowPolicy;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.WebsocketPushQueueSize;
 import static com.sun.faces.push.WebsocketEndpoint.PARAM_CHANNEL;
 import static jakarta.websocket.CloseReason.CloseCodes.NORMAL_CLOSURE;
 import static java.lang.String.format;
@@ -28,7 +30,6 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
@@ -36,8 +37,14 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
+import javax.management.ObjectName;
+
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.push.WebsocketPushDispatcher.OverflowPolicy;
+import com.sun.faces.util.JmxUtils;
 import com.sun.faces.util.Util;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.util.AnnotationLiteral;
 import jakarta.faces.context.FacesContext;
@@ -65,6 +72,7 @@ public class WebsocketSessionManager {
     private static final Logger logger = Logger.getLogger(WebsocketSessionManager.class.getName());
 
     private static final CloseReason REASON_EXPIRED = new CloseReason(NORMAL_CLOSURE, "Expired");
+    private static final String WARNING_INVALID_CONFIGURATION = "Invalid %s or %s, using the default web socket push configuration.";
     private static final AnnotationLiteral<Opened> SESSION_OPENED = new AnnotationLiteral<Opened>() {
         private static final long serialVersionUID = 1L;
     };
@@ -72,18 +80,11 @@ public class WebsocketSessionManager {
         private static final long serialVersionUID = 1L;
     };
 
-    private static final long TOMCAT_WEB_SOCKET_RETRY_TIMEOUT = 10; // Milliseconds.
-    private static final long TOMCAT_WEB_SOCKET_MAX_RETRIES = 100; // So, that's retrying for about 1 second.
-    private static final String WARNING_TOMCAT_WEB_SOCKET_BOMBED = "Tomcat cannot handle concurrent push messages."
-            + " A push message has been sent only after %s retries of " + TOMCAT_WEB_SOCKET_RETRY_TIMEOUT + "ms apart."
-            + " Consider rate limiting sending push messages. For example, once every 500ms.";
-    private static final String ERROR_TOMCAT_WEB_SOCKET_BOMBED = "Tomcat cannot handle concurrent push messages."
-            + " A push message could NOT be sent after %s retries of " + TOMCAT_WEB_SOCKET_RETRY_TIMEOUT + "ms apart."
-            + " Consider rate limiting sending push messages. For example, once every 500ms.";
-
     // Properties -----------------------------------------------------------------------------------------------------
 
     private final ConcurrentMap<String, Collection<Session>> socketSessions = new ConcurrentHashMap<>();
+    private volatile WebsocketPushDispatcher dispatcher;
+    private ObjectName statisticsName;
 
     @Inject
     private WebsocketUserManager socketUsers;
@@ -96,6 +97,10 @@ public class WebsocketSessionManager {
      * @param channelId The channel identifier to register.
      */
     protected void register(String channelId) {
+        if (dispatcher == null && FacesContext.getCurrentInstance() != null) {
+            getDispatcher();
+        }
+
         if (!socketSessions.containsKey(channelId)) {
             socketSessions.putIfAbsent(channelId, new ConcurrentLinkedQueue<Session>());
         }
@@ -140,23 +145,26 @@ public class WebsocketSessionManager {
 
     /**
      * Encode the given message object as JSON and send it to all open web socket sessions associated with given web socket
-     * channel identifier.
+     * channel identifier. The message is queued for each session and sent asynchronously by the
+     * {@link WebsocketPushDispatcher}, this method does not wait for any session.
      *
      * @param channelId The web socket channel identifier.
      * @param message The push message string.
      * @return The results of the send operation. If it returns an empty set, then there was no open session associated with
      * given channel identifier. The returned futures will return <code>null</code> on {@link Future#get()} if the message
-     * was successfully delivered and otherwise throw {@link ExecutionException}.
+     * was successfully delivered and otherwise throw {@link ExecutionException}, also when the message was dropped
+     * because the session could not keep up.
      */
     protected Set<Future<Void>> send(String channelId, String message) {
         Collection<Session> sessions = channelId != null ? socketSessions.get(channelId) : null;
 
         if (sessions != null && !sessions.isEmpty()) {
+            WebsocketPushDispatcher dispatcher = getDispatcher();
             Set<Future<Void>> results = new HashSet<>(sessions.size());
 
             for (Session session : sessions) {
                 if (session.isOpen()) {
-                    results.add(send(session, message, true));
+                    results.add(dispatcher.send(session, message));
                 }
             }
 
@@ -166,58 +174,6 @@ public class WebsocketSessionManager {
         return emptySet();
     }
 
-    private Future<Void> send(Session session, String text, boolean retrySendTomcatWebSocket) {
-        try {
-            return session.getAsyncRemote().sendText(text);
-        } catch (IllegalStateException e) {
-            // Awkward workaround for Tomcat not willing to queue/synchronize asyncRemote().
-            // https://bz.apache.org/bugzilla/show_bug.cgi?id=56026
-            if (session.getClass().getName().startsWith("org.apache.tomcat.websocket.") && e.getMessage().contains("[TEXT_FULL_WRITING]")) {
-                if (retrySendTomcatWebSocket) {
-                    return CompletableFuture.supplyAsync(() -> retrySendTomcatWebSocket(session, text));
-                } else {
-                    return null;
-                }
-            } else {
-                throw e;
-            }
-        }
-    }
-
-    private Void retrySendTomcatWebSocket(Session session, String text) {
-        int retries = 0;
-        Exception cause = null;
-
-        while (++retries < TOMCAT_WEB_SOCKET_MAX_RETRIES) {
-            try {
-                Thread.sleep(TOMCAT_WEB_SOCKET_RETRY_TIMEOUT);
-
-                if (!session.isOpen()) {
-                    cause = new IllegalStateException("Too bad, session is now closed");
-                    break;
-                }
-
-                Future<Void> result = send(session, text, false);
-
-                if (result == null) {
-                    continue;
-                }
-
-                if (logger.isLoggable(WARNING)) {
-                    logger.log(WARNING, format(WARNING_TOMCAT_WEB_SOCKET_BOMBED, retries));
-                }
-
-                return result.get();
-            } catch (InterruptedException | ExecutionException e) {
-                Thread.currentThread().interrupt();
-                cause = e;
-                break;
-            }
-        }
-
-        throw new UnsupportedOperationException(format(ERROR_TOMCAT_WEB_SOCKET_BOMBED, retries), cause);
-    }
-
     /**
      * On close, remove given web socket session from the mapping.
      *
@@ -228,6 +184,10 @@ public class WebsocketSessionManager {
         Collection<Session> sessions = socketSessions.get(getChannelId(session));
 
         if (sessions != null && sessions.remove(session)) {
+            if (dispatcher != null) {
+                dispatcher.remove(session);
+            }
+
             fireEvent(session, reason, SESSION_CLOSED);
         }
     }
@@ -255,6 +215,18 @@ public class WebsocketSessionManager {
         }
     }
 
+    /**
+     * Stop sending push messages, the queued ones fail.
+     */
+    @PreDestroy
+    protected void destroy() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+
+        JmxUtils.unregisterMBean(statisticsName);
+    }
+
     // Internal -------------------------------------------------------------------------------------------------------
 
     private static volatile WebsocketSessionManager instance;
@@ -272,6 +244,55 @@ public class WebsocketSessionManager {
 
     // Helpers --------------------------------------------------------------------------------------------------------
 
+    /**
+     * The dispatcher is created on first use, which is normally the registration of a channel during a Faces request, so
+     * that it's configured from the web.xml context parameters.
+     */
+    private WebsocketPushDispatcher getDispatcher() {
+        if (dispatcher == null) {
+            synchronized (this) {
+                if (dispatcher == null) {
+                    dispatcher = createDispatcher(FacesContext.getCurrentInstance());
+                }
+            }
+        }
+
+        return dispatcher;
+    }
+
+    private WebsocketPushDispatcher createDispatcher(FacesContext context) {
+        int queueSize = Integer.parseInt(WebsocketPushQueueSize.getDefaultValue());
+        OverflowPolicy overflowPolicy = OverflowPolicy.of(WebsocketPushOverflowPolicy.getDefaultValue());
+        String application = null;
+
+        if (context != null) {
+            WebConfiguration webConfig = WebConfiguration.getInstance(context.getExternalContext());
+            application = context.getExternalContext().getApplicationContextPath();
+
+            try {
+                int configuredQueueSize = Integer.parseInt(webConfig.getOptionValue(WebsocketPushQueueSize));
+                if (configuredQueueSize < 1) {
+                    throw new IllegalArgumentException("queueSize must be positive: " + configuredQueueSize);
+                }
+                queueSize = configuredQueueSize;
+                overflowPolicy = OverflowPolicy.of(webConfig.getOptionValue(WebsocketPushOverflowPolicy));
+            } catch (IllegalArgumentException e) {
+                if (logger.isLoggable(WARNING)) {
+                    logger.log(WARNING, format(WARNING_INVALID_CONFIGURATION, WebsocketPushQueueSize.getQualifiedName(),
+                            WebsocketPushOverflowPolicy.getQualifiedName()), e);
+                }
+            }
+        }
+
+        WebsocketPushDispatcher dispatcher = new WebsocketPushDispatcher(queueSize, overflowPolicy);
+
+        if (application != null) {
+            statisticsName = JmxUtils.registerMBean(dispatcher, "WebsocketPush", application, this, "the web socket push statistics");
+        }
+
+        return dispatcher;
+    }
+
     private static String getChannel(Session session) {
         return session.getPathParameters().get(PARAM_CHANNEL);
     }
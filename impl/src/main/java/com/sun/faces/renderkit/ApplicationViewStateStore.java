@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.renderkit;
+
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.CompressViewState;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ViewStateStoreMaxSize;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ViewStateStoreSpillSize;
+import static java.util.logging.Level.FINEST;
+import static java.util.logging.Level.WARNING;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.config.WebConfiguration.WebContextInitParameter;
+import com.sun.faces.spi.SerializationProvider;
+import com.sun.faces.spi.SerializationProviderFactory;
+import com.sun.faces.spi.ViewStateStore;
+import com.sun.faces.util.ByteArrayCache;
+import com.sun.faces.util.ConcurrentLRUMap;
+import com.sun.faces.util.FacesLogger;
+
+import jakarta.faces.FacesException;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+import jakarta.servlet.ServletContext;
+
+/**
+ * A {@link ViewStateStore} keeping the serialized view state outside of the session, in a {@link ByteArrayCache}
+ * shared by the whole application and bounded by the total size of the state.
+ *
+ * <p>
+ * The session only holds, per logical and actual view, a random key into the cache, which keeps sessions small and
+ * cheap to replicate. As the cache is bounded by size rather than per session, state may be evicted before the
+ * configured number of views per session is reached; the keys of evicted views, as well as the state of views whose
+ * keys were dropped from the session, are cleaned up by the eviction policy of the cache.
+ * </p>
+ *
+ * <p>
+ * The size of the cache is set with {@link WebContextInitParameter#ViewStateStoreMaxSize}. When
+ * {@link WebContextInitParameter#ViewStateStoreSpillSize} is set, evicted state is spilled to a memory-mapped file of
+ * that size in the directory of the <code>jakarta.servlet.context.tempdir</code> context attribute.
+ * </p>
+ *
+ * <p>
+ * When {@link com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter#SerializeServerState} is enabled
+ * the saved state already arrives serialized, and its bytes are stored as they are instead of being serialized again.
+ * </p>
+ */
+public class ApplicationViewStateStore implements ViewStateStore {
+
+    private static final Logger LOGGER = FacesLogger.APPLICATION.getLogger();
+
+    /**
+     * The session attribute name for storing the cache keys of the views within the session.
+     */
+    public static final String VIEW_KEY_MAP = ApplicationViewStateStore.class.getName() + ".ViewKeyMap";
+
+    /**
+     * The expected size of the serialized state of a view, used to size the frequency sketch of the cache.
+     */
+    private static final int EXPECTED_STATE_SIZE = 4096;
+
+    /**
+     * Marks a cache entry holding the serialized <code>Object[]</code> of the tree structure and the saved state.
+     */
+    private static final byte SERIALIZED_STATE = 0;
+
+    /**
+     * Marks a cache entry holding the saved state as serialized by the state helper, without tree structure.
+     */
+    private static final byte SAVED_STATE_BYTES = 1;
+
+    /**
+     * The number of logical views as configured by the user.
+     */
+    private final int numberOfLogicalViews;
+
+    /**
+     * The number of views as configured by the user.
+     */
+    private final int numberOfViews;
+
+    /**
+     * Flag indicating whether the state is compressed.
+     */
+    private final boolean compressViewState;
+
+    /**
+     * Used to serialize the state.
+     */
+    private final SerializationProvider serialProvider;
+
+    /**
+     * Used to generate the cache keys.
+     */
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * The cache holding the serialized state.
+     */
+    private final ByteArrayCache cache;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Construct a new <code>ApplicationViewStateStore</code> instance, configured from the current
+     * <code>FacesContext</code>.
+     *
+     * @param numberOfLogicalViews the number of logical views per session
+     * @param numberOfViews the number of views per logical view
+     */
+    public ApplicationViewStateStore(int numberOfLogicalViews, int numberOfViews) {
+        this(FacesContext.getCurrentInstance().getExternalContext(), numberOfLogicalViews, numberOfViews);
+    }
+
+    /**
+     * Construct a new <code>ApplicationViewStateStore</code> instance.
+     *
+     * @param externalContext the <code>ExternalContext</code> for this application
+     * @param numberOfLogicalViews the number of logical views per session
+     * @param numberOfViews the number of views per logical view
+     */
+    public ApplicationViewStateStore(ExternalContext externalContext, int numberOfLogicalViews, int numberOfViews) {
+        this.numberOfLogicalViews = numberOfLogicalViews;
+        this.numberOfViews = numberOfViews;
+
+        WebConfiguration webConfig = WebConfiguration.getInstance(externalContext);
+        compressViewState = webConfig.isOptionEnabled(CompressViewState);
+        serialProvider = SerializationProviderFactory.createInstance(externalContext);
+
+        long maxSize = getLongConfigValue(webConfig, ViewStateStoreMaxSize);
+        int spillSize = (int) Math.min(Integer.MAX_VALUE, getLongConfigValue(webConfig, ViewStateStoreSpillSize));
+        File tempDir = (File) externalContext.getApplicationMap().get(ServletContext.TEMPDIR);
+        cache = new ByteArrayCache(maxSize, EXPECTED_STATE_SIZE, tempDir, spillSize);
+    }
+
+    // --------------------------------------------- Methods from ViewStateStore
+
+    @Override
+    public Object[] getState(FacesContext context, String logicalViewId, String actualViewId) {
+        ConcurrentLRUMap<String, ConcurrentLRUMap<String, String>> logicalMap = SessionViewStateStore.getLogicalViewMap(context.getExternalContext(),
+                VIEW_KEY_MAP, numberOfLogicalViews, false);
+        if (logicalMap != null) {
+            ConcurrentLRUMap<String, String> actualMap = logicalMap.get(logicalViewId);
+            if (actualMap != null) {
+                String key = actualMap.get(actualViewId);
+                if (key != null) {
+                    byte[] bytes = cache.get(key);
+                    if (bytes != null) {
+                        return fromBytes(bytes);
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean containsLogicalView(FacesContext context, String logicalViewId) {
+        ConcurrentLRUMap<String, ConcurrentLRUMap<String, String>> logicalMap = SessionViewStateStore.getLogicalViewMap(context.getExternalContext(),
+                VIEW_KEY_MAP, numberOfLogicalViews, false);
+        return logicalMap != null && logicalMap.containsKey(logicalViewId);
+    }
+
+    @Override
+    public void putState(FacesContext context, String logicalViewId, String actualViewId, Object[] state) {
+        ExternalContext externalContext = context.getExternalContext();
+        ConcurrentLRUMap<String, ConcurrentLRUMap<String, String>> logicalMap = SessionViewStateStore.getLogicalViewMap(externalContext, VIEW_KEY_MAP,
+                numberOfLogicalViews, true);
+        ConcurrentLRUMap<String, String> actualMap = logicalMap.computeIfAbsent(logicalViewId, k -> new ConcurrentLRUMap<>(numberOfViews));
+        String key = actualMap.computeIfAbsent(actualViewId, k -> createKey());
+        cache.put(key, toBytes(state));
+
+        // always call put/setAttribute as we may be in a clustered environment.
+        externalContext.getSessionMap().put(VIEW_KEY_MAP, logicalMap);
+    }
+
+    /**
+     * Close the cache, releasing the spill file.
+     */
+    @Override
+    public void release() {
+        cache.close();
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the cache holding the serialized state, exposing its statistics
+     */
+    public ByteArrayCache getCache() {
+        return cache;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private String createKey() {
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private byte[] toBytes(Object[] state) {
+        if (state[0] == null && state[1] instanceof byte[]) {
+            byte[] savedState = (byte[]) state[1];
+            byte[] bytes = new byte[savedState.length + 1];
+            bytes[0] = SAVED_STATE_BYTES;
+            System.arraycopy(savedState, 0, bytes, 1, savedState.length);
+            return bytes;
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(EXPECTED_STATE_SIZE);
+        baos.write(SERIALIZED_STATE);
+        try (ObjectOutputStream oos = serialProvider.createObjectOutputStream(compressViewState ? new GZIPOutputStream(baos, 1024) : baos)) {
+            oos.writeObject(state);
+        } catch (IOException ioe) {
+            throw new FacesException(ioe);
+        }
+
+        return baos.toByteArray();
+    }
+
+    private Object[] fromBytes(byte[] bytes) {
+        if (bytes[0] == SAVED_STATE_BYTES) {
+            return new Object[] { null, Arrays.copyOfRange(bytes, 1, bytes.length) };
+        }
+
+        try (ByteArrayInputStream bais = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+            ObjectInputStream ois = serialProvider.createObjectInputStream(compressViewState ? new GZIPInputStream(bais, 1024) : bais)) {
+            return (Object[]) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new FacesException(e);
+        }
+    }
+
+    private static long getLongConfigValue(WebConfiguration webConfig, WebContextInitParameter param) {
+        String value = webConfig.getOptionValue(param);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException nfe) {
+            String defaultValue = param.getDefaultValue();
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, "faces.state.server.cannot.parse.int.option", new Object[] { param.getQualifiedName(), defaultValue });
+            }
+            LOGGER.log(FINEST, "Unable to convert number", nfe);
+            return Long.parseLong(defaultValue);
+        }
+    }
+
+}
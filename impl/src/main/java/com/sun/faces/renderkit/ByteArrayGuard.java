@@ -20,6 +20,7 @@ import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -31,6 +32,7 @@ import javax.crypto.KeyGenerator;
 import javax.crypto.Mac;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import javax.naming.InitialContext;
@@ -97,11 +99,24 @@ public final class ByteArrayGuard {
      * @return the encrypted byte array.
      */
     public byte[] encrypt(FacesContext facesContext, byte[] bytes) {
+        return encrypt(facesContext, bytes, 0, bytes.length);
+    }
+
+    /**
+     * Encrypts a range of a byte array, see {@link #encrypt(FacesContext, byte[])}. The MAC, initialization vector and
+     * encrypted data are written into a single array, without intermediate copies.
+     *
+     * @param bytes The byte array holding the data to be encrypted.
+     * @param offset The offset of the data in the array.
+     * @param length The length of the data.
+     * @return the encrypted byte array.
+     */
+    public byte[] encrypt(FacesContext facesContext, byte[] bytes, int offset, int length) {
         byte[] securedata = null;
         try {
             // Generate IV
             SecureRandom rand = new SecureRandom();
-            byte[] iv = new byte[16];
+            byte[] iv = new byte[IV_LENGTH];
             rand.nextBytes(iv);
             IvParameterSpec ivspec = new IvParameterSpec(iv);
             Cipher encryptCipher = Cipher.getInstance(CIPHER_CODE);
@@ -110,13 +125,18 @@ public final class ByteArrayGuard {
             Mac encryptMac = Mac.getInstance(MAC_CODE);
             encryptMac.init(secKey);
             encryptMac.update(iv);
-            // encrypt the plaintext
-            byte[] encdata = encryptCipher.doFinal(bytes);
-            byte[] macBytes = encryptMac.doFinal(encdata);
-            byte[] tmp = concatBytes(macBytes, iv);
-            securedata = concatBytes(tmp, encdata);
+            // encrypt the plaintext behind the MAC and IV
+            int dataOffset = MAC_LENGTH + IV_LENGTH;
+            securedata = new byte[dataOffset + encryptCipher.getOutputSize(length)];
+            int dataLength = encryptCipher.doFinal(bytes, offset, length, securedata, dataOffset);
+            if (dataOffset + dataLength != securedata.length) {
+                securedata = Arrays.copyOf(securedata, dataOffset + dataLength);
+            }
+            encryptMac.update(securedata, dataOffset, dataLength);
+            encryptMac.doFinal(securedata, 0);
+            System.arraycopy(iv, 0, securedata, MAC_LENGTH, IV_LENGTH);
         } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException | InvalidAlgorithmParameterException | IllegalStateException
-                | IllegalBlockSizeException | BadPaddingException e) {
+                | IllegalBlockSizeException | BadPaddingException | ShortBufferException e) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, "Unexpected exception initializing encryption." + "  No encryption will be performed.", e);
             }
@@ -134,19 +154,19 @@ public final class ByteArrayGuard {
      */
     public byte[] decrypt(FacesContext facesContext, byte[] bytes) {
         try {
+            if (bytes.length < MAC_LENGTH + IV_LENGTH) {
+                return null;
+            }
+
             // Extract MAC
             byte[] macBytes = new byte[MAC_LENGTH];
             System.arraycopy(bytes, 0, macBytes, 0, macBytes.length);
 
-            // Extract IV
-            byte[] iv = new byte[IV_LENGTH];
-            System.arraycopy(bytes, macBytes.length, iv, 0, iv.length);
-
-            // Extract encrypted data
-            byte[] encdata = new byte[bytes.length - macBytes.length - iv.length];
-            System.arraycopy(bytes, macBytes.length + iv.length, encdata, 0, encdata.length);
+            // the IV and encrypted data are used in place
+            int dataOffset = MAC_LENGTH + IV_LENGTH;
+            int dataLength = bytes.length - dataOffset;
 
-            IvParameterSpec ivspec = new IvParameterSpec(iv);
+            IvParameterSpec ivspec = new IvParameterSpec(bytes, MAC_LENGTH, IV_LENGTH);
             SecretKey secKey = getSecretKey(facesContext);
             Cipher decryptCipher = Cipher.getInstance(CIPHER_CODE);
             decryptCipher.init(Cipher.DECRYPT_MODE, secKey, ivspec);
@@ -154,13 +174,13 @@ public final class ByteArrayGuard {
             // verify MAC by regenerating it and comparing it with the received value
             Mac decryptMac = Mac.getInstance(MAC_CODE);
             decryptMac.init(secKey);
-            decryptMac.update(iv);
-            decryptMac.update(encdata);
+            decryptMac.update(bytes, MAC_LENGTH, IV_LENGTH);
+            decryptMac.update(bytes, dataOffset, dataLength);
             byte[] macBytesCalculated = decryptMac.doFinal();
             if (areArrayEqualsConstantTime(macBytes, macBytesCalculated)) {
                 // continue only if the MAC was valid
                 // System.out.println("Valid MAC found!");
-                byte[] plaindata = decryptCipher.doFinal(encdata);
+                byte[] plaindata = decryptCipher.doFinal(bytes, dataOffset, dataLength);
                 return plaindata;
             } else {
                 System.err.println("ERROR: MAC did not verify!");
@@ -217,24 +237,6 @@ public final class ByteArrayGuard {
         }
     }
 
-    /**
-     * This method concatenates two byte arrays
-     *
-     * @return a byte array of array1||array2
-     * @param array1 first byte array to be concatenated
-     * @param array2 second byte array to be concatenated
-     */
-    private static byte[] concatBytes(byte[] array1, byte[] array2) {
-        byte[] cBytes = new byte[array1.length + array2.length];
-        try {
-            System.arraycopy(array1, 0, cBytes, 0, array1.length);
-            System.arraycopy(array2, 0, cBytes, array1.length, array2.length);
-        } catch (Exception e) {
-            throw new FacesException(e);
-        }
-        return cBytes;
-    }
-
     private SecretKey getSecretKey(FacesContext facesContext) {
 
         SecretKey result = sk;
@@ -18,12 +18,14 @@ package com.sun.faces.renderkit;
 
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.AutoCompleteOffOnViewState;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableViewStateIdRendering;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ClientStateCodec;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ClientStateCompressionLevel;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ClientStateTimeout;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ClientStateWriteBufferSize;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.NumberOfLogicalViews;
 import static com.sun.faces.renderkit.RenderKitUtils.PredefinedPostbackParameter.VIEW_STATE_PARAM;
 import static java.util.logging.Level.WARNING;
 
-import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -37,13 +39,15 @@ import java.util.Base64;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
-import com.sun.faces.RIConstants;
 import com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter;
 import com.sun.faces.util.DebugObjectOutputStream;
 import com.sun.faces.util.DebugUtil;
+import com.sun.faces.util.DeflaterPool;
 import com.sun.faces.util.FacesLogger;
 import com.sun.faces.util.Util;
 
@@ -109,6 +113,32 @@ public class ClientSideStateHelper extends StateHelper {
 
     private boolean debugSerializedState;
 
+    /**
+     * <p>
+     * Flag indicating whether the view state is written with the {@link CompactStateCodec} rather than with Java
+     * serialization only.
+     * </p>
+     *
+     * @see {@link com.sun.faces.config.WebConfiguration.WebContextInitParameter#ClientStateCodec}
+     */
+    private boolean compactStateCodec;
+
+    /**
+     * <p>
+     * Pool of the deflaters, inflaters and buffers used to compress and encrypt the view state, configured with the
+     * compression level of {@link com.sun.faces.config.WebConfiguration.WebContextInitParameter#ClientStateCompressionLevel}.
+     * </p>
+     */
+    private DeflaterPool deflaterPool;
+
+    /**
+     * <p>
+     * Computes the delta view state of AJAX postbacks, <code>null</code> unless
+     * {@link com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter#EnableDeltaViewState} is enabled.
+     * </p>
+     */
+    private DeltaViewStateManager deltaViewStateManager;
+
     // ------------------------------------------------------------ Constructors
 
     /**
@@ -193,7 +223,15 @@ public class ClientSideStateHelper extends StateHelper {
             return "stateless";
         }
 
-        return doGetState(ctx, stateString);
+        if (metricsCollector == null) {
+            return doGetState(ctx, stateString);
+        }
+
+        long start = System.nanoTime();
+        Object state = doGetState(ctx, stateString);
+        metricsCollector.stateRestored(viewId, stateString.length(), System.nanoTime() - start);
+
+        return state;
     }
 
     // ------------------------------------------------------- Protected Methods
@@ -211,25 +249,21 @@ public class ClientSideStateHelper extends StateHelper {
         }
 
         ObjectInputStream ois = null;
-        InputStream bis = null;
+        Inflater inflater = null;
         try {
-            if (guard != null) {
-                byte[] bytes = stateString.getBytes(RIConstants.CHAR_ENCODING);
-                byte[] decodedBytes = Base64.getDecoder().decode(bytes);
-
-                bytes = guard.decrypt(ctx, decodedBytes);
-                if (bytes == null) {
-                    return null;
-                }
-                bis = new ByteArrayInputStream(bytes);
+            if (guard == null) {
+                throw new FacesException("Unable to encode stateString");
             }
 
-            if (null != bis && compressViewState) {
-                bis = new GZIPInputStream(bis);
+            byte[] bytes = guard.decrypt(ctx, Base64.getDecoder().decode(stateString));
+            if (bytes == null) {
+                return null;
             }
 
-            if (null == bis) {
-                throw new FacesException("Unable to encode stateString");
+            InputStream bis = new ByteArrayInputStream(bytes);
+            if (compressViewState) {
+                inflater = deflaterPool.borrowInflater();
+                bis = new InflaterInputStream(bis, inflater, csBuffSize);
             }
 
             ois = serialProvider.createObjectInputStream(bis);
@@ -251,15 +285,24 @@ public class ClientSideStateHelper extends StateHelper {
                     return null;
                 }
             }
-            Object structure = ois.readObject();
-            Object state = ois.readObject();
+            Object[] state;
+            if (compactStateCodec) {
+                state = CompactStateCodec.readState(ois);
+            } else {
+                Object structure = ois.readObject();
+                state = new Object[] { structure, ois.readObject() };
+            }
             if (stateTime != 0 && hasStateExpired(stateTime)) {
                 // return null if state has expired. This should cause
                 // a ViewExpiredException to be thrown
                 return null;
             }
 
-            return new Object[] { structure, state };
+            if (deltaViewStateManager != null) {
+                state = deltaViewStateManager.restore(ctx, state);
+            }
+
+            return state;
 
         } catch (java.io.OptionalDataException ode) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
@@ -292,6 +335,9 @@ public class ClientSideStateHelper extends StateHelper {
                     }
                 }
             }
+            if (inflater != null) {
+                deflaterPool.release(inflater);
+            }
         }
     }
 
@@ -311,84 +357,89 @@ public class ClientSideStateHelper extends StateHelper {
             return;
         }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        OutputStream base = null;
-        if (compressViewState) {
-            base = new GZIPOutputStream(baos, csBuffSize);
-        } else {
-            base = baos;
-        }
-
-        ObjectOutputStream oos = null;
-
-        try {
-            oos = serialProvider.createObjectOutputStream(new BufferedOutputStream(base));
+        long start = metricsCollector != null ? System.nanoTime() : 0;
 
-            if (stateTimeoutEnabled) {
-                oos.writeLong(System.currentTimeMillis());
+        Object[] stateToWrite = (Object[]) state;
+        if (deltaViewStateManager != null) {
+            stateToWrite = deltaViewStateManager.toDelta(facesContext, stateToWrite);
+        }
 
+        if (debugSerializedState) {
+            ByteArrayOutputStream discard = new ByteArrayOutputStream();
+            DebugObjectOutputStream out = new DebugObjectOutputStream(discard);
+            try {
+                out.writeObject(stateToWrite[0]);
+            } catch (Exception e) {
+                throw new FacesException("Serialization error. Path to offending instance: " + out.getStack(), e);
             }
 
-            Object[] stateToWrite = (Object[]) state;
-
-            if (debugSerializedState) {
-                ByteArrayOutputStream discard = new ByteArrayOutputStream();
-                DebugObjectOutputStream out = new DebugObjectOutputStream(discard);
-                try {
-                    out.writeObject(stateToWrite[0]);
-                } catch (Exception e) {
-                    throw new FacesException("Serialization error. Path to offending instance: " + out.getStack(), e);
-                }
-
+            discard = new ByteArrayOutputStream();
+            out = new DebugObjectOutputStream(discard);
+            try {
+                out.writeObject(stateToWrite[1]);
+            } catch (Exception e) {
+                DebugUtil.printState((Map) stateToWrite[1], LOGGER);
+                throw new FacesException("Serialization error. Path to offending instance: " + out.getStack(), e);
             }
+        }
 
-            // noinspection NonSerializableObjectPassedToObjectStream
-            oos.writeObject(stateToWrite[0]);
-
-            if (debugSerializedState) {
-                ByteArrayOutputStream discard = new ByteArrayOutputStream();
+        AsciiWriterOutputStream encoded = new AsciiWriterOutputStream(writer);
+        DeflaterPool.Buffer buffer = null;
+        Deflater deflater = null;
+        try {
+            OutputStream base;
+            if (guard != null) {
+                // the state is encrypted as a whole, so collect it in a pooled buffer first
+                buffer = deflaterPool.borrowBuffer();
+                base = buffer;
+            } else {
+                base = Base64.getEncoder().wrap(encoded);
+            }
+            if (compressViewState) {
+                deflater = deflaterPool.borrowDeflater();
+                base = new DeflaterOutputStream(base, deflater, csBuffSize);
+            }
 
-                DebugObjectOutputStream out = new DebugObjectOutputStream(discard);
-                try {
-                    out.writeObject(stateToWrite[1]);
-                } catch (Exception e) {
-                    DebugUtil.printState((Map) stateToWrite[1], LOGGER);
-                    throw new FacesException("Serialization error. Path to offending instance: " + out.getStack(), e);
+            // closing the stream finishes the compression and, without encryption, the Base64 encoding
+            try (ObjectOutputStream oos = serialProvider.createObjectOutputStream(base)) {
+                if (stateTimeoutEnabled) {
+                    oos.writeLong(System.currentTimeMillis());
                 }
 
+                if (compactStateCodec) {
+                    CompactStateCodec.writeState(oos, stateToWrite);
+                } else {
+                    // noinspection NonSerializableObjectPassedToObjectStream
+                    oos.writeObject(stateToWrite[0]);
+                    // noinspection NonSerializableObjectPassedToObjectStream
+                    oos.writeObject(stateToWrite[1]);
+                }
             }
 
-            // noinspection NonSerializableObjectPassedToObjectStream
-            oos.writeObject(stateToWrite[1]);
-
-            oos.flush();
-            oos.close();
-            oos = null;
-
-            // get bytes for encrypting
-            byte[] bytes = baos.toByteArray();
-
-            if (guard != null) {
+            if (buffer != null) {
                 // this will MAC
-                bytes = guard.encrypt(facesContext, bytes);
-            }
+                byte[] bytes = guard.encrypt(facesContext, buffer.getBytes(), 0, buffer.size());
+                if (bytes == null) {
+                    throw new FacesException("Unable to encrypt the view state");
+                }
 
-            // Base 64 encode
-            String encodedBytes = new String(Base64.getEncoder().encode(bytes));
-            writer.write(encodedBytes);
+                try (OutputStream base64 = Base64.getEncoder().wrap(encoded)) {
+                    base64.write(bytes);
+                }
+            }
 
             if (LOGGER.isLoggable(Level.FINE)) {
-                LOGGER.log(Level.FINE, "Client State: total number of characters written: {0}", encodedBytes.length());
+                LOGGER.log(Level.FINE, "Client State: total number of characters written: {0}", encoded.getCount());
+            }
+            if (metricsCollector != null) {
+                metricsCollector.stateSaved(facesContext.getViewRoot().getViewId(), encoded.getCount(), System.nanoTime() - start);
             }
         } finally {
-            if (oos != null) {
-                try {
-                    oos.close();
-                } catch (IOException ioe) {
-                    if (LOGGER.isLoggable(Level.FINEST)) {
-                        LOGGER.log(Level.FINEST, "Closing stream", ioe);
-                    }
-                }
+            if (deflater != null) {
+                deflaterPool.release(deflater);
+            }
+            if (buffer != null) {
+                deflaterPool.release(buffer);
             }
         }
     }
@@ -474,6 +525,36 @@ public class ClientSideStateHelper extends StateHelper {
 
         debugSerializedState = webConfig.isOptionEnabled(BooleanWebContextInitParameter.EnableClientStateDebugging);
 
+        String level = webConfig.getOptionValue(ClientStateCompressionLevel);
+        try {
+            deflaterPool = new DeflaterPool(Integer.parseInt(level));
+        } catch (IllegalArgumentException iae) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, ClientStateCompressionLevel.getQualifiedName() + " context param value of '" + level
+                        + "' is not a valid compression level, the default level will be used");
+            }
+            deflaterPool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION);
+        }
+
+        if (webConfig.isOptionEnabled(BooleanWebContextInitParameter.EnableDeltaViewState)) {
+            int numberOfLogicalViews;
+            try {
+                numberOfLogicalViews = Integer.parseInt(webConfig.getOptionValue(NumberOfLogicalViews));
+            } catch (NumberFormatException nfe) {
+                numberOfLogicalViews = Integer.parseInt(NumberOfLogicalViews.getDefaultValue());
+            }
+            deltaViewStateManager = new DeltaViewStateManager(serialProvider, numberOfLogicalViews);
+        }
+
+        String codec = webConfig.getOptionValue(ClientStateCodec);
+        compactStateCodec = "compact".equalsIgnoreCase(codec);
+        if (!compactStateCodec && !ClientStateCodec.getDefaultValue().equalsIgnoreCase(codec)) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, ClientStateCodec.getQualifiedName() + " context param value of '" + codec + "' is not supported, "
+                        + ClientStateCodec.getDefaultValue() + " will be used");
+            }
+        }
+
     }
 
     /**
@@ -547,7 +628,7 @@ public class ClientSideStateHelper extends StateHelper {
         @Override
         public void write(String str, int off, int len) throws IOException {
 
-            sb.append(str.toCharArray(), off, len);
+            sb.append(str, off, off + len);
 
         }
 
@@ -597,4 +678,65 @@ public class ClientSideStateHelper extends StateHelper {
         }
 
     } // END StringBuilderWriter
+
+    /**
+     * An <code>OutputStream</code> writing ASCII bytes, such as Base64 encoded data, as characters to a
+     * <code>Writer</code>, without an intermediate <code>String</code>.
+     */
+    private static final class AsciiWriterOutputStream extends OutputStream {
+
+        private final Writer writer;
+        private final char[] chars = new char[1024];
+        private long count;
+
+        // -------------------------------------------------------- Constructors
+
+        private AsciiWriterOutputStream(Writer writer) {
+
+            this.writer = writer;
+
+        }
+
+        // ------------------------------------------- Methods from OutputStream
+
+        @Override
+        public void write(int b) throws IOException {
+
+            writer.write((char) (b & 0xff));
+            count++;
+
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+
+            while (len > 0) {
+                int chunk = Math.min(len, chars.length);
+                for (int i = 0; i < chunk; i++) {
+                    chars[i] = (char) (b[off + i] & 0xff);
+                }
+                writer.write(chars, 0, chunk);
+                count += chunk;
+                off += chunk;
+                len -= chunk;
+            }
+
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            // the writer belongs to the caller
+
+        }
+
+        // ------------------------------------------------------ Public Methods
+
+        public long getCount() {
+
+            return count;
+
+        }
+
+    } // END AsciiWriterOutputStream
 }
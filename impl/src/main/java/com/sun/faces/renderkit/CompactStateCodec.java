@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.renderkit;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.faces.util.Util;
+
+/**
+ * <p>
+ * A compact encoding of the view state tree, selected with
+ * {@link com.sun.faces.config.WebConfiguration.WebContextInitParameter#ClientStateCodec}.
+ * </p>
+ *
+ * <p>
+ * The state of a view is mostly made of <code>Object[]</code>, <code>HashMap</code> and <code>ArrayList</code>
+ * instances holding strings, booleans, numbers and enum constants. These are written with a one byte tag instead of Java
+ * serialization class descriptors and object headers, and strings, including enum class names, are written once and
+ * referenced by index afterwards. Any other object is written with <code>writeObject</code> of the underlying
+ * <code>ObjectOutputStream</code>, so the codec works with every state that can be serialized.
+ * </p>
+ *
+ * <p>
+ * Like Java serialization, arrays, maps and lists are written once and referenced by index when they are reached again,
+ * so shared references are restored as the same instance and cyclic structures do not recurse forever.
+ * </p>
+ */
+final class CompactStateCodec {
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte STRING = 5;
+    private static final byte STRING_REFERENCE = 6;
+    private static final byte OBJECT_ARRAY = 7;
+    private static final byte ENUM = 8;
+    private static final byte HASH_MAP = 9;
+    private static final byte ARRAY_LIST = 10;
+    private static final byte SERIALIZED = 11;
+    private static final byte CONTAINER_REFERENCE = 12;
+
+    /**
+     * Longer strings may not fit into the 65535 bytes of <code>writeUTF</code>.
+     */
+    private static final int MAX_UTF_LENGTH = 65535 / 3;
+
+    private final Map<String, Integer> writtenStrings = new HashMap<>();
+    private final List<String> readStrings = new ArrayList<>();
+    private final Map<Object, Integer> writtenContainers = new IdentityHashMap<>();
+    private final List<Object> readContainers = new ArrayList<>();
+
+    private CompactStateCodec() {
+    }
+
+    // ------------------------------------------------------- Package Methods
+
+    /**
+     * @param out the stream to write to.
+     * @param state the tree structure and the state of the view.
+     * @throws IOException if the state cannot be written.
+     */
+    static void writeState(ObjectOutputStream out, Object[] state) throws IOException {
+        CompactStateCodec codec = new CompactStateCodec();
+        codec.write(out, state[0]);
+        codec.write(out, state[1]);
+    }
+
+    /**
+     * @param in the stream to read from.
+     * @return the tree structure and the state of the view.
+     * @throws IOException if the state cannot be read.
+     * @throws ClassNotFoundException if a class of the state cannot be found.
+     */
+    static Object[] readState(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        CompactStateCodec codec = new CompactStateCodec();
+        Object structure = codec.read(in);
+        Object state = codec.read(in);
+        return new Object[] { structure, state };
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void write(ObjectOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof String && ((String) value).length() <= MAX_UTF_LENGTH) {
+            writeString(out, (String) value);
+        } else if (value instanceof Enum) {
+            Enum<?> constant = (Enum<?>) value;
+            out.writeByte(ENUM);
+            writeString(out, constant.getDeclaringClass().getName());
+            writeString(out, constant.name());
+        } else if (isContainer(value) && writtenContainers.containsKey(value)) {
+            out.writeByte(CONTAINER_REFERENCE);
+            out.writeInt(writtenContainers.get(value));
+        } else if (value.getClass() == Object[].class) {
+            writtenContainers.put(value, writtenContainers.size());
+            Object[] array = (Object[]) value;
+            out.writeByte(OBJECT_ARRAY);
+            out.writeInt(array.length);
+            for (Object element : array) {
+                write(out, element);
+            }
+        } else if (value.getClass() == HashMap.class) {
+            writtenContainers.put(value, writtenContainers.size());
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(HASH_MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                write(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else if (value.getClass() == ArrayList.class) {
+            writtenContainers.put(value, writtenContainers.size());
+            List<?> list = (List<?>) value;
+            out.writeByte(ARRAY_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                write(out, element);
+            }
+        } else {
+            out.writeByte(SERIALIZED);
+            // noinspection NonSerializableObjectPassedToObjectStream
+            out.writeObject(value);
+        }
+    }
+
+    private static boolean isContainer(Object value) {
+        Class<?> type = value.getClass();
+        return type == Object[].class || type == HashMap.class || type == ArrayList.class;
+    }
+
+    private void writeString(ObjectOutputStream out, String value) throws IOException {
+        Integer index = writtenStrings.get(value);
+        if (index != null) {
+            out.writeByte(STRING_REFERENCE);
+            out.writeInt(index);
+        } else {
+            writtenStrings.put(value, writtenStrings.size());
+            out.writeByte(STRING);
+            out.writeUTF(value);
+        }
+    }
+
+    private Object read(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        byte tag = in.readByte();
+        switch (tag) {
+        case NULL:
+            return null;
+        case TRUE:
+            return Boolean.TRUE;
+        case FALSE:
+            return Boolean.FALSE;
+        case INTEGER:
+            return in.readInt();
+        case LONG:
+            return in.readLong();
+        case STRING:
+        case STRING_REFERENCE:
+            return readString(in, tag);
+        case ENUM:
+            return readEnum(in);
+        case OBJECT_ARRAY: {
+            Object[] array = new Object[readSize(in)];
+            readContainers.add(array);
+            for (int i = 0; i < array.length; i++) {
+                array[i] = read(in);
+            }
+            return array;
+        }
+        case HASH_MAP: {
+            int size = readSize(in);
+            HashMap<Object, Object> map = new HashMap<>(Math.max(16, (int) (size / .75f) + 1));
+            readContainers.add(map);
+            for (int i = 0; i < size; i++) {
+                Object key = read(in);
+                map.put(key, read(in));
+            }
+            return map;
+        }
+        case ARRAY_LIST: {
+            int size = readSize(in);
+            ArrayList<Object> list = new ArrayList<>(size);
+            readContainers.add(list);
+            for (int i = 0; i < size; i++) {
+                list.add(read(in));
+            }
+            return list;
+        }
+        case CONTAINER_REFERENCE: {
+            int index = in.readInt();
+            if (index < 0 || index >= readContainers.size()) {
+                throw new StreamCorruptedException("Unknown container reference: " + index);
+            }
+            return readContainers.get(index);
+        }
+        case SERIALIZED:
+            return in.readObject();
+        default:
+            throw new StreamCorruptedException("Unknown state tag: " + tag);
+        }
+    }
+
+    private static int readSize(ObjectInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            throw new StreamCorruptedException("Invalid size: " + size);
+        }
+        return size;
+    }
+
+    private String readString(ObjectInputStream in, byte tag) throws IOException {
+        if (tag == STRING) {
+            String value = in.readUTF();
+            readStrings.add(value);
+            return value;
+        }
+
+        int index = in.readInt();
+        if (index < 0 || index >= readStrings.size()) {
+            throw new StreamCorruptedException("Unknown string reference: " + index);
+        }
+        return readStrings.get(index);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Object readEnum(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        Object className = read(in);
+        Object name = read(in);
+        if (!(className instanceof String) || !(name instanceof String)) {
+            throw new StreamCorruptedException("Invalid enum constant");
+        }
+        Class<?> enumClass = Util.loadClass((String) className, this);
+        if (!enumClass.isEnum()) {
+            throw new InvalidClassException((String) className, "Not an enum");
+        }
+        try {
+            return Enum.valueOf((Class) enumClass, (String) name);
+        } catch (IllegalArgumentException iae) {
+            throw new InvalidClassException((String) className, "Unknown enum constant " + name);
+        }
+    }
+
+}
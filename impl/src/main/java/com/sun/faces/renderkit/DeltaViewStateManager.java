@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.renderkit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.sun.faces.spi.SerializationProvider;
+import com.sun.faces.util.ConcurrentLRUMap;
+
+import jakarta.faces.FacesException;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * Delta view state for AJAX postbacks with client-side state saving, enabled with
+ * {@link com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter#EnableDeltaViewState}.
+ * </p>
+ *
+ * <p>
+ * On the first AJAX postback of a view, the partial state of the view is kept in the session as the base state of the
+ * view, and the client receives only an identifier of the base. Following AJAX postbacks send the client ids whose
+ * state differs from the base, with their state, and the client ids whose state was removed. Deltas are always
+ * computed against the base, so they never need to be chained; once a delta covers more than half of the base, the
+ * current state becomes the new base.
+ * </p>
+ *
+ * <p>
+ * The base is kept serialized per client id, so that state objects shared with the live components, which may be
+ * modified in place, cannot change it, even when several postbacks reference the same base. A postback deserializes
+ * the base it references once, and the serialized base is remembered for the rest of the request, so that the delta of
+ * the state written to the client is computed by comparing the serialized state of each client id without looking up
+ * the base again. The number of bases per session is bounded by the number of logical views. A postback referencing a
+ * base that is no longer available yields <code>null</code>, which causes a <code>ViewExpiredException</code>. Full
+ * state saving and non-AJAX requests always use the full state.
+ * </p>
+ */
+final class DeltaViewStateManager {
+
+    /**
+     * Marks a delta in the structure slot of the state, which is always <code>null</code> with partial state saving.
+     */
+    static final String DELTA_STATE = "delta";
+
+    /**
+     * The session attribute holding the serialized base states.
+     */
+    private static final String BASE_STATE_MAP = DeltaViewStateManager.class.getName() + ".BaseStateMap";
+
+    /**
+     * The request attribute holding the identifier of the base of the restored state.
+     */
+    private static final String RESTORED_BASE_ID = DeltaViewStateManager.class.getName() + ".RestoredBaseId";
+
+    /**
+     * The request attribute holding the serialized base of the restored state.
+     */
+    private static final String RESTORED_BASE = DeltaViewStateManager.class.getName() + ".RestoredBase";
+
+    private final SerializationProvider serialProvider;
+    private final int numberOfBases;
+    private final SecureRandom random = new SecureRandom();
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param serialProvider the provider used to serialize the base states.
+     * @param numberOfBases the maximum number of base states per session.
+     */
+    DeltaViewStateManager(SerializationProvider serialProvider, int numberOfBases) {
+        this.serialProvider = serialProvider;
+        this.numberOfBases = numberOfBases;
+    }
+
+    // ------------------------------------------------------- Package Methods
+
+    /**
+     * @param context the <code>FacesContext</code> for the current request.
+     * @param state the tree structure and state of the view, as restored from the client.
+     * @return the state with the delta applied to its base, <code>state</code> if it is not a delta, or
+     * <code>null</code> if the base of the delta is no longer available.
+     */
+    Object[] restore(FacesContext context, Object[] state) {
+        if (!DELTA_STATE.equals(state[0])) {
+            return state;
+        }
+
+        Object[] delta = (Object[]) state[1];
+        String baseId = (String) delta[0];
+        Map<String, byte[]> base = getBase(context.getExternalContext(), baseId);
+        if (base == null) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> changed = (Map<String, Object>) delta[1];
+        @SuppressWarnings("unchecked")
+        Set<String> removed = new HashSet<>((List<String>) delta[2]);
+        HashMap<String, Object> restored = new HashMap<>();
+        for (Map.Entry<String, byte[]> entry : base.entrySet()) {
+            if (!changed.containsKey(entry.getKey()) && !removed.contains(entry.getKey())) {
+                restored.put(entry.getKey(), deserialize(entry.getValue()));
+            }
+        }
+        restored.putAll(changed);
+
+        context.getAttributes().put(RESTORED_BASE_ID, baseId);
+        context.getAttributes().put(RESTORED_BASE, base);
+        return new Object[] { null, restored };
+    }
+
+    /**
+     * @param context the <code>FacesContext</code> for the current request.
+     * @param state the tree structure and state of the view to write to the client.
+     * @return the delta of the state against its base, or <code>state</code> if a delta does not apply.
+     */
+    Object[] toDelta(FacesContext context, Object[] state) {
+        if (state[0] != null || !(state[1] instanceof Map) || !context.getPartialViewContext().isAjaxRequest()) {
+            return state;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> current = (Map<String, Object>) state[1];
+        Map<String, byte[]> serialized = serialize(current);
+        ExternalContext externalContext = context.getExternalContext();
+        String baseId = (String) context.getAttributes().get(RESTORED_BASE_ID);
+        @SuppressWarnings("unchecked")
+        Map<String, byte[]> base = (Map<String, byte[]>) context.getAttributes().get(RESTORED_BASE);
+        if (baseId == null || base == null) {
+            return rebase(externalContext, serialized);
+        }
+
+        HashMap<String, Object> changed = new HashMap<>();
+        for (Map.Entry<String, byte[]> entry : serialized.entrySet()) {
+            if (!Arrays.equals(entry.getValue(), base.get(entry.getKey()))) {
+                changed.put(entry.getKey(), current.get(entry.getKey()));
+            }
+        }
+        ArrayList<String> removed = new ArrayList<>();
+        for (String clientId : base.keySet()) {
+            if (!current.containsKey(clientId)) {
+                removed.add(clientId);
+            }
+        }
+
+        if (changed.size() + removed.size() > base.size() / 2) {
+            return rebase(externalContext, serialized);
+        }
+
+        return new Object[] { DELTA_STATE, new Object[] { baseId, changed, removed } };
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private Object[] rebase(ExternalContext externalContext, Map<String, byte[]> serialized) {
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        String baseId = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        ConcurrentLRUMap<String, Map<String, byte[]>> bases = getBaseMap(externalContext);
+        bases.put(baseId, serialized);
+        // always call put/setAttribute as we may be in a clustered environment.
+        externalContext.getSessionMap().put(BASE_STATE_MAP, bases);
+
+        return new Object[] { DELTA_STATE, new Object[] { baseId, new HashMap<>(), new ArrayList<>() } };
+    }
+
+    private Map<String, byte[]> getBase(ExternalContext externalContext, String baseId) {
+        if (externalContext.getSession(false) == null) {
+            return null;
+        }
+
+        Object bases = externalContext.getSessionMap().get(BASE_STATE_MAP);
+        if (!(bases instanceof ConcurrentLRUMap)) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, byte[]> base = ((ConcurrentLRUMap<String, Map<String, byte[]>>) bases).get(baseId);
+        return base;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentLRUMap<String, Map<String, byte[]>> getBaseMap(ExternalContext externalContext) {
+        Object sessionObj = externalContext.getSession(true);
+        Map<String, Object> sessionMap = externalContext.getSessionMap();
+        Object bases = sessionMap.get(BASE_STATE_MAP);
+        if (bases instanceof ConcurrentLRUMap) {
+            return (ConcurrentLRUMap<String, Map<String, byte[]>>) bases;
+        }
+
+        // noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (sessionObj) {
+            bases = sessionMap.get(BASE_STATE_MAP);
+            if (!(bases instanceof ConcurrentLRUMap)) {
+                bases = new ConcurrentLRUMap<String, Map<String, byte[]>>(numberOfBases);
+                sessionMap.put(BASE_STATE_MAP, bases);
+            }
+        }
+
+        return (ConcurrentLRUMap<String, Map<String, byte[]>>) bases;
+    }
+
+    /**
+     * Serializes the state of each client id on its own, so that the state of a client id can be compared with and
+     * restored from the base without the other ones.
+     */
+    private Map<String, byte[]> serialize(Map<String, Object> state) {
+        HashMap<String, byte[]> serialized = new HashMap<>();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(256);
+        for (Map.Entry<String, Object> entry : state.entrySet()) {
+            baos.reset();
+            try (ObjectOutputStream oos = serialProvider.createObjectOutputStream(baos)) {
+                // noinspection NonSerializableObjectPassedToObjectStream
+                oos.writeObject(entry.getValue());
+            } catch (IOException ioe) {
+                throw new FacesException(ioe);
+            }
+            serialized.put(entry.getKey(), baos.toByteArray());
+        }
+
+        return serialized;
+    }
+
+    private Object deserialize(byte[] bytes) {
+        try (ObjectInputStream ois = serialProvider.createObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new FacesException(e);
+        }
+    }
+
+}
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -57,6 +58,7 @@ import jakarta.faces.component.ActionSource2;
 import jakarta.faces.component.Doctype;
 import jakarta.faces.component.UIComponent;
 import jakarta.faces.component.UIComponentBase;
+import jakarta.faces.component.UIData;
 import jakarta.faces.component.UIForm;
 import jakarta.faces.component.UIOutput;
 import jakarta.faces.component.UIViewRoot;
@@ -148,8 +150,24 @@ public class RenderKitUtils {
     private static final String VIEW_ROOT_ATTRIBUTES_DOCTYPE_KEY = RenderKitUtils.class.getName() + ".isOutputHtml5Doctype";
 
 
+    /**
+     * FacesContext attribute key of the row windows decoded by {@link #decodeRowWindow(FacesContext, UIComponent)}.
+     */
+    private static final String ROW_WINDOWS_KEY = RenderKitUtils.class.getName() + ".rowWindows";
+
     protected static final Logger LOGGER = FacesLogger.RENDERKIT.getLogger();
 
+    /**
+     * The behavior event name of a request asking an iterating component to render another window of rows.
+     */
+    public static final String ROW_WINDOW_EVENT = "rowWindow";
+
+    /**
+     * The name of the component attribute which must be <code>true</code> for an iterating component to accept row
+     * window requests.
+     */
+    public static final String ROW_WINDOW_ATTRIBUTE = "rowWindow";
+
     public static final String DEVELOPMENT_STAGE_MESSAGES_ID = "jakarta_faces_developmentstage_messages";
 
     /**
@@ -1155,6 +1173,89 @@ public class RenderKitUtils {
         return "click".equals(partialEvent);
     }
 
+    /**
+     * <p>
+     * Check the request parameters for a row window request targeting the given iterating component, and if one is
+     * present remember it until {@link #getRequestedRowWindow(FacesContext, UIComponent)} is called during rendering.
+     * </p>
+     *
+     * <p>
+     * A row window request is a postback whose behavior event is {@value #ROW_WINDOW_EVENT} and which carries the
+     * parameters <code>&lt;clientId&gt;_first</code> and <code>&lt;clientId&gt;_rows</code>, for example
+     * <code>faces.ajax.request(element, null, { execute: tableId, render: tableId, 'jakarta.faces.behavior.event':
+     * 'rowWindow', params: { [tableId + '_first']: 200, [tableId + '_rows']: 50 } })</code>. The window is not applied
+     * right away, so that the rows submitted with the request are still decoded, validated and updated.
+     * </p>
+     *
+     * <p>
+     * Row window requests are only accepted by components whose {@value #ROW_WINDOW_ATTRIBUTE} attribute is
+     * <code>true</code>. The window must hold at least one row. A <code>UIData</code> only keeps the first row of the
+     * window, the following postbacks process <code>rows</code> rows from there, so it only accepts row windows when it
+     * has a <code>rows</code> value, and the window holds at most that many rows. This way a client can never make the
+     * component render more rows than the page does, nor make postbacks process rows which were not on screen.
+     * </p>
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param component the <code>UIData</code> or <code>UIRepeat</code> being decoded
+     */
+    public static void decodeRowWindow(FacesContext context, UIComponent component) {
+        if (!ROW_WINDOW_EVENT.equals(BEHAVIOR_EVENT_PARAM.getValue(context)) || !isRowWindowEnabled(component)) {
+            return;
+        }
+
+        String clientId = component.getClientId(context);
+        Map<String, String> params = context.getExternalContext().getRequestParameterMap();
+        int first = parseRowWindowParam(params.get(clientId + "_first"));
+        int rows = parseRowWindowParam(params.get(clientId + "_rows"));
+        if (first < 0 || rows <= 0) {
+            return;
+        }
+
+        if (component instanceof UIData) {
+            int configuredRows = ((UIData) component).getRows();
+            if (configuredRows <= 0) {
+                // the window size would not survive the request, postbacks would process every row from first on
+                return;
+            }
+            rows = Math.min(rows, configuredRows);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, int[]> windows = (Map<String, int[]>) context.getAttributes().computeIfAbsent(ROW_WINDOWS_KEY, k -> new HashMap<>(4));
+        windows.put(clientId, new int[] { first, rows });
+    }
+
+    /**
+     * @param component the <code>UIData</code> or <code>UIRepeat</code> to check
+     *
+     * @return <code>true</code> if the {@value #ROW_WINDOW_ATTRIBUTE} attribute of the component is <code>true</code>
+     */
+    public static boolean isRowWindowEnabled(UIComponent component) {
+        Object value = component.getAttributes().get(ROW_WINDOW_ATTRIBUTE);
+        return value instanceof Boolean ? (Boolean) value : value != null && Boolean.parseBoolean(value.toString());
+    }
+
+    /**
+     * <p>
+     * Return the row window requested for the given component during this request as <code>{ first, rows }</code>, or
+     * <code>null</code> if there is none. The window is also ignored when validation failed, so that the rows carrying
+     * the messages stay on screen.
+     * </p>
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param component the <code>UIData</code> or <code>UIRepeat</code> being rendered
+     *
+     * @return the requested row window, or <code>null</code>
+     */
+    public static int[] getRequestedRowWindow(FacesContext context, UIComponent component) {
+        @SuppressWarnings("unchecked")
+        Map<String, int[]> windows = (Map<String, int[]>) context.getAttributes().get(ROW_WINDOWS_KEY);
+        if (windows == null || context.isValidationFailed()) {
+            return null;
+        }
+        return windows.remove(component.getClientId(context));
+    }
+
     /**
      * <p>
      * Utility method to return the client ID of the parent form.
@@ -1301,6 +1402,17 @@ public class RenderKitUtils {
 
     // --------------------------------------------------------- Private Methods
 
+    private static int parseRowWindowParam(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     // Appends a script to a faces.util.chain() call
     private static void appendScriptToChain(StringBuilder builder, String script) {
 
@@ -34,19 +34,19 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.security.SecureRandom;
-import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
+import com.sun.faces.application.ApplicationAssociate;
 import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.config.WebConfiguration.WebContextInitParameter;
+import com.sun.faces.spi.ViewStateStore;
+import com.sun.faces.spi.ViewStateStoreFactory;
 import com.sun.faces.util.FacesLogger;
-import com.sun.faces.util.LRUMap;
 import com.sun.faces.util.RequestStateManager;
-import com.sun.faces.util.TypedCollections;
 import com.sun.faces.util.Util;
 
 import jakarta.faces.FacesException;
@@ -93,6 +93,11 @@ public class ServerSideStateHelper extends StateHelper {
      */
     protected final SecureRandom random;
 
+    /**
+     * The store holding the view state.
+     */
+    protected final ViewStateStore viewStateStore;
+
     // ------------------------------------------------------------ Constructors
 
     /**
@@ -114,6 +119,13 @@ public class ServerSideStateHelper extends StateHelper {
             random = null;
         }
 
+        ExternalContext externalContext = FacesContext.getCurrentInstance().getExternalContext();
+        ApplicationAssociate associate = ApplicationAssociate.getInstance(externalContext);
+        if (associate != null) {
+            viewStateStore = associate.getViewStateStore(numberOfLogicalViews, numberOfViews);
+        } else {
+            viewStateStore = ViewStateStoreFactory.createInstance(externalContext, numberOfLogicalViews, numberOfViews);
+        }
     }
 
     // ------------------------------------------------ Methods from StateHelper
@@ -144,55 +156,32 @@ public class ServerSideStateHelper extends StateHelper {
         if (!viewRoot.isTransient()) {
             if (!ctx.getAttributes().containsKey("com.sun.faces.ViewStateValue")) {
                 notNull("state", state);
+                long start = metricsCollector != null ? System.nanoTime() : 0;
                 Object[] stateToWrite = (Object[]) state;
-                ExternalContext externalContext = ctx.getExternalContext();
-                Object sessionObj = externalContext.getSession(true);
-                Map<String, Object> sessionMap = externalContext.getSessionMap();
-
-                synchronized (sessionObj) {
-                    Map<String, Map> logicalMap = TypedCollections.dynamicallyCastMap((Map) sessionMap.get(LOGICAL_VIEW_MAP), String.class, Map.class);
-                    if (logicalMap == null) {
-                        logicalMap = Collections.synchronizedMap(new LRUMap<String, Map>(numberOfLogicalViews));
-                        sessionMap.put(LOGICAL_VIEW_MAP, logicalMap);
-                    }
-
-                    Object structure = stateToWrite[0];
-                    Object savedState = handleSaveState(stateToWrite[1]);
-
-                    String idInLogicalMap = (String) RequestStateManager.get(ctx, RequestStateManager.LOGICAL_VIEW_MAP);
-                    if (idInLogicalMap == null) {
-                        idInLogicalMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
-                    }
-                    String idInActualMap = null;
-                    if (ctx.getPartialViewContext().isPartialRequest()) {
-                        // If partial request, do not change actual view Id, because page not actually changed.
-                        // Otherwise partial requests will soon overflow cache with values that would be never used.
-                        idInActualMap = (String) RequestStateManager.get(ctx, RequestStateManager.ACTUAL_VIEW_MAP);
-                    }
-                    if (null == idInActualMap) {
-                        idInActualMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
-                    }
-                    Map<String, Object[]> actualMap = TypedCollections.dynamicallyCastMap(logicalMap.get(idInLogicalMap), String.class, Object[].class);
-                    if (actualMap == null) {
-                        actualMap = new LRUMap<>(numberOfViews);
-                        logicalMap.put(idInLogicalMap, actualMap);
-                    }
-
-                    id = idInLogicalMap + ':' + idInActualMap;
-
-                    Object[] stateArray = actualMap.get(idInActualMap);
-                    // reuse the array if possible
-                    if (stateArray != null) {
-                        stateArray[0] = structure;
-                        stateArray[1] = savedState;
-                    } else {
-                        actualMap.put(idInActualMap, new Object[] { structure, savedState });
-                    }
-
-                    // always call put/setAttribute as we may be in a clustered environment.
-                    sessionMap.put(LOGICAL_VIEW_MAP, logicalMap);
-                    ctx.getAttributes().put("com.sun.faces.ViewStateValue", id);
+                Object structure = stateToWrite[0];
+                Object savedState = handleSaveState(stateToWrite[1]);
+
+                String idInLogicalMap = (String) RequestStateManager.get(ctx, RequestStateManager.LOGICAL_VIEW_MAP);
+                if (idInLogicalMap == null) {
+                    idInLogicalMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
+                }
+                String idInActualMap = null;
+                if (ctx.getPartialViewContext().isPartialRequest()) {
+                    // If partial request, do not change actual view Id, because page not actually changed.
+                    // Otherwise partial requests will soon overflow cache with values that would be never used.
+                    idInActualMap = (String) RequestStateManager.get(ctx, RequestStateManager.ACTUAL_VIEW_MAP);
+                }
+                if (null == idInActualMap) {
+                    idInActualMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
+                }
+
+                id = idInLogicalMap + ':' + idInActualMap;
+
+                viewStateStore.putState(ctx, idInLogicalMap, idInActualMap, new Object[] { structure, savedState });
+                if (metricsCollector != null) {
+                    metricsCollector.stateSaved(viewRoot.getViewId(), sizeOf(savedState), System.nanoTime() - start);
                 }
+                ctx.getAttributes().put("com.sun.faces.ViewStateValue", id);
             } else {
                 id = (String) ctx.getAttributes().get("com.sun.faces.ViewStateValue");
             }
@@ -261,29 +250,28 @@ public class ServerSideStateHelper extends StateHelper {
             return null;
         }
 
-        // noinspection SynchronizationOnLocalVariableOrMethodParameter
-        synchronized (sessionObj) {
-            Map logicalMap = (Map) externalCtx.getSessionMap().get(LOGICAL_VIEW_MAP);
-            if (logicalMap != null) {
-                Map actualMap = (Map) logicalMap.get(idInLogicalMap);
-                if (actualMap != null) {
-                    RequestStateManager.set(ctx, RequestStateManager.LOGICAL_VIEW_MAP, idInLogicalMap);
-
-                    Object[] restoredState = new Object[2];
-                    Object[] state = (Object[]) actualMap.get(idInActualMap);
-                    if (state != null) {
-                        restoredState[0] = state[0];
-                        restoredState[1] = state[1];
-
-                        RequestStateManager.set(ctx, RequestStateManager.ACTUAL_VIEW_MAP, idInActualMap);
-                        if (state.length == 2 && state[1] != null) {
-                            restoredState[1] = handleRestoreState(state[1]);
-                        }
-                    }
-
-                    return restoredState;
-                }
+        long start = metricsCollector != null ? System.nanoTime() : 0;
+        Object[] state = viewStateStore.getState(ctx, idInLogicalMap, idInActualMap);
+        if (state != null) {
+            RequestStateManager.set(ctx, RequestStateManager.LOGICAL_VIEW_MAP, idInLogicalMap);
+            RequestStateManager.set(ctx, RequestStateManager.ACTUAL_VIEW_MAP, idInActualMap);
+
+            Object[] restoredState = new Object[2];
+            restoredState[0] = state[0];
+            restoredState[1] = state[1];
+            if (state.length == 2 && state[1] != null) {
+                restoredState[1] = handleRestoreState(state[1]);
+            }
+            if (metricsCollector != null) {
+                metricsCollector.stateRestored(viewId, state.length == 2 ? sizeOf(state[1]) : -1, System.nanoTime() - start);
             }
+
+            return restoredState;
+        }
+
+        if (viewStateStore.containsLogicalView(ctx, idInLogicalMap)) {
+            RequestStateManager.set(ctx, RequestStateManager.LOGICAL_VIEW_MAP, idInLogicalMap);
+            return new Object[2];
         }
 
         return null;
@@ -350,6 +338,14 @@ public class ServerSideStateHelper extends StateHelper {
         return baos.toByteArray();
     }
 
+    /**
+     * @param savedState the state as returned by {@link #handleSaveState(Object)}
+     * @return the size of the serialized state, or <code>-1</code> if the state is stored without serializing it
+     */
+    private static long sizeOf(Object savedState) {
+        return savedState instanceof byte[] ? ((byte[]) savedState).length : -1;
+    }
+
     /**
      * @param state the state as it was stored in the session
      * @return an object that can be passed to <code>UIViewRoot.processRestoreState</code>. If option <code>SerializeServerState</code> true
@@ -376,7 +372,15 @@ public class ServerSideStateHelper extends StateHelper {
         Map<String, Object> sessionMap = ctx.getExternalContext().getSessionMap();
         AtomicInteger idgen = (AtomicInteger) sessionMap.get(STATEMANAGED_SERIAL_ID_KEY);
         if (idgen == null) {
-            idgen = new AtomicInteger(1);
+            Object sessionObj = ctx.getExternalContext().getSession(true);
+            // noinspection SynchronizationOnLocalVariableOrMethodParameter
+            synchronized (sessionObj) {
+                idgen = (AtomicInteger) sessionMap.get(STATEMANAGED_SERIAL_ID_KEY);
+                if (idgen == null) {
+                    idgen = new AtomicInteger(1);
+                    sessionMap.put(STATEMANAGED_SERIAL_ID_KEY, idgen);
+                }
+            }
         }
 
         // always call put/setAttribute as we may be in a clustered environment.
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.renderkit;
+
+import static com.sun.faces.renderkit.ServerSideStateHelper.LOGICAL_VIEW_MAP;
+
+import java.util.Map;
+
+import com.sun.faces.spi.ViewStateStore;
+import com.sun.faces.util.ConcurrentLRUMap;
+
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * The default {@link ViewStateStore}, which keeps the view state in the session.
+ * </p>
+ *
+ * <p>
+ * The session holds one {@link ConcurrentLRUMap} of logical views, bounded by <code>numberOfLogicalViews</code>, and
+ * every logical view holds its own {@link ConcurrentLRUMap} of actual views, bounded by <code>numberOfViews</code>.
+ * Requests working on different logical views therefore never contend with each other, and reading state never locks
+ * the session. The session is only synchronized on when the map of logical views is created.
+ * </p>
+ */
+public class SessionViewStateStore implements ViewStateStore {
+
+    /**
+     * The number of logical views as configured by the user.
+     */
+    private final int numberOfLogicalViews;
+
+    /**
+     * The number of views as configured by the user.
+     */
+    private final int numberOfViews;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Construct a new <code>SessionViewStateStore</code> instance.
+     *
+     * @param numberOfLogicalViews the number of logical views per session
+     * @param numberOfViews the number of views per logical view
+     */
+    public SessionViewStateStore(int numberOfLogicalViews, int numberOfViews) {
+        this.numberOfLogicalViews = numberOfLogicalViews;
+        this.numberOfViews = numberOfViews;
+    }
+
+    // --------------------------------------------- Methods from ViewStateStore
+
+    @Override
+    public Object[] getState(FacesContext context, String logicalViewId, String actualViewId) {
+        ConcurrentLRUMap<String, ConcurrentLRUMap<String, Object[]>> logicalMap = getLogicalViewMap(context.getExternalContext(), LOGICAL_VIEW_MAP, numberOfLogicalViews, false);
+        if (logicalMap != null) {
+            ConcurrentLRUMap<String, Object[]> actualMap = logicalMap.get(logicalViewId);
+            if (actualMap != null) {
+                return actualMap.get(actualViewId);
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean containsLogicalView(FacesContext context, String logicalViewId) {
+        ConcurrentLRUMap<String, ConcurrentLRUMap<String, Object[]>> logicalMap = getLogicalViewMap(context.getExternalContext(), LOGICAL_VIEW_MAP, numberOfLogicalViews, false);
+        return logicalMap != null && logicalMap.containsKey(logicalViewId);
+    }
+
+    @Override
+    public void putState(FacesContext context, String logicalViewId, String actualViewId, Object[] state) {
+        ExternalContext externalContext = context.getExternalContext();
+        ConcurrentLRUMap<String, ConcurrentLRUMap<String, Object[]>> logicalMap = getLogicalViewMap(externalContext, LOGICAL_VIEW_MAP, numberOfLogicalViews, true);
+        ConcurrentLRUMap<String, Object[]> actualMap = logicalMap.computeIfAbsent(logicalViewId, key -> new ConcurrentLRUMap<>(numberOfViews));
+        actualMap.put(actualViewId, state);
+
+        // always call put/setAttribute as we may be in a clustered environment.
+        externalContext.getSessionMap().put(LOGICAL_VIEW_MAP, logicalMap);
+    }
+
+    // ------------------------------------------------------- Package Methods
+
+    /**
+     * @param <V> the type of the values stored per actual view
+     * @param externalContext the <code>ExternalContext</code> for the current request
+     * @param attributeName the name of the session attribute holding the map
+     * @param numberOfLogicalViews the number of logical views per session
+     * @param create whether to create the session and the map if they do not exist yet
+     * @return the map of logical views, or <code>null</code> if it does not exist and <code>create</code> is
+     * <code>false</code>
+     */
+    @SuppressWarnings("unchecked")
+    static <V> ConcurrentLRUMap<String, ConcurrentLRUMap<String, V>> getLogicalViewMap(ExternalContext externalContext, String attributeName, int numberOfLogicalViews, boolean create) {
+        Object sessionObj = externalContext.getSession(create);
+        if (sessionObj == null) {
+            return null;
+        }
+
+        Map<String, Object> sessionMap = externalContext.getSessionMap();
+        Object logicalMap = sessionMap.get(attributeName);
+        if (logicalMap instanceof ConcurrentLRUMap) {
+            return (ConcurrentLRUMap<String, ConcurrentLRUMap<String, V>>) logicalMap;
+        }
+        if (!create) {
+            return null;
+        }
+
+        // noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (sessionObj) {
+            logicalMap = sessionMap.get(attributeName);
+            if (!(logicalMap instanceof ConcurrentLRUMap)) {
+                logicalMap = new ConcurrentLRUMap<String, ConcurrentLRUMap<String, V>>(numberOfLogicalViews);
+                sessionMap.put(attributeName, logicalMap);
+            }
+        }
+
+        return (ConcurrentLRUMap<String, ConcurrentLRUMap<String, V>>) logicalMap;
+    }
+
+}
@@ -29,7 +29,9 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.sun.faces.RIConstants;
+import com.sun.faces.application.ApplicationAssociate;
 import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.spi.MetricsCollector;
 import com.sun.faces.spi.SerializationProvider;
 import com.sun.faces.spi.SerializationProviderFactory;
 import com.sun.faces.util.ByteArrayGuardAESCTR;
@@ -93,6 +95,12 @@ public abstract class StateHelper {
      */
     protected char[] fieldEnd;
 
+    /**
+     * The collector of request metrics receiving the size of and the time spent on state saving and restoring, or
+     * <code>null</code> if metrics are not collected.
+     */
+    protected MetricsCollector metricsCollector;
+
     // ------------------------------------------------------------ Constructors
 
     /**
@@ -104,6 +112,11 @@ public abstract class StateHelper {
         webConfig = WebConfiguration.getInstance(ctx.getExternalContext());
         compressViewState = webConfig.isOptionEnabled(CompressViewState);
 
+        ApplicationAssociate associate = ApplicationAssociate.getInstance(ctx.getExternalContext());
+        if (associate != null) {
+            metricsCollector = associate.getMetricsCollector();
+        }
+
         if (serialProvider == null) {
             serialProvider = SerializationProviderFactory.createInstance(FacesContext.getCurrentInstance().getExternalContext());
         }
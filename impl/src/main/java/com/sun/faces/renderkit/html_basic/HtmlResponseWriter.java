@@ -21,6 +21,7 @@ import java.io.Writer;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -905,6 +906,43 @@ public class HtmlResponseWriter extends ResponseWriter {
         }
     }
 
+    /**
+     * <p>
+     * Write literal text whose escaped form has been prepared ahead of time. The result is identical to calling
+     * {@link #writeText(Object, String)} with {@link EscapedText#getText()}, but the escaping is performed only once per
+     * escaping configuration and the escaped characters are then written in bulk on every subsequent call.
+     * </p>
+     *
+     * @param text Text to be written
+     *
+     * @throws IOException if an input/output error occurs
+     * @throws NullPointerException if <code>text</code> is <code>null</code>
+     */
+    public void writeText(EscapedText text) throws IOException {
+
+        if (text == null) {
+            throw new NullPointerException(MessageUtils.getExceptionMessageString(MessageUtils.NULL_PARAMETERS_ERROR_MESSAGE_ID, "text"));
+        }
+        closeStartIfNecessary();
+
+        if (dontEscape || writingCdata && !isPartial) {
+            // script, style and CDATA content is escaped differently, don't bother caching it
+            writeText(text.text, null);
+            return;
+        }
+
+        int variant = (escapeUnicode ? 1 : 0) | (escapeIso ? 2 : 0) | (isPartial ? 4 : 0);
+        char[] escaped = text.variants.get(variant);
+        if (escaped == null) {
+            FastStringWriter escapedWriter = new FastStringWriter(text.text.length() + 16);
+            char[] textBuff = new char[text.text.length()];
+            HtmlUtils.writeText(escapedWriter, escapeUnicode, escapeIso, new char[buffer.length], text.text, textBuff, isPartial);
+            escaped = escapedWriter.toString().toCharArray();
+            text.variants.compareAndSet(variant, null, escaped);
+        }
+        writer.write(escaped);
+    }
+
     /**
      * <p>
      * Write properly escaped text from a character array. If there is an open element that has been created by a call to
@@ -1380,4 +1418,36 @@ public class HtmlResponseWriter extends ResponseWriter {
         }
         flushBuffer();
     }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * Immutable literal text, typically template text of a compiled Facelet, together with its escaped forms as computed
+     * by {@link HtmlResponseWriter#writeText(EscapedText)}. Instances are safe to share between threads.
+     */
+    public static final class EscapedText {
+
+        // one slot per combination of escapeUnicode, escapeIso and isPartial
+        private static final int VARIANTS = 8;
+
+        private final String text;
+        private final AtomicReferenceArray<char[]> variants = new AtomicReferenceArray<>(VARIANTS);
+
+        public EscapedText(String text) {
+            if (text == null) {
+                throw new NullPointerException(MessageUtils.getExceptionMessageString(MessageUtils.NULL_PARAMETERS_ERROR_MESSAGE_ID, "text"));
+            }
+            this.text = text;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
 }
@@ -25,6 +25,7 @@ import java.util.Map;
 
 import com.sun.faces.renderkit.Attribute;
 import com.sun.faces.renderkit.AttributeManager;
+import com.sun.faces.renderkit.RenderKitUtils;
 import com.sun.faces.util.Util;
 
 import jakarta.faces.component.UIColumn;
@@ -45,6 +46,17 @@ public class TableRenderer extends BaseTableRenderer {
 
     // ---------------------------------------------------------- Public Methods
 
+    @Override
+    public void decode(FacesContext context, UIComponent component) {
+
+        super.decode(context, component);
+
+        if (shouldDecode(component)) {
+            RenderKitUtils.decodeRowWindow(context, component);
+        }
+
+    }
+
     @Override
     public void encodeBegin(FacesContext context, UIComponent component) throws IOException {
 
@@ -96,10 +108,19 @@ public class TableRenderer extends BaseTableRenderer {
             renderEmptyTableBody(writer, data);
             return;
         }
+        // Move to the row window requested by the client (if any). Windows
+        // are only accepted for tables with a rows value and never hold more
+        // rows than that, and only their first row is kept, so the next
+        // postback decodes the rows on screen
+        int[] window = RenderKitUtils.getRequestedRowWindow(context, data);
+        if (window != null) {
+            data.setFirst(window[0]);
+        }
+
         // Iterate over the rows of data that are provided
         int processed = 0;
         int rowIndex = data.getFirst() - 1;
-        int rows = data.getRows();
+        int rows = window != null ? window[1] : data.getRows();
         List<Integer> bodyRows = getBodyRows(context.getExternalContext().getApplicationMap(), data);
         boolean hasBodyRows = bodyRows != null && !bodyRows.isEmpty();
         boolean wroteTableBody = false;
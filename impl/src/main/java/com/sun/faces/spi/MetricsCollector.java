@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.spi;
+
+import jakarta.faces.event.PhaseId;
+
+/**
+ * <p>
+ * Receives timings of the request processing of an application, so that the time spent per phase, per view, in state
+ * saving and restoring and in building views can be observed in production without attaching a profiler.
+ * </p>
+ *
+ * <p>
+ * Collection is disabled unless the
+ * {@link com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter#EnableMetrics} context parameter is set,
+ * or an implementation is plugged in via the
+ * {@link com.sun.faces.config.WebConfiguration.WebContextInitParameter#MetricsCollectorClass} context parameter. An
+ * implementation must provide a public no-argument constructor and be safe for concurrent use, as it is called from
+ * every request thread. All durations are in nanoseconds, as measured by {@link System#nanoTime()}. The view id
+ * passed to the methods may be <code>null</code> when no view is associated with the request.
+ * </p>
+ *
+ * @see MetricsCollectorFactory
+ */
+public interface MetricsCollector {
+
+    /**
+     * Called after a lifecycle phase, including its <code>PhaseListener</code>s, has been processed.
+     *
+     * @param viewId the id of the view at the end of the phase
+     * @param phaseId the phase that was processed
+     * @param nanos the duration of the phase
+     */
+    void phaseCompleted(String viewId, PhaseId phaseId, long nanos);
+
+    /**
+     * Called after the lifecycle of a request has been processed.
+     *
+     * @param viewId the id of the rendered view
+     * @param partial <code>true</code> if the request was a partial (Ajax) request
+     * @param nanos the duration of all lifecycle phases of the request
+     */
+    void requestCompleted(String viewId, boolean partial, long nanos);
+
+    /**
+     * Called after the state of a view has been written.
+     *
+     * @param viewId the id of the view
+     * @param bytes the size of the written state, or <code>-1</code> if the state was stored without serializing it
+     * @param nanos the time spent writing the state
+     */
+    void stateSaved(String viewId, long bytes, long nanos);
+
+    /**
+     * Called after the state of a view has been read back from the request or the store.
+     *
+     * @param viewId the id of the view
+     * @param bytes the size of the read state, or <code>-1</code> if the state was stored without serializing it
+     * @param nanos the time spent reading the state
+     */
+    void stateRestored(String viewId, long bytes, long nanos);
+
+    /**
+     * Called after a view has been built from its Facelet.
+     *
+     * @param viewId the id of the view
+     * @param nanos the time spent building the view
+     */
+    void viewBuilt(String viewId, long nanos);
+
+    /**
+     * Called when the application is destroyed, so that any resources held, such as JMX registrations, can be released.
+     */
+    default void release() {
+    }
+
+}
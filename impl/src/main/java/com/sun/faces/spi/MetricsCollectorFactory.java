@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.spi;
+
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableMetrics;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.faces.application.InMemoryMetricsCollector;
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.config.WebConfiguration.WebContextInitParameter;
+import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.Util;
+
+import jakarta.faces.context.ExternalContext;
+
+/**
+ * <p>
+ * A factory for creating <code>MetricsCollector</code> instances.
+ * </p>
+ */
+public class MetricsCollectorFactory {
+
+    private static final Logger LOGGER = FacesLogger.APPLICATION.getLogger();
+
+    /**
+     * <p>
+     * Creates a new instance of the class specified by the {@link WebContextInitParameter#MetricsCollectorClass} context
+     * parameter. If this parameter is not defined, or the class cannot be instantiated, the default, in memory,
+     * <code>MetricsCollector</code> will be returned when {@link WebConfiguration.BooleanWebContextInitParameter#EnableMetrics}
+     * is set.
+     * </p>
+     *
+     * @param extContext the ExternalContext for this application
+     * @return an implementation of the <code>MetricsCollector</code> interface, or <code>null</code> if metrics are not
+     * collected
+     */
+    public static MetricsCollector createInstance(ExternalContext extContext) {
+        WebConfiguration webConfig = WebConfiguration.getInstance(extContext);
+        String className = webConfig.getOptionValue(WebContextInitParameter.MetricsCollectorClass);
+        if (className != null && !className.isEmpty()) {
+            try {
+                Class<?> clazz = Util.loadClass(className, MetricsCollectorFactory.class);
+                if (MetricsCollector.class.isAssignableFrom(clazz)) {
+                    MetricsCollector collector = (MetricsCollector) clazz.getConstructor().newInstance();
+                    if (LOGGER.isLoggable(Level.FINE)) {
+                        LOGGER.log(Level.FINE, "faces.spi.metricscollector.configured", new Object[] { className });
+                    }
+                    return collector;
+                } else {
+                    if (LOGGER.isLoggable(Level.SEVERE)) {
+                        LOGGER.log(Level.SEVERE, "faces.spi.metricscollector.not_implemented", new Object[] { className });
+                    }
+                }
+            } catch (ClassNotFoundException cnfe) {
+                if (LOGGER.isLoggable(Level.SEVERE)) {
+                    LOGGER.log(Level.SEVERE, "faces.spi.metricscollector.not_found", new Object[] { className });
+                }
+            } catch (IllegalArgumentException | ReflectiveOperationException | SecurityException ie) {
+                if (LOGGER.isLoggable(Level.SEVERE)) {
+                    LOGGER.log(Level.SEVERE, "faces.spi.metricscollector.cannot_instantiate", new Object[] { className });
+                    LOGGER.log(Level.SEVERE, "", ie);
+                }
+            }
+        }
+
+        if (webConfig.isOptionEnabled(EnableMetrics)) {
+            return new InMemoryMetricsCollector(extContext.getApplicationContextPath());
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.spi;
+
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * Stores the view state when server-side state saving is used. The state of a view is identified by the id of its
+ * logical view (a browser window or tab) and the id of the actual view within that logical view, the same ids that
+ * make up the value of the view state parameter.
+ * </p>
+ *
+ * <p>
+ * Implementations are pluggable via the
+ * {@link com.sun.faces.config.WebConfiguration.WebContextInitParameter#ViewStateStoreClass} context parameter. They
+ * must be safe for concurrent use, as parallel requests of the same session may read and write state at the same
+ * time. An implementation must provide either a public constructor taking the number of logical views and the number
+ * of views (both <code>int</code>) or a public no-argument constructor. A single instance is created per application.
+ * </p>
+ *
+ * @see com.sun.faces.renderkit.ServerSideStateHelper
+ */
+public interface ViewStateStore {
+
+    /**
+     * @param context the <code>FacesContext</code> for the current request
+     * @param logicalViewId the id of the logical view
+     * @param actualViewId the id of the actual view
+     * @return the stored state, an array holding the tree structure and the saved state, or <code>null</code> if there
+     * is no state for the given ids
+     */
+    Object[] getState(FacesContext context, String logicalViewId, String actualViewId);
+
+    /**
+     * @param context the <code>FacesContext</code> for the current request
+     * @param logicalViewId the id of the logical view
+     * @return <code>true</code> if state is stored for the given logical view
+     */
+    boolean containsLogicalView(FacesContext context, String logicalViewId);
+
+    /**
+     * Store the state of a view, evicting the least recently used views if the configured limits are exceeded.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param logicalViewId the id of the logical view
+     * @param actualViewId the id of the actual view
+     * @param state an array holding the tree structure and the saved state
+     */
+    void putState(FacesContext context, String logicalViewId, String actualViewId, Object[] state);
+
+    /**
+     * Called when the application is destroyed, so that any resources held, such as files, can be released.
+     */
+    default void release() {
+    }
+
+}
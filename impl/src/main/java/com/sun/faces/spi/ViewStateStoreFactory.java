@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.spi;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.config.WebConfiguration.WebContextInitParameter;
+import com.sun.faces.renderkit.SessionViewStateStore;
+import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.Util;
+
+import jakarta.faces.context.ExternalContext;
+
+/**
+ * <p>
+ * A factory for creating <code>ViewStateStore</code> instances.
+ * </p>
+ */
+public class ViewStateStoreFactory {
+
+    private static final Logger LOGGER = FacesLogger.APPLICATION.getLogger();
+
+    /**
+     * <p>
+     * Creates a new instance of the class specified by the
+     * {@link WebContextInitParameter#ViewStateStoreClass} context parameter. If this parameter is not defined, or the
+     * class cannot be instantiated, the default, session based, <code>ViewStateStore</code> will be returned.
+     * </p>
+     *
+     * @param extContext the ExternalContext for this application
+     * @param numberOfLogicalViews the number of logical views as configured by the user
+     * @param numberOfViews the number of views per logical view as configured by the user
+     * @return an implementation of the <code>ViewStateStore</code> interface
+     */
+    public static ViewStateStore createInstance(ExternalContext extContext, int numberOfLogicalViews, int numberOfViews) {
+        String className = WebConfiguration.getInstance(extContext).getOptionValue(WebContextInitParameter.ViewStateStoreClass);
+        if (className != null && !className.isEmpty()) {
+            try {
+                Class<?> clazz = Util.loadClass(className, ViewStateStoreFactory.class);
+                if (ViewStateStore.class.isAssignableFrom(clazz)) {
+                    ViewStateStore store;
+                    try {
+                        store = (ViewStateStore) clazz.getConstructor(int.class, int.class).newInstance(numberOfLogicalViews, numberOfViews);
+                    } catch (NoSuchMethodException nsme) {
+                        store = (ViewStateStore) clazz.getConstructor().newInstance();
+                    }
+                    if (LOGGER.isLoggable(Level.FINE)) {
+                        LOGGER.log(Level.FINE, "faces.spi.viewstatestore.configured", new Object[] { className });
+                    }
+                    return store;
+                } else {
+                    if (LOGGER.isLoggable(Level.SEVERE)) {
+                        LOGGER.log(Level.SEVERE, "faces.spi.viewstatestore.not_implemented", new Object[] { className });
+                    }
+                }
+            } catch (ClassNotFoundException cnfe) {
+                if (LOGGER.isLoggable(Level.SEVERE)) {
+                    LOGGER.log(Level.SEVERE, "faces.spi.viewstatestore.not_found", new Object[] { className });
+                }
+            } catch (IllegalArgumentException | ReflectiveOperationException | SecurityException ie) {
+                if (LOGGER.isLoggable(Level.SEVERE)) {
+                    LOGGER.log(Level.SEVERE, "faces.spi.viewstatestore.cannot_instantiate", new Object[] { className });
+                    LOGGER.log(Level.SEVERE, "", ie);
+                }
+            }
+        }
+
+        return new SessionViewStateStore(numberOfLogicalViews, numberOfViews);
+    }
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.faces.util.ExpiringConcurrentCache.ExpiryChecker;
+
+import jakarta.faces.FacesException;
+
+/**
+ * <p>
+ * A {@link ConcurrentCache} holding at most a configured number of entries, which are evicted following the
+ * {@link WindowTinyLfuPolicy}, each entry having a weight of one.
+ * </p>
+ *
+ * <p>
+ * Like {@link ExpiringConcurrentCache}, each missing value is created only once, by the first thread requesting it,
+ * while other threads requesting the same key wait for it. When a cached value has expired, the first thread noticing
+ * creates its replacement, and concurrent readers keep getting the expired value until the replacement is available,
+ * instead of waiting for it.
+ * </p>
+ */
+public final class BoundedConcurrentCache<K, V> extends ConcurrentCache<K, V> {
+
+    private final ExpiryChecker<K, V> checker;
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final WindowTinyLfuPolicy<Node<K, V>> policy;
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder creations = new LongAdder();
+    private final LongAdder creationTime = new LongAdder();
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param f used to create new instances of objects that are not already available
+     * @param checker used to check whether an object in the cache has expired
+     * @param maxSize the maximum number of entries
+     */
+    public BoundedConcurrentCache(Factory<K, V> f, ExpiryChecker<K, V> checker, int maxSize) {
+        super(f);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid maximum size: " + maxSize);
+        }
+        this.checker = checker;
+        this.maxSize = maxSize;
+        policy = new WindowTinyLfuPolicy<>(maxSize, maxSize, victim -> data.remove(victim.key, victim));
+    }
+
+    // ---------------------------------------------- Methods from ConcurrentCache
+
+    @Override
+    public V get(K key) throws ExecutionException {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            Node<K, V> created = new Node<>(key, newTask(key));
+            node = data.putIfAbsent(key, created);
+            if (node == null) {
+                V value = create(created, created.task);
+                admit(created);
+                return value;
+            }
+        } else {
+            hits.increment();
+        }
+
+        policy.recordAccess(node);
+        V value = getValue(node, node.task);
+        if (checker.isExpired(key, value) && node.refreshing.compareAndSet(false, true)) {
+            try {
+                FutureTask<V> task = newTask(key);
+                value = create(node, task);
+                node.task = task;
+            } finally {
+                node.refreshing.set(false);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null || !node.task.isDone()) {
+            return false;
+        }
+
+        try {
+            return !checker.isExpired(key, node.task.get());
+        } catch (ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            throw new FacesException(e);
+        }
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the number of cached entries.
+     */
+    public int getSize() {
+        return data.size();
+    }
+
+    /**
+     * @return the maximum number of cached entries.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the number of requests which found their key in the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of requests which did not find their key in the cache.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries evicted because the cache was full.
+     */
+    public long getEvictionCount() {
+        return policy.getEvictionCount();
+    }
+
+    /**
+     * @return the number of values created, including the replacements of expired values.
+     */
+    public long getCreationCount() {
+        return creations.sum();
+    }
+
+    /**
+     * @return the total time spent creating values, in nanoseconds.
+     */
+    public long getCreationTime() {
+        return creationTime.sum();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private FutureTask<V> newTask(K key) {
+        return new FutureTask<>(() -> getFactory().newInstance(key));
+    }
+
+    /**
+     * Runs the task in the calling thread and returns its value. If it fails, the node is removed so that the next
+     * request tries again.
+     */
+    private V create(Node<K, V> node, FutureTask<V> task) throws ExecutionException {
+        long start = System.nanoTime();
+        task.run();
+        creationTime.add(System.nanoTime() - start);
+        creations.increment();
+        return getValue(node, task);
+    }
+
+    private V getValue(Node<K, V> node, FutureTask<V> task) throws ExecutionException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            remove(node);
+            throw e;
+        } catch (InterruptedException e) {
+            throw new FacesException(e);
+        }
+    }
+
+    private void admit(Node<K, V> node) {
+        policy.lock();
+        try {
+            if (data.get(node.key) == node) {
+                policy.add(node);
+            }
+        } finally {
+            policy.unlock();
+        }
+    }
+
+    private void remove(Node<K, V> node) {
+        policy.lock();
+        try {
+            if (data.remove(node.key, node)) {
+                policy.remove(node);
+            }
+        } finally {
+            policy.unlock();
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class Node<K, V> extends WindowTinyLfuPolicy.Node {
+
+        private final K key;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile FutureTask<V> task;
+
+        private Node(K key, FutureTask<V> task) {
+            super(key.hashCode(), 1);
+            this.key = key;
+            this.task = task;
+        }
+    }
+
+}
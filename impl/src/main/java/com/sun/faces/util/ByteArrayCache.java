@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A cache of byte arrays bounded by their total size, shared by all threads of the application.
+ *
+ * <p>
+ * Eviction follows the {@link WindowTinyLfuPolicy}, each entry weighing its number of bytes. This keeps frequently used
+ * entries in memory even under a burst of entries, such as view state, that are only used once.
+ * </p>
+ *
+ * <p>
+ * When a spill size is configured, evicted entries are written to a memory-mapped file and moved back into memory when
+ * they are requested again.
+ * </p>
+ *
+ * <p>
+ * Reads of entries in memory never block: the entries are held in a {@link ConcurrentHashMap}, and reads only record
+ * their access when the eviction policy is not busy. Entries only move between memory and the spill file while holding
+ * the policy lock.
+ * </p>
+ */
+public class ByteArrayCache {
+
+    private static final Logger LOGGER = FacesLogger.APPLICATION.getLogger();
+
+    private final ConcurrentHashMap<String, Node> data = new ConcurrentHashMap<>();
+    private final WindowTinyLfuPolicy<Node> policy;
+    private final long maxSize;
+    private final MappedSpillFile spillFile;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder spills = new LongAdder();
+    private final LongAdder spillHits = new LongAdder();
+    private volatile long size;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param maxSize the maximum number of bytes kept in memory.
+     * @param expectedEntrySize the expected size of an entry in bytes, used to size the frequency sketch.
+     * @param spillDirectory the directory of the spill file, or <code>null</code> if entries are not spilled.
+     * @param maxSpillSize the size of the spill file in bytes, or <code>0</code> if entries are not spilled.
+     */
+    public ByteArrayCache(long maxSize, int expectedEntrySize, File spillDirectory, int maxSpillSize) {
+        this.maxSize = maxSize;
+        policy = new WindowTinyLfuPolicy<>(maxSize, (int) Math.min(Integer.MAX_VALUE, maxSize / Math.max(1, expectedEntrySize)), this::evicted);
+        spillFile = createSpillFile(spillDirectory, maxSpillSize);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param key the key.
+     * @return the value of the key, or <code>null</code> if it is not cached.
+     */
+    public byte[] get(String key) {
+        Node node = data.get(key);
+        if (node != null) {
+            hits.increment();
+            policy.recordAccess(node);
+            return node.value;
+        }
+
+        if (spillFile != null) {
+            byte[] value = promote(key);
+            if (value != null) {
+                return value;
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Cache the value, evicting the least valuable entries if the cache grows beyond its maximum size.
+     *
+     * @param key the key.
+     * @param value the value.
+     */
+    public void put(String key, byte[] value) {
+        Node node = new Node(key, value);
+        policy.lock();
+        try {
+            if (spillFile != null) {
+                spillFile.remove(key);
+            }
+
+            if (value.length > maxSize) {
+                removeNode(key);
+                spill(node);
+            } else {
+                addNode(node);
+            }
+        } finally {
+            policy.unlock();
+        }
+    }
+
+    /**
+     * @param key the key to remove.
+     */
+    public void remove(String key) {
+        policy.lock();
+        try {
+            if (spillFile != null) {
+                spillFile.remove(key);
+            }
+
+            removeNode(key);
+        } finally {
+            policy.unlock();
+        }
+    }
+
+    /**
+     * Release the spill file.
+     */
+    public void close() {
+        if (spillFile != null) {
+            try {
+                spillFile.close();
+            } catch (IOException ioe) {
+                LOGGER.log(Level.FINEST, "Closing spill file", ioe);
+            }
+        }
+    }
+
+    /**
+     * @return the number of entries in memory.
+     */
+    public int getEntryCount() {
+        return data.size();
+    }
+
+    /**
+     * @return the number of bytes of the entries in memory.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the maximum number of bytes of the entries in memory.
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the number of entries in the spill file.
+     */
+    public int getSpillEntryCount() {
+        return spillFile != null ? spillFile.size() : 0;
+    }
+
+    /**
+     * @return the number of bytes of the entries in the spill file.
+     */
+    public long getSpillSize() {
+        return spillFile != null ? spillFile.getBytes() : 0;
+    }
+
+    /**
+     * @return the number of requests answered from memory.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of requests answered from the spill file.
+     */
+    public long getSpillHitCount() {
+        return spillHits.sum();
+    }
+
+    /**
+     * @return the number of requests for entries that were not cached.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries evicted from memory.
+     */
+    public long getEvictionCount() {
+        return policy.getEvictionCount();
+    }
+
+    /**
+     * @return the number of entries written to the spill file.
+     */
+    public long getSpillCount() {
+        return spills.sum();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * Move the entry of the key from the spill file back into memory. Entries only move between memory and the spill
+     * file while holding the policy lock, and the key is looked up in memory again once the lock is held, so that a
+     * concurrent request for the same key, which may have just promoted it, finds it in either place.
+     */
+    private byte[] promote(String key) {
+        policy.lock();
+        try {
+            Node node = data.get(key);
+            if (node != null) {
+                hits.increment();
+                return node.value;
+            }
+
+            byte[] value = spillFile.take(key);
+            if (value != null) {
+                spillHits.increment();
+                addNode(new Node(key, value));
+            }
+            return value;
+        } finally {
+            policy.unlock();
+        }
+    }
+
+    /**
+     * Must be called while holding the policy lock.
+     */
+    private void addNode(Node node) {
+        Node previous = data.put(node.key, node);
+        if (previous != null) {
+            policy.remove(previous);
+        }
+        policy.add(node);
+        size = policy.getWeight();
+    }
+
+    /**
+     * Must be called while holding the policy lock.
+     */
+    private void removeNode(String key) {
+        Node node = data.remove(key);
+        if (node != null) {
+            policy.remove(node);
+            size = policy.getWeight();
+        }
+    }
+
+    /**
+     * Called by the policy, while holding its lock, for each entry evicted from memory.
+     */
+    private void evicted(Node victim) {
+        data.remove(victim.key, victim);
+        spill(victim);
+    }
+
+    private void spill(Node node) {
+        if (spillFile != null && spillFile.write(node.key, node.value)) {
+            spills.increment();
+        }
+    }
+
+    private static MappedSpillFile createSpillFile(File spillDirectory, int maxSpillSize) {
+        if (spillDirectory == null || maxSpillSize <= 0) {
+            return null;
+        }
+
+        try {
+            return new MappedSpillFile(spillDirectory, maxSpillSize);
+        } catch (IOException | RuntimeException e) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "faces.util.bytearraycache.spill_unavailable", new Object[] { spillDirectory });
+                LOGGER.log(Level.WARNING, "", e);
+            }
+            return null;
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class Node extends WindowTinyLfuPolicy.Node {
+
+        private final String key;
+        private final byte[] value;
+
+        private Node(String key, byte[] value) {
+            super(key.hashCode(), value.length);
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+}
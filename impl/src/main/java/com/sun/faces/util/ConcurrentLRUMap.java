@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A bounded map with LRU eviction that is safe for concurrent use without locking.
+ *
+ * <p>
+ * Entries live in a {@link ConcurrentHashMap}. Every access stamps the entry with the value of a shared logical clock,
+ * and when the map grows beyond its capacity the entry with the oldest stamp is removed with a compare-and-remove, so
+ * concurrent evictions never remove an entry that was replaced in the meantime. Reads never block.
+ * </p>
+ *
+ * <p>
+ * Eviction scans the entries, which is cheap for the small capacities this map is meant for (such as the number of
+ * views kept in the session).
+ * </p>
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public class ConcurrentLRUMap<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 6829214417385621410L;
+
+    private final ConcurrentHashMap<K, Entry<V>> map;
+    private final int maxCapacity;
+    private final AtomicLong clock = new AtomicLong();
+
+    // ------------------------------------------------------------ Constructors
+
+    public ConcurrentLRUMap(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+        map = new ConcurrentHashMap<>(maxCapacity + 1);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param key the key.
+     * @return the value for the key, or <code>null</code> if there is none. The entry is marked as most recently used.
+     */
+    public V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.stamp = clock.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * @param key the key.
+     * @return <code>true</code> if there is a value for the key. The entry is <em>not</em> marked as used.
+     */
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    /**
+     * Associate the value with the key, evicting the least recently used entries if the capacity is exceeded.
+     *
+     * @param key the key.
+     * @param value the value.
+     * @return the previous value, or <code>null</code> if there was none.
+     */
+    public V put(K key, V value) {
+        Entry<V> previous = map.put(key, new Entry<>(value, clock.incrementAndGet()));
+        evict();
+        return previous != null ? previous.value : null;
+    }
+
+    /**
+     * Get the value for the key, creating it with the given function if there is none.
+     *
+     * @param key the key.
+     * @param mappingFunction the function creating the value.
+     * @return the (possibly new) value.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        boolean[] created = new boolean[1];
+        Entry<V> entry = map.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return new Entry<>(mappingFunction.apply(k), clock.incrementAndGet());
+        });
+        if (created[0]) {
+            evict();
+        } else {
+            entry.stamp = clock.incrementAndGet();
+        }
+        return entry.value;
+    }
+
+    /**
+     * @param key the key.
+     * @return the removed value, or <code>null</code> if there was none.
+     */
+    public V remove(K key) {
+        Entry<V> previous = map.remove(key);
+        return previous != null ? previous.value : null;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void evict() {
+        while (map.size() > maxCapacity) {
+            K eldestKey = null;
+            Entry<V> eldest = null;
+            for (Map.Entry<K, Entry<V>> candidate : map.entrySet()) {
+                Entry<V> entry = candidate.getValue();
+                if (eldest == null || entry.stamp < eldest.stamp) {
+                    eldestKey = candidate.getKey();
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            map.remove(eldestKey, eldest);
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class Entry<V> implements Serializable {
+
+        private static final long serialVersionUID = -3160823540385915043L;
+
+        private final V value;
+        private volatile long stamp;
+
+        Entry(V value, long stamp) {
+            this.value = value;
+            this.stamp = stamp;
+        }
+    }
+
+    // TEST: com.sun.faces.util.ConcurrentLRUMapTest
+}
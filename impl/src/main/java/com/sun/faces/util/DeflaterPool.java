@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A pool of {@link Deflater}s, {@link Inflater}s and byte buffers, so that compressing and decompressing small
+ * payloads, such as client side view state, does not allocate native zlib streams and buffers for every request.
+ *
+ * <p>
+ * A bounded pool is used rather than thread locals, so that the pooled objects are not pinned to container threads
+ * after the application is undeployed. Deflaters and inflaters are created in <code>nowrap</code> mode, the data is a
+ * raw deflate stream without a zlib or gzip header.
+ * </p>
+ */
+public final class DeflaterPool {
+
+    private static final int MAX_POOLED = 64;
+
+    /**
+     * Buffers that grew beyond this size are not pooled.
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+    private final int level;
+    private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+    private final Queue<Inflater> inflaters = new ConcurrentLinkedQueue<>();
+    private final Queue<Buffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger deflaterCount = new AtomicInteger();
+    private final AtomicInteger inflaterCount = new AtomicInteger();
+    private final AtomicInteger bufferCount = new AtomicInteger();
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param level the compression level of the deflaters, from <code>0</code> to <code>9</code>, or
+     * {@link Deflater#DEFAULT_COMPRESSION}.
+     */
+    public DeflaterPool(int level) {
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        this.level = level;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return a deflater, to be handed back with {@link #release(Deflater)}.
+     */
+    public Deflater borrowDeflater() {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            return new Deflater(level, true);
+        }
+        deflaterCount.decrementAndGet();
+        return deflater;
+    }
+
+    /**
+     * @param deflater the deflater to reset and return to the pool.
+     */
+    public void release(Deflater deflater) {
+        deflater.reset();
+        if (deflaterCount.incrementAndGet() <= MAX_POOLED) {
+            deflaters.offer(deflater);
+        } else {
+            deflaterCount.decrementAndGet();
+            deflater.end();
+        }
+    }
+
+    /**
+     * @return an inflater, to be handed back with {@link #release(Inflater)}.
+     */
+    public Inflater borrowInflater() {
+        Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            return new Inflater(true);
+        }
+        inflaterCount.decrementAndGet();
+        return inflater;
+    }
+
+    /**
+     * @param inflater the inflater to reset and return to the pool.
+     */
+    public void release(Inflater inflater) {
+        inflater.reset();
+        if (inflaterCount.incrementAndGet() <= MAX_POOLED) {
+            inflaters.offer(inflater);
+        } else {
+            inflaterCount.decrementAndGet();
+            inflater.end();
+        }
+    }
+
+    /**
+     * @return an empty buffer, to be handed back with {@link #release(Buffer)}.
+     */
+    public Buffer borrowBuffer() {
+        Buffer buffer = buffers.poll();
+        if (buffer == null) {
+            return new Buffer();
+        }
+        bufferCount.decrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * @param buffer the buffer to clear and return to the pool.
+     */
+    public void release(Buffer buffer) {
+        if (buffer.capacity() > MAX_POOLED_BUFFER_SIZE) {
+            return;
+        }
+        buffer.reset();
+        if (bufferCount.incrementAndGet() <= MAX_POOLED) {
+            buffers.offer(buffer);
+        } else {
+            bufferCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the compression level of the deflaters.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * A <code>ByteArrayOutputStream</code> giving access to its internal array, so that its content can be used without
+     * being copied.
+     */
+    public static final class Buffer extends ByteArrayOutputStream {
+
+        private Buffer() {
+            super(8192);
+        }
+
+        /**
+         * @return the internal array, holding {@link #size()} valid bytes.
+         */
+        public byte[] getBytes() {
+            return buf;
+        }
+
+        private int capacity() {
+            return buf.length;
+        }
+    }
+
+}
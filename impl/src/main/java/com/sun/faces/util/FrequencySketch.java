@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+/**
+ * A probabilistic frequency counter (a count-min sketch with 4-bit counters) used as the admission filter of
+ * {@link WindowTinyLfuPolicy}.
+ *
+ * <p>
+ * Every key is hashed into four counters; its estimated frequency is the smallest of them. Once the number of
+ * recorded accesses reaches ten times the width of the sketch all counters are halved, so the frequencies reflect
+ * recent popularity rather than the whole history of the application.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe, callers are expected to guard it.
+ * </p>
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param expectedEntries the expected number of entries, used to size the sketch.
+     */
+    FrequencySketch(int expectedEntries) {
+        int length = Integer.highestOneBit(Math.max(16, Math.min(expectedEntries, 1 << 24)) - 1) << 1;
+        table = new long[length];
+        tableMask = length - 1;
+        sampleSize = 10 * length;
+    }
+
+    // ------------------------------------------------------- Package Methods
+
+    /**
+     * @param hash the hash code of the key.
+     * @return the estimated number of recent accesses of the key, between 0 and 15.
+     */
+    int frequency(int hash) {
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            frequency = Math.min(frequency, (int) (table[indexOf(hash, i)] >>> counterOffset(hash, i) & 0xfL));
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Record an access of the key.
+     *
+     * @param hash the hash code of the key.
+     */
+    void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int offset = counterOffset(hash, i);
+            long mask = 0xfL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = table[i] >>> 1 & RESET_MASK;
+        }
+        size /= 2;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static int counterOffset(int hash, int i) {
+        // each long holds 16 counters, the two low bits of the spread hash select a group of 4 per row
+        return (((spread(hash) >>> (i << 3)) & 3) << 2 | i) << 2;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9e3779b9;
+        return h ^ h >>> 16;
+    }
+
+}
@@ -55,12 +55,38 @@ public class HtmlUtils {
 
         int end = start + length;
         for (int i = start; i < end; i++) {
-            buffIndex = writeTextChar(out, escapeUnicode, escapeIsocode, text[i], buffIndex, buff, buffLength, forXml);
+            if (isUnescapedTextChar(text[i])) {
+                // copy the whole run of characters which need no escaping at once
+                int runStart = i;
+                while (i + 1 < end && isUnescapedTextChar(text[i + 1])) {
+                    i++;
+                }
+                int runLength = i - runStart + 1;
+                if (runLength > buffLength - buffIndex) {
+                    buffIndex = flushBuffer(out, buff, buffIndex);
+                    if (runLength > buffLength) {
+                        out.write(text, runStart, runLength);
+                        continue;
+                    }
+                }
+                System.arraycopy(text, runStart, buff, buffIndex, runLength);
+                buffIndex += runLength;
+            } else {
+                buffIndex = writeTextChar(out, escapeUnicode, escapeIsocode, text[i], buffIndex, buff, buffLength, forXml);
+            }
         }
 
         flushBuffer(out, buff, buffIndex);
     }
 
+    /**
+     * @return <code>true</code> if {@link #writeTextChar} would write the character as is, regardless of the escaping
+     * flags.
+     */
+    private static boolean isUnescapedTextChar(char ch) {
+        return ch >= 0x20 && ch < 0xA0 && ch != '<' && ch != '>' && ch != '&';
+    }
+
     /**
      * Write String text.
      */
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.logging.Level.FINE;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * Creates instances through the public no-argument constructor of a class without reflection. The {@link Supplier} for
+ * a class is generated once and then kept with the class, creating an instance is then as cheap as a <code>new</code>.
+ * </p>
+ *
+ * <p>
+ * Classes visible to Mojarra, such as the standard components, get a supplier generated by the
+ * {@link LambdaMetafactory}. Other classes, such as the ones of the web application, get a supplier invoking a
+ * {@link MethodHandle} of the constructor, as a generated class cannot refer to them.
+ * </p>
+ */
+public final class Instantiator {
+
+    private static final Logger LOGGER = FacesLogger.UTIL.getLogger();
+
+    private static final MethodType SUPPLIER_FACTORY_TYPE = methodType(Supplier.class);
+    private static final MethodType SUPPLIER_GET_TYPE = methodType(Object.class);
+
+    private static final Supplier<Object> UNAVAILABLE = () -> null;
+
+    private static final ClassValue<Supplier<?>> SUPPLIERS = new ClassValue<>() {
+        @Override
+        protected Supplier<?> computeValue(Class<?> type) {
+            return createSupplier(type);
+        }
+    };
+
+    // ------------------------------------------------------------ Constructors
+
+    private Instantiator() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param <T> the type of the instances
+     * @param type the class to create instances of
+     * @return the supplier of new instances of the class, or <code>null</code> if the class is not public, is abstract or
+     * has no public no-argument constructor. Instances of such classes have to be created reflectively, in order to report
+     * the problem the same way as before.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> getSupplier(Class<T> type) {
+        Supplier<?> supplier = SUPPLIERS.get(type);
+        return supplier != UNAVAILABLE ? (Supplier<T>) supplier : null;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static Supplier<?> createSupplier(Class<?> type) {
+        int modifiers = type.getModifiers();
+        if (!Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers) || type.isMemberClass() && !Modifier.isStatic(modifiers)) {
+            return UNAVAILABLE;
+        }
+
+        MethodHandle constructor;
+        try {
+            constructor = MethodHandles.publicLookup().findConstructor(type, methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return UNAVAILABLE;
+        }
+
+        if (isVisible(type)) {
+            try {
+                return (Supplier<?>) LambdaMetafactory
+                        .metafactory(MethodHandles.lookup(), "get", SUPPLIER_FACTORY_TYPE, SUPPLIER_GET_TYPE, constructor, methodType(type))
+                        .getTarget()
+                        .invoke();
+            } catch (Throwable t) {
+                if (LOGGER.isLoggable(FINE)) {
+                    LOGGER.log(FINE, "Unable to generate a supplier for " + type.getName() + ", using its constructor handle", t);
+                }
+            }
+        }
+
+        MethodHandle genericConstructor = constructor.asType(SUPPLIER_GET_TYPE);
+        return () -> {
+            try {
+                return genericConstructor.invokeExact();
+            } catch (Throwable t) {
+                throw Instantiator.<RuntimeException>sneakyThrow(t);
+            }
+        };
+    }
+
+    /**
+     * @return <code>true</code> if the given class can be referred to by a class generated in this package
+     */
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, Instantiator.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rethrows the exception thrown by a constructor as it is, exactly as a <code>new</code> would do.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E sneakyThrow(Throwable t) throws E {
+        throw (E) t;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * <p>
+ * Registers the MBeans of Mojarra with the platform MBean server, as
+ * <code>com.sun.faces:type=&lt;type&gt;,application=&lt;context path&gt;,id=&lt;owner&gt;</code>. The id tells apart
+ * the MBeans of applications deployed more than once under the same context path, for instance while redeploying.
+ * </p>
+ */
+public final class JmxUtils {
+
+    private static final Logger LOGGER = FacesLogger.UTIL.getLogger();
+
+    // ------------------------------------------------------------ Constructors
+
+    private JmxUtils() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Registers the MBean, logging a warning if it cannot be registered.
+     *
+     * @param mbean the MBean to register
+     * @param type the type of the MBean in its object name
+     * @param application the context path of the application
+     * @param owner the object the MBean belongs to, its identity is the id of the MBean
+     * @param description what the MBean exposes, used in the warning
+     * @return the object name the MBean was registered under, or <code>null</code> if it could not be registered
+     */
+    public static ObjectName registerMBean(Object mbean, String type, String application, Object owner, String description) {
+        try {
+            ObjectName name = new ObjectName("com.sun.faces:type=" + type + ",application=" + ObjectName.quote(application) + ",id="
+                    + Integer.toHexString(System.identityHashCode(owner)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, name);
+            return name;
+        } catch (JMException | RuntimeException e) {
+            LOGGER.log(WARNING, "Unable to register " + description + " with JMX", e);
+            return null;
+        }
+    }
+
+    /**
+     * Unregisters the MBean, if it was registered.
+     *
+     * @param name the object name returned by {@link #registerMBean(Object, String, String, Object, String)}, may be
+     * <code>null</code>
+     */
+    public static void unregisterMBean(ObjectName name) {
+        if (name == null) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            LOGGER.log(FINE, "Unable to unregister " + name, e);
+        }
+    }
+
+}
@@ -31,19 +31,26 @@ import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
 import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
 
 /**
  * <p>
@@ -52,9 +59,10 @@ import jakarta.json.stream.JsonGenerator;
  * This supports the standard types {@link Boolean}, {@link Number}, {@link Character}, {@link CharSequence},
  * {@link Date}, {@link LocalDate} and {@link Instant}. If the given object type does not match any of them, then it
  * will attempt to inspect the object as a JavaBean using the {@link Introspector}, whereby the public properties
- * (public getters) will be encoded as a JS object. It also supports arrays, {@link Collection}s and {@link Map}s of
- * them, even nested ones. The dates are formatted as ISO8601 instant via {@link DateTimeFormatter#ISO_INSTANT}, so you
- * can if necessary just pass the value straight to <code>new Date(value)</code> in JavaScript.
+ * (public getters) will be encoded as a JS object. Each bean class is inspected only once. It also supports arrays,
+ * {@link Collection}s and {@link Map}s of them, even nested ones. The dates are formatted as ISO8601 instant via
+ * {@link DateTimeFormatter#ISO_INSTANT}, so you can if necessary just pass the value straight to
+ * <code>new Date(value)</code> in JavaScript.
  * <p>
  * Below encoding options are available:
  * <ul>
@@ -72,6 +80,13 @@ public class Json {
     private static final String ERROR_INVALID_BEAN = "Cannot introspect object of type '%s' as bean.";
     private static final String ERROR_INVALID_GETTER = "Cannot invoke getter of property '%s' of bean '%s'.";
 
+    private static final ClassValue<BeanProperty[]> BEAN_PROPERTIES = new ClassValue<>() {
+        @Override
+        protected BeanProperty[] computeValue(Class<?> beanClass) {
+            return getBeanProperties(beanClass);
+        }
+    };
+
     public enum Option {
 
         /**
@@ -112,13 +127,21 @@ public class Json {
      * @throws IllegalArgumentException When given object or one of its properties cannot be inspected as a JavaBean.
      */
     public static void encode(Object object, Writer writer, Option... options) {
-        try (JsonGenerator generator = jakarta.json.Json.createGenerator(writer)) {
+        try (JsonGenerator generator = GeneratorFactory.INSTANCE.createGenerator(writer)) {
             generator.writeStartObject();
             encode("data", object, generator, options.length == 0 ? noneOf(Option.class) : copyOf(asList(options)));
             generator.writeEnd();
         }
     }
 
+    /**
+     * Looking up the JSON provider is expensive, so the generator factory is created once, on first use, as the JSON API
+     * is an optional dependency.
+     */
+    private static final class GeneratorFactory {
+        private static final JsonGeneratorFactory INSTANCE = jakarta.json.Json.createGeneratorFactory(null);
+    }
+
     private static void encode(String name, Object object, JsonGenerator generator, EnumSet<Option> options) {
         if (object == null) {
             encodeNull(name, generator);
@@ -232,11 +255,15 @@ public class Json {
 
         boolean skipNullValues = options.contains(SKIP_NULL_VALUES);
 
-        for (int i = 0; i < Array.getLength(array); i++) {
-            Object value = Array.get(array, i);
-
-            if (!(value == null && skipNullValues)) {
-                encode(null, value, generator, options);
+        if (array instanceof Object[]) {
+            for (Object value : (Object[]) array) {
+                if (!(value == null && skipNullValues)) {
+                    encode(null, value, generator, options);
+                }
+            }
+        } else {
+            for (int i = 0; i < Array.getLength(array); i++) {
+                encode(null, Array.get(array, i), generator, options);
             }
         }
 
@@ -282,13 +309,7 @@ public class Json {
     }
 
     private static void encodeBean(String name, Object bean, JsonGenerator generator, EnumSet<Option> options) {
-        BeanInfo beanInfo;
-
-        try {
-            beanInfo = Introspector.getBeanInfo(bean.getClass());
-        } catch (IntrospectionException e) {
-            throw new IllegalArgumentException(String.format(ERROR_INVALID_BEAN, bean.getClass()), e);
-        }
+        BeanProperty[] properties = BEAN_PROPERTIES.get(bean.getClass());
 
         if (name == null) {
             generator.writeStartObject();
@@ -298,25 +319,75 @@ public class Json {
 
         boolean skipNullValues = options.contains(SKIP_NULL_VALUES);
 
+        for (BeanProperty property : properties) {
+            Object value = property.getValue(bean);
+
+            if (!(value == null && skipNullValues)) {
+                encode(property.name, value, generator, options);
+            }
+        }
+
+        generator.writeEnd();
+    }
+
+    private static BeanProperty[] getBeanProperties(Class<?> beanClass) {
+        BeanInfo beanInfo;
+
+        try {
+            beanInfo = Introspector.getBeanInfo(beanClass);
+        } catch (IntrospectionException e) {
+            throw new IllegalArgumentException(String.format(ERROR_INVALID_BEAN, beanClass), e);
+        }
+
+        List<BeanProperty> properties = new ArrayList<>();
+
         for (PropertyDescriptor property : beanInfo.getPropertyDescriptors()) {
             if (property.getReadMethod() == null || "class".equals(property.getName())) {
                 continue;
             }
 
-            Object value;
+            properties.add(new BeanProperty(property.getName(), beanClass, property.getReadMethod()));
+        }
+
+        return properties.toArray(new BeanProperty[properties.size()]);
+    }
+
+    /**
+     * A readable bean property, with its getter as a method handle. A getter which cannot be accessed fails on
+     * invocation, just like a reflective invocation would.
+     */
+    private static final class BeanProperty {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+        private final String name;
+        private final Class<?> beanClass;
+        private final MethodHandle getter;
+        private final Method readMethod;
+
+        BeanProperty(String name, Class<?> beanClass, Method readMethod) {
+            this.name = name;
+            this.beanClass = beanClass;
+
+            MethodHandle handle;
 
             try {
-                value = property.getReadMethod().invoke(bean);
-            } catch (Exception e) {
-                throw new IllegalArgumentException(String.format(ERROR_INVALID_GETTER, property.getName(), bean.getClass()), e);
+                handle = MethodHandles.publicLookup().unreflect(readMethod).asType(GETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                handle = null;
             }
 
-            if (!(value == null && skipNullValues)) {
-                encode(property.getName(), value, generator, options);
-            }
+            this.getter = handle;
+            this.readMethod = handle == null ? readMethod : null;
         }
 
-        generator.writeEnd();
+        Object getValue(Object bean) {
+            try {
+                return getter != null ? getter.invokeExact(bean) : readMethod.invoke(bean);
+            } catch (Throwable e) {
+                throw new IllegalArgumentException(String.format(ERROR_INVALID_GETTER, name, beanClass), e);
+            }
+        }
     }
 
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A fixed size, memory-mapped file used by {@link ByteArrayCache} to keep entries evicted from memory.
+ *
+ * <p>
+ * The file is written as a ring: records are appended at the write position, and once the end of the file is reached
+ * writing starts over at the beginning, overwriting the oldest records. Positions are kept as an ever increasing
+ * logical offset, so a record is known to be overwritten as soon as the write position has moved more than the size of
+ * the file past it, without having to maintain a free list.
+ * </p>
+ */
+final class MappedSpillFile implements Closeable {
+
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final Map<String, Record> records = new LinkedHashMap<>();
+    private long writePosition;
+    private long bytes;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param directory the directory to create the file in.
+     * @param capacity the size of the file in bytes.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    MappedSpillFile(File directory, int capacity) throws IOException {
+        this.capacity = capacity;
+        file = File.createTempFile("viewstate", ".spill", directory);
+        file.deleteOnExit();
+        randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            randomAccessFile.setLength(capacity);
+            buffer = randomAccessFile.getChannel().map(READ_WRITE, 0, capacity);
+        } catch (IOException | RuntimeException e) {
+            randomAccessFile.close();
+            file.delete();
+            throw e;
+        }
+    }
+
+    // ------------------------------------------------------- Package Methods
+
+    /**
+     * Write the value, replacing any previous value of the key.
+     *
+     * @param key the key.
+     * @param value the value.
+     * @return <code>true</code> if the value was written, <code>false</code> if it does not fit in the file.
+     */
+    synchronized boolean write(String key, byte[] value) {
+        if (value.length > capacity) {
+            return false;
+        }
+
+        remove(key);
+
+        int offset = (int) (writePosition % capacity);
+        if (offset + value.length > capacity) {
+            // records never wrap around the end of the file
+            writePosition += capacity - offset;
+            offset = 0;
+        }
+
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset);
+        target.put(value);
+        records.put(key, new Record(writePosition, value.length));
+        writePosition += value.length;
+        bytes += value.length;
+        purgeOverwritten();
+
+        return true;
+    }
+
+    /**
+     * Read and remove the value of the key.
+     *
+     * @param key the key.
+     * @return the value, or <code>null</code> if the key is unknown or its record was overwritten.
+     */
+    synchronized byte[] take(String key) {
+        Record record = records.remove(key);
+        if (record == null) {
+            return null;
+        }
+
+        bytes -= record.length;
+        byte[] value = new byte[record.length];
+        ByteBuffer source = buffer.duplicate();
+        source.position((int) (record.position % capacity));
+        source.get(value);
+
+        return value;
+    }
+
+    /**
+     * @param key the key to forget.
+     */
+    synchronized void remove(String key) {
+        Record record = records.remove(key);
+        if (record != null) {
+            bytes -= record.length;
+        }
+    }
+
+    /**
+     * @return the number of bytes of the records in the file.
+     */
+    synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the number of records in the file.
+     */
+    synchronized int size() {
+        return records.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        records.clear();
+        try {
+            randomAccessFile.close();
+        } finally {
+            file.delete();
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * Forget the records overwritten by the last write. Records are kept in the order they were written, so only the
+     * eldest ones have to be checked.
+     */
+    private void purgeOverwritten() {
+        for (Iterator<Record> i = records.values().iterator(); i.hasNext();) {
+            Record record = i.next();
+            if (writePosition - record.position <= capacity) {
+                break;
+            }
+            bytes -= record.length;
+            i.remove();
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class Record {
+
+        private final long position;
+        private final int length;
+
+        private Record(long position, int length) {
+            this.position = position;
+            this.length = length;
+        }
+    }
+
+}
@@ -18,12 +18,15 @@ package com.sun.faces.util;
 
 import static java.util.logging.Level.FINE;
 
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * This class is a simple wrapper for timing method calls. The traditional method is to add two variables, start, and
  * stop, and display the difference of these values. Encapsulates the process.
+ *
+ * @see com.sun.faces.spi.MetricsCollector for collecting request timings in production
  */
 public class Timer {
 
@@ -62,14 +65,14 @@ public class Timer {
      * Start timing.
      */
     public void startTiming() {
-        start = System.currentTimeMillis();
+        start = System.nanoTime();
     }
 
     /**
      * Stop timing.
      */
     public void stopTiming() {
-        stop = System.currentTimeMillis();
+        stop = System.nanoTime();
     }
 
     /**
@@ -86,9 +89,9 @@ public class Timer {
     // --------------------------------------------------------- Private Methods
 
     /**
-     * @return the time for this task
+     * @return the time for this task in milliseconds
      */
     private long getTimingResult() {
-        return stop - start;
+        return TimeUnit.NANOSECONDS.toMillis(stop - start);
     }
 }
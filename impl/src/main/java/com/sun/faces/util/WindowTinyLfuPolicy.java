@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * The W-TinyLFU eviction policy of {@link ByteArrayCache} and {@link BoundedConcurrentCache}. New entries enter an
+ * LRU window of ten percent of the capacity, as entries are most likely to be requested shortly after they were
+ * added. Entries leaving the window are admitted into the main LRU segment, and when the cache is full the newly
+ * admitted entry and the least recently used entry of the main segment are compared by their estimated access
+ * frequency, as recorded by a {@link FrequencySketch}. The newly admitted entry is evicted if it is less popular,
+ * otherwise the least recently used one is.
+ * </p>
+ *
+ * <p>
+ * The capacity is expressed as a total weight, each entry having a fixed weight given by its {@link Node}. The policy
+ * only orders the entries, the caller holds them and is told about evicted entries through the eviction listener.
+ * All methods except {@link #recordAccess(Node)} must be called while holding the policy lock.
+ * </p>
+ *
+ * @param <N> the type of the entries
+ */
+final class WindowTinyLfuPolicy<N extends WindowTinyLfuPolicy.Node> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final Segment window = new Segment();
+    private final Segment main = new Segment();
+    private final long maxWeight;
+    private final long maxWindowWeight;
+    private final Consumer<N> evictionListener;
+    private final LongAdder evictions = new LongAdder();
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param maxWeight the maximum total weight of the entries.
+     * @param expectedEntries the expected number of entries, used to size the frequency sketch.
+     * @param evictionListener notified of each evicted entry, while the policy lock is held.
+     */
+    WindowTinyLfuPolicy(long maxWeight, int expectedEntries, Consumer<N> evictionListener) {
+        this.maxWeight = maxWeight;
+        maxWindowWeight = Math.max(1, maxWeight / 10);
+        sketch = new FrequencySketch(expectedEntries);
+        this.evictionListener = evictionListener;
+    }
+
+    // ------------------------------------------------------- Package Methods
+
+    void lock() {
+        lock.lock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    /**
+     * Record an access of the entry, unless the policy is busy: reads never block.
+     *
+     * @param node the accessed entry.
+     */
+    void recordAccess(Node node) {
+        if (lock.tryLock()) {
+            try {
+                sketch.increment(node.hash);
+                if (node.segment != null) {
+                    node.segment.moveToTail(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Add the entry to the window, and evict entries until the total weight fits into the maximum weight.
+     *
+     * @param entry the new entry.
+     */
+    void add(N entry) {
+        Node node = entry;
+        sketch.increment(node.hash);
+        window.addTail(node);
+        evict();
+    }
+
+    /**
+     * @param node the entry to remove, if it was added and not yet removed or evicted.
+     */
+    void remove(Node node) {
+        if (node.segment != null) {
+            node.segment.remove(node);
+        }
+    }
+
+    /**
+     * @return the total weight of the entries.
+     */
+    long getWeight() {
+        return window.weight + main.weight;
+    }
+
+    /**
+     * @return the number of entries evicted because the maximum weight was exceeded.
+     */
+    long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * Move the entries overflowing the window into the main segment, and evict entries until the total weight fits into
+     * the maximum weight.
+     */
+    @SuppressWarnings("unchecked")
+    private void evict() {
+        Node candidate = null;
+        while (window.weight > maxWindowWeight && window.head != null) {
+            candidate = window.head;
+            window.remove(candidate);
+            main.addTail(candidate);
+        }
+
+        while (window.weight + main.weight > maxWeight) {
+            Node victim = main.head;
+            if (victim == null) {
+                victim = window.head;
+            } else if (candidate != null && candidate != victim && candidate.segment == main) {
+                if (sketch.frequency(candidate.hash) < sketch.frequency(victim.hash)) {
+                    victim = candidate;
+                }
+                candidate = null;
+            }
+
+            victim.segment.remove(victim);
+            evictions.increment();
+            evictionListener.accept((N) victim);
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * An entry of the policy, extended by the entries of the caches.
+     */
+    abstract static class Node {
+
+        private final int hash;
+        private final long weight;
+        private Segment segment;
+        private Node previous;
+        private Node next;
+
+        /**
+         * @param hash the hash code of the key.
+         * @param weight the weight of the entry.
+         */
+        Node(int hash, long weight) {
+            this.hash = hash;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A doubly linked list of nodes in LRU order, the head being the least recently used.
+     */
+    private static final class Segment {
+
+        private Node head;
+        private Node tail;
+        private long weight;
+
+        private void addTail(Node node) {
+            node.segment = this;
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            weight += node.weight;
+        }
+
+        private void remove(Node node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.segment = null;
+            node.previous = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        private void moveToTail(Node node) {
+            if (node != tail) {
+                remove(node);
+                addTail(node);
+            }
+        }
+    }
+
+}
@@ -237,6 +237,19 @@ public class UIData extends UIComponentBase implements NamingContainer, UniqueId
     private Map<String, Object> _rowDeltaStates = new HashMap<>();
     private Map<String, Object> _rowTransientStates = new HashMap<>();
 
+    /**
+     * <p>
+     * Flag indicating whether the descendants are known to be in their initial state, because it was restored when
+     * entering the current row and they have not been modified since. Only used when <code>rowStatePreserved</code> is
+     * set.
+     * </p>
+     *
+     * <p>
+     * This is not part of the component state.
+     * </p>
+     */
+    private boolean _descendantsAtInitialState;
+
     private Object _initialDescendantFullComponentState = null;
 
     // -------------------------------------------------------------- Properties
@@ -527,6 +540,7 @@ public class UIData extends UIComponentBase implements NamingContainer, UniqueId
             Map<String, Object> sm = saveFullDescendantComponentStates(facesContext, null, getChildren().iterator(), false);
             if (sm != null && !sm.isEmpty()) {
                 _rowDeltaStates.put(getContainerClientId(facesContext), sm);
+                _descendantsAtInitialState = false;
             }
             if (getRowIndex() != -1) {
                 _rowTransientStates.put(getContainerClientId(facesContext),
@@ -565,11 +579,21 @@ public class UIData extends UIComponentBase implements NamingContainer, UniqueId
         if (_initialDescendantFullComponentState != null) {
             Object rowState = _rowDeltaStates.get(getContainerClientId(facesContext));
             if (rowState == null) {
-                // Restore as original
-                restoreFullDescendantComponentStates(facesContext, getChildren().iterator(), _initialDescendantFullComponentState, false);
+                if (_descendantsAtInitialState) {
+                    // Nothing was modified since the original was restored, only the client ids need to change
+                    for (UIComponent child : getChildren()) {
+                        resetClientIds(child);
+                        child.setId(child.getId());
+                    }
+                } else {
+                    // Restore as original
+                    restoreFullDescendantComponentStates(facesContext, getChildren().iterator(), _initialDescendantFullComponentState, false);
+                    _descendantsAtInitialState = true;
+                }
             } else {
                 // Restore first original and then delta
                 restoreFullDescendantComponentDeltaStates(facesContext, getChildren().iterator(), rowState, _initialDescendantFullComponentState, false);
+                _descendantsAtInitialState = false;
             }
             if (getRowIndex() == -1) {
                 restoreTransientDescendantComponentStates(facesContext, getChildren().iterator(), null, false);
@@ -1424,6 +1448,7 @@ public class UIData extends UIComponentBase implements NamingContainer, UniqueId
 
     @Override
     public void markInitialState() {
+        _descendantsAtInitialState = false;
         if (isRowStatePreserved()) {
             if (getFacesContext().getAttributes().containsKey(StateManager.IS_BUILDING_INITIAL_STATE)) {
                 _initialDescendantFullComponentState = saveDescendantInitialComponentStates(getFacesContext(), getChildren().iterator(), false);
@@ -1622,6 +1647,7 @@ public class UIData extends UIComponentBase implements NamingContainer, UniqueId
             return;
         }
 
+        _descendantsAtInitialState = false;
         Object values[] = (Object[]) state;
         super.restoreState(context, values[0]);
         Object restoredRowStates = UIComponentBase.restoreAttachedState(context, values[1]);
@@ -2164,9 +2190,9 @@ public class UIData extends UIComponentBase implements NamingContainer, UniqueId
         // Restore state for this component (if it is a EditableValueHolder)
         if (component instanceof EditableValueHolder) {
             EditableValueHolder input = (EditableValueHolder) component;
-            String clientId = component.getClientId(context);
 
-            SavedState state = saved == null ? null : saved.get(clientId);
+            // Rows without saved state are the common case, don't compute the client id just to find that out
+            SavedState state = saved == null || saved.isEmpty() ? null : saved.get(component.getClientId(context));
             if (state == null) {
                 input.resetValue();
             } else {
@@ -2179,8 +2205,7 @@ public class UIData extends UIComponentBase implements NamingContainer, UniqueId
             }
         } else if (component instanceof UIForm) {
             UIForm form = (UIForm) component;
-            String clientId = component.getClientId(context);
-            SavedState state = saved == null ? null : saved.get(clientId);
+            SavedState state = saved == null || saved.isEmpty() ? null : saved.get(component.getClientId(context));
             if (state == null) {
                 // submitted is transient state
                 form.setSubmitted(false);
@@ -2205,6 +2230,53 @@ public class UIData extends UIComponentBase implements NamingContainer, UniqueId
 
     }
 
+    /**
+     * <p>
+     * Return <code>true</code> if the specified input has the state it would have after
+     * {@link EditableValueHolder#resetValue()}, in which case there is no state to save for it when leaving a row without
+     * saved state.
+     * </p>
+     *
+     * @param input Input to check
+     */
+    private static boolean isReset(EditableValueHolder input) {
+
+        return input.getSubmittedValue() == null && input.getLocalValue() == null && !input.isLocalValueSet() && input.isValid();
+
+    }
+
+    /**
+     * <p>
+     * Return <code>true</code> if the state of the specified input has to be saved when leaving the current row, because it
+     * differs from the reset state or because it has been saved before and the saved state needs to be updated or removed.
+     * Untouched inputs of untouched rows are still visited, but cost neither a client id nor a saved state.
+     * </p>
+     *
+     * @param input Input to check
+     * @param saved The currently saved descendant state
+     * @param context {@link FacesContext} for the current request
+     */
+    private static boolean isModified(EditableValueHolder input, Map<String, SavedState> saved, FacesContext context) {
+
+        return !isReset(input) || saved != null && !saved.isEmpty() && saved.containsKey(((UIComponent) input).getClientId(context));
+
+    }
+
+    /**
+     * <p>
+     * Return <code>true</code> if the state of the specified form has to be saved when leaving the current row.
+     * </p>
+     *
+     * @param form Form to check
+     * @param saved The currently saved descendant state
+     * @param context {@link FacesContext} for the current request
+     */
+    private static boolean isModified(UIForm form, Map<String, SavedState> saved, FacesContext context) {
+
+        return form.isSubmitted() || saved != null && !saved.isEmpty() && saved.containsKey(form.getClientId(context));
+
+    }
+
     /**
      * <p>
      * Save state information for all descendant components, as described for <code>setRowIndex()</code>.
@@ -2235,7 +2307,7 @@ public class UIData extends UIComponentBase implements NamingContainer, UniqueId
 
         // Save state for this component (if it is a EditableValueHolder)
         Map<String, SavedState> saved = (Map<String, SavedState>) getStateHelper().get(PropertyKeys.saved);
-        if (component instanceof EditableValueHolder) {
+        if (component instanceof EditableValueHolder && isModified((EditableValueHolder) component, saved, context)) {
             EditableValueHolder input = (EditableValueHolder) component;
             SavedState state = null;
             String clientId = component.getClientId(context);
@@ -2257,7 +2329,7 @@ public class UIData extends UIComponentBase implements NamingContainer, UniqueId
             } else if (saved != null) {
                 getStateHelper().remove(PropertyKeys.saved, clientId);
             }
-        } else if (component instanceof UIForm) {
+        } else if (component instanceof UIForm && isModified((UIForm) component, saved, context)) {
             UIForm form = (UIForm) component;
             String clientId = component.getClientId(context);
             SavedState state = null;
@@ -33,6 +33,7 @@ import java.time.format.DateTimeParseException;
 import java.time.format.FormatStyle;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalQuery;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Locale;
 import java.util.TimeZone;
@@ -169,6 +170,8 @@ public class DateTimeConverter implements Converter, PartialStateHolder {
 
     private static final TimeZone DEFAULT_TIME_ZONE = TimeZone.getTimeZone("GMT");
 
+    private static final FormatterCache<FormatWrapper> FORMATS = new FormatterCache<>();
+
     // ------------------------------------------------------ Instance Variables
 
     private String dateStyle = "default";
@@ -492,7 +495,9 @@ public class DateTimeConverter implements Converter, PartialStateHolder {
 
     /**
      * <p>
-     * Return a <code>DateFormat</code> instance to use for formatting and parsing in this {@link Converter}.
+     * Return a <code>DateFormat</code> instance to use for formatting and parsing in this {@link Converter}. Formatters
+     * are cached per type, pattern, styles and locale, a cached <code>DateFormat</code> is cloned as it is not thread safe
+     * and its time zone is changed per conversion, a cached <code>DateTimeFormatter</code> is immutable and returned as is.
      * </p>
      *
      * @param locale The <code>Locale</code> used to select formatting and parsing conventions
@@ -500,7 +505,24 @@ public class DateTimeConverter implements Converter, PartialStateHolder {
      */
     private FormatWrapper getDateFormat(Locale locale) {
 
-        // PENDING(craigmcc) - Implement pooling if needed for performance?
+        Object key = Arrays.asList(type, pattern, dateStyle, timeStyle, locale);
+        FormatWrapper format = FORMATS.get(key);
+        if (format == null) {
+            format = FORMATS.put(key, createDateFormat(locale));
+        }
+
+        return format.dateFormat != null ? new FormatWrapper((DateFormat) format.dateFormat.clone()) : format;
+    }
+
+    /**
+     * <p>
+     * Create the <code>DateFormat</code> or <code>DateTimeFormatter</code> for the settings of this {@link Converter}.
+     * </p>
+     *
+     * @param locale The <code>Locale</code> used to select formatting and parsing conventions
+     * @throws ConverterException if no instance can be created
+     */
+    private FormatWrapper createDateFormat(Locale locale) {
 
         if (pattern == null && type == null) {
             throw new IllegalArgumentException("Either pattern or type must" + " be specified.");
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.faces.convert;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * A bounded cache of formatter prototypes shared by all instances of a converter class. Creating a
+ * <code>NumberFormat</code> or <code>DateFormat</code> involves locale data lookups and pattern compilation, which is
+ * far more expensive than cloning an already configured instance, and <code>DateTimeFormatter</code>s are immutable
+ * and can be shared as is.
+ * </p>
+ *
+ * <p>
+ * Cached values must never be modified after they have been put in the cache, callers clone mutable formatters before
+ * using them. When the cache is full it is simply cleared, as the number of distinct converter configurations of an
+ * application is normally small.
+ * </p>
+ *
+ * @param <T> the type of the cached formatters
+ */
+final class FormatterCache<T> {
+
+    private static final int MAX_SIZE = 512;
+
+    private final Map<Object, T> formatters = new ConcurrentHashMap<>();
+
+    /**
+     * @param key the key identifying all settings the formatter was created with
+     * @return the cached formatter, or <code>null</code> if there is none
+     */
+    T get(Object key) {
+        return formatters.get(key);
+    }
+
+    /**
+     * @param key the key identifying all settings the formatter was created with
+     * @param formatter the fully configured formatter
+     * @return the formatter cached for the key, which is the given formatter unless another thread cached one first
+     */
+    T put(Object key, T formatter) {
+        if (formatters.size() >= MAX_SIZE) {
+            formatters.clear();
+        }
+
+        T cached = formatters.putIfAbsent(key, formatter);
+        return cached != null ? cached : formatter;
+    }
+
+}
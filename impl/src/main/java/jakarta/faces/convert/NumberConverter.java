@@ -22,6 +22,7 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.Locale;
 
 import jakarta.el.ValueExpression;
@@ -173,6 +174,8 @@ public class NumberConverter implements Converter, PartialStateHolder {
 
     private static final String NBSP = "\u00a0";
 
+    private static final FormatterCache<NumberFormat> FORMATS = new FormatterCache<>();
+
     // ------------------------------------------------------ Instance Variables
 
     private String currencyCode = null;
@@ -537,10 +540,7 @@ public class NumberConverter implements Converter, PartialStateHolder {
             Locale locale = getLocale(context);
 
             // Create and configure the parser to be used
-            parser = getNumberFormat(locale);
-            if (pattern != null && pattern.length() != 0 || "currency".equals(type)) {
-                configureCurrency(parser);
-            }
+            parser = getParser(locale);
             parser.setParseIntegerOnly(isIntegerOnly());
             boolean groupSepChanged = false;
             // BEGIN HACK 4510618
@@ -631,11 +631,7 @@ public class NumberConverter implements Converter, PartialStateHolder {
             Locale locale = getLocale(context);
 
             // Create and configure the formatter to be used
-            NumberFormat formatter = getNumberFormat(locale);
-            if (pattern != null && pattern.length() != 0 || "currency".equals(type)) {
-                configureCurrency(formatter);
-            }
-            configureFormatter(formatter);
+            NumberFormat formatter = getFormatter(locale);
 
             // Perform the requested formatting
             return formatter.format(value);
@@ -820,6 +816,56 @@ public class NumberConverter implements Converter, PartialStateHolder {
 
     }
 
+    /**
+     * <p>
+     * Return a <code>NumberFormat</code> instance configured for parsing, cloned from a prototype cached per pattern,
+     * type, locale and currency settings.
+     * </p>
+     *
+     * @param locale The <code>Locale</code> used to select parsing conventions
+     */
+    private NumberFormat getParser(Locale locale) throws Exception {
+
+        Object key = Arrays.asList(type, pattern, locale, currencyCode, currencySymbol);
+        NumberFormat parser = FORMATS.get(key);
+        if (parser == null) {
+            parser = getNumberFormat(locale);
+            if (pattern != null && pattern.length() != 0 || "currency".equals(type)) {
+                configureCurrency(parser);
+            }
+            parser = FORMATS.put(key, parser);
+        }
+
+        return (NumberFormat) parser.clone();
+
+    }
+
+    /**
+     * <p>
+     * Return a <code>NumberFormat</code> instance configured for formatting, cloned from a prototype cached per pattern,
+     * type, locale, currency settings and formatting properties.
+     * </p>
+     *
+     * @param locale The <code>Locale</code> used to select formatting conventions
+     */
+    private NumberFormat getFormatter(Locale locale) throws Exception {
+
+        Object key = Arrays.asList(type, pattern, locale, currencyCode, currencySymbol, groupingUsed, maxIntegerDigits, minIntegerDigits,
+                maxFractionDigits, minFractionDigits);
+        NumberFormat formatter = FORMATS.get(key);
+        if (formatter == null) {
+            formatter = getNumberFormat(locale);
+            if (pattern != null && pattern.length() != 0 || "currency".equals(type)) {
+                configureCurrency(formatter);
+            }
+            configureFormatter(formatter);
+            formatter = FORMATS.put(key, formatter);
+        }
+
+        return (NumberFormat) formatter.clone();
+
+    }
+
     /**
      * <p>
      * Return a <code>NumberFormat</code> instance to use for formatting and parsing in this {@link Converter}.
@@ -834,8 +880,6 @@ public class NumberConverter implements Converter, PartialStateHolder {
             throw new IllegalArgumentException("Either pattern or type must" + " be specified.");
         }
 
-        // PENDING(craigmcc) - Implement pooling if needed for performance?
-
         // If pattern is specified, type is ignored
         if (pattern != null) {
             DecimalFormatSymbols symbols = new DecimalFormatSymbols(locale);
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.Test;
+
+import com.sun.faces.application.InMemoryMetricsCollector.Histogram;
+
+import jakarta.faces.event.PhaseId;
+
+public class InMemoryMetricsCollectorTest {
+
+    @Test
+    public void testBucketsAreContiguous() {
+        long previous = -1;
+        for (int bucket = 0; bucket < Histogram.BUCKETS - 1; bucket++) {
+            long upperBound = Histogram.upperBoundOf(bucket);
+            assertTrue(upperBound > previous);
+            assertEquals(bucket, Histogram.bucketOf(previous + 1));
+            assertEquals(bucket, Histogram.bucketOf(upperBound));
+            previous = upperBound;
+        }
+        assertEquals(Histogram.BUCKETS - 1, Histogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentilesAreWithinBucketPrecision() {
+        InMemoryMetricsCollector collector = new InMemoryMetricsCollector();
+        for (int i = 1; i <= 1000; i++) {
+            collector.phaseCompleted("/index.xhtml", PhaseId.RENDER_RESPONSE, i * 1_000_000L);
+        }
+
+        MetricsSnapshot render = find(collector.getViewMetrics("/index.xhtml"), PhaseId.RENDER_RESPONSE.getName());
+        assertEquals(1000, render.getCount());
+        assertEquals(500_500_000_000L, render.getTotalNanos());
+        assertEquals(1_000_000_000L, render.getMaxNanos());
+        assertWithin(500_000_000L, render.getP50Nanos());
+        assertWithin(900_000_000L, render.getP90Nanos());
+        assertWithin(990_000_000L, render.getP99Nanos());
+    }
+
+    @Test
+    public void testMetricsPerViewAndTotals() {
+        InMemoryMetricsCollector collector = new InMemoryMetricsCollector();
+        collector.phaseCompleted("/a.xhtml", PhaseId.RESTORE_VIEW, 1000);
+        collector.phaseCompleted("/b.xhtml", PhaseId.RESTORE_VIEW, 2000);
+        collector.requestCompleted("/a.xhtml", true, 5000);
+        collector.requestCompleted("/a.xhtml", false, 7000);
+        collector.stateSaved("/a.xhtml", 300, 100);
+        collector.stateRestored("/a.xhtml", -1, 100);
+        collector.viewBuilt("/b.xhtml", 400);
+
+        List<MetricsSnapshot> a = collector.getViewMetrics("/a.xhtml");
+        assertEquals(5, a.size());
+        assertEquals(1, find(a, "PARTIAL_REQUEST").getCount());
+        assertEquals(1, find(a, "FULL_REQUEST").getCount());
+        assertEquals(300, find(a, "STATE_SAVE").getTotalBytes());
+        assertEquals(0, find(a, "STATE_RESTORE").getTotalBytes());
+
+        MetricsSnapshot restoreView = find(collector.getTotals(), PhaseId.RESTORE_VIEW.getName());
+        assertEquals(InMemoryMetricsCollector.ALL_VIEWS, restoreView.getViewId());
+        assertEquals(2, restoreView.getCount());
+        assertEquals(3000, restoreView.getTotalNanos());
+        assertEquals(7, collector.getViews().size());
+
+        collector.reset();
+        assertTrue(collector.getTotals().isEmpty());
+        assertTrue(collector.getViews().isEmpty());
+    }
+
+    @Test
+    public void testNumberOfViewsIsBounded() {
+        InMemoryMetricsCollector collector = new InMemoryMetricsCollector();
+        for (int i = 0; i < InMemoryMetricsCollector.MAX_VIEWS + 10; i++) {
+            collector.viewBuilt("/view" + i + ".xhtml", 1);
+        }
+        collector.viewBuilt(null, 1);
+
+        List<String> viewIds = collector.getViews().stream().map(MetricsSnapshot::getViewId).collect(Collectors.toList());
+        assertEquals(InMemoryMetricsCollector.MAX_VIEWS + 1, viewIds.size());
+        assertEquals(11, find(collector.getViewMetrics(InMemoryMetricsCollector.OTHER_VIEWS), "VIEW_BUILD").getCount());
+        assertEquals(InMemoryMetricsCollector.MAX_VIEWS + 11, find(collector.getTotals(), "VIEW_BUILD").getCount());
+    }
+
+    @Test
+    public void testRegisteredWithJmx() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName query = new ObjectName("com.sun.faces:type=Metrics,application=" + ObjectName.quote("/metrics-test") + ",*");
+        InMemoryMetricsCollector collector = new InMemoryMetricsCollector("/metrics-test");
+        try {
+            collector.stateSaved("/index.xhtml", 1024, 2048);
+
+            ObjectName name = server.queryNames(query, null).iterator().next();
+            CompositeData[] totals = (CompositeData[]) server.getAttribute(name, "Totals");
+            assertEquals(1, totals.length);
+            assertEquals("STATE_SAVE", totals[0].get("metric"));
+            assertEquals(1024L, totals[0].get("totalBytes"));
+        } finally {
+            collector.release();
+        }
+
+        assertFalse(server.queryNames(query, null).iterator().hasNext());
+    }
+
+    private static MetricsSnapshot find(List<MetricsSnapshot> snapshots, String metric) {
+        return snapshots.stream().filter(snapshot -> snapshot.getMetric().equals(metric)).findFirst().orElseThrow(AssertionError::new);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected about " + expected + " but was " + actual, actual >= expected && actual <= expected * 5 / 4);
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.config.manager;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilder;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import com.sun.faces.config.manager.documents.DocumentInfo;
+import com.sun.faces.config.manager.tasks.ParseConfigResourceToDOMTask;
+
+public class ConfigSnapshotTest {
+
+    private static final String FACES_CONFIG = "<?xml version='1.0' encoding='UTF-8'?>\n"
+            + "<faces-config xmlns='https://jakarta.ee/xml/ns/jakartaee' xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance'"
+            + " xsi:schemaLocation='https://jakarta.ee/xml/ns/jakartaee https://jakarta.ee/xml/ns/jakartaee/web-facesconfig_3_0.xsd'"
+            + " version='3.0'>\n"
+            + "  <name>test</name>\n"
+            + "  <application><message-bundle><![CDATA[messages & more]]></message-bundle></application>\n"
+            + "  <?target data?>\n"
+            + "  <managed-bean><description>été</description></managed-bean>\n"
+            + "</faces-config>";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        ConfigSnapshot snapshot = new ConfigSnapshot(folder.newFolder("snapshot"));
+
+        Document document = parse(FACES_CONFIG);
+        document.setDocumentURI("file:/WEB-INF/faces-config.xml");
+        Attr webInf = document.createAttribute(ParseConfigResourceToDOMTask.WEB_INF_MARKER);
+        webInf.setValue("true");
+        document.getDocumentElement().getAttributes().setNamedItem(webInf);
+        URI source = URI.create("file:/WEB-INF/faces-config.xml");
+
+        snapshot.store("key", new DocumentInfo[] { new DocumentInfo(document, source), new DocumentInfo(parse(FACES_CONFIG), null) });
+        DocumentInfo[] loaded = snapshot.load("key");
+
+        assertNotNull(loaded);
+        assertEquals(2, loaded.length);
+        assertEquals(source, loaded[0].getSourceURI());
+        assertNull(loaded[1].getSourceURI());
+        assertEquals("file:/WEB-INF/faces-config.xml", loaded[0].getDocument().getDocumentURI());
+        assertTrue(document.isEqualNode(loaded[0].getDocument()));
+
+        Element root = loaded[0].getDocument().getDocumentElement();
+        assertEquals("https://jakarta.ee/xml/ns/jakartaee", root.getNamespaceURI());
+        assertEquals("faces-config", root.getLocalName());
+        assertEquals("3.0", root.getAttribute("version"));
+        assertNotNull(root.getAttributes().getNamedItem(ParseConfigResourceToDOMTask.WEB_INF_MARKER));
+        assertEquals("messages & more", root.getElementsByTagNameNS("*", "message-bundle").item(0).getTextContent());
+        assertEquals("été", root.getElementsByTagNameNS("*", "description").item(0).getTextContent());
+    }
+
+    @Test
+    public void testMissingOrCorruptSnapshot() throws Exception {
+        File directory = folder.newFolder("snapshot");
+        ConfigSnapshot snapshot = new ConfigSnapshot(directory);
+
+        assertNull(snapshot.load("missing"));
+
+        Files.write(new File(directory, "corrupt.config").toPath(), new byte[] { 0, 0, 0, 1, 0, 0, 0, 1, 0, 0 });
+        assertNull(snapshot.load("corrupt"));
+    }
+
+    @Test
+    public void testKeyDependsOnContentAndSettings() throws Exception {
+        ConfigSnapshot snapshot = new ConfigSnapshot(folder.newFolder("snapshot"));
+        File config = folder.newFile("faces-config.xml");
+        Files.write(config.toPath(), FACES_CONFIG.getBytes(UTF_8));
+        List<URI> uris = Arrays.asList(config.toURI());
+
+        String key = snapshot.getKey(uris, false);
+        assertNotNull(key);
+        assertEquals(key, snapshot.getKey(uris, false));
+        assertNotEquals(key, snapshot.getKey(uris, true));
+
+        Files.write(config.toPath(), FACES_CONFIG.replace("test", "changed").getBytes(UTF_8));
+        assertNotEquals(key, snapshot.getKey(uris, false));
+
+        assertNull(snapshot.getKey(Arrays.asList(new File(folder.getRoot(), "missing.xml").toURI()), false));
+    }
+
+    private static Document parse(String xml) throws Exception {
+        DocumentBuilder builder = DbfFactory.getFactory().newDocumentBuilder();
+        return builder.parse(new ByteArrayInputStream(xml.getBytes(UTF_8)));
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.config.manager.spi;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jakarta.faces.convert.FacesConverter;
+import jakarta.faces.validator.FacesValidator;
+
+public class AnnotationIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testProcessorGeneratesIndex() throws Exception {
+        File sources = folder.newFolder("src");
+        File classes = folder.newFolder("classes");
+        File source = new File(sources, "IndexedConverter.java");
+        Files.write(source.toPath(), ("@jakarta.faces.convert.FacesConverter(\"indexed\")\n"
+                + "public class IndexedConverter {\n"
+                + "    @jakarta.faces.validator.FacesValidator(\"nested\")\n"
+                + "    public static class Nested {}\n"
+                + "}\n").getBytes(UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        String classpath = new File(FacesConverter.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        int result = compiler.run(null, null, null, "-classpath", classpath, "-processor", AnnotationIndexProcessor.class.getName(), "-processorpath",
+                new File(AnnotationIndexProcessor.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath(), "-d",
+                classes.getPath(), source.getPath());
+        assertEquals(0, result);
+
+        File indexFile = new File(classes, AnnotationIndex.INDEX_RESOURCE);
+        assertTrue(indexFile.isFile());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes.toURI().toURL() }, getClass().getClassLoader())) {
+            AnnotationIndex index = AnnotationIndex.load(loader);
+
+            assertFalse(index.isEmpty());
+            assertEquals(singleton("IndexedConverter"), index.getClassNames().get(FacesConverter.class.getName()));
+            assertEquals(singleton("IndexedConverter$Nested"), index.getClassNames().get(FacesValidator.class.getName()));
+            assertTrue(index.isIndexed(loader.loadClass("IndexedConverter")));
+            assertFalse(index.isIndexed(AnnotationIndexTest.class));
+
+            String classesLocation = classes.toURI().toURL().toExternalForm();
+            AnnotationIndex filtered = AnnotationIndex.load(loader, archive -> !archive.equals(classesLocation));
+            assertTrue(filtered.isEmpty());
+            assertFalse(filtered.isIndexed(loader.loadClass("IndexedConverter")));
+        }
+    }
+
+    @Test
+    public void testReadIndex() throws Exception {
+        AnnotationIndex index = AnnotationIndex.load(new URLClassLoader(new URL[0], null));
+        assertTrue(index.isEmpty());
+
+        index.read(new ByteArrayInputStream(("# comment\n\n" + FacesConverter.class.getName() + " a.B\n").getBytes(UTF_8)));
+        index.addIndexedLocation("jar:file:/lib/a.jar!/" + AnnotationIndex.INDEX_RESOURCE);
+
+        assertFalse(index.isEmpty());
+        assertEquals(asList("a.B"), asList(index.getClassNames().get(FacesConverter.class.getName()).toArray()));
+    }
+
+    @Test
+    public void testArchiveLocation() {
+        assertEquals("file:/lib/a.jar", AnnotationIndex.getArchiveLocation("jar:file:/lib/a.jar!/" + AnnotationIndex.INDEX_RESOURCE));
+        assertEquals("file:/classes/", AnnotationIndex.getArchiveLocation("file:/classes/" + AnnotationIndex.INDEX_RESOURCE));
+        assertEquals(null, AnnotationIndex.getArchiveLocation("file:/classes/META-INF/other.idx"));
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.facelets.compiler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.DefaultHandler;
+
+public class SAXEventCacheTest {
+
+    private static final String DOCUMENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<html xmlns=\"http://www.w3.org/1999/xhtml\" xmlns:h=\"jakarta.faces.html\">\n"
+            + "<!-- a comment -->\n"
+            + "<h:body>\n"
+            + "  <p class=\"intro\">café #{bean.value}</p>\n"
+            + "  <script><![CDATA[ if (a < b) {} ]]></script>\n"
+            + "<?php echo 1; ?>\n"
+            + "</h:body>\n"
+            + "</html>";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReplayMatchesParse() throws Exception {
+        EventLog parsed = new EventLog();
+        RecordedSAXEvents.Recorder<EventLog> recorder = new RecordedSAXEvents.Recorder<>(parsed);
+        parse(recorder);
+
+        EventLog replayed = new EventLog();
+        recorder.getEvents().replay(replayed);
+
+        assertTrue(parsed.events.size() > 10);
+        assertEquals(parsed.events, replayed.events);
+    }
+
+    @Test
+    public void testCacheRoundTrip() throws Exception {
+        SAXEventCache cache = new SAXEventCache(folder.newFolder());
+        byte[] content = DOCUMENT.getBytes(UTF_8);
+        String key = cache.getKey(content, "validating=false");
+
+        assertFalse(cache.contains(key));
+        assertNull(cache.get(key));
+
+        EventLog parsed = new EventLog();
+        RecordedSAXEvents.Recorder<EventLog> recorder = new RecordedSAXEvents.Recorder<>(parsed);
+        parse(recorder);
+        cache.put(key, recorder.getEvents());
+
+        // a new cache on the same directory, as after a restart
+        cache = new SAXEventCache(folder.getRoot().listFiles()[0]);
+        assertTrue(cache.contains(key));
+        RecordedSAXEvents events = cache.get(key);
+        assertNotNull(events);
+
+        EventLog replayed = new EventLog();
+        events.replay(replayed);
+        assertEquals(parsed.events, replayed.events);
+    }
+
+    @Test
+    public void testKeyDependsOnContentAndSettings() throws Exception {
+        SAXEventCache cache = new SAXEventCache(folder.newFolder());
+        byte[] content = DOCUMENT.getBytes(UTF_8);
+        byte[] changed = DOCUMENT.replace("intro", "outro").getBytes(UTF_8);
+
+        assertEquals(cache.getKey(content, "validating=false"), cache.getKey(content.clone(), "validating=false"));
+        assertNotEquals(cache.getKey(content, "validating=false"), cache.getKey(changed, "validating=false"));
+        assertNotEquals(cache.getKey(content, "validating=false"), cache.getKey(content, "validating=true"));
+    }
+
+    private static void parse(DefaultHandler handler) throws Exception {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+        SAXParser parser = factory.newSAXParser();
+        parser.getXMLReader().setProperty("http://xml.org/sax/properties/lexical-handler", handler);
+        parser.parse(new ByteArrayInputStream(DOCUMENT.getBytes(UTF_8)), handler);
+    }
+
+    private static final class EventLog extends DefaultHandler implements LexicalHandler {
+
+        private final List<String> events = new ArrayList<>();
+        private Locator locator;
+
+        private void log(String event) {
+            events.add(locator.getLineNumber() + ":" + locator.getColumnNumber() + " " + event);
+        }
+
+        @Override
+        public void setDocumentLocator(Locator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public void startDocument() {
+            log("startDocument");
+        }
+
+        @Override
+        public void endDocument() {
+            log("endDocument");
+        }
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) {
+            log("startPrefixMapping " + prefix + "=" + uri);
+        }
+
+        @Override
+        public void endPrefixMapping(String prefix) {
+            log("endPrefixMapping " + prefix);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            StringBuilder event = new StringBuilder("startElement " + uri + " " + localName + " " + qName);
+            for (int i = 0; i < attributes.getLength(); i++) {
+                event.append(' ').append(attributes.getQName(i)).append('=').append(attributes.getValue(i)).append('@').append(attributes.getURI(i));
+            }
+            log(event.toString());
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            log("endElement " + qName);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            log("characters " + new String(ch, start, length));
+        }
+
+        @Override
+        public void processingInstruction(String target, String data) {
+            log("processingInstruction " + target + " " + data);
+        }
+
+        @Override
+        public void startDTD(String name, String publicId, String systemId) {
+            log("startDTD " + name);
+        }
+
+        @Override
+        public void endDTD() {
+            log("endDTD");
+        }
+
+        @Override
+        public void startEntity(String name) {
+            log("startEntity " + name);
+        }
+
+        @Override
+        public void endEntity(String name) {
+            log("endEntity " + name);
+        }
+
+        @Override
+        public void startCDATA() {
+            log("startCDATA");
+        }
+
+        @Override
+        public void endCDATA() {
+            log("endCDATA");
+        }
+
+        @Override
+        public void comment(char[] ch, int start, int length) {
+            log("comment " + new String(ch, start, length));
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.facelets.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FaceletChangeWatcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDetectsChangedFile() throws Exception {
+        File changed = folder.newFile("changed.xhtml");
+        File unchanged = folder.newFile("unchanged.xhtml");
+        URL changedUrl = changed.toURI().toURL();
+        URL unchangedUrl = unchanged.toURI().toURL();
+
+        FaceletChangeWatcher watcher = new FaceletChangeWatcher(100);
+        long changedVersion = watcher.register(changedUrl);
+        long unchangedVersion = watcher.register(unchangedUrl);
+        assertFalse(watcher.isChanged(changedUrl, changedVersion));
+
+        Files.write(changed.toPath(), "<html/>".getBytes(UTF_8));
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!watcher.isChanged(changedUrl, changedVersion) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(watcher.isChanged(changedUrl, changedVersion));
+        assertFalse(watcher.isChanged(unchangedUrl, unchangedVersion));
+
+        // after recompiling, the new version is current
+        long newVersion = watcher.register(changedUrl);
+        assertFalse(watcher.isChanged(changedUrl, newVersion));
+    }
+
+    @Test
+    public void testCloseStopsWorker() throws Exception {
+        Set<Thread> before = new HashSet<>(Thread.getAllStackTraces().keySet());
+        FaceletChangeWatcher watcher = new FaceletChangeWatcher(60_000);
+        watcher.register(folder.newFile("watched.xhtml").toURI().toURL());
+
+        Thread worker = null;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (!before.contains(thread) && "Facelet change watcher".equals(thread.getName())) {
+                worker = thread;
+            }
+        }
+        assertNotNull(worker);
+
+        // the worker waits for a whole refresh period, closing must wake it up
+        watcher.close();
+        worker.join(10_000);
+        assertFalse(worker.isAlive());
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class Utf8OutputStreamWriterTest {
+
+    @Test
+    public void testEncodesLikeTheJdk() throws IOException {
+        String text = "ascii <p>café € 😀 ית</p>";
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            builder.append(text);
+        }
+        String content = builder.toString();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(out);
+        // split across calls, so that surrogate pairs and runs straddle writes and buffer boundaries
+        int pos = 0;
+        int step = 1;
+        while (pos < content.length()) {
+            int len = Math.min(step, content.length() - pos);
+            if (step % 2 == 0) {
+                writer.write(content, pos, len);
+            } else {
+                writer.write(content.toCharArray(), pos, len);
+            }
+            pos += len;
+            step = step % 97 + 1;
+        }
+        writer.release();
+
+        assertArrayEquals(content.getBytes(UTF_8), out.toByteArray());
+    }
+
+    @Test
+    public void testUnpairedSurrogates() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(out);
+        writer.write("a\ud83db\ude00c\ud83d");
+        writer.release();
+
+        assertEquals("a?b?c?", new String(out.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void testWritesThroughAfterRelease() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(out);
+        writer.write("before");
+        assertEquals(0, out.size());
+        writer.release();
+        assertEquals("before", new String(out.toByteArray(), UTF_8));
+
+        writer.write('-');
+        writer.write("after é");
+        assertEquals("before-after é", new String(out.toByteArray(), UTF_8));
+    }
+
+}
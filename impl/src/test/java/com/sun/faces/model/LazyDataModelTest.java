@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import jakarta.faces.model.DataModelEvent;
+
+public class LazyDataModelTest {
+
+    private static class Model extends LazyDataModel<Integer> {
+
+        private final int count;
+        private final List<int[]> loads = new ArrayList<>();
+
+        Model(int count, int pageSize) {
+            super(pageSize);
+            this.count = count;
+        }
+
+        @Override
+        public int count() {
+            return count;
+        }
+
+        @Override
+        public List<Integer> load(int first, int pageSize) {
+            loads.add(new int[] { first, pageSize });
+            List<Integer> rows = new ArrayList<>();
+            for (int i = first; i < Math.min(count, first + pageSize); i++) {
+                rows.add(i * 10);
+            }
+            return rows;
+        }
+    }
+
+    @Test
+    public void testLoadsOnePageAtATime() {
+        Model model = new Model(5, 2);
+        assertEquals(5, model.getRowCount());
+        assertTrue(model.loads.isEmpty());
+
+        for (int i = 0; i < 5; i++) {
+            model.setRowIndex(i);
+            assertTrue(model.isRowAvailable());
+            assertEquals(Integer.valueOf(i * 10), model.getRowData());
+        }
+        model.setRowIndex(5);
+        assertFalse(model.isRowAvailable());
+
+        assertEquals(3, model.loads.size());
+        assertEquals(0, model.loads.get(0)[0]);
+        assertEquals(2, model.loads.get(1)[0]);
+        assertEquals(4, model.loads.get(2)[0]);
+        assertEquals(2, model.loads.get(2)[1]);
+    }
+
+    @Test
+    public void testPageStartsAtRequestedRow() {
+        Model model = new Model(100, 10);
+        model.setRowIndex(37);
+        assertEquals(Integer.valueOf(370), model.getRowData());
+        model.setRowIndex(46);
+        assertEquals(Integer.valueOf(460), model.getRowData());
+        assertEquals(1, model.loads.size());
+        assertEquals(37, model.loads.get(0)[0]);
+    }
+
+    @Test
+    public void testReset() {
+        Model model = new Model(3, 2);
+        model.setRowIndex(0);
+        model.getRowData();
+        model.reset();
+        model.getRowData();
+        assertEquals(2, model.loads.size());
+    }
+
+    @Test
+    public void testNoRowSelected() {
+        Model model = new Model(3, 2);
+        assertEquals(-1, model.getRowIndex());
+        assertFalse(model.isRowAvailable());
+        assertNull(model.getRowData());
+        assertTrue(model.loads.isEmpty());
+
+        try {
+            model.setRowIndex(-2);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSetWrappedData() {
+        Model model = new Model(3, 2);
+        model.setRowIndex(1);
+        model.getRowData();
+        model.setWrappedData(null);
+        assertEquals(-1, model.getRowIndex());
+        assertNull(model.getWrappedData());
+
+        try {
+            model.setWrappedData(new ArrayList<>());
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRowSelectedEvent() {
+        Model model = new Model(3, 2);
+        List<DataModelEvent> events = new ArrayList<>();
+        model.addDataModelListener(events::add);
+        model.setRowIndex(2);
+        model.setRowIndex(2);
+        assertEquals(1, events.size());
+        assertEquals(2, events.get(0).getRowIndex());
+        assertEquals(Integer.valueOf(20), events.get(0).getRowData());
+    }
+
+}
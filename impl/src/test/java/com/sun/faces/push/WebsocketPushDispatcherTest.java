@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.push;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.sun.faces.push.WebsocketPushDispatcher.OverflowPolicy;
+
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+
+public class WebsocketPushDispatcherTest {
+
+    @Test
+    public void testMessagesAreSentOneAtATime() throws Exception {
+        MockSession session = new MockSession();
+        WebsocketPushDispatcher dispatcher = new WebsocketPushDispatcher(10, OverflowPolicy.DROP, new InlineExecutor());
+
+        Future<Void> first = dispatcher.send(session.proxy, "1");
+        Future<Void> second = dispatcher.send(session.proxy, "2");
+
+        assertEquals(asList("1"), session.sent);
+        assertEquals(2, dispatcher.getPendingCount());
+        assertFalse(first.isDone());
+
+        session.complete();
+        assertNull(first.get());
+        assertEquals(asList("1", "2"), session.sent);
+        assertFalse(second.isDone());
+
+        session.complete();
+        assertNull(second.get());
+        assertEquals(2, dispatcher.getQueuedCount());
+        assertEquals(2, dispatcher.getDeliveredCount());
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void testDropWhenQueueIsFull() throws Exception {
+        MockSession session = new MockSession();
+        WebsocketPushDispatcher dispatcher = new WebsocketPushDispatcher(2, OverflowPolicy.DROP, new InlineExecutor());
+
+        dispatcher.send(session.proxy, "1"); // in flight
+        dispatcher.send(session.proxy, "2");
+        dispatcher.send(session.proxy, "3");
+        Future<Void> dropped = dispatcher.send(session.proxy, "4");
+
+        assertFailed(dropped);
+        assertEquals(1, dispatcher.getDroppedCount());
+
+        session.complete();
+        session.complete();
+        session.complete();
+        assertEquals(asList("1", "2", "3"), session.sent);
+    }
+
+    @Test
+    public void testCoalesceWhenQueueIsFull() throws Exception {
+        MockSession session = new MockSession();
+        WebsocketPushDispatcher dispatcher = new WebsocketPushDispatcher(2, OverflowPolicy.COALESCE, new InlineExecutor());
+
+        dispatcher.send(session.proxy, "1"); // in flight
+        Future<Void> superseded = dispatcher.send(session.proxy, "2");
+        dispatcher.send(session.proxy, "3");
+        Future<Void> latest = dispatcher.send(session.proxy, "4");
+
+        assertFailed(superseded);
+        assertEquals(2, dispatcher.getDroppedCount());
+
+        session.complete();
+        session.complete();
+        assertNull(latest.get());
+        assertEquals(asList("1", "4"), session.sent);
+    }
+
+    @Test
+    public void testRemovedSessionFailsQueuedMessages() throws Exception {
+        MockSession session = new MockSession();
+        WebsocketPushDispatcher dispatcher = new WebsocketPushDispatcher(10, OverflowPolicy.DROP, new InlineExecutor());
+
+        dispatcher.send(session.proxy, "1");
+        Future<Void> queued = dispatcher.send(session.proxy, "2");
+        dispatcher.remove(session.proxy);
+
+        assertFailed(queued);
+        assertEquals(0, dispatcher.getSessionCount());
+    }
+
+    private static void assertFailed(Future<Void> result) throws InterruptedException {
+        assertTrue(result.isDone());
+
+        try {
+            result.get();
+            fail();
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    /**
+     * Records the sent messages, and completes them on request.
+     */
+    private static final class MockSession {
+
+        private final List<String> sent = new ArrayList<>();
+        private final List<SendHandler> handlers = new ArrayList<>();
+
+        private final RemoteEndpoint.Async async = (RemoteEndpoint.Async) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { RemoteEndpoint.Async.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("sendText") && args.length == 2) {
+                        sent.add((String) args[0]);
+                        handlers.add((SendHandler) args[1]);
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        private final Session proxy = (Session) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Session.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "isOpen":
+                        return true;
+                    case "getId":
+                        return "mock";
+                    case "getAsyncRemote":
+                        return async;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        void complete() {
+            handlers.remove(0).onResult(new SendResult());
+        }
+    }
+
+    /**
+     * Runs the sends on the calling thread, so that the test controls their order.
+     */
+    private static final class InlineExecutor extends AbstractExecutorService {
+
+        private boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return new ArrayList<>();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.renderkit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class CompactStateCodecTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        Map<Object, Object> map = new HashMap<>();
+        map.put("form:input", new Object[] { "value", Boolean.TRUE, 42, null });
+        map.put("form:button", new Object[] { "value", Boolean.FALSE, 7L, TimeUnit.SECONDS });
+        Object[] structure = new Object[] { "jakarta.faces.Input", "form:input", new Object[] { "jakarta.faces.Input", "form:input" } };
+        Object[] state = new Object[] { structure, map };
+
+        Object[] restored = roundTrip(state);
+
+        assertArrayEquals(structure, (Object[]) restored[0]);
+        @SuppressWarnings("unchecked")
+        Map<Object, Object> restoredMap = (Map<Object, Object>) restored[1];
+        assertEquals(2, restoredMap.size());
+        assertArrayEquals((Object[]) map.get("form:input"), (Object[]) restoredMap.get("form:input"));
+        Object[] button = (Object[]) restoredMap.get("form:button");
+        assertEquals(7L, button[2]);
+        assertSame(TimeUnit.SECONDS, button[3]);
+    }
+
+    @Test
+    public void testOtherTypesAreSerialized() throws Exception {
+        ArrayList<Object> list = new ArrayList<>(Arrays.asList(new BigDecimal("1.5"), 'c', Arrays.asList("a", "b")));
+        Object[] restored = roundTrip(new Object[] { list, null });
+
+        assertEquals(list, restored[0]);
+        assertEquals(null, restored[1]);
+    }
+
+    @Test
+    public void testSharedReferencesKeepIdentity() throws Exception {
+        ArrayList<Object> shared = new ArrayList<>(Arrays.asList("a", "b"));
+        Map<Object, Object> map = new HashMap<>();
+        map.put("first", shared);
+        map.put("second", shared);
+        Object[] restored = roundTrip(new Object[] { new Object[] { shared }, map });
+
+        Object restoredShared = ((Object[]) restored[0])[0];
+        assertEquals(shared, restoredShared);
+        Map<?, ?> restoredMap = (Map<?, ?>) restored[1];
+        assertSame(restoredShared, restoredMap.get("first"));
+        assertSame(restoredShared, restoredMap.get("second"));
+    }
+
+    @Test
+    public void testCyclicStructure() throws Exception {
+        Object[] parent = new Object[2];
+        Object[] child = new Object[] { "child", parent };
+        parent[0] = "parent";
+        parent[1] = child;
+        Object[] restored = roundTrip(new Object[] { parent, null });
+
+        Object[] restoredParent = (Object[]) restored[0];
+        Object[] restoredChild = (Object[]) restoredParent[1];
+        assertEquals("parent", restoredParent[0]);
+        assertEquals("child", restoredChild[0]);
+        assertSame(restoredParent, restoredChild[1]);
+    }
+
+    @Test
+    public void testSmallerThanSerialization() throws Exception {
+        Map<Object, Object> map = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put("form:input" + i, new Object[] { new Object[] { "value", Boolean.TRUE, i }, null });
+        }
+        Object[] state = new Object[] { null, map };
+
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(state[0]);
+            out.writeObject(state[1]);
+        }
+
+        assertTrue(write(state).length < serialized.size());
+    }
+
+    private static Object[] roundTrip(Object[] state) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(write(state)))) {
+            return CompactStateCodec.readState(in);
+        }
+    }
+
+    private static byte[] write(Object[] state) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            CompactStateCodec.writeState(out, state);
+        }
+        return bytes.toByteArray();
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.renderkit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockHttpSession;
+import com.sun.faces.mock.MockPartialViewContext;
+import com.sun.faces.mock.MockServletContext;
+import com.sun.faces.spi.SerializationProvider;
+
+import jakarta.faces.context.PartialViewContext;
+
+public class DeltaViewStateManagerTest {
+
+    private static final SerializationProvider JAVA_SERIALIZATION = new SerializationProvider() {
+        @Override
+        public ObjectInputStream createObjectInputStream(InputStream source) throws IOException {
+            return new ObjectInputStream(source);
+        }
+
+        @Override
+        public ObjectOutputStream createObjectOutputStream(OutputStream destination) throws IOException {
+            return new ObjectOutputStream(destination);
+        }
+    };
+
+    private MockHttpSession session;
+    private DeltaViewStateManager manager;
+
+    @Before
+    public void setUp() {
+        session = new MockHttpSession();
+        manager = new DeltaViewStateManager(JAVA_SERIALIZATION, 15);
+    }
+
+    @Test
+    public void testDeltaContainsOnlyChangedComponents() {
+        Map<String, Object> stateMap = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            stateMap.put("form:input" + i, new Object[] { "value" + i, Boolean.TRUE });
+        }
+
+        // the first AJAX postback establishes the base
+        Object[] written = manager.toDelta(createContext(true), new Object[] { null, stateMap });
+        assertEquals(DeltaViewStateManager.DELTA_STATE, written[0]);
+        assertTrue(getChanged(written).isEmpty());
+
+        // the next postback restores the full state from the base
+        MockFacesContext context = createContext(true);
+        Object[] restored = manager.restore(context, written);
+        assertNull(restored[0]);
+        assertArrayEquals((Object[]) stateMap.get("form:input5"), (Object[]) getStateMap(restored).get("form:input5"));
+
+        Map<String, Object> updated = new HashMap<>(getStateMap(restored));
+        updated.put("form:input5", new Object[] { "changed", Boolean.TRUE });
+        updated.remove("form:input6");
+        written = manager.toDelta(context, new Object[] { null, updated });
+
+        assertEquals(1, getChanged(written).size());
+        assertEquals(1, ((List<?>) ((Object[]) written[1])[2]).size());
+
+        restored = manager.restore(createContext(true), written);
+        assertEquals(99, getStateMap(restored).size());
+        assertEquals("changed", ((Object[]) getStateMap(restored).get("form:input5"))[0]);
+
+        // restoring a delta leaves its base unchanged
+        restored = manager.restore(createContext(true), written);
+        assertEquals(99, getStateMap(restored).size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStateModifiedInPlaceLeavesBaseUnchanged() {
+        Map<String, Object> stateMap = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            ArrayList<String> values = new ArrayList<>();
+            values.add("value" + i);
+            stateMap.put("form:list" + i, values);
+        }
+        Object[] written = manager.toDelta(createContext(true), new Object[] { null, stateMap });
+
+        // a postback modifies the restored state in place, like StateHelper.add() does
+        MockFacesContext context = createContext(true);
+        Map<String, Object> restored = getStateMap(manager.restore(context, written));
+        ((List<String>) restored.get("form:list3")).add("added");
+        Object[] delta = manager.toDelta(context, new Object[] { null, restored });
+        assertEquals(1, getChanged(delta).size());
+        assertEquals(2, ((List<?>) getChanged(delta).get("form:list3")).size());
+
+        // another postback referencing the same base, e.g. from another tab, still sees the original state
+        Map<String, Object> other = getStateMap(manager.restore(createContext(true), written));
+        assertEquals(1, ((List<?>) other.get("form:list3")).size());
+    }
+
+    @Test
+    public void testFullStateOutsideOfAjax() {
+        Object[] state = new Object[] { null, new HashMap<>() };
+        assertSame(state, manager.toDelta(createContext(false), state));
+        assertSame(state, manager.restore(createContext(false), state));
+    }
+
+    @Test
+    public void testMissingBaseExpiresView() {
+        Object[] written = manager.toDelta(createContext(true), new Object[] { null, new HashMap<>() });
+        session = new MockHttpSession();
+        assertNull(manager.restore(createContext(true), written));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getStateMap(Object[] state) {
+        return (Map<String, Object>) state[1];
+    }
+
+    private static Map<?, ?> getChanged(Object[] state) {
+        return (Map<?, ?>) ((Object[]) state[1])[1];
+    }
+
+    private MockFacesContext createContext(boolean ajax) {
+        MockHttpServletRequest request = new MockHttpServletRequest(session);
+        MockExternalContext externalContext = new MockExternalContext(new MockServletContext(), request, new MockHttpServletResponse()) {
+            @Override
+            public Object getSession(boolean create) {
+                return request.getSession(create);
+            }
+        };
+        PartialViewContext partialViewContext = new MockPartialViewContext() {
+            @Override
+            public boolean isAjaxRequest() {
+                return ajax;
+            }
+        };
+
+        return new MockFacesContext(externalContext) {
+            @Override
+            public PartialViewContext getPartialViewContext() {
+                return partialViewContext;
+            }
+        };
+    }
+
+}
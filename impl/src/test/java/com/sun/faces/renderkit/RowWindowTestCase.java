@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.renderkit;
+
+import java.util.Map;
+
+import com.sun.faces.junit.JUnitFacesTestCaseBase;
+import com.sun.faces.mock.MockRenderKit;
+
+import jakarta.faces.FactoryFinder;
+import jakarta.faces.component.UIData;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.component.behavior.ClientBehaviorContext;
+import jakarta.faces.render.RenderKit;
+import jakarta.faces.render.RenderKitFactory;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * <p>
+ * Unit tests for the row window requests decoded by {@link RenderKitUtils}.
+ * </p>
+ */
+public class RowWindowTestCase extends JUnitFacesTestCaseBase {
+
+    private UIData data;
+    private Map<String, String> params;
+
+    // ------------------------------------------------------------ Constructors
+
+    public RowWindowTestCase(String name) {
+        super(name);
+    }
+
+    // ---------------------------------------------------- Overall Test Methods
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        UIViewRoot root = facesContext.getApplication().getViewHandler().createView(facesContext, null);
+        root.setViewId("/viewId");
+        facesContext.setViewRoot(root);
+        RenderKitFactory renderKitFactory = (RenderKitFactory) FactoryFinder.getFactory(FactoryFinder.RENDER_KIT_FACTORY);
+        RenderKit renderKit = new MockRenderKit();
+        try {
+            renderKitFactory.addRenderKit(RenderKitFactory.HTML_BASIC_RENDER_KIT, renderKit);
+        } catch (IllegalArgumentException e) {
+        }
+
+        data = new UIData();
+        data.setId("data");
+        data.getAttributes().put(RenderKitUtils.ROW_WINDOW_ATTRIBUTE, "true");
+        root.getChildren().add(data);
+
+        params = externalContext.getRequestParameterMap();
+        params.put(ClientBehaviorContext.BEHAVIOR_EVENT_PARAM_NAME, RenderKitUtils.ROW_WINDOW_EVENT);
+    }
+
+    public static Test suite() {
+        return new TestSuite(RowWindowTestCase.class);
+    }
+
+    // ------------------------------------------------- Individual Test Methods
+
+    public void testRequestedWindow() {
+        data.setRows(100);
+        params.put("data_first", "200");
+        params.put("data_rows", "50");
+        RenderKitUtils.decodeRowWindow(facesContext, data);
+
+        int[] window = RenderKitUtils.getRequestedRowWindow(facesContext, data);
+        assertNotNull(window);
+        assertEquals(200, window[0]);
+        assertEquals(50, window[1]);
+
+        // consumed by the first renderer asking for it
+        assertNull(RenderKitUtils.getRequestedRowWindow(facesContext, data));
+    }
+
+    public void testNotEnabled() {
+        data.getAttributes().remove(RenderKitUtils.ROW_WINDOW_ATTRIBUTE);
+        params.put("data_first", "200");
+        params.put("data_rows", "50");
+        RenderKitUtils.decodeRowWindow(facesContext, data);
+
+        assertNull(RenderKitUtils.getRequestedRowWindow(facesContext, data));
+    }
+
+    public void testRowsCappedAtConfiguredRows() {
+        data.setRows(20);
+        params.put("data_first", "200");
+        params.put("data_rows", "50");
+        RenderKitUtils.decodeRowWindow(facesContext, data);
+
+        int[] window = RenderKitUtils.getRequestedRowWindow(facesContext, data);
+        assertNotNull(window);
+        assertEquals(200, window[0]);
+        assertEquals(20, window[1]);
+    }
+
+    public void testIgnoredWithoutConfiguredRows() {
+        // only the first row is kept, postbacks would process all rows from there
+        data.setRows(0);
+        params.put("data_first", "200");
+        params.put("data_rows", "50");
+        RenderKitUtils.decodeRowWindow(facesContext, data);
+
+        assertNull(RenderKitUtils.getRequestedRowWindow(facesContext, data));
+    }
+
+    public void testOtherEvent() {
+        params.put(ClientBehaviorContext.BEHAVIOR_EVENT_PARAM_NAME, "click");
+        params.put("data_first", "200");
+        params.put("data_rows", "50");
+        RenderKitUtils.decodeRowWindow(facesContext, data);
+
+        assertNull(RenderKitUtils.getRequestedRowWindow(facesContext, data));
+    }
+
+    public void testInvalidWindow() {
+        data.setRows(100);
+        params.put("data_first", "-1");
+        params.put("data_rows", "50");
+        RenderKitUtils.decodeRowWindow(facesContext, data);
+        assertNull(RenderKitUtils.getRequestedRowWindow(facesContext, data));
+
+        params.put("data_first", "10");
+        params.put("data_rows", "0");
+        RenderKitUtils.decodeRowWindow(facesContext, data);
+        assertNull(RenderKitUtils.getRequestedRowWindow(facesContext, data));
+
+        params.put("data_rows", "many");
+        RenderKitUtils.decodeRowWindow(facesContext, data);
+        assertNull(RenderKitUtils.getRequestedRowWindow(facesContext, data));
+
+        params.remove("data_rows");
+        RenderKitUtils.decodeRowWindow(facesContext, data);
+        assertNull(RenderKitUtils.getRequestedRowWindow(facesContext, data));
+    }
+
+    public void testIgnoredWhenValidationFailed() {
+        data.setRows(100);
+        params.put("data_first", "200");
+        params.put("data_rows", "50");
+        RenderKitUtils.decodeRowWindow(facesContext, data);
+        facesContext.validationFailed();
+
+        assertNull(RenderKitUtils.getRequestedRowWindow(facesContext, data));
+    }
+
+}
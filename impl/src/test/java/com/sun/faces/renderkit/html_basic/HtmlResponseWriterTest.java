@@ -216,4 +216,39 @@ public class HtmlResponseWriterTest {
         assertEquals(expectedStart + expectedEnd, stringWriter.toString());
         responseWriter.close();
     }
+
+    /**
+     * Test that pre-escaped text renders exactly like escaping on the fly, both on first use and when reused.
+     */
+    @Test
+    public void testEscapedTextMatchesWriteText() throws Exception {
+        String text = "<p title=\"a & b\">caf\u00e9 \u20ac & more text than sixteen chars</p>";
+        HtmlResponseWriter.EscapedText escapedText = new HtmlResponseWriter.EscapedText(text);
+
+        StringWriter expected = new StringWriter();
+        HtmlResponseWriter responseWriter = new HtmlResponseWriter(expected, "text/html", "UTF-8");
+        responseWriter.startElement("div", null);
+        responseWriter.writeText(text, null);
+        responseWriter.endElement("div");
+        responseWriter.flush();
+
+        for (int i = 0; i < 2; i++) {
+            StringWriter actual = new StringWriter();
+            responseWriter = new HtmlResponseWriter(actual, "text/html", "UTF-8");
+            responseWriter.startElement("div", null);
+            responseWriter.writeText(escapedText);
+            responseWriter.endElement("div");
+            responseWriter.flush();
+            assertEquals(expected.toString(), actual.toString());
+        }
+
+        // script content must not be escaped
+        StringWriter script = new StringWriter();
+        responseWriter = new HtmlResponseWriter(script, "text/html", "UTF-8");
+        responseWriter.startElement("script", null);
+        responseWriter.writeText(new HtmlResponseWriter.EscapedText("if (a < b && c) {}"));
+        responseWriter.endElement("script");
+        responseWriter.flush();
+        assertTrue(script.toString(), script.toString().contains("if (a < b && c) {}"));
+    }
 }
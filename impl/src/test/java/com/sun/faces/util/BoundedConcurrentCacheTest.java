@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class BoundedConcurrentCacheTest {
+
+    @Test
+    public void testBoundedWithFrequentEntriesRetained() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        BoundedConcurrentCache<Integer, String> cache = new BoundedConcurrentCache<>(key -> {
+            created.incrementAndGet();
+            return "value" + key;
+        }, (key, value) -> false, 10);
+
+        // a popular entry
+        for (int i = 0; i < 20; i++) {
+            assertEquals("value0", cache.get(0));
+        }
+
+        // a scan of entries which are used once
+        for (int i = 1; i <= 100; i++) {
+            assertEquals("value" + i, cache.get(i));
+        }
+
+        assertTrue(cache.getSize() <= 10);
+        assertTrue(cache.containsKey(0));
+        assertEquals(101, created.get());
+        assertEquals(19, cache.getHitCount());
+        assertEquals(101, cache.getMissCount());
+        assertEquals(91, cache.getEvictionCount());
+        assertEquals(101, cache.getCreationCount());
+    }
+
+    @Test
+    public void testExpiredValueIsReplaced() throws Exception {
+        AtomicInteger version = new AtomicInteger();
+        BoundedConcurrentCache<String, Integer> cache = new BoundedConcurrentCache<>(key -> version.get(), (key, value) -> value != version.get(), 10);
+
+        assertEquals(0, (int) cache.get("a"));
+        assertTrue(cache.containsKey("a"));
+
+        version.set(1);
+        assertFalse(cache.containsKey("a"));
+        assertEquals(1, (int) cache.get("a"));
+        assertTrue(cache.containsKey("a"));
+        assertEquals(1, cache.getSize());
+        assertEquals(2, cache.getCreationCount());
+    }
+
+    @Test
+    public void testFailedCreationIsNotCached() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>(key -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("first attempt fails");
+            }
+            return key;
+        }, (key, value) -> false, 10);
+
+        try {
+            cache.get("a");
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertFalse(cache.containsKey("a"));
+        assertEquals("a", cache.get("a"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+}
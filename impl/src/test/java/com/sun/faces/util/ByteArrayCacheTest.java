@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ByteArrayCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testBoundedBySize() {
+        ByteArrayCache cache = new ByteArrayCache(10_000, 100, null, 0);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key" + i, new byte[100]);
+        }
+
+        assertTrue(cache.getSize() <= 10_000);
+        assertTrue(cache.getEvictionCount() >= 900);
+        assertEquals(cache.getEntryCount() * 100L, cache.getSize());
+    }
+
+    @Test
+    public void testFrequentEntriesSurviveScan() {
+        ByteArrayCache cache = new ByteArrayCache(10_000, 100, null, 0);
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot" + i, new byte[100]);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                assertNotNull(cache.get("hot" + i));
+            }
+        }
+
+        // a burst of entries used only once must not flush the frequently used ones
+        for (int i = 0; i < 1000; i++) {
+            cache.put("cold" + i, new byte[100]);
+        }
+
+        int hot = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get("hot" + i) != null) {
+                hot++;
+            }
+        }
+        assertTrue("only " + hot + " frequently used entries were kept", hot >= 45);
+    }
+
+    @Test
+    public void testSpillToFile() throws Exception {
+        ByteArrayCache cache = new ByteArrayCache(1_000, 100, folder.getRoot(), 100_000);
+        try {
+            for (int i = 0; i < 100; i++) {
+                byte[] value = new byte[100];
+                value[0] = (byte) i;
+                cache.put("key" + i, value);
+            }
+
+            assertTrue(cache.getSpillCount() > 0);
+            assertTrue(cache.getSpillEntryCount() > 0);
+
+            byte[] value = cache.get("key0");
+            assertNotNull(value);
+            assertEquals(0, value[0]);
+            assertEquals(1, cache.getSpillHitCount());
+
+            assertNull(cache.get("unknown"));
+            assertEquals(1, cache.getMissCount());
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    public void testSpillFileOverwritesOldestEntries() throws Exception {
+        ByteArrayCache cache = new ByteArrayCache(100, 100, folder.getRoot(), 1_000);
+        try {
+            for (int i = 0; i < 30; i++) {
+                byte[] value = new byte[100];
+                value[0] = (byte) i;
+                cache.put("key" + i, value);
+            }
+
+            assertTrue(cache.getSpillSize() <= 1_000);
+            assertNull(cache.get("key0"));
+            byte[] expected = new byte[100];
+            expected[0] = 28;
+            assertArrayEquals(expected, cache.get("key28"));
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentRequestsForSpilledEntry() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ByteArrayCache cache = new ByteArrayCache(1_000, 100, folder.getRoot(), 1_000_000);
+        try {
+            for (int round = 0; round < 10_000; round++) {
+                String key = "key" + round;
+                cache.put(key, new byte[100]);
+
+                // push the entry out of memory into the spill file
+                for (int i = 0; i < 20; i++) {
+                    cache.put("filler" + round + "-" + i, new byte[100]);
+                }
+
+                // parallel requests for the same spilled entry must all find it
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<byte[]>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    Callable<byte[]> request = () -> {
+                        start.await();
+                        return cache.get(key);
+                    };
+                    results.add(executor.submit(request));
+                }
+                start.countDown();
+
+                for (Future<byte[]> result : results) {
+                    assertNotNull(key + " was not found", result.get());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            cache.close();
+        }
+    }
+
+    @Test
+    public void testReplaceAndRemove() {
+        ByteArrayCache cache = new ByteArrayCache(1_000, 100, null, 0);
+        cache.put("key", new byte[10]);
+        cache.put("key", new byte[20]);
+        assertEquals(20, cache.get("key").length);
+        assertEquals(20, cache.getSize());
+
+        cache.remove("key");
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.getSize());
+    }
+
+}
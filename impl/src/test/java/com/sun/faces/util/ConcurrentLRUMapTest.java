@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ConcurrentLRUMapTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        ConcurrentLRUMap<String, String> map = new ConcurrentLRUMap<>(3);
+        map.put("one", "one");
+        map.put("two", "two");
+        map.put("three", "three");
+
+        // touch "one" so "two" becomes the eldest
+        assertEquals("one", map.get("one"));
+        map.put("four", "four");
+
+        assertEquals(3, map.size());
+        assertTrue(map.containsKey("one"));
+        assertFalse(map.containsKey("two"));
+        assertTrue(map.containsKey("three"));
+        assertTrue(map.containsKey("four"));
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        ConcurrentLRUMap<String, String> map = new ConcurrentLRUMap<>(2);
+        assertEquals("a", map.computeIfAbsent("one", key -> "a"));
+        assertEquals("a", map.computeIfAbsent("one", key -> "b"));
+        map.computeIfAbsent("two", key -> "c");
+        map.computeIfAbsent("one", key -> "d");
+        map.computeIfAbsent("three", key -> "e");
+
+        assertEquals(2, map.size());
+        assertNull(map.get("two"));
+        assertEquals("a", map.get("one"));
+    }
+
+    @Test
+    public void testConcurrentPutsStayBounded() throws Exception {
+        ConcurrentLRUMap<Integer, Integer> map = new ConcurrentLRUMap<>(15);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            int offset = i * 1000;
+            executor.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    map.put(offset + j, j);
+                    map.get(offset + j);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertTrue(map.size() <= 15);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import jakarta.faces.component.html.HtmlInputText;
+
+public class InstantiatorTest {
+
+    @Test
+    public void testSupplierCreatesNewInstances() {
+        Supplier<HtmlInputText> supplier = Instantiator.getSupplier(HtmlInputText.class);
+        assertNotNull(supplier);
+        assertSame(supplier, Instantiator.getSupplier(HtmlInputText.class));
+
+        HtmlInputText first = supplier.get();
+        assertEquals(HtmlInputText.class, first.getClass());
+        assertNotSame(first, supplier.get());
+    }
+
+    @Test
+    public void testUnavailableSupplier() {
+        assertNull(Instantiator.getSupplier(NoDefaultConstructor.class));
+        assertNull(Instantiator.getSupplier(AbstractType.class));
+        assertNull(Instantiator.getSupplier(NotPublic.class));
+        assertNull(Instantiator.getSupplier(Inner.class));
+    }
+
+    @Test
+    public void testConstructorExceptionIsPropagated() {
+        Supplier<Failing> supplier = Instantiator.getSupplier(Failing.class);
+        assertNotNull(supplier);
+
+        try {
+            supplier.get();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("failing", e.getMessage());
+        }
+    }
+
+    public static class NoDefaultConstructor {
+        public NoDefaultConstructor(String value) {
+        }
+    }
+
+    public abstract static class AbstractType {
+    }
+
+    static class NotPublic {
+    }
+
+    public class Inner {
+    }
+
+    public static class Failing {
+        public Failing() {
+            throw new IllegalStateException("failing");
+        }
+    }
+
+}
@@ -132,6 +132,23 @@ public class TestHtmlUtils extends TestCase {
         }
     }
 
+    public void testWriteTextRuns() throws IOException {
+        StringBuilder text = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            text.append("plain text run ").append(i).append(" <b>&amp;</b>\u00e9");
+            expected.append("plain text run ").append(i).append(" &lt;b&gt;&amp;amp;&lt;/b&gt;&eacute;");
+        }
+        char[] chars = text.toString().toCharArray();
+
+        // buffers smaller than, equal to and larger than the runs
+        for (int size : new int[] { 8, 15, 64, 1024 }) {
+            StringWriter writer = new StringWriter();
+            HtmlUtils.writeText(writer, true, true, new char[size], chars, false);
+            assertEquals(expected.toString(), writer.toString());
+        }
+    }
+
     private void testURLEncoding(String urlToEncode, String expectedHTML, String expectedXML)
             throws IOException {
         char[] textBuffer = new char[1024];
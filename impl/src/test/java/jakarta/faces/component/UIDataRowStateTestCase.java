@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.faces.component;
+
+import static java.util.Arrays.asList;
+
+import java.util.Map;
+
+import com.sun.faces.junit.JUnitFacesTestCaseBase;
+import com.sun.faces.mock.MockRenderKit;
+
+import jakarta.faces.FactoryFinder;
+import jakarta.faces.application.StateManager;
+import jakarta.faces.render.RenderKit;
+import jakarta.faces.render.RenderKitFactory;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * <p>
+ * Unit tests for the per-row state of the descendants of {@link UIData}.
+ * </p>
+ */
+public class UIDataRowStateTestCase extends JUnitFacesTestCaseBase {
+
+    private UIData data;
+    private UIInput input;
+
+    // ------------------------------------------------------------ Constructors
+
+    public UIDataRowStateTestCase(String name) {
+        super(name);
+    }
+
+    // ---------------------------------------------------- Overall Test Methods
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        UIViewRoot root = facesContext.getApplication().getViewHandler().createView(facesContext, null);
+        root.setViewId("/viewId");
+        facesContext.setViewRoot(root);
+        RenderKitFactory renderKitFactory = (RenderKitFactory) FactoryFinder.getFactory(FactoryFinder.RENDER_KIT_FACTORY);
+        RenderKit renderKit = new MockRenderKit();
+        try {
+            renderKitFactory.addRenderKit(RenderKitFactory.HTML_BASIC_RENDER_KIT, renderKit);
+        } catch (IllegalArgumentException e) {
+        }
+
+        data = new UIData();
+        data.setId("data");
+        data.setRendererType(null);
+        data.setValue(asList("a", "b", "c"));
+        UIColumn column = new UIColumn();
+        column.setId("column");
+        input = new UIInput();
+        input.setId("input");
+        input.setRendererType(null);
+        column.getChildren().add(input);
+        data.getChildren().add(column);
+        root.getChildren().add(data);
+    }
+
+    public static Test suite() {
+        return new TestSuite(UIDataRowStateTestCase.class);
+    }
+
+    // ------------------------------------------------- Individual Test Methods
+
+    public void testUntouchedRowsSaveNoState() {
+        for (int i = 0; i < 3; i++) {
+            data.setRowIndex(i);
+            assertEquals("data:" + i + ":input", input.getClientId(facesContext));
+        }
+        data.setRowIndex(-1);
+
+        assertNull(getSaved());
+    }
+
+    public void testModifiedRowsAreRestored() {
+        data.setRowIndex(0);
+        input.setSubmittedValue("x");
+        data.setRowIndex(1);
+        assertNull(input.getSubmittedValue());
+        input.setValid(false);
+        data.setRowIndex(2);
+        assertNull(input.getSubmittedValue());
+        assertTrue(input.isValid());
+        data.setRowIndex(0);
+        assertEquals("x", input.getSubmittedValue());
+        data.setRowIndex(1);
+        assertFalse(input.isValid());
+        data.setRowIndex(-1);
+
+        assertEquals(2, getSaved().size());
+    }
+
+    public void testResetRowsRemoveTheirState() {
+        data.setRowIndex(0);
+        input.setValue("x");
+        data.setRowIndex(1);
+        assertNull(input.getLocalValue());
+        data.setRowIndex(0);
+        assertEquals("x", input.getLocalValue());
+        input.resetValue();
+        data.setRowIndex(-1);
+
+        assertTrue(getSaved() == null || getSaved().isEmpty());
+    }
+
+    public void testRowStatePreserved() {
+        data.setRowStatePreserved(true);
+        facesContext.getAttributes().put(StateManager.IS_BUILDING_INITIAL_STATE, Boolean.TRUE);
+        data.markInitialState();
+        data.getChildren().get(0).markInitialState();
+        input.markInitialState();
+        facesContext.getAttributes().remove(StateManager.IS_BUILDING_INITIAL_STATE);
+
+        data.setRowIndex(0);
+        input.setRequired(true);
+        data.setRowIndex(1);
+        assertFalse(input.isRequired());
+        data.setRowIndex(2);
+        assertFalse(input.isRequired());
+        assertEquals("data:2:input", input.getClientId(facesContext));
+        data.setRowIndex(0);
+        assertTrue(input.isRequired());
+        assertEquals("data:0:input", input.getClientId(facesContext));
+        data.setRowIndex(1);
+        assertFalse(input.isRequired());
+        assertEquals("data:1:input", input.getClientId(facesContext));
+    }
+
+    // --------------------------------------------------------- Support Methods
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getSaved() {
+        return (Map<String, Object>) data.getStateHelper().get(UIData.PropertyKeys.saved);
+    }
+
+}
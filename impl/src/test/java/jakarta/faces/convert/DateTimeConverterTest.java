@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.faces.convert;
+
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.powermock.api.easymock.PowerMock;
+
+import jakarta.faces.component.UIPanel;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * The JUnit tests for the DateTimeConverter class.
+ */
+public class DateTimeConverterTest {
+
+    /**
+     * Test that the time zone of one converter does not leak into the cached formatter used by another.
+     */
+    @Test
+    public void testGetAsStringPerTimeZone() {
+        FacesContext facesContext = PowerMock.createMock(FacesContext.class);
+        replay(facesContext);
+
+        Date epoch = new Date(0);
+        DateTimeConverter gmt = createConverter("yyyy-MM-dd HH:mm");
+        DateTimeConverter tokyo = createConverter("yyyy-MM-dd HH:mm");
+        tokyo.setTimeZone(TimeZone.getTimeZone("Asia/Tokyo"));
+
+        assertEquals("1970-01-01 00:00", gmt.getAsString(facesContext, new UIPanel(), epoch));
+        assertEquals("1970-01-01 09:00", tokyo.getAsString(facesContext, new UIPanel(), epoch));
+        assertEquals("1970-01-01 00:00", gmt.getAsString(facesContext, new UIPanel(), epoch));
+        assertEquals(epoch, gmt.getAsObject(facesContext, new UIPanel(), "1970-01-01 00:00"));
+        assertEquals(epoch, tokyo.getAsObject(facesContext, new UIPanel(), "1970-01-01 09:00"));
+    }
+
+    /**
+     * Test that converters differing in style, type or locale do not share a cached formatter.
+     */
+    @Test
+    public void testGetAsStringPerConfiguration() {
+        FacesContext facesContext = PowerMock.createMock(FacesContext.class);
+        replay(facesContext);
+
+        DateTimeConverter converter = createConverter(null);
+        converter.setDateStyle("short");
+        assertEquals("1/1/70", converter.getAsString(facesContext, new UIPanel(), new Date(0)));
+        converter.setDateStyle("long");
+        assertEquals("January 1, 1970", converter.getAsString(facesContext, new UIPanel(), new Date(0)));
+
+        DateTimeConverter localDate = createConverter("dd.MM.yyyy");
+        localDate.setType("localDate");
+        assertEquals("01.02.2003", localDate.getAsString(facesContext, new UIPanel(), LocalDate.of(2003, 2, 1)));
+        assertEquals(LocalDate.of(2003, 2, 1), localDate.getAsObject(facesContext, new UIPanel(), "01.02.2003"));
+    }
+
+    private static DateTimeConverter createConverter(String pattern) {
+        DateTimeConverter converter = new DateTimeConverter();
+        converter.setLocale(Locale.US);
+        converter.setPattern(pattern);
+        return converter;
+    }
+
+}
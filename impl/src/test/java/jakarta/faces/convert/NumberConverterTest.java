@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.faces.convert;
+
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+
+import org.junit.Test;
+import org.powermock.api.easymock.PowerMock;
+
+import jakarta.faces.component.UIPanel;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * The JUnit tests for the NumberConverter class.
+ */
+public class NumberConverterTest {
+
+    /**
+     * Test that converters differing only in their formatting properties do not share a cached formatter.
+     */
+    @Test
+    public void testGetAsStringPerConfiguration() {
+        FacesContext facesContext = PowerMock.createMock(FacesContext.class);
+        replay(facesContext);
+
+        NumberConverter converter = createConverter("number");
+        assertEquals("1,234.568", converter.getAsString(facesContext, new UIPanel(), 1234.5678));
+        converter.setMaxFractionDigits(1);
+        assertEquals("1,234.6", converter.getAsString(facesContext, new UIPanel(), 1234.5678));
+        converter.setGroupingUsed(false);
+        assertEquals("1234.6", converter.getAsString(facesContext, new UIPanel(), 1234.5678));
+        assertEquals("1,234.568", createConverter("number").getAsString(facesContext, new UIPanel(), 1234.5678));
+
+        NumberConverter currency = createConverter("currency");
+        assertEquals("$1.50", currency.getAsString(facesContext, new UIPanel(), 1.5));
+        currency.setCurrencySymbol("#");
+        assertEquals("#1.50", currency.getAsString(facesContext, new UIPanel(), 1.5));
+        assertEquals("$1.50", createConverter("currency").getAsString(facesContext, new UIPanel(), 1.5));
+
+        NumberConverter percent = createConverter("percent");
+        assertEquals("75%", percent.getAsString(facesContext, new UIPanel(), 0.75));
+        percent.setLocale(Locale.GERMANY);
+        assertEquals(NumberFormat.getPercentInstance(Locale.GERMANY).format(0.75), percent.getAsString(facesContext, new UIPanel(), 0.75));
+    }
+
+    /**
+     * Test that parsing settings applied per conversion do not leak into the cached parser.
+     */
+    @Test
+    public void testGetAsObjectPerConfiguration() {
+        FacesContext facesContext = PowerMock.createMock(FacesContext.class);
+        replay(facesContext);
+
+        NumberConverter converter = createConverter("number");
+        converter.setIntegerOnly(true);
+        assertEquals(1234L, converter.getAsObject(facesContext, new UIPanel(), "1,234.5"));
+        converter.setIntegerOnly(false);
+        assertEquals(1234.5, converter.getAsObject(facesContext, new UIPanel(), "1,234.5"));
+
+        NumberConverter pattern = new NumberConverter();
+        pattern.setLocale(Locale.US);
+        pattern.setPattern("#,##0.00");
+        assertEquals("1,234.50", pattern.getAsString(facesContext, new UIPanel(), 1234.5));
+        assertEquals(1234.5, pattern.getAsObject(facesContext, new UIPanel(), "1,234.50"));
+    }
+
+    private static NumberConverter createConverter(String type) {
+        NumberConverter converter = new NumberConverter();
+        converter.setLocale(Locale.US);
+        converter.setType(type);
+        return converter;
+    }
+
+}
@@ -15,8 +15,12 @@
  */
 package org.eclipse.mojarra.rest;
 
+import java.io.FilterWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Stream;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.faces.FacesException;
 import jakarta.faces.context.FacesContext;
@@ -25,11 +29,23 @@ import jakarta.json.bind.JsonbBuilder;
 
 /**
  * The JSON (application/json) response writer.
+ *
+ * <p>
+ * The result is serialized straight into the response writer. A result that
+ * is a {@link Stream}, an {@link Iterator} or an {@link Iterable} that is not a
+ * {@link Collection} is written as a JSON array one element at a time, and
+ * the response is flushed every {@value #FLUSH_INTERVAL} elements so it is
+ * sent in chunks without materializing the result.
  */
 @ApplicationScoped
 @RestResponseWriterContentType("application/json")
 public class DefaultJsonResponseWriter implements RestResponseWriter {
 
+    /**
+     * Stores the number of array elements written between flushes.
+     */
+    private static final int FLUSH_INTERVAL = 100;
+
     /**
      * Stores the JSON-B builder.
      */
@@ -61,8 +77,19 @@ public class DefaultJsonResponseWriter implements RestResponseWriter {
             }
         } else {
             try {
-                Writer writer = facesContext.getExternalContext().getResponseOutputWriter();
-                writer.write(jsonb.toJson(result));
+                Writer writer = new NonClosingWriter(
+                        facesContext.getExternalContext().getResponseOutputWriter());
+                if (result instanceof Stream) {
+                    try (Stream<?> stream = (Stream<?>) result) {
+                        writeArray(stream.iterator(), writer);
+                    }
+                } else if (result instanceof Iterator) {
+                    writeArray((Iterator<?>) result, writer);
+                } else if (result instanceof Iterable && !(result instanceof Collection)) {
+                    writeArray(((Iterable<?>) result).iterator(), writer);
+                } else {
+                    jsonb.toJson(result, writer);
+                }
                 writer.flush();
                 facesContext.responseComplete();
             } catch (IOException ioe) {
@@ -70,4 +97,54 @@ public class DefaultJsonResponseWriter implements RestResponseWriter {
             }
         }
     }
+
+    /**
+     * Write the elements as a JSON array.
+     *
+     * @param iterator the iterator.
+     * @param writer the writer.
+     * @throws IOException when an I/O error occurs.
+     */
+    private void writeArray(Iterator<?> iterator, Writer writer) throws IOException {
+        writer.write('[');
+        int count = 0;
+        while (iterator.hasNext()) {
+            if (count > 0) {
+                writer.write(',');
+            }
+            Object element = iterator.next();
+            if (element == null) {
+                writer.write("null");
+            } else {
+                jsonb.toJson(element, writer);
+            }
+            if (++count % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.write(']');
+    }
+
+    /**
+     * A writer that does not close the response writer.
+     *
+     * <p>
+     * JSON-B closes the writer it serializes to, which would prevent writing
+     * more than one value to the response.
+     */
+    private static class NonClosingWriter extends FilterWriter {
+
+        /**
+         * Constructor.
+         *
+         * @param writer the writer to delegate to.
+         */
+        NonClosingWriter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
@@ -15,79 +15,62 @@
  */
 package org.eclipse.mojarra.rest;
 
-import java.util.Iterator;
-import java.util.Set;
-import java.util.regex.Pattern;
-
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.enterprise.inject.Any;
-import jakarta.enterprise.inject.spi.AnnotatedMethod;
-import jakarta.enterprise.inject.spi.AnnotatedType;
-import jakarta.enterprise.inject.spi.Bean;
-import jakarta.enterprise.inject.spi.CDI;
+import jakarta.faces.context.ExternalContext;
 import jakarta.faces.context.FacesContext;
+import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * The default RestMappingMatcher.
+ *
+ * <p>
+ * Matching is done against the {@link RestRouteIndex} built at deployment
+ * time by the {@link RestExtension}. When multiple routes match the route with
+ * the longest literal prefix wins, and a literal REST path always wins over a
+ * regular expression.
  */
 @ApplicationScoped
 public class DefaultRestMappingMatcher implements RestMappingMatcher {
 
     /**
-     * Find the REST mapping for the given bean.
-     *
-     * @param facesContext the Faces context.
-     * @param bean the bean.
-     * @return the REST mapping match, or null if not found.
+     * Stores the REST extension.
      */
-    @SuppressWarnings("rawtypes")
-    private RestMappingMatch determineRestMappingMatch(FacesContext facesContext, Bean<?> bean) {
-        RestMappingMatch result = null;
-        Class<?> clazz = bean.getBeanClass();
-        AnnotatedType annotatedType = CDI.current().getBeanManager().createAnnotatedType(clazz);
-        @SuppressWarnings("unchecked")
-        Set<AnnotatedMethod> annotatedMethodSet = annotatedType.getMethods();
-        for (AnnotatedMethod method : annotatedMethodSet) {
-            if (method.isAnnotationPresent(RestPath.class)) {
-                RestPath restPath = method.getAnnotation(RestPath.class);
-                String path = restPath.value();
-                String pathInfo = facesContext.getExternalContext().getRequestPathInfo();
-                if (Pattern.matches(path, pathInfo)) {
-                    result = new RestMappingMatch();
-                    result.setBean(bean);
-                    result.setMethod(method.getJavaMember());
-                    result.setPathInfo(pathInfo);
-                    result.setRestPath(path);
-                }
-            }
-        }
-        return result;
-    }
+    @Inject
+    private RestExtension restExtension;
 
     /**
-     * Get the beans.
+     * Get the HTTP method of the current request.
      *
-     * @return the beans.
+     * @param externalContext the external context.
+     * @return the HTTP method, or null if not available.
      */
-    private Iterator<Bean<?>> getBeans() {
-        Set<Bean<?>> beans = CDI.current().getBeanManager().getBeans(
-                Object.class, Any.Literal.INSTANCE);
-        return beans.iterator();
+    private String getRequestMethod(ExternalContext externalContext) {
+        Object request = externalContext.getRequest();
+        if (request instanceof HttpServletRequest) {
+            return ((HttpServletRequest) request).getMethod();
+        }
+        return null;
     }
 
     @Override
     public RestMappingMatch match(FacesContext facesContext) {
-        RestMappingMatch match = null;
-        Iterator<Bean<?>> beans = getBeans();
-        while (beans.hasNext()) {
-            Bean<?> bean = beans.next();
-            RestMappingMatch candidate = determineRestMappingMatch(facesContext, bean);
-            if (match == null) {
-                match = candidate;
-            } else if (candidate != null && candidate.getLength() > match.getLength()) {
-                match = candidate;
-            }
+        ExternalContext externalContext = facesContext.getExternalContext();
+        String pathInfo = externalContext.getRequestPathInfo();
+        if (pathInfo == null) {
+            return null;
         }
-        return match;
+        RestRoute route = restExtension.getRouteIndex().match(
+                pathInfo, getRequestMethod(externalContext));
+        if (route == null) {
+            return null;
+        }
+        RestMappingMatch result = new RestMappingMatch();
+        result.setBean(route.getBean());
+        result.setMethod(route.getMethod());
+        result.setPathInfo(pathInfo);
+        result.setRestPath(route.getRestPath());
+        result.setRoute(route);
+        return result;
     }
 }
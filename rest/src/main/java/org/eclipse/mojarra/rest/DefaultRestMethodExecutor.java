@@ -15,20 +15,29 @@
  */
 package org.eclipse.mojarra.rest;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.enterprise.inject.Any;
-import jakarta.enterprise.inject.Instance;
-import jakarta.enterprise.inject.spi.CDI;
 import jakarta.faces.FacesException;
 import jakarta.faces.context.FacesContext;
 import jakarta.inject.Inject;
 
 /**
  * The default RestMethodExecutor.
+ *
+ * <p>
+ * The {@link RestInvocationPlan} of a method is created on its first
+ * execution and reused afterwards.
  */
 @ApplicationScoped
 public class DefaultRestMethodExecutor implements RestMethodExecutor {
 
+    /**
+     * Stores the invocation plans (by bean class and method).
+     */
+    private final Map<Class<?>, Map<Method, RestInvocationPlan>> plans = new ConcurrentHashMap<>();
+
     /**
      * Stores the REST parameter producer.
      */
@@ -37,21 +46,14 @@ public class DefaultRestMethodExecutor implements RestMethodExecutor {
 
     @Override
     public Object execute(FacesContext facesContext, RestMappingMatch restMappingMatch) {
-        Instance<?> instance = CDI.current().select(
-                restMappingMatch.getBean().getBeanClass(), Any.Literal.INSTANCE);
+        Class<?> beanClass = restMappingMatch.getBean().getBeanClass();
+        RestInvocationPlan plan = plans
+                .computeIfAbsent(beanClass, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(restMappingMatch.getMethod(),
+                        method -> new RestInvocationPlan(beanClass, method, restParameterProducer));
         Object result;
         try {
-            Object[] parameters = new Object[restMappingMatch.getMethod().getParameterCount()];
-            if (parameters.length > 0) {
-                for (int i = 0; i < parameters.length; i++) {
-                    parameters[i] = restParameterProducer.produce(
-                            facesContext,
-                            restMappingMatch,
-                            restMappingMatch.getMethod().getParameterTypes()[i],
-                            restMappingMatch.getMethod().getParameterAnnotations()[i]);
-                }
-            }
-            result = restMappingMatch.getMethod().invoke(instance.get(), parameters);
+            result = plan.execute(facesContext, restMappingMatch);
         } catch (Throwable throwable) {
             throw new FacesException(throwable);
         }
@@ -17,15 +17,20 @@ package org.eclipse.mojarra.rest;
 
 import java.lang.annotation.Annotation;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.spi.CDI;
 import jakarta.faces.FacesException;
 import jakarta.faces.context.FacesContext;
 
 /**
  * The default RestParameterProducer.
+ *
+ * <p>
+ * The annotations of a parameter are inspected once, when the extractor is
+ * created. Path parameters are taken from the path matcher of the REST
+ * mapping match, which uses the precompiled pattern of the route.
  */
 @ApplicationScoped
 public class DefaultRestParameterProducer implements RestParameterProducer {
@@ -34,30 +39,45 @@ public class DefaultRestParameterProducer implements RestParameterProducer {
     public Object produce(FacesContext facesContext,
             RestMappingMatch restMappingMatch, Class<?> parameterType,
             Annotation[] parameterAnnotations) {
-        
+        return createExtractor(parameterType, parameterAnnotations).extract(
+                facesContext, restMappingMatch);
+    }
+
+    @Override
+    public RestParameterExtractor createExtractor(Class<?> parameterType,
+            Annotation[] parameterAnnotations) {
+
         RestHeaderParameter header = getRestHeaderParameterAnnotation(parameterAnnotations);
         if (header != null) {
-            String[] value = facesContext.getExternalContext().getRequestHeaderValuesMap().get(header.value());
-            return value != null ? value : new String[] {};
+            String name = header.value();
+            return (facesContext, restMappingMatch) -> {
+                String[] value = facesContext.getExternalContext().getRequestHeaderValuesMap().get(name);
+                return value != null ? value : new String[] {};
+            };
         }
-        
+
         RestPathParameter path = getRestPathParameterAnnotation(parameterAnnotations);
         if (path != null) {
-            Pattern pattern = Pattern.compile(restMappingMatch.getRestPath());
-            Matcher matcher = pattern.matcher(restMappingMatch.getPathInfo());
-            if (matcher.matches()) {
-                return matcher.group(path.value());
-            } else {
-                throw new FacesException("Unable to match @RestPathParameter: " + path.value());
-            }
+            String name = path.value();
+            return (facesContext, restMappingMatch) -> {
+                Matcher matcher = restMappingMatch.getPathMatcher();
+                if (matcher != null) {
+                    return matcher.group(name);
+                } else {
+                    throw new FacesException("Unable to match @RestPathParameter: " + name);
+                }
+            };
         }
 
         RestQueryParameter query = getRestQueryParameterAnnotation(parameterAnnotations);
         if (query != null) {
-            return facesContext.getExternalContext().getRequestParameterMap().get(query.value());
+            String name = query.value();
+            return (facesContext, restMappingMatch)
+                    -> facesContext.getExternalContext().getRequestParameterMap().get(name);
         }
 
-        return CDI.current().select(parameterType, Any.Literal.INSTANCE).get();
+        Instance<?> instance = CDI.current().select(parameterType, Any.Literal.INSTANCE);
+        return (facesContext, restMappingMatch) -> instance.get();
     }
 
     /**
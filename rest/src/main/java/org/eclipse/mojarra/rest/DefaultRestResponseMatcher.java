@@ -15,48 +15,309 @@
  */
 package org.eclipse.mojarra.rest;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.enterprise.inject.Default;
-import jakarta.enterprise.inject.spi.AnnotatedType;
 import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanManager;
-import jakarta.enterprise.inject.spi.CDI;
 import jakarta.inject.Inject;
 
 /**
  * The default RestResponseMatcher.
+ *
+ * <p>
+ * The response writer bean for a content type is resolved once and cached.
+ * For a normal-scoped response writer the client proxy is cached as well,
+ * for a pseudo-scoped one (e.g. Dependent) a new contextual reference is
+ * obtained for every response, so the semantics of the scope are preserved.
+ * The result of negotiating an Accept header (including q-values) is cached
+ * as well, so after warm-up rendering a response does not look up any beans.
  */
 @ApplicationScoped
 public class DefaultRestResponseMatcher implements RestResponseMatcher {
-    
+
+    /**
+     * Stores the default content type.
+     */
+    private static final String DEFAULT_CONTENT_TYPE = "application/json";
+
+    /**
+     * Stores the maximum number of negotiated Accept headers to cache.
+     */
+    private static final int MAX_NEGOTIATED = 256;
+
     /**
      * Stores the bean manager.
      */
     @Inject
     private BeanManager beanManager;
-    
+
+    /**
+     * Stores the negotiated content types (by Accept header).
+     */
+    private final Map<String, String> negotiatedContentTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Stores the response writers (by content type).
+     */
+    private final Map<String, ResponseWriterEntry> responseWriters = new ConcurrentHashMap<>();
+
+    /**
+     * Stores the response writer beans (by normalized content type).
+     */
+    private volatile Map<String, Bean<?>> responseWriterBeans;
+
+    /**
+     * Stores the response writer bean used when no content type matches.
+     */
+    private volatile Bean<?> fallbackResponseWriterBean;
+
+    /**
+     * Get the response writer beans.
+     *
+     * @return the response writer beans.
+     */
+    private Map<String, Bean<?>> getResponseWriterBeans() {
+        Map<String, Bean<?>> result = responseWriterBeans;
+        if (result == null) {
+            result = new LinkedHashMap<>();
+            Bean<?> fallback = null;
+            Set<Bean<?>> beans = beanManager.getBeans(RestResponseWriter.class);
+            Iterator<Bean<?>> iterator = beans.iterator();
+            while (iterator.hasNext()) {
+                Bean<?> bean = iterator.next();
+                RestResponseWriterContentType contentType = bean.getBeanClass().getAnnotation(RestResponseWriterContentType.class);
+                if (contentType != null) {
+                    result.putIfAbsent(normalize(contentType.value()), bean);
+                } else if (fallback == null) {
+                    fallback = bean;
+                }
+            }
+            if (fallback == null && !beans.isEmpty()) {
+                fallback = beans.iterator().next();
+            }
+            fallbackResponseWriterBean = fallback;
+            result = Collections.unmodifiableMap(result);
+            responseWriterBeans = result;
+        }
+        return result;
+    }
+
     @Override
     public RestResponseWriter getResponseWriter(String responseContentType) {
-        RestResponseWriter result = null;
-        AnnotatedType<RestResponseWriter> type = beanManager.createAnnotatedType(RestResponseWriter.class);
-        Set<Bean<?>> beans = beanManager.getBeans(type.getBaseType());
-        Iterator<Bean<?>> iterator = beans.iterator();
-        while (iterator.hasNext()) {
-            Bean<?> bean = iterator.next();
-            RestResponseWriterContentType contentType = bean.getBeanClass().getAnnotation(RestResponseWriterContentType.class);
-            if (contentType != null && contentType.value().equals(responseContentType)) {
-                result = (RestResponseWriter) CDI.current().select(bean.getBeanClass()).get();
-                break;
-            }
+        ResponseWriterEntry entry = responseWriters.computeIfAbsent(responseContentType, this::resolveResponseWriter);
+        return entry.reference != null ? entry.reference : createReference(entry.bean);
+    }
+
+    @Override
+    public String negotiateContentType(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return DEFAULT_CONTENT_TYPE;
         }
+        String result = negotiatedContentTypes.get(accept);
         if (result == null) {
-            beans = beanManager.getBeans(type.getBaseType(), new Default.Literal());
-            iterator = beans.iterator();
-            Bean<?> bean = iterator.next();
-            result = (RestResponseWriter) CDI.current().select(bean.getBeanClass()).get();
+            result = negotiate(accept);
+            if (negotiatedContentTypes.size() >= MAX_NEGOTIATED) {
+                negotiatedContentTypes.clear();
+            }
+            negotiatedContentTypes.put(accept, result);
         }
         return result;
     }
+
+    /**
+     * Negotiate the content type for the given Accept header.
+     *
+     * @param accept the Accept header.
+     * @return the content type.
+     */
+    private String negotiate(String accept) {
+        Map<String, Bean<?>> beans = getResponseWriterBeans();
+        List<MediaRange> ranges = new ArrayList<>();
+        for (String value : accept.split(",")) {
+            MediaRange range = MediaRange.parse(value, ranges.size());
+            if (range != null && range.quality > 0) {
+                ranges.add(range);
+            }
+        }
+        Collections.sort(ranges);
+        for (MediaRange range : ranges) {
+            if (range.type.equals("*/*")) {
+                return DEFAULT_CONTENT_TYPE;
+            } else if (range.type.endsWith("/*")) {
+                String prefix = range.type.substring(0, range.type.length() - 1);
+                if (DEFAULT_CONTENT_TYPE.startsWith(prefix)) {
+                    return DEFAULT_CONTENT_TYPE;
+                }
+                for (String contentType : beans.keySet()) {
+                    if (contentType.startsWith(prefix)) {
+                        return contentType;
+                    }
+                }
+            } else if (beans.containsKey(range.type)) {
+                return range.type;
+            }
+        }
+        return DEFAULT_CONTENT_TYPE;
+    }
+
+    /**
+     * Normalize a content type by removing its parameters.
+     *
+     * @param contentType the content type.
+     * @return the normalized content type.
+     */
+    private static String normalize(String contentType) {
+        int index = contentType.indexOf(';');
+        if (index != -1) {
+            contentType = contentType.substring(0, index);
+        }
+        return contentType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolve the response writer for the given content type.
+     *
+     * @param responseContentType the response content type.
+     * @return the response writer entry.
+     */
+    private ResponseWriterEntry resolveResponseWriter(String responseContentType) {
+        Bean<?> bean = getResponseWriterBeans().get(normalize(responseContentType));
+        if (bean == null) {
+            bean = fallbackResponseWriterBean;
+        }
+        RestResponseWriter reference = beanManager.isNormalScope(bean.getScope()) ? createReference(bean) : null;
+        return new ResponseWriterEntry(bean, reference);
+    }
+
+    /**
+     * Create a contextual reference for the given response writer bean.
+     *
+     * @param <B> the type of the bean.
+     * @param bean the bean.
+     * @return the contextual reference.
+     */
+    private <B> RestResponseWriter createReference(Bean<B> bean) {
+        return (RestResponseWriter) beanManager.getReference(bean, RestResponseWriter.class, beanManager.createCreationalContext(bean));
+    }
+
+    /**
+     * A response writer cache entry.
+     */
+    private static class ResponseWriterEntry {
+
+        /**
+         * Stores the bean.
+         */
+        private final Bean<?> bean;
+
+        /**
+         * Stores the contextual reference (only for normal-scoped beans).
+         */
+        private final RestResponseWriter reference;
+
+        /**
+         * Constructor.
+         *
+         * @param bean the bean.
+         * @param reference the contextual reference, or null.
+         */
+        private ResponseWriterEntry(Bean<?> bean, RestResponseWriter reference) {
+            this.bean = bean;
+            this.reference = reference;
+        }
+    }
+
+    /**
+     * A media range of an Accept header.
+     */
+    private static class MediaRange implements Comparable<MediaRange> {
+
+        /**
+         * Stores the position in the Accept header.
+         */
+        private final int position;
+
+        /**
+         * Stores the quality.
+         */
+        private final double quality;
+
+        /**
+         * Stores the (normalized) type.
+         */
+        private final String type;
+
+        /**
+         * Constructor.
+         *
+         * @param type the type.
+         * @param quality the quality.
+         * @param position the position.
+         */
+        private MediaRange(String type, double quality, int position) {
+            this.type = type;
+            this.quality = quality;
+            this.position = position;
+        }
+
+        /**
+         * Parse a media range.
+         *
+         * @param value the value.
+         * @param position the position in the Accept header.
+         * @return the media range, or null if it is not valid.
+         */
+        private static MediaRange parse(String value, int position) {
+            String[] parts = value.split(";");
+            String type = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (type.indexOf('/') == -1) {
+                return null;
+            }
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException nfe) {
+                        quality = 0;
+                    }
+                }
+            }
+            return new MediaRange(type, quality, position);
+        }
+
+        /**
+         * Get the specificity (a concrete type is more specific than a
+         * wildcard subtype, which is more specific than any type).
+         *
+         * @return the specificity.
+         */
+        private int getSpecificity() {
+            if (type.equals("*/*")) {
+                return 0;
+            }
+            return type.endsWith("/*") ? 1 : 2;
+        }
+
+        @Override
+        public int compareTo(MediaRange other) {
+            int result = Double.compare(other.quality, quality);
+            if (result == 0) {
+                result = Integer.compare(other.getSpecificity(), getSpecificity());
+            }
+            if (result == 0) {
+                result = Integer.compare(position, other.position);
+            }
+            return result;
+        }
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.eclipse.mojarra.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.spi.AfterBeanDiscovery;
+import jakarta.enterprise.inject.spi.AnnotatedMethod;
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.enterprise.inject.spi.ProcessManagedBean;
+
+/**
+ * The CDI extension that collects the REST routes.
+ *
+ * <p>
+ * Every managed bean method annotated with {@link RestPath} is turned into a
+ * {@link RestRoute} when the bean is discovered. Once bean discovery has
+ * finished the routes are frozen into a {@link RestRouteIndex} so matching a
+ * request never has to go back to the BeanManager.
+ */
+public class RestExtension implements Extension {
+
+    /**
+     * Stores the routes collected during bean discovery.
+     */
+    private final List<RestRoute> routes = new ArrayList<>();
+
+    /**
+     * Stores the route index.
+     */
+    private volatile RestRouteIndex routeIndex;
+
+    /**
+     * Collect the REST routes of a managed bean.
+     *
+     * @param event the process managed bean event.
+     */
+    void processManagedBean(@Observes ProcessManagedBean<?> event) {
+        for (AnnotatedMethod<?> method : event.getAnnotatedBeanClass().getMethods()) {
+            if (method.isAnnotationPresent(RestPath.class)) {
+                RestMethod restMethod = method.getAnnotation(RestMethod.class);
+                synchronized (routes) {
+                    routes.add(new RestRoute(
+                            event.getBean(),
+                            method.getJavaMember(),
+                            method.getAnnotation(RestPath.class).value(),
+                            restMethod != null ? restMethod.value() : null));
+                }
+            }
+        }
+    }
+
+    /**
+     * Build the route index.
+     *
+     * @param event the after bean discovery event.
+     */
+    void afterBeanDiscovery(@Observes AfterBeanDiscovery event) {
+        synchronized (routes) {
+            routeIndex = new RestRouteIndex(routes);
+            routes.clear();
+        }
+    }
+
+    /**
+     * Get the route index.
+     *
+     * @return the route index.
+     */
+    public RestRouteIndex getRouteIndex() {
+        RestRouteIndex result = routeIndex;
+        if (result == null) {
+            synchronized (routes) {
+                result = new RestRouteIndex(routes);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.eclipse.mojarra.rest;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.faces.FacesException;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * The RestInvocationPlan.
+ *
+ * <p>
+ * The invocation plan of a REST method is computed once per method. It holds
+ * a method handle for the method, the bean instance to invoke it on and the
+ * resolved parameter extractors, so executing a request only has to evaluate
+ * the extractors.
+ */
+public class RestInvocationPlan {
+
+    /**
+     * Stores the bean instance.
+     */
+    private final Instance<?> beanInstance;
+
+    /**
+     * Stores the parameter extractors.
+     */
+    private final RestParameterExtractor[] extractors;
+
+    /**
+     * Stores the method handle, of type (Object, Object[]) to Object.
+     */
+    private final MethodHandle methodHandle;
+
+    /**
+     * Constructor.
+     *
+     * @param beanClass the bean class.
+     * @param method the method.
+     * @param restParameterProducer the REST parameter producer.
+     */
+    public RestInvocationPlan(Class<?> beanClass, Method method, RestParameterProducer restParameterProducer) {
+        beanInstance = CDI.current().select(beanClass, Any.Literal.INSTANCE);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        extractors = new RestParameterExtractor[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            extractors[i] = restParameterProducer.createExtractor(parameterTypes[i], parameterAnnotations[i]);
+        }
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, method.getDeclaringClass());
+            }
+            methodHandle = handle
+                    .asSpreader(Object[].class, parameterTypes.length)
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        } catch (IllegalAccessException iae) {
+            throw new FacesException("Unable to access REST method: " + method, iae);
+        }
+    }
+
+    /**
+     * Execute the plan.
+     *
+     * @param facesContext the Faces context.
+     * @param restMappingMatch the REST mapping match.
+     * @return the result.
+     * @throws Throwable when the method throws.
+     */
+    public Object execute(FacesContext facesContext, RestMappingMatch restMappingMatch) throws Throwable {
+        Object[] parameters = new Object[extractors.length];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = extractors[i].extract(facesContext, restMappingMatch);
+        }
+        return (Object) methodHandle.invokeExact((Object) beanInstance.get(), parameters);
+    }
+}
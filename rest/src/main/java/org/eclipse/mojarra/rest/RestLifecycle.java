@@ -111,8 +111,9 @@ public class RestLifecycle extends Lifecycle {
             ExternalContext externalContext = facesContext.getExternalContext();
             String responseContentType = externalContext.getResponseContentType();
             if (responseContentType == null) {
-                externalContext.setResponseContentType("application/json");
-                responseContentType = "application/json";
+                responseContentType = restResponseMatcher.negotiateContentType(
+                        externalContext.getRequestHeaderMap().get("Accept"));
+                externalContext.setResponseContentType(responseContentType);
             }
             restResponseMatcher.getResponseWriter(responseContentType).writeResponse(facesContext);
         }
@@ -16,6 +16,8 @@
 package org.eclipse.mojarra.rest;
 
 import java.lang.reflect.Method;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import jakarta.enterprise.inject.spi.Bean;
 
 /**
@@ -28,6 +30,11 @@ public class RestMappingMatch {
      */
     private Bean<?> bean;
 
+    /**
+     * Stores the path matcher.
+     */
+    private Matcher pathMatcher;
+
     /**
      * Stores the method.
      */
@@ -43,6 +50,11 @@ public class RestMappingMatch {
      */
     private String restPath;
 
+    /**
+     * Stores the route.
+     */
+    private RestRoute route;
+
     /**
      * Get the bean.
      *
@@ -70,6 +82,26 @@ public class RestMappingMatch {
         return method;
     }
 
+    /**
+     * Get the matcher of the REST path against the path info.
+     *
+     * <p>
+     * The matcher is created once per match, using the precompiled pattern
+     * of the route when available.
+     *
+     * @return the matcher, or null if the REST path does not match.
+     */
+    public Matcher getPathMatcher() {
+        if (pathMatcher == null) {
+            Pattern pattern = route != null ? route.getPattern() : Pattern.compile(restPath);
+            Matcher matcher = pattern.matcher(pathInfo);
+            if (matcher.matches()) {
+                pathMatcher = matcher;
+            }
+        }
+        return pathMatcher;
+    }
+
     /**
      * Get the path info.
      *
@@ -88,6 +120,15 @@ public class RestMappingMatch {
         return restPath;
     }
 
+    /**
+     * Get the route.
+     *
+     * @return the route, or null if the match was not made through the route index.
+     */
+    public RestRoute getRoute() {
+        return route;
+    }
+
     /**
      * Set the bean.
      *
@@ -123,4 +164,13 @@ public class RestMappingMatch {
     public void setRestPath(String restPath) {
         this.restPath = restPath;
     }
+
+    /**
+     * Set the route.
+     *
+     * @param route the route.
+     */
+    public void setRoute(RestRoute route) {
+        this.route = route;
+    }
 }
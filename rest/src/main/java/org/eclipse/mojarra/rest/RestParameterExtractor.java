@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.eclipse.mojarra.rest;
+
+import jakarta.faces.context.FacesContext;
+
+/**
+ * The RestParameterExtractor API.
+ *
+ * <p>
+ * A parameter extractor produces the value of a single parameter of a REST
+ * method. Extractors are resolved once per method, so evaluating them does
+ * not involve any reflection.
+ */
+@FunctionalInterface
+public interface RestParameterExtractor {
+
+    /**
+     * Extract the parameter value.
+     *
+     * @param facesContext the Faces context.
+     * @param restMappingMatch the REST mapping match.
+     * @return the parameter value.
+     */
+    public Object extract(FacesContext facesContext, RestMappingMatch restMappingMatch);
+}
@@ -37,4 +37,22 @@ public interface RestParameterProducer {
             RestMappingMatch restMappingMatch, 
             Class<?> parameterType, 
             Annotation[] parameterAnnotations);
+
+    /**
+     * Create a parameter extractor for the given type.
+     *
+     * <p>
+     * The default implementation delegates every extraction to
+     * {@link #produce(FacesContext, RestMappingMatch, Class, Annotation[])}.
+     *
+     * @param parameterType the parameter type.
+     * @param parameterAnnotations the annotations.
+     * @return the parameter extractor.
+     */
+    public default RestParameterExtractor createExtractor(
+            Class<?> parameterType,
+            Annotation[] parameterAnnotations) {
+        return (facesContext, restMappingMatch) -> produce(
+                facesContext, restMappingMatch, parameterType, parameterAnnotations);
+    }
 }
@@ -27,4 +27,17 @@ public interface RestResponseMatcher {
      * @return the response writer.
      */
     RestResponseWriter getResponseWriter(String responseContentType);
+
+    /**
+     * Negotiate the response content type.
+     *
+     * <p>
+     * The default implementation always returns <code>application/json</code>.
+     *
+     * @param accept the value of the Accept request header (may be null).
+     * @return the response content type.
+     */
+    default String negotiateContentType(String accept) {
+        return "application/json";
+    }
 }
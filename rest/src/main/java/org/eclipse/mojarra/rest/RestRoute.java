@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.eclipse.mojarra.rest;
+
+import java.lang.reflect.Method;
+import java.util.regex.Pattern;
+import jakarta.enterprise.inject.spi.Bean;
+
+/**
+ * The RestRoute.
+ *
+ * <p>
+ * A route is the immutable, precompiled form of a method annotated with
+ * {@link RestPath} (and optionally {@link RestMethod}). Routes are collected
+ * once at deployment time by the {@link RestExtension}.
+ */
+public class RestRoute {
+
+    /**
+     * Stores the bean.
+     */
+    private final Bean<?> bean;
+
+    /**
+     * Stores the HTTP method (or null if any HTTP method is allowed).
+     */
+    private final String httpMethod;
+
+    /**
+     * Stores the literal prefix of the REST path.
+     */
+    private final String literalPrefix;
+
+    /**
+     * Stores the method.
+     */
+    private final Method method;
+
+    /**
+     * Stores the compiled pattern.
+     */
+    private final Pattern pattern;
+
+    /**
+     * Stores the REST path.
+     */
+    private final String restPath;
+
+    /**
+     * Constructor.
+     *
+     * @param bean the bean.
+     * @param method the method.
+     * @param restPath the REST path (regular expression).
+     * @param httpMethod the HTTP method, or null if any HTTP method is allowed.
+     */
+    public RestRoute(Bean<?> bean, Method method, String restPath, String httpMethod) {
+        this.bean = bean;
+        this.method = method;
+        this.restPath = restPath;
+        this.httpMethod = httpMethod;
+        this.pattern = Pattern.compile(restPath);
+        this.literalPrefix = determineLiteralPrefix(restPath);
+    }
+
+    /**
+     * Determine the literal prefix of a regular expression.
+     *
+     * <p>
+     * The literal prefix is the leading part of the expression every matching
+     * path has to start with. If the expression uses alternation there is no
+     * such guarantee and the empty string is returned.
+     *
+     * @param regex the regular expression.
+     * @return the literal prefix.
+     */
+    static String determineLiteralPrefix(String regex) {
+        if (regex.indexOf('|') != -1) {
+            return "";
+        }
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            switch (c) {
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    // The previous character is optional or repeated.
+                    if (prefix.length() > 0) {
+                        prefix.setLength(prefix.length() - 1);
+                    }
+                    return prefix.toString();
+                case '\\':
+                case '[':
+                case ']':
+                case '(':
+                case ')':
+                case '}':
+                case '.':
+                case '^':
+                case '$':
+                    return prefix.toString();
+                default:
+                    prefix.append(c);
+            }
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * Get the bean.
+     *
+     * @return the bean.
+     */
+    public Bean<?> getBean() {
+        return bean;
+    }
+
+    /**
+     * Get the HTTP method.
+     *
+     * @return the HTTP method, or null if any HTTP method is allowed.
+     */
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    /**
+     * Get the literal prefix.
+     *
+     * @return the literal prefix.
+     */
+    public String getLiteralPrefix() {
+        return literalPrefix;
+    }
+
+    /**
+     * Get the method.
+     *
+     * @return the method.
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Get the compiled pattern.
+     *
+     * @return the compiled pattern.
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Get the REST path.
+     *
+     * @return the REST path.
+     */
+    public String getRestPath() {
+        return restPath;
+    }
+
+    /**
+     * Is the REST path a literal (it contains no regular expression constructs).
+     *
+     * @return true if it is, false otherwise.
+     */
+    public boolean isLiteral() {
+        return literalPrefix.length() == restPath.length();
+    }
+
+    /**
+     * Does the route match the given request.
+     *
+     * @param pathInfo the path info.
+     * @param requestMethod the HTTP method of the request (may be null).
+     * @return true if it does, false otherwise.
+     */
+    public boolean matches(String pathInfo, String requestMethod) {
+        if (httpMethod != null && requestMethod != null && !httpMethod.equalsIgnoreCase(requestMethod)) {
+            return false;
+        }
+        return isLiteral() ? restPath.equals(pathInfo) : pattern.matcher(pathInfo).matches();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.eclipse.mojarra.rest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The RestRouteIndex.
+ *
+ * <p>
+ * An immutable index of all the REST routes of the application. Routes with a
+ * literal REST path are kept in a hash map, all other routes are stored in a
+ * trie keyed by the literal prefix of their regular expression. Matching a
+ * request walks the trie once along the path info and only evaluates the
+ * (precompiled) regular expressions of the routes found on that walk, from
+ * the longest literal prefix to the shortest.
+ */
+public class RestRouteIndex {
+
+    /**
+     * Stores the literal routes.
+     */
+    private final Map<String, List<RestRoute>> literalRoutes;
+
+    /**
+     * Stores the root of the prefix trie.
+     */
+    private final Node root;
+
+    /**
+     * Stores the number of routes.
+     */
+    private final int size;
+
+    /**
+     * Constructor.
+     *
+     * @param routes the routes.
+     */
+    public RestRouteIndex(List<RestRoute> routes) {
+        Map<String, List<RestRoute>> literals = new HashMap<>();
+        root = new Node();
+        for (RestRoute route : routes) {
+            if (route.isLiteral()) {
+                literals.computeIfAbsent(route.getRestPath(), key -> new ArrayList<>(1)).add(route);
+            } else {
+                Node node = root;
+                String prefix = route.getLiteralPrefix();
+                for (int i = 0; i < prefix.length(); i++) {
+                    node = node.children.computeIfAbsent(prefix.charAt(i), key -> new Node());
+                }
+                node.routes.add(route);
+            }
+        }
+        literalRoutes = Collections.unmodifiableMap(literals);
+        size = routes.size();
+    }
+
+    /**
+     * Get the number of routes.
+     *
+     * @return the number of routes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Find the route for the given request.
+     *
+     * @param pathInfo the path info.
+     * @param requestMethod the HTTP method of the request (may be null).
+     * @return the route, or null if not found.
+     */
+    public RestRoute match(String pathInfo, String requestMethod) {
+        List<RestRoute> literals = literalRoutes.get(pathInfo);
+        if (literals != null) {
+            for (RestRoute route : literals) {
+                if (route.matches(pathInfo, requestMethod)) {
+                    return route;
+                }
+            }
+        }
+
+        Node[] path = new Node[pathInfo.length() + 1];
+        int depth = 0;
+        Node node = root;
+        path[0] = node;
+        while (depth < pathInfo.length()) {
+            node = node.children.get(pathInfo.charAt(depth));
+            if (node == null) {
+                break;
+            }
+            path[++depth] = node;
+        }
+        for (int i = depth; i >= 0; i--) {
+            for (RestRoute route : path[i].routes) {
+                if (route.matches(pathInfo, requestMethod)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A node in the prefix trie.
+     */
+    private static class Node {
+
+        /**
+         * Stores the child nodes.
+         */
+        private final Map<Character, Node> children = new HashMap<>(4);
+
+        /**
+         * Stores the routes whose literal prefix ends at this node.
+         */
+        private final List<RestRoute> routes = new ArrayList<>(1);
+    }
+}